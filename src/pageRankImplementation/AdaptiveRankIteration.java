@@ -0,0 +1,286 @@
+package pageRankImplementation;
+
+
+/**
+ * This class calculates the iterations of one adaptive calculation of page ranks (in the style of the adaptive page
+ * rank of Kamvar et al).The vertices whose page rank has changed relatively less than a threshold for
+ * {@link AdaptiveRankIteration#STABLE_ITERATIONS} consecutive iterations are frozen :their page rank isn't calculated
+ * again.(A page rank may change very little at one iteration only because it turns from increasing to decreasing ,so
+ * one small change isn't enough.)The part of the page rank of an active vertex that
+ * comes from frozen vertices never changes ,so it is added once to a constant term of the vertex ,and the in-pointing
+ * links of the active vertices are rebuilt without the frozen sources when enough vertices have been frozen.So every
+ * iteration processes only the links between active vertices and the iterations become cheaper as the calculation
+ * goes on.
+ * A frozen vertex has the same page rank in both arrays of page ranks of the calculation ,so the arrays can be
+ * swapped after every iteration without copying the frozen page ranks.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+final class AdaptiveRankIteration
+{
+
+	// The part of the active vertices that must be frozen before the links of the active vertices are rebuilt
+	static final double REBUILD_FRACTION=0.1;
+
+	// The number of consecutive iterations with small changes after which a vertex is frozen
+	static final int STABLE_ITERATIONS=3;
+
+	private final CompactWebPageGraph graph;		// The graph of the calculation
+
+	private final double threshold;					// The relative change under which a vertex is frozen
+
+	private final boolean[] frozen;					// Whether every vertex is frozen ,by vertex id
+
+	private final byte[] stableIterations;			// The consecutive iterations with small changes ,by vertex id
+
+	private final double[] constantTerms;			// The sum of the contributions of the frozen sources ,by vertex id
+
+	private int[] activeVertices;					// The vertex ids of the active vertices (and of some frozen ones)
+
+	private int numberOfActiveVertices;				// The number of the vertex ids in the array activeVertices
+
+	private int[] activeInLinkOffsets;				// The start of the active in-pointing links ,by position in activeVertices
+
+	private int[] activeInLinkSources;				// The sources of the active in-pointing links
+
+	private int frozenSinceRebuild;					// The vertices that have been frozen since the last rebuild
+
+	private int frozenSpams;						// The frozen vertices whose page rank is less than the lower bound
+
+	private double residual;						// The residual of the last iteration
+
+	private long edgesProcessed;					// The links processed by the last iteration
+
+
+	/**
+	 * This constructor creates an object of type AdaptiveRankIteration for a calculation on the graph given as argument
+	 * where all the vertices are active.
+	 *
+	 * @param graph the graph of the calculation
+	 * @param threshold the relative change under which a vertex is frozen
+	 */
+	AdaptiveRankIteration(CompactWebPageGraph graph,double threshold)
+	{
+		int vertices=graph.numberOfVertices();
+
+		this.graph=graph;
+		this.threshold=threshold;
+		this.frozen=new boolean[vertices];
+		this.stableIterations=new byte[vertices];
+		this.constantTerms=new double[vertices];
+		this.activeVertices=new int[vertices];
+		this.numberOfActiveVertices=vertices;
+
+		for(int v=0;v<vertices;v++)
+			this.activeVertices[v]=v;
+
+		// At the start all the vertices are active ,so the links of the graph are used directly
+		this.activeInLinkOffsets=graph.inLinkOffsets;
+		this.activeInLinkSources=graph.inLinkSources;
+	}
+
+
+	/**
+	 * This method returns the residual of the last iteration (the changes of the frozen vertices are 0)
+	 *
+	 * @return the residual of the last iteration
+	 */
+	double getResidual()
+	{
+		return this.residual;
+	}
+
+
+	/**
+	 * This method returns the number of the links that have been processed by the last iteration
+	 *
+	 * @return the number of the processed links
+	 */
+	long getEdgesProcessed()
+	{
+		return this.edgesProcessed;
+	}
+
+
+	/**
+	 * This method returns the number of the vertices that haven't been frozen
+	 *
+	 * @return the number of the active vertices
+	 */
+	int numberOfActiveVertices()
+	{
+		return this.numberOfActiveVertices-this.frozenSinceRebuild;
+	}
+
+
+	/**
+	 * This method calculates one iteration for the active vertices and then freezes the vertices which have converged.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param ranks the page ranks of the previous iteration ,by vertex id
+	 * @param newRanks the array where the page ranks of the current iteration will be placed ,by vertex id
+	 * @return the number of the vertices which have been treated as spams at this iteration
+	 */
+	int calculateIteration(PageRankParameters parameters,double[] ranks,double[] newRanks)
+	{
+		if(this.frozenSinceRebuild>REBUILD_FRACTION*this.numberOfActiveVertices)
+			rebuild(parameters, ranks);
+
+		int[] outLinkOffsets=this.graph.outLinkOffsets;
+		int[] domains=this.graph.domains;
+		int[] activeVertices=this.activeVertices;
+		int[] activeInLinkOffsets=this.activeInLinkOffsets;
+		int[] activeInLinkSources=this.activeInLinkSources;
+		boolean[] frozen=this.frozen;
+
+		double siblingFactor=parameters.getSiblingFactor();
+		double lowerBound=parameters.getLowerBound();
+		double dampingFactor=parameters.getDampingFactor();
+
+		int spams=this.frozenSpams;
+		long edges=0;
+
+		for(int position=0;position<this.numberOfActiveVertices;position++)
+		{
+			int v=activeVertices[position];
+
+			if(frozen[v])
+				continue;
+
+			if(ranks[v]<lowerBound)
+				spams++;
+
+			double calculatedPageRank=this.constantTerms[v];
+
+			int domain=domains[v];
+
+			int end=activeInLinkOffsets[position+1];
+
+			for(int e=activeInLinkOffsets[position];e<end;e++)
+			{
+				int source=activeInLinkSources[e];
+
+				double previousPageRank=ranks[source];
+
+				// The spam WebPages don't affect the page rank of the current vertex
+				if(previousPageRank<lowerBound)
+					continue;
+
+				double S=(domains[source]==domain)? siblingFactor : 1;
+
+				calculatedPageRank+=S*previousPageRank/(outLinkOffsets[source+1]-outLinkOffsets[source]);
+			}
+
+			edges+=end-activeInLinkOffsets[position];
+
+			newRanks[v]=calculatedPageRank*dampingFactor+(1-dampingFactor);
+		}
+
+		// Freeze the vertices which have converged ,after all the active vertices have been calculated from the
+		// page ranks of the previous iteration
+		double iterationResidual=0;
+
+		for(int position=0;position<this.numberOfActiveVertices;position++)
+		{
+			int v=activeVertices[position];
+
+			if(frozen[v])
+				continue;
+
+			double change=Math.abs(newRanks[v]-ranks[v]);
+
+			iterationResidual+=change;
+
+			if(change>this.threshold*ranks[v])
+			{
+				this.stableIterations[v]=0;
+			}
+			else if(++this.stableIterations[v]>=STABLE_ITERATIONS)
+			{
+				frozen[v]=true;
+				ranks[v]=newRanks[v];
+
+				this.frozenSinceRebuild++;
+
+				if(newRanks[v]<lowerBound)
+					this.frozenSpams++;
+			}
+		}
+
+		this.residual=iterationResidual;
+		this.edgesProcessed=edges;
+
+		return spams;
+	}
+
+
+	/**
+	 * This method removes the frozen vertices from the active vertices ,adds the contributions of the frozen sources
+	 * to the constant terms of the active vertices and keeps only the links between active vertices.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param ranks the page ranks of the previous iteration (the page ranks of the frozen vertices are final)
+	 */
+	private void rebuild(PageRankParameters parameters,double[] ranks)
+	{
+		int[] outLinkOffsets=this.graph.outLinkOffsets;
+		int[] domains=this.graph.domains;
+
+		double siblingFactor=parameters.getSiblingFactor();
+		double lowerBound=parameters.getLowerBound();
+
+		int activeVertices=this.numberOfActiveVertices-this.frozenSinceRebuild;
+		int activeLinks=0;
+
+		for(int position=0;position<this.numberOfActiveVertices;position++)
+			if(!this.frozen[this.activeVertices[position]])
+				for(int e=this.activeInLinkOffsets[position];e<this.activeInLinkOffsets[position+1];e++)
+					if(!this.frozen[this.activeInLinkSources[e]])
+						activeLinks++;
+
+		int[] newActiveVertices=new int[activeVertices];
+		int[] newOffsets=new int[activeVertices+1];
+		int[] newSources=new int[activeLinks];
+
+		int newPosition=0;
+		int link=0;
+
+		for(int position=0;position<this.numberOfActiveVertices;position++)
+		{
+			int v=this.activeVertices[position];
+
+			if(this.frozen[v])
+				continue;
+
+			for(int e=this.activeInLinkOffsets[position];e<this.activeInLinkOffsets[position+1];e++)
+			{
+				int source=this.activeInLinkSources[e];
+
+				if(!this.frozen[source])
+				{
+					newSources[link++]=source;
+					continue;
+				}
+
+				// The page rank of a frozen source never changes ,so its contribution is constant
+				if(ranks[source]>=lowerBound)
+				{
+					double S=(domains[source]==domains[v])? siblingFactor : 1;
+
+					this.constantTerms[v]+=S*ranks[source]/(outLinkOffsets[source+1]-outLinkOffsets[source]);
+				}
+			}
+
+			newActiveVertices[newPosition++]=v;
+			newOffsets[newPosition]=link;
+		}
+
+		this.activeVertices=newActiveVertices;
+		this.activeInLinkOffsets=newOffsets;
+		this.activeInLinkSources=newSources;
+		this.numberOfActiveVertices=activeVertices;
+		this.frozenSinceRebuild=0;
+	}
+
+}
@@ -0,0 +1,75 @@
+package pageRankImplementation;
+
+import java.lang.management.ManagementFactory;
+
+
+/**
+ * This class gives access to the number of bytes that the current thread has allocated in the heap.It uses the
+ * extension of the HotSpot Java Virtual Machine ({@link com.sun.management.ThreadMXBean}) and if that extension
+ * isn't available then all its measurements are -1.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+final class AllocationMeter
+{
+
+	// The bean of the Java Virtual Machine which measures the allocations of the threads ,or null if it isn't supported
+	private static final com.sun.management.ThreadMXBean THREAD_BEAN=findThreadBean();
+
+
+	private AllocationMeter()
+	{
+	}
+
+
+	/**
+	 * This method finds the extended thread bean of the Java Virtual Machine and enables the measurement
+	 * of the allocated memory.
+	 *
+	 * @return the extended thread bean or null if it isn't supported
+	 */
+	private static com.sun.management.ThreadMXBean findThreadBean()
+	{
+		java.lang.management.ThreadMXBean bean=ManagementFactory.getThreadMXBean();
+
+		if(!(bean instanceof com.sun.management.ThreadMXBean))
+			return null;
+
+		com.sun.management.ThreadMXBean threadBean=(com.sun.management.ThreadMXBean)bean;
+
+		if(!threadBean.isThreadAllocatedMemorySupported())
+			return null;
+
+		if(!threadBean.isThreadAllocatedMemoryEnabled())
+			threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		return threadBean;
+	}
+
+
+	/**
+	 * This method returns whether the measurement of the allocated bytes is supported by the Java Virtual Machine
+	 *
+	 * @return true if the allocated bytes can be measured or false otherwise
+	 */
+	static boolean isSupported()
+	{
+		return THREAD_BEAN!=null;
+	}
+
+
+	/**
+	 * This method returns the total number of bytes that the current thread has allocated since it has started.
+	 *
+	 * @return the total number of bytes allocated by the current thread or -1 if it isn't supported
+	 */
+	static long currentThreadAllocatedBytes()
+	{
+		if(THREAD_BEAN==null)
+			return -1;
+
+		return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+}
@@ -0,0 +1,536 @@
+package pageRankImplementation;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Formatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * This class represents a destination of the progress of a focused WebPage which doesn't write at the thread that runs
+ * the calculation.The calculating thread only stores small binary records (numbers) in a bounded queue and a background
+ * writer thread takes them in batches ,formats them (in the format of {@link PrintStreamRankTraceSink}) and writes
+ * them to the output stream through a large buffer.So the calculating thread never waits for the output stream ,unless
+ * the queue is full and the policy of the sink is {@link TraceOverflowPolicy#BLOCK}.
+ * A line of the output is made of many records (an iteration is the records from
+ * {@link RankTraceSink#iterationStarted(int, double)} up to {@link RankTraceSink#iterationFinished(double)}) ,so the
+ * policies DROP and SAMPLE drop whole iterations :the records of an iteration are placed in the queue but they are
+ * given to the writer thread only when the iteration finishes ,and if the queue becomes full before that ,the records
+ * of the iteration are taken back and the rest of the iteration is skipped.
+ * The records must be given by one thread at a time (the thread which runs the calculation).
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class AsynchronousRankTraceSink implements RankTraceSink, Closeable
+{
+
+	// The default number of records that the queue can hold
+	public static final int DEFAULT_QUEUE_CAPACITY=1<<14;
+
+	// The size of the buffer of the output stream in bytes
+	public static final int OUTPUT_BUFFER_SIZE=1<<16;
+
+	// When the policy is SAMPLE ,one of every SAMPLING_INTERVAL iterations that find the queue full is kept
+	public static final int SAMPLING_INTERVAL=16;
+
+	// The types of the records
+	private static final byte FOCUSED_WEB_PAGE=0;
+	private static final byte ITERATION_STARTED=1;
+	private static final byte FACTOR_TERM=2;
+	private static final byte SPAM_FACTOR_TERM=3;
+	private static final byte ITERATION_FINISHED=4;
+
+	// The time that a waiting calculating thread sleeps before it examines the queue again
+	private static final long WAIT_NANOS=100000;
+
+	private final byte[] types;					// The type of every record of the queue
+	private final int[] integers;				// The first integer field of every record (iteration or position)
+	private final int[] outDegrees;				// The second integer field of every record (out degree)
+	private final double[] firstValues;			// The first floating point field of every record
+	private final double[] secondValues;		// The second floating point field of every record
+	private final String[] texts;				// The text field of every record (only for the focused WebPage)
+
+	private final int capacity;					// The number of records that the queue can hold
+
+	private volatile long head;					// The number of records that have been taken by the writer thread
+	private volatile long tail;					// The number of records that have been put in the queue
+
+	private final TraceOverflowPolicy policy;	// What happens when the queue is full
+
+	private final OutputStream outputStream;	// The stream where the formatted records are written
+
+	private final String destination;			// The name of the destination ,for the Flight Recorder events
+
+	private final Thread writerThread;			// The thread which writes the records
+
+	private volatile boolean closed;			// Whether the sink has been closed
+
+	private volatile boolean flushRequested;	// Whether the writer thread must flush the output stream
+
+	private volatile boolean writerWaiting;		// Whether the writer thread is (or is about to be) parked without work
+
+	private volatile IOException writeException;	// The first exception of the output stream or null
+
+	private final AtomicLong droppedRecords;	// The number of records that have been dropped (read by any thread)
+
+	private long overflowCounter;				// The number of iterations that have found the queue full (for the policy SAMPLE)
+
+	private long pendingTail;					// The tail of the queue with the records which haven't been given to the writer yet
+
+	private boolean staging;					// Whether the records of the current iteration are given to the writer at its end
+
+	private boolean skipping;					// Whether the rest of the current iteration is dropped
+
+
+	/**
+	 * This constructor creates an object of type AsynchronousRankTraceSink which writes to the output stream given as
+	 * argument ,with the default capacity of the queue and the policy {@link TraceOverflowPolicy#BLOCK}.
+	 *
+	 * @param outputStream the stream where the progress will be written
+	 * @param destination the name of the destination (for example the name of the file)
+	 */
+	public AsynchronousRankTraceSink(OutputStream outputStream,String destination)
+	{
+		this(outputStream,destination,DEFAULT_QUEUE_CAPACITY,TraceOverflowPolicy.BLOCK);
+	}
+
+
+	/**
+	 * This constructor creates an object of type AsynchronousRankTraceSink which writes to the output stream given as
+	 * argument ,and starts its writer thread.
+	 *
+	 * @param outputStream the stream where the progress will be written
+	 * @param destination the name of the destination (for example the name of the file)
+	 * @param capacity the number of records that the queue can hold
+	 * @param policy what happens when the queue is full
+	 */
+	public AsynchronousRankTraceSink(OutputStream outputStream,String destination,int capacity,TraceOverflowPolicy policy)
+	{
+		if(outputStream==null || policy==null)
+			throw new NullPointerException("Null argument was given at constructor of class AsynchronousRankTraceSink");
+
+		if(capacity<=0)
+		{
+			if(capacity<0)
+				throw new NegativeNumberException("Negative capacity given at constructor of class AsynchronousRankTraceSink");
+			else
+				throw new ZeroNumberException("Zero capacity given at constructor of class AsynchronousRankTraceSink");
+		}
+
+		this.capacity=capacity;
+		this.types=new byte[capacity];
+		this.integers=new int[capacity];
+		this.outDegrees=new int[capacity];
+		this.firstValues=new double[capacity];
+		this.secondValues=new double[capacity];
+		this.texts=new String[capacity];
+		this.droppedRecords=new AtomicLong();
+
+		this.policy=policy;
+		this.outputStream=(outputStream instanceof BufferedOutputStream)? outputStream : new BufferedOutputStream(outputStream,OUTPUT_BUFFER_SIZE);
+		this.destination=(destination==null)? "unknown" : destination;
+
+		this.writerThread=new Thread(this::writeRecords, "rank-trace-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+
+	/**
+	 * This method returns the number of records that have been dropped because the queue was full (or the writer
+	 * thread had stopped)
+	 *
+	 * @return the number of the dropped records
+	 */
+	public long getDroppedRecords()
+	{
+		return this.droppedRecords.get();
+	}
+
+
+	/**
+	 * This method starts a group of records which are written or dropped together (an iteration or the focused
+	 * WebPage).With the policy BLOCK the records are given to the writer thread one by one ,otherwise at the end of
+	 * the group.
+	 */
+	private void startGroup()
+	{
+		this.staging=this.policy!=TraceOverflowPolicy.BLOCK;
+		this.skipping=false;
+	}
+
+
+	/**
+	 * This method finishes a group of records and gives its records to the writer thread.
+	 */
+	private void finishGroup()
+	{
+		this.staging=false;
+		this.skipping=false;
+
+		if(this.tail!=this.pendingTail)
+		{
+			this.tail=this.pendingTail;
+
+			wakeWriter();
+		}
+	}
+
+
+	/**
+	 * This method reserves the next position of the queue for a new record ,according to the policy of the sink.When
+	 * the queue is full the records of the current group that haven't been given to the writer thread are taken back
+	 * and the rest of the group is dropped ,unless the policy makes the calculating thread wait.
+	 *
+	 * @return the position of the queue for the new record or -1 if the record must be dropped
+	 */
+	private int reserve()
+	{
+		if(this.skipping)
+		{
+			this.droppedRecords.incrementAndGet();
+			return -1;
+		}
+
+		if(this.pendingTail-this.head>=this.capacity)
+		{
+			if(this.staging)
+			{
+				if(this.policy==TraceOverflowPolicy.SAMPLE && (this.overflowCounter++)%SAMPLING_INTERVAL==0)
+				{
+					// The group is kept ,so its records are given to the writer thread and the rest of it waits
+					finishGroup();
+				}
+				else
+				{
+					this.droppedRecords.addAndGet(this.pendingTail-this.tail+1);
+					this.pendingTail=this.tail;
+					this.skipping=true;
+					return -1;
+				}
+			}
+
+			// The writer thread may have stopped because of an error ,so the calculating thread doesn't wait for it
+			while(this.pendingTail-this.head>=this.capacity && !this.closed && this.writerThread.isAlive())
+				LockSupport.parkNanos(WAIT_NANOS);
+
+			if(this.pendingTail-this.head>=this.capacity)
+			{
+				this.droppedRecords.incrementAndGet();
+				return -1;
+			}
+		}
+
+		return (int)(this.pendingTail%this.capacity);
+	}
+
+
+	/**
+	 * This method makes the record at the reserved position part of the queue ,and visible to the writer thread
+	 * unless the records of the current group are given at its end.
+	 */
+	private void publish()
+	{
+		this.pendingTail++;
+
+		if(!this.staging)
+		{
+			this.tail=this.pendingTail;
+
+			wakeWriter();
+		}
+	}
+
+
+	/**
+	 * This method unparks the writer thread if it waits for work.The flag is read after the tail or the requests have
+	 * been written and the writer thread examines them again after it sets the flag ,so no work is missed.
+	 */
+	private void wakeWriter()
+	{
+		if(this.writerWaiting)
+		{
+			this.writerWaiting=false;
+			LockSupport.unpark(this.writerThread);
+		}
+	}
+
+
+	@Override
+	public void focusedWebPage(String urlName, double initialPageRank)
+	{
+		startGroup();
+
+		int position=reserve();
+
+		if(position>=0)
+		{
+			this.types[position]=FOCUSED_WEB_PAGE;
+			this.texts[position]=urlName;
+			this.firstValues[position]=initialPageRank;
+			publish();
+		}
+
+		finishGroup();
+	}
+
+
+	@Override
+	public void iterationStarted(int iteration, double dampingFactor)
+	{
+		startGroup();
+
+		int position=reserve();
+
+		if(position<0)
+			return ;
+
+		this.types[position]=ITERATION_STARTED;
+		this.integers[position]=iteration;
+		this.firstValues[position]=dampingFactor;
+		publish();
+	}
+
+
+	@Override
+	public void factorTerm(int factorPosition, double siblingFactor, double previousPageRank, int outDegree)
+	{
+		int position=reserve();
+
+		if(position<0)
+			return ;
+
+		this.types[position]=FACTOR_TERM;
+		this.integers[position]=factorPosition;
+		this.outDegrees[position]=outDegree;
+		this.firstValues[position]=siblingFactor;
+		this.secondValues[position]=previousPageRank;
+		publish();
+	}
+
+
+	@Override
+	public void spamFactorTerm(int factorPosition)
+	{
+		int position=reserve();
+
+		if(position<0)
+			return ;
+
+		this.types[position]=SPAM_FACTOR_TERM;
+		this.integers[position]=factorPosition;
+		publish();
+	}
+
+
+	@Override
+	public void iterationFinished(double pageRank)
+	{
+		int position=reserve();
+
+		if(position>=0)
+		{
+			this.types[position]=ITERATION_FINISHED;
+			this.firstValues[position]=pageRank;
+			publish();
+		}
+
+		finishGroup();
+	}
+
+
+	/**
+	 * This method waits until the writer thread has written all the records of the queue and has flushed the
+	 * output stream.
+	 *
+	 * @param void
+	 * @return void
+	 */
+	@Override
+	public void calculationFinished()
+	{
+		this.flushRequested=true;
+
+		wakeWriter();
+
+		while((this.flushRequested || this.head<this.tail) && this.writerThread.isAlive())
+			LockSupport.parkNanos(WAIT_NANOS);
+	}
+
+
+	/**
+	 * This method writes all the records of the queue ,stops the writer thread and closes the output stream.
+	 *
+	 * @throws IOException This Exception is thrown if the output stream has failed while writing or closing
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		if(this.closed)
+			return ;
+
+		calculationFinished();
+
+		this.closed=true;
+
+		wakeWriter();
+
+		try
+		{
+			this.writerThread.join();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		this.outputStream.close();
+
+		if(this.writeException!=null)
+			throw this.writeException;
+	}
+
+
+	/**
+	 * This method is the body of the writer thread.It takes all the records of the queue in batches ,formats them and
+	 * writes them to the output stream.The output stream is flushed when it is requested or when the sink is closed.
+	 */
+	private void writeRecords()
+	{
+		StringBuilder builder=new StringBuilder(OUTPUT_BUFFER_SIZE);
+
+		Formatter formatter=new Formatter(builder);
+
+		Charset charset=Charset.defaultCharset();
+
+		long bytesSinceFlush=0;
+
+		while(true)
+		{
+			// The flags are read before the tail ,so every record given before a request is seen
+			boolean closing=this.closed;
+			boolean flushing=this.flushRequested || closing;
+
+			long currentHead=this.head;
+			long currentTail=this.tail;
+
+			if(currentHead==currentTail)
+			{
+				if(flushing)
+				{
+					TraceFlushEvent event=new TraceFlushEvent();
+					event.begin();
+
+					try
+					{
+						this.outputStream.flush();
+					}
+					catch(IOException e)
+					{
+						if(this.writeException==null)
+							this.writeException=e;
+					}
+
+					if(event.shouldCommit())
+					{
+						event.destination=this.destination;
+						event.bytes=bytesSinceFlush;
+						event.commit();
+					}
+
+					bytesSinceFlush=0;
+
+					// The records given before the request have been written ,since the queue is empty
+					this.flushRequested=false;
+
+					if(closing)
+						return ;
+				}
+
+				// The writer thread sleeps until a record or a request arrives ,so an idle sink doesn't use the processor
+				this.writerWaiting=true;
+
+				if(this.tail==currentTail && !this.flushRequested && !this.closed)
+					LockSupport.park(this);
+
+				this.writerWaiting=false;
+				continue;
+			}
+
+			for(long record=currentHead;record<currentTail;record++)
+			{
+				int position=(int)(record%this.capacity);
+
+				switch(this.types[position])
+				{
+					case FOCUSED_WEB_PAGE :
+						PrintStreamRankTraceSink.formatFocusedWebPage(formatter, this.texts[position], this.firstValues[position]);
+						this.texts[position]=null;
+						break;
+
+					case ITERATION_STARTED :
+						PrintStreamRankTraceSink.formatIterationStarted(formatter, this.integers[position], this.firstValues[position]);
+						break;
+
+					case FACTOR_TERM :
+						PrintStreamRankTraceSink.formatFactorTerm(formatter, this.integers[position], this.firstValues[position],
+								this.secondValues[position], this.outDegrees[position]);
+						break;
+
+					case SPAM_FACTOR_TERM :
+						PrintStreamRankTraceSink.formatSpamFactorTerm(formatter, this.integers[position]);
+						break;
+
+					default :
+						PrintStreamRankTraceSink.formatIterationFinished(formatter, this.firstValues[position]);
+						break;
+				}
+
+				// Give back the positions of the queue in steps ,so a blocked calculating thread can continue early
+				if(builder.length()>=OUTPUT_BUFFER_SIZE)
+				{
+					bytesSinceFlush+=writeText(builder, charset);
+					this.head=record+1;
+				}
+			}
+
+			bytesSinceFlush+=writeText(builder, charset);
+
+			this.head=currentTail;
+		}
+	}
+
+
+	/**
+	 * This method writes the text of a builder to the output stream and empties the builder.
+	 *
+	 * @return the number of the bytes that have been written
+	 */
+	private long writeText(StringBuilder builder,Charset charset)
+	{
+		if(builder.length()==0)
+			return 0;
+
+		byte[] bytes=builder.toString().getBytes(charset);
+
+		builder.setLength(0);
+
+		try
+		{
+			this.outputStream.write(bytes);
+		}
+		catch(IOException e)
+		{
+			if(this.writeException==null)
+				this.writeException=e;
+		}
+
+		return bytes.length;
+	}
+
+}
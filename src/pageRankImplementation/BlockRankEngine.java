@@ -0,0 +1,525 @@
+package pageRankImplementation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+/**
+ * This class represents an engine which calculates the page ranks of an object of type CompactWebPageGraph in two
+ * levels ,in the style of BlockRank ,using the domains of the WebPages as blocks.The links of the WebPages of the web
+ * are mostly between siblings ,so :
+ * 1. The local page ranks of the vertices of every domain are calculated only with the links inside the domain.Every
+ * domain is copied to small arrays of its own (which fit in the cache) and the domains are calculated in parallel.
+ * 2. The page rank of every domain (the sum of the page ranks of its vertices) is calculated on the graph of the
+ * domains ,where the link from a domain to another is the sum of the local page ranks that its vertices send to the
+ * other domain.
+ * 3. The local page rank of every vertex multiplied by the page rank of its domain is the initial page rank of a
+ * global calculation by an object of type PageRankEngine ,which needs much fewer iterations than a calculation from
+ * the initial page rank {@link WebPageGraph#INITIAL_PAGE_RANK}.
+ * The global calculation is the same as every calculation of PageRankEngine ,so the result doesn't depend on the
+ * first two levels ,only the number of its iterations does.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class BlockRankEngine
+{
+
+	// The default maximum number of iterations of the local page ranks of a domain
+	public static final int DEFAULT_LOCAL_ITERATIONS=30;
+
+	// The default maximum number of iterations of the page ranks of the domains
+	public static final int DEFAULT_BLOCK_ITERATIONS=30;
+
+	// The residual per vertex under which the local calculation of a domain and the calculation of the domains stop
+	static final double RESIDUAL_PER_VERTEX=1e-6;
+
+	// The minimum number of vertices of the domains that are calculated by one task
+	static final int MIN_VERTICES_PER_TASK=1<<12;
+
+	private final CompactWebPageGraph graph;		// The graph whose page ranks are calculated
+
+	private final int threads;						// The number of threads of the local calculations
+
+	private final PageRankEngine refinementEngine;	// The engine of the global calculation
+
+	private int localIterations;					// The maximum number of iterations of the local page ranks
+
+	private int blockIterations;					// The maximum number of iterations of the page ranks of the domains
+
+
+	/**
+	 * This constructor creates an object of type BlockRankEngine which calculates the page ranks of the graph given
+	 * as argument ,with as many threads for the local page ranks of the domains as indicated by the argument threads.
+	 *
+	 * @param graph an object of type CompactWebPageGraph whose page ranks will be calculated
+	 * @param threads the number of threads of the local calculations
+	 */
+	public BlockRankEngine(CompactWebPageGraph graph,int threads)
+	{
+		if(graph==null)
+			throw new NullPointerException("Null graph was given at constructor of class BlockRankEngine");
+
+		if(threads<=0)
+		{
+			if(threads<0)
+				throw new NegativeNumberException("Negative number of threads given at constructor of class BlockRankEngine");
+			else
+				throw new ZeroNumberException("Zero number of threads given at constructor of class BlockRankEngine");
+		}
+
+		this.graph=graph;
+		this.threads=threads;
+		this.refinementEngine=new PageRankEngine(graph);
+		this.localIterations=DEFAULT_LOCAL_ITERATIONS;
+		this.blockIterations=DEFAULT_BLOCK_ITERATIONS;
+	}
+
+
+	/**
+	 * This method returns the graph whose page ranks are calculated by this engine
+	 *
+	 * @return the graph of the engine
+	 */
+	public CompactWebPageGraph getGraph()
+	{
+		return this.graph;
+	}
+
+
+	/**
+	 * This method returns the engine of the global calculation.Its tolerance ,extrapolation ,adaptive threshold and
+	 * metrics are used by the global calculations of this engine ,so they can be set through it.
+	 *
+	 * @return the engine of the global calculation
+	 */
+	public PageRankEngine getRefinementEngine()
+	{
+		return this.refinementEngine;
+	}
+
+
+	/**
+	 * This method returns the maximum number of iterations of the local page ranks of every domain
+	 *
+	 * @return the maximum number of local iterations
+	 */
+	public int getLocalIterations()
+	{
+		return this.localIterations;
+	}
+
+
+	/**
+	 * This method sets the maximum number of iterations of the local page ranks of every domain.
+	 *
+	 * @param localIterations the new maximum number of local iterations
+	 * @return true if the number has been set or false if it is negative
+	 */
+	public boolean setLocalIterations(int localIterations)
+	{
+		if(localIterations<0)
+			return false;
+
+		this.localIterations=localIterations;
+
+		return true;
+	}
+
+
+	/**
+	 * This method returns the maximum number of iterations of the page ranks of the domains
+	 *
+	 * @return the maximum number of block iterations
+	 */
+	public int getBlockIterations()
+	{
+		return this.blockIterations;
+	}
+
+
+	/**
+	 * This method sets the maximum number of iterations of the page ranks of the domains.
+	 *
+	 * @param blockIterations the new maximum number of block iterations
+	 * @return true if the number has been set or false if it is negative
+	 */
+	public boolean setBlockIterations(int blockIterations)
+	{
+		if(blockIterations<0)
+			return false;
+
+		this.blockIterations=blockIterations;
+
+		return true;
+	}
+
+
+	/**
+	 * This method calculates the page ranks of all the vertices of the graph with the parameters given as argument,
+	 * starting the global calculation from the page ranks of the first two levels.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param iterations the maximum number of the iterations of the global calculation
+	 * @return an object of type PageRankResult with the calculated page ranks
+	 * @throws InterruptedException This Exception is thrown if the thread is interrupted while waiting for the local calculations
+	 */
+	public PageRankResult calculatePageRanks(PageRankParameters parameters,int iterations) throws InterruptedException
+	{
+		if(parameters==null)
+			throw new NullPointerException("Null parameters were given at method calculatePageRanks");
+
+		if(iterations<0)
+			throw new NegativeNumberException("Negative number of iterations given at method calculatePageRanks");
+
+		return this.refinementEngine.calculatePageRanks(parameters, iterations, calculateInitialRanks(parameters));
+	}
+
+
+	/**
+	 * This method calculates the page ranks of the first two levels :the local page rank of every vertex in its
+	 * domain multiplied by the page rank of its domain.The lower bound of the parameters isn't used by the first two
+	 * levels ,because the spams are found by the global calculation.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @return a new array with the initial page ranks of the global calculation ,by vertex id
+	 * @throws InterruptedException This Exception is thrown if the thread is interrupted while waiting for the local calculations
+	 */
+	public double[] calculateInitialRanks(PageRankParameters parameters) throws InterruptedException
+	{
+		if(parameters==null)
+			throw new NullPointerException("Null parameters were given at method calculateInitialRanks");
+
+		CompactWebPageGraph graph=this.graph;
+
+		int vertices=graph.numberOfVertices();
+		int domains=graph.numberOfDomains();
+
+		// Place the vertices of every domain next to each other ,in increasing order of vertex id
+		int[] domainOffsets=new int[domains+1];
+
+		for(int v=0;v<vertices;v++)
+			domainOffsets[graph.domains[v]+1]++;
+
+		for(int b=0;b<domains;b++)
+			domainOffsets[b+1]+=domainOffsets[b];
+
+		int[] domainVertices=new int[vertices];
+		int[] localIndexes=new int[vertices];
+		int[] nextPosition=new int[domains];
+
+		for(int v=0;v<vertices;v++)
+		{
+			int domain=graph.domains[v];
+
+			localIndexes[v]=nextPosition[domain]++;
+			domainVertices[domainOffsets[domain]+localIndexes[v]]=v;
+		}
+
+		double[] localRanks=new double[vertices];
+
+		calculateLocalRanks(parameters, domainOffsets, domainVertices, localIndexes, localRanks);
+
+		double[] blockRanks=calculateBlockRanks(parameters, domainOffsets, domainVertices, localRanks);
+
+		double[] initialRanks=new double[vertices];
+
+		for(int v=0;v<vertices;v++)
+			initialRanks[v]=localRanks[v]*blockRanks[graph.domains[v]];
+
+		return initialRanks;
+	}
+
+
+	/**
+	 * This method calculates the local page ranks of the vertices of all the domains in parallel.The domains are
+	 * divided into tasks of at least {@link BlockRankEngine#MIN_VERTICES_PER_TASK} vertices.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param domainOffsets the vertices of domain b are at domainVertices[domainOffsets[b]..domainOffsets[b+1]-1]
+	 * @param domainVertices the vertex ids of the vertices ,by domain
+	 * @param localIndexes the position of every vertex in its domain ,by vertex id
+	 * @param localRanks the array where the local page ranks will be placed ,by vertex id
+	 * @throws InterruptedException This Exception is thrown if the thread is interrupted while waiting for the tasks
+	 */
+	private void calculateLocalRanks(final PageRankParameters parameters,final int[] domainOffsets,final int[] domainVertices,
+			final int[] localIndexes,final double[] localRanks) throws InterruptedException
+	{
+		int domains=domainOffsets.length-1;
+
+		ExecutorService executor=Executors.newFixedThreadPool(this.threads);
+
+		try
+		{
+			ArrayList<Future<?>> futures=new ArrayList<Future<?>>();
+
+			int first=0;
+
+			while(first<domains)
+			{
+				int last=first;
+
+				while(last<domains && domainOffsets[last]-domainOffsets[first]<MIN_VERTICES_PER_TASK)
+					last++;
+
+				final int firstDomain=first;
+				final int lastDomain=last;
+
+				futures.add(executor.submit(() ->
+				{
+					for(int domain=firstDomain;domain<lastDomain;domain++)
+						calculateLocalRanksOfDomain(parameters, domainVertices, domainOffsets[domain], domainOffsets[domain+1],
+								localIndexes, localRanks);
+				}));
+
+				first=last;
+			}
+
+			for(Future<?> future : futures)
+			{
+				try
+				{
+					future.get();
+				}
+				catch(ExecutionException e)
+				{
+					Throwable cause=e.getCause();
+
+					if(cause instanceof RuntimeException)
+						throw (RuntimeException)cause;
+
+					throw new IllegalStateException("The calculation of the local page ranks has failed",cause);
+				}
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+
+	/**
+	 * This method calculates the local page ranks of the vertices of one domain ,only with the links between them ,
+	 * with the same formula as the global calculation (the out-pointing links of a vertex are only its links inside
+	 * the domain).The local page ranks are divided by their sum ,so the local page ranks of the domain add up to 1.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param domainVertices the vertex ids of the vertices ,by domain
+	 * @param start the position of the first vertex of the domain in the array domainVertices
+	 * @param end the position after the last vertex of the domain in the array domainVertices
+	 * @param localIndexes the position of every vertex in its domain ,by vertex id
+	 * @param localRanks the array where the local page ranks will be placed ,by vertex id
+	 */
+	private void calculateLocalRanksOfDomain(PageRankParameters parameters,int[] domainVertices,int start,int end,
+			int[] localIndexes,double[] localRanks)
+	{
+		CompactWebPageGraph graph=this.graph;
+
+		int size=end-start;
+
+		if(size==1)
+		{
+			localRanks[domainVertices[start]]=1;
+			return;
+		}
+
+		int domain=graph.domains[domainVertices[start]];
+
+		// Copy the links inside the domain to arrays with the local positions of the vertices
+		int[] inLinkOffsets=new int[size+1];
+		int[] outDegrees=new int[size];
+
+		for(int local=0;local<size;local++)
+		{
+			int v=domainVertices[start+local];
+
+			for(int e=graph.inLinkOffsets[v];e<graph.inLinkOffsets[v+1];e++)
+			{
+				int source=graph.inLinkSources[e];
+
+				if(graph.domains[source]==domain)
+				{
+					inLinkOffsets[local+1]++;
+					outDegrees[localIndexes[source]]++;
+				}
+			}
+		}
+
+		for(int local=0;local<size;local++)
+			inLinkOffsets[local+1]+=inLinkOffsets[local];
+
+		int[] inLinkSources=new int[inLinkOffsets[size]];
+
+		for(int local=0,link=0;local<size;local++)
+		{
+			int v=domainVertices[start+local];
+
+			for(int e=graph.inLinkOffsets[v];e<graph.inLinkOffsets[v+1];e++)
+			{
+				int source=graph.inLinkSources[e];
+
+				if(graph.domains[source]==domain)
+					inLinkSources[link++]=localIndexes[source];
+			}
+		}
+
+		double dampingFactor=parameters.getDampingFactor();
+
+		double[] ranks=new double[size];
+		double[] newRanks=new double[size];
+
+		Arrays.fill(ranks, WebPageGraph.INITIAL_PAGE_RANK);
+
+		for(int i=0;i<this.localIterations;i++)
+		{
+			double residual=0;
+
+			for(int local=0;local<size;local++)
+			{
+				double calculatedPageRank=0;
+
+				for(int e=inLinkOffsets[local];e<inLinkOffsets[local+1];e++)
+					calculatedPageRank+=ranks[inLinkSources[e]]/outDegrees[inLinkSources[e]];
+
+				newRanks[local]=calculatedPageRank*dampingFactor+(1-dampingFactor);
+
+				residual+=Math.abs(newRanks[local]-ranks[local]);
+			}
+
+			double[] temporary=ranks;
+			ranks=newRanks;
+			newRanks=temporary;
+
+			if(residual<=RESIDUAL_PER_VERTEX*size)
+				break;
+		}
+
+		double sum=0;
+
+		for(int local=0;local<size;local++)
+			sum+=ranks[local];
+
+		for(int local=0;local<size;local++)
+			localRanks[domainVertices[start+local]]=ranks[local]/sum;
+	}
+
+
+	/**
+	 * This method calculates the page rank of every domain (the sum of the page ranks of its vertices) on the graph of
+	 * the domains.A vertex with local page rank l sends l multiplied by the sibling factor to its own domain ,or by 1 to
+	 * another domain ,and divided by its number of out-pointing links ,for every out-pointing link.So ,if the page
+	 * ranks of the vertices of every domain are proportional to their local page ranks ,the page rank of domain C is
+	 * |C| (1 - d) + d (sum of the page rank of domain B multiplied by the link from B to C).
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param domainOffsets the vertices of domain b are at domainVertices[domainOffsets[b]..domainOffsets[b+1]-1]
+	 * @param domainVertices the vertex ids of the vertices ,by domain
+	 * @param localRanks the local page ranks ,by vertex id
+	 * @return a new array with the page ranks of the domains ,by domain id
+	 */
+	private double[] calculateBlockRanks(PageRankParameters parameters,int[] domainOffsets,int[] domainVertices,double[] localRanks)
+	{
+		CompactWebPageGraph graph=this.graph;
+
+		int domains=domainOffsets.length-1;
+
+		double siblingFactor=parameters.getSiblingFactor();
+		double dampingFactor=parameters.getDampingFactor();
+
+		// Build the in-pointing links of the domains ,adding the links between the same pair of domains together
+		int[] blockInLinkOffsets=new int[domains+1];
+		int[] blockInLinkSources=new int[Math.min(graph.numberOfEdges(), 1<<16)];
+		double[] blockInLinkWeights=new double[blockInLinkSources.length];
+
+		double[] weights=new double[domains];
+		int[] touchedDomains=new int[domains];
+		boolean[] touched=new boolean[domains];
+
+		int links=0;
+
+		for(int domain=0;domain<domains;domain++)
+		{
+			int numberOfTouched=0;
+
+			for(int position=domainOffsets[domain];position<domainOffsets[domain+1];position++)
+			{
+				int v=domainVertices[position];
+
+				for(int e=graph.inLinkOffsets[v];e<graph.inLinkOffsets[v+1];e++)
+				{
+					int source=graph.inLinkSources[e];
+					int sourceDomain=graph.domains[source];
+
+					double S=(sourceDomain==domain)? siblingFactor : 1;
+
+					if(!touched[sourceDomain])
+					{
+						touched[sourceDomain]=true;
+						touchedDomains[numberOfTouched++]=sourceDomain;
+					}
+
+					weights[sourceDomain]+=S*localRanks[source]/(graph.outLinkOffsets[source+1]-graph.outLinkOffsets[source]);
+				}
+			}
+
+			if(links+numberOfTouched>blockInLinkSources.length)
+			{
+				int length=Math.max(blockInLinkSources.length*2, links+numberOfTouched);
+
+				blockInLinkSources=Arrays.copyOf(blockInLinkSources, length);
+				blockInLinkWeights=Arrays.copyOf(blockInLinkWeights, length);
+			}
+
+			for(int t=0;t<numberOfTouched;t++)
+			{
+				int sourceDomain=touchedDomains[t];
+
+				blockInLinkSources[links]=sourceDomain;
+				blockInLinkWeights[links++]=weights[sourceDomain];
+
+				weights[sourceDomain]=0;
+				touched[sourceDomain]=false;
+			}
+
+			blockInLinkOffsets[domain+1]=links;
+		}
+
+		double[] blockRanks=new double[domains];
+		double[] newBlockRanks=new double[domains];
+
+		for(int domain=0;domain<domains;domain++)
+			blockRanks[domain]=(domainOffsets[domain+1]-domainOffsets[domain])*WebPageGraph.INITIAL_PAGE_RANK;
+
+		for(int i=0;i<this.blockIterations;i++)
+		{
+			double residual=0;
+
+			for(int domain=0;domain<domains;domain++)
+			{
+				double calculatedPageRank=0;
+
+				for(int e=blockInLinkOffsets[domain];e<blockInLinkOffsets[domain+1];e++)
+					calculatedPageRank+=blockRanks[blockInLinkSources[e]]*blockInLinkWeights[e];
+
+				newBlockRanks[domain]=calculatedPageRank*dampingFactor+(domainOffsets[domain+1]-domainOffsets[domain])*(1-dampingFactor);
+
+				residual+=Math.abs(newBlockRanks[domain]-blockRanks[domain]);
+			}
+
+			double[] temporary=blockRanks;
+			blockRanks=newBlockRanks;
+			newBlockRanks=temporary;
+
+			if(residual<=RESIDUAL_PER_VERTEX*graph.numberOfVertices())
+				break;
+		}
+
+		return blockRanks;
+	}
+
+}
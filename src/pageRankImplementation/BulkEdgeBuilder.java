@@ -0,0 +1,271 @@
+package pageRankImplementation;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+
+/**
+ * This class collects many directed weighted edges between vertices (identified by their vertex ids ,which are their
+ * positions in a graph) and builds from them the out-pointing links of every vertex at once.The edges are held in
+ * arrays of numbers while they are collected.When the links are built ,the edges are grouped by source vertex and the
+ * edges of every source vertex are sorted by destination (the sources are processed in parallel) ,so the repeated
+ * edges are found next to each other and only the first of them is kept.The edges from a vertex to itself are
+ * dropped.The out-pointing links of every vertex are placed in increasing order of destination vertex id.
+ * The edges can be added to an object of type WebPageGraph with the method
+ * {@link WebPageGraph#addDirectedWeightedEdges(BulkEdgeBuilder)} (with a builder created by the method
+ * {@link WebPageGraph#createBulkEdgeBuilder(int)} ,which knows the positions of the vertices it was created for) or they can be used to create an object of type
+ * CompactWebPageGraph directly with the method {@link BulkEdgeBuilder#createCompactWebPageGraph(String[])}.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class BulkEdgeBuilder
+{
+
+	// The initial number of edges that the builder can hold without growing
+	public static final int DEFAULT_CAPACITY=1<<10;
+
+	// The minimum number of vertices whose edges are sorted by one thread
+	private static final int MIN_VERTICES_PER_PART=1<<12;
+
+	private int[] sources;				// The source vertex id of every edge ,in the order of addition
+
+	private int[] destinations;			// The destination vertex id of every edge ,in the order of addition
+
+	private double[] weights;			// The weight of every edge ,in the order of addition
+
+	private int size;					// The number of the edges that have been added
+
+	WebPageGraph graph;					// The graph whose positions are the vertex ids of the builder ,or null
+
+	long compactions;					// The number of the compactions of the graph when the builder was created
+
+
+	/**
+	 * This constructor creates an empty object of type BulkEdgeBuilder with the default capacity.
+	 *
+	 * @param void
+	 * @return void
+	 */
+	public BulkEdgeBuilder()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+
+	/**
+	 * This constructor creates an empty object of type BulkEdgeBuilder which can hold as many edges as indicated by
+	 * the argument without growing.
+	 *
+	 * @param expectedEdges the expected number of edges
+	 */
+	public BulkEdgeBuilder(int expectedEdges)
+	{
+		if(expectedEdges<0)
+			throw new NegativeNumberException("Negative number of edges given at constructor of class BulkEdgeBuilder");
+
+		int capacity=Math.max(expectedEdges, 1);
+
+		this.sources=new int[capacity];
+		this.destinations=new int[capacity];
+		this.weights=new double[capacity];
+	}
+
+
+	/**
+	 * This method returns the number of the edges that have been added to the builder (including the repeated ones)
+	 *
+	 * @return the number of the edges that have been added
+	 */
+	public int numberOfEdges()
+	{
+		return this.size;
+	}
+
+
+	/**
+	 * This method adds a directed edge from the vertex with vertex id source to the vertex with vertex id destination
+	 * with the weight given as argument.
+	 *
+	 * @param source the vertex id of the source of the edge
+	 * @param destination the vertex id of the destination of the edge
+	 * @param weight the weight of the edge
+	 * @return true if the edge has been added or false if the vertex ids are negative ,the weight is negative or the
+	 * edge points from a vertex to itself
+	 */
+	public boolean addEdge(int source,int destination,double weight)
+	{
+		if(source<0 || destination<0 || weight<0 || source==destination)
+			return false;
+
+		if(this.size==this.sources.length)
+		{
+			int capacity=(int)Math.min(Integer.MAX_VALUE-8, 2L*this.sources.length);
+
+			if(capacity==this.size)
+				throw new IllegalStateException("Too many edges in the BulkEdgeBuilder");
+
+			this.sources=Arrays.copyOf(this.sources, capacity);
+			this.destinations=Arrays.copyOf(this.destinations, capacity);
+			this.weights=Arrays.copyOf(this.weights, capacity);
+		}
+
+		this.sources[this.size]=source;
+		this.destinations[this.size]=destination;
+		this.weights[this.size]=weight;
+		this.size++;
+
+		return true;
+	}
+
+
+	/**
+	 * This method adds all the edges of another object of type BulkEdgeBuilder ,after the edges of this builder.
+	 *
+	 * @param builder an object of type BulkEdgeBuilder
+	 * @return void
+	 */
+	public void addEdges(BulkEdgeBuilder builder)
+	{
+		if(builder==null)
+			throw new NullPointerException("Null builder was given at method addEdges");
+
+		for(int e=0;e<builder.size;e++)
+			addEdge(builder.sources[e], builder.destinations[e], builder.weights[e]);
+	}
+
+
+	/**
+	 * This method removes all the edges of the builder.
+	 *
+	 * @param void
+	 * @return void
+	 */
+	public void clear()
+	{
+		this.size=0;
+	}
+
+
+	/**
+	 * This method creates an object of type CompactWebPageGraph with the URL names given as argument (by vertex id)
+	 * and the edges of the builder.The edges with vertex ids which don't correspond to a URL name are dropped.
+	 *
+	 * @param urls the URL names of the vertices ,by vertex id
+	 * @return an object of type CompactWebPageGraph with the vertices and the distinct edges of the builder
+	 */
+	public CompactWebPageGraph createCompactWebPageGraph(String[] urls)
+	{
+		if(urls==null)
+			throw new NullPointerException("Null array was given at method createCompactWebPageGraph");
+
+		Adjacency adjacency=build(urls.length);
+
+		return new CompactWebPageGraph(urls,adjacency.offsets,adjacency.targets);
+	}
+
+
+	/**
+	 * This method builds the out-pointing links of every vertex from the edges of the builder.The edges with vertex
+	 * ids which are greater or equal than the number of the vertices are dropped ,and from the repeated edges only the
+	 * first that has been added is kept.
+	 *
+	 * @param vertices the number of the vertices
+	 * @return the out-pointing links of the vertices
+	 */
+	Adjacency build(final int vertices)
+	{
+		// Group the edges by source vertex ,keeping the order of addition (counting sort)
+		final int[] offsets=new int[vertices+1];
+
+		for(int e=0;e<this.size;e++)
+			if(this.sources[e]<vertices && this.destinations[e]<vertices)
+				offsets[this.sources[e]+1]++;
+
+		for(int v=0;v<vertices;v++)
+			offsets[v+1]+=offsets[v];
+
+		// Every key holds the destination at the high bits and the position of addition at the low bits ,so sorting
+		// the keys of a source orders its edges by destination and the repeated edges by order of addition
+		final long[] keys=new long[offsets[vertices]];
+
+		int[] nextPosition=Arrays.copyOf(offsets, vertices);
+
+		for(int e=0;e<this.size;e++)
+			if(this.sources[e]<vertices && this.destinations[e]<vertices)
+				keys[nextPosition[this.sources[e]]++]=((long)this.destinations[e]<<32) | e;
+
+		nextPosition=null;
+
+		// Sort the edges of every source and keep the distinct ones at the start of its part of the keys
+		final int[] distinctEdges=new int[vertices];
+
+		final int parts=Math.max(1, Math.min(Runtime.getRuntime().availableProcessors()*4, vertices/MIN_VERTICES_PER_PART));
+
+		IntStream.range(0, parts).parallel().forEach(part ->
+		{
+			int end=(int)((long)vertices*(part+1)/parts);
+
+			for(int v=(int)((long)vertices*part/parts);v<end;v++)
+			{
+				int from=offsets[v];
+				int to=offsets[v+1];
+
+				Arrays.sort(keys, from, to);
+
+				int distinct=0;
+
+				for(int k=from;k<to;k++)
+					if(distinct==0 || (keys[k]>>>32)!=(keys[from+distinct-1]>>>32))
+						keys[from+distinct++]=keys[k];
+
+				distinctEdges[v]=distinct;
+			}
+		});
+
+		int[] finalOffsets=new int[vertices+1];
+
+		for(int v=0;v<vertices;v++)
+			finalOffsets[v+1]=finalOffsets[v]+distinctEdges[v];
+
+		int[] targets=new int[finalOffsets[vertices]];
+		double[] finalWeights=new double[finalOffsets[vertices]];
+
+		for(int v=0;v<vertices;v++)
+		{
+			int position=finalOffsets[v];
+
+			for(int k=offsets[v];k<offsets[v]+distinctEdges[v];k++)
+			{
+				targets[position]=(int)(keys[k]>>>32);
+				finalWeights[position]=this.weights[(int)keys[k]];
+				position++;
+			}
+		}
+
+		return new Adjacency(finalOffsets,targets,finalWeights);
+	}
+
+
+	/**
+	 * This class represents the out-pointing links of all the vertices ,as built by a BulkEdgeBuilder.The out-pointing
+	 * links of vertex v are at the positions offsets[v] up to offsets[v+1]-1 of the arrays targets and weights.
+	 */
+	static final class Adjacency
+	{
+		final int[] offsets;		// The start of the out-pointing links of every vertex
+
+		final int[] targets;		// The destination vertex ids of the out-pointing links
+
+		final double[] weights;		// The weights of the out-pointing links
+
+
+		private Adjacency(int[] offsets,int[] targets,double[] weights)
+		{
+			this.offsets=offsets;
+			this.targets=targets;
+			this.weights=weights;
+		}
+	}
+
+}
@@ -0,0 +1,293 @@
+package pageRankImplementation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * This class represents an immutable and compact form of a graph of WebPages.Every vertex of the graph is identified
+ * by an integer number (vertex id) from 0 up to the number of the vertices minus 1 ,and the links between the vertices
+ * are held in arrays of integers (compressed sparse rows) ,one array for the out-pointing links and one array for the
+ * in-pointing links of every vertex.Also every vertex is associated with the id of its domain ,so two vertices are
+ * siblings if and only if they have the same domain id.
+ * Because the objects of this class can't be changed after their creation ,they can be shared between many threads
+ * and many calculations of page ranks at the same time.The objects of this class are created from an object of type
+ * WebPageGraph by the method {@link WebPageGraph#createCompactWebPageGraph()}.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class CompactWebPageGraph
+{
+
+	final String[] urls;				// The URL names of the vertices ,by vertex id
+
+	final int[] domains;				// The domain id of every vertex ,by vertex id
+
+	final String[] domainNames;			// The names of the domains ,by domain id
+
+	final int[] outLinkOffsets;			// The out-pointing links of vertex v are at outLinkTargets[outLinkOffsets[v]..outLinkOffsets[v+1]-1]
+
+	final int[] outLinkTargets;			// The vertex ids of the destinations of the out-pointing links
+
+	final int[] inLinkOffsets;			// The in-pointing links of vertex v are at inLinkSources[inLinkOffsets[v]..inLinkOffsets[v+1]-1]
+
+	final int[] inLinkSources;			// The vertex ids of the sources of the in-pointing links
+
+	private final HashMap<String,Integer> vertexIds;	// The vertex id of every URL name
+
+	private final HashMap<String,Integer> domainIds;	// The domain id of every domain name
+
+
+	/**
+	 * This constructor creates an object of type CompactWebPageGraph with the vertices and the out-pointing links
+	 * given as arguments.The in-pointing links and the domains of the vertices are calculated from them.The arrays
+	 * which are passed as arguments are used by the new object and they must not be changed after the call.
+	 *
+	 * @param urls the URL names of the vertices ,by vertex id
+	 * @param outLinkOffsets an array with length equal to the number of the vertices plus 1 ,where the out-pointing
+	 * links of vertex v are at the positions outLinkOffsets[v] up to outLinkOffsets[v+1]-1 of the array outLinkTargets
+	 * @param outLinkTargets the vertex ids of the destinations of the out-pointing links
+	 */
+	CompactWebPageGraph(String[] urls,int[] outLinkOffsets,int[] outLinkTargets)
+	{
+		if(urls==null || outLinkOffsets==null || outLinkTargets==null)
+			throw new NullPointerException("Null array was given at constructor of class CompactWebPageGraph");
+
+		if(outLinkOffsets.length!=urls.length+1 || outLinkOffsets[urls.length]!=outLinkTargets.length)
+			throw new IllegalArgumentException("The offsets of the out-pointing links don't match the vertices at constructor of class CompactWebPageGraph");
+
+		int vertices=urls.length;
+
+		this.urls=urls;
+		this.outLinkOffsets=outLinkOffsets;
+		this.outLinkTargets=outLinkTargets;
+		this.vertexIds=new HashMap<String,Integer>(vertices*2);
+
+		for(int v=0;v<vertices;v++)
+			this.vertexIds.put(urls[v], v);
+
+		// Give an id to every distinct domain
+		HashMap<String,Integer> domainIds=new HashMap<String,Integer>();
+		this.domainIds=domainIds;
+		this.domains=new int[vertices];
+
+		for(int v=0;v<vertices;v++)
+		{
+			String domainName=WebPage.domainNameOfURL(urls[v]);
+
+			Integer domain=domainIds.get(domainName);
+
+			if(domain==null)
+			{
+				domain=domainIds.size();
+				domainIds.put(domainName, domain);
+			}
+
+			this.domains[v]=domain;
+		}
+
+		this.domainNames=new String[domainIds.size()];
+
+		for(Map.Entry<String,Integer> entry : domainIds.entrySet())
+			this.domainNames[entry.getValue()]=entry.getKey();
+
+		// Build the in-pointing links by counting the in-degree of every vertex. The sources of the in-pointing
+		// links of every vertex are placed in increasing order of vertex id
+		this.inLinkOffsets=new int[vertices+1];
+
+		for(int e=0;e<outLinkTargets.length;e++)
+			this.inLinkOffsets[outLinkTargets[e]+1]++;
+
+		for(int v=0;v<vertices;v++)
+			this.inLinkOffsets[v+1]+=this.inLinkOffsets[v];
+
+		this.inLinkSources=new int[outLinkTargets.length];
+
+		int[] nextPosition=Arrays.copyOf(this.inLinkOffsets, vertices);
+
+		for(int v=0;v<vertices;v++)
+			for(int e=outLinkOffsets[v];e<outLinkOffsets[v+1];e++)
+				this.inLinkSources[nextPosition[outLinkTargets[e]]++]=v;
+
+	}
+
+
+	/**
+	 * This method returns the number of the vertices of the graph
+	 *
+	 * @return the number of the vertices of the graph
+	 */
+	public int numberOfVertices()
+	{
+		return this.urls.length;
+	}
+
+
+	/**
+	 * This method returns the number of the directed edges of the graph
+	 *
+	 * @return the number of the directed edges of the graph
+	 */
+	public int numberOfEdges()
+	{
+		return this.outLinkTargets.length;
+	}
+
+
+	/**
+	 * This method returns the number of the distinct domains of the URL names of the vertices
+	 *
+	 * @return the number of the distinct domains of the graph
+	 */
+	public int numberOfDomains()
+	{
+		return this.domainNames.length;
+	}
+
+
+	/**
+	 * This method returns the vertex id which corresponds to the URL name given as argument ,or -1 if the URL
+	 * name doesn't correspond to a vertex of the graph.
+	 *
+	 * @param nameURL the name of a URL
+	 * @return the vertex id of the URL name or -1 if it doesn't exist in the graph
+	 */
+	public int getVertexId(String nameURL)
+	{
+		if(nameURL==null)
+			return -1;
+
+		Integer vertex=this.vertexIds.get(nameURL);
+
+		return (vertex==null)? -1 : vertex;
+	}
+
+
+	/**
+	 * This method returns the domain id which corresponds to the domain name given as argument ,or -1 if no URL
+	 * name of the graph belongs to that domain.
+	 *
+	 * @param domainName the name of a domain
+	 * @return the domain id of the domain name or -1 if it doesn't exist in the graph
+	 */
+	public int getDomainId(String domainName)
+	{
+		if(domainName==null)
+			return -1;
+
+		Integer domain=this.domainIds.get(domainName);
+
+		return (domain==null)? -1 : domain;
+	}
+
+
+	/**
+	 * This method returns the URL name of the vertex with the vertex id given as argument
+	 *
+	 * @param vertex the id of a vertex
+	 * @return the URL name of the vertex
+	 */
+	public String getNameOfURL(int vertex)
+	{
+		return this.urls[vertex];
+	}
+
+
+	/**
+	 * This method returns the domain id of the vertex with the vertex id given as argument
+	 *
+	 * @param vertex the id of a vertex
+	 * @return the domain id of the vertex
+	 */
+	public int getDomainId(int vertex)
+	{
+		return this.domains[vertex];
+	}
+
+
+	/**
+	 * This method returns the name of the domain with the domain id given as argument
+	 *
+	 * @param domain the id of a domain
+	 * @return the name of the domain
+	 */
+	public String getDomainName(int domain)
+	{
+		return this.domainNames[domain];
+	}
+
+
+	/**
+	 * This method returns whether the two vertices given as arguments are siblings (their URL names have the same domain)
+	 *
+	 * @param a the id of the first vertex
+	 * @param b the id of the second vertex
+	 * @return true if the two vertices are siblings or false otherwise
+	 */
+	public boolean verticesAreSiblings(int a,int b)
+	{
+		return this.domains[a]==this.domains[b];
+	}
+
+
+	/**
+	 * This method returns the number of the out-pointing links of a vertex
+	 *
+	 * @param vertex the id of a vertex
+	 * @return the number of the out-pointing links of the vertex
+	 */
+	public int getOutDegree(int vertex)
+	{
+		return this.outLinkOffsets[vertex+1]-this.outLinkOffsets[vertex];
+	}
+
+
+	/**
+	 * This method returns the number of the in-pointing links of a vertex
+	 *
+	 * @param vertex the id of a vertex
+	 * @return the number of the in-pointing links of the vertex
+	 */
+	public int getInDegree(int vertex)
+	{
+		return this.inLinkOffsets[vertex+1]-this.inLinkOffsets[vertex];
+	}
+
+
+	/**
+	 * This method returns a new array with the vertex ids of the vertices that the vertex given as argument points to
+	 *
+	 * @param vertex the id of a vertex
+	 * @return an array with the vertex ids of the destinations of the out-pointing links of the vertex
+	 */
+	public int[] getOutLinkedVertices(int vertex)
+	{
+		return Arrays.copyOfRange(this.outLinkTargets, this.outLinkOffsets[vertex], this.outLinkOffsets[vertex+1]);
+	}
+
+
+	/**
+	 * This method returns a new array with the vertex ids of the vertices that point to the vertex given as argument
+	 *
+	 * @param vertex the id of a vertex
+	 * @return an array with the vertex ids of the sources of the in-pointing links of the vertex
+	 */
+	public int[] getInLinkedVertices(int vertex)
+	{
+		return Arrays.copyOfRange(this.inLinkSources, this.inLinkOffsets[vertex], this.inLinkOffsets[vertex+1]);
+	}
+
+
+	/**
+	 * Returns a String representation of the object of type CompactWebPageGraph which invokes the method
+	 *
+	 * @return a String representation of the object invoking the method
+	 */
+	public String toString()
+	{
+		return "Vertices : "+this.numberOfVertices()+"  |  Edges : "+this.numberOfEdges()+"  |  Domains : "+this.numberOfDomains();
+	}
+
+}
@@ -0,0 +1,476 @@
+package pageRankImplementation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+/**
+ * This class represents an engine which calculates the page ranks of an object of type CompactWebPageGraph one
+ * strongly connected component at a time ({@link StronglyConnectedComponents}) ,in topological order of the graph of
+ * the components.When a component is calculated ,the page ranks of all the WebPages of other components that point to
+ * it are final ,so their contributions are added once and only the links inside the component are iterated until the
+ * component converges.A component with one vertex (most of the WebPages which only point to the core or are only
+ * pointed by it) is calculated exactly with one pass over its in-pointing links ,and the components of the same level
+ * don't depend on each other ,so they are calculated in parallel.The page ranks are the page ranks at convergence ,
+ * which a calculation of PageRankEngine reaches after enough iterations.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class ComponentRankEngine
+{
+
+	// The default residual of the whole calculation under which the calculations of the components stop
+	public static final double DEFAULT_TOLERANCE=1e-6;
+
+	// The minimum number of vertices of the components that are calculated by one task
+	static final int MIN_VERTICES_PER_TASK=1<<12;
+
+	private final CompactWebPageGraph graph;		// The graph whose page ranks are calculated
+
+	private final int threads;						// The number of threads of the calculations of the components
+
+	private StronglyConnectedComponents stronglyConnectedComponents;	// The components of the graph ,or null before the first calculation
+
+	private double tolerance;						// The residual of the whole calculation under which the components stop
+
+
+	/**
+	 * This constructor creates an object of type ComponentRankEngine which calculates the page ranks of the graph given
+	 * as argument ,with as many threads for the components of every level as indicated by the argument threads.
+	 *
+	 * @param graph an object of type CompactWebPageGraph whose page ranks will be calculated
+	 * @param threads the number of threads of the calculations of the components
+	 */
+	public ComponentRankEngine(CompactWebPageGraph graph,int threads)
+	{
+		if(graph==null)
+			throw new NullPointerException("Null graph was given at constructor of class ComponentRankEngine");
+
+		if(threads<=0)
+		{
+			if(threads<0)
+				throw new NegativeNumberException("Negative number of threads given at constructor of class ComponentRankEngine");
+			else
+				throw new ZeroNumberException("Zero number of threads given at constructor of class ComponentRankEngine");
+		}
+
+		this.graph=graph;
+		this.threads=threads;
+		this.tolerance=DEFAULT_TOLERANCE;
+	}
+
+
+	/**
+	 * This method returns the graph whose page ranks are calculated by this engine
+	 *
+	 * @return the graph of the engine
+	 */
+	public CompactWebPageGraph getGraph()
+	{
+		return this.graph;
+	}
+
+
+	/**
+	 * This method returns the strongly connected components of the graph ,which are found at the first call and are
+	 * used by all the calculations of this engine
+	 *
+	 * @return the strongly connected components of the graph
+	 */
+	public StronglyConnectedComponents getStronglyConnectedComponents()
+	{
+		if(this.stronglyConnectedComponents==null)
+			this.stronglyConnectedComponents=new StronglyConnectedComponents(this.graph);
+
+		return this.stronglyConnectedComponents;
+	}
+
+
+	/**
+	 * This method returns the residual of the whole calculation under which the calculations of the components stop
+	 *
+	 * @return the tolerance of the engine
+	 */
+	public double getTolerance()
+	{
+		return this.tolerance;
+	}
+
+
+	/**
+	 * This method sets the residual (the sum of the absolute changes of the page ranks at an iteration) of the whole
+	 * calculation under which the calculations of the components stop.Every component stops when its residual is
+	 * less or equal than its part of the tolerance (by number of vertices).If 0 is given every component with more
+	 * than one vertex runs all the iterations.
+	 *
+	 * @param tolerance the new tolerance of the engine
+	 * @return true if the tolerance has been set or false if it is negative
+	 */
+	public boolean setTolerance(double tolerance)
+	{
+		if(tolerance<0 || Double.isNaN(tolerance))
+			return false;
+
+		this.tolerance=tolerance;
+
+		return true;
+	}
+
+
+	/**
+	 * This method calculates the page ranks of all the vertices of the graph with the parameters given as argument ,
+	 * one level of components after the other.The number of iterations of the result is the greatest number of
+	 * iterations of a component and its residual is the sum of the residuals of the last iterations of the components.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param iterations the maximum number of the iterations of every component
+	 * @return an object of type PageRankResult with the calculated page ranks
+	 * @throws InterruptedException This Exception is thrown if the thread is interrupted while waiting for the components
+	 */
+	public PageRankResult calculatePageRanks(PageRankParameters parameters,int iterations) throws InterruptedException
+	{
+		if(parameters==null)
+			throw new NullPointerException("Null parameters were given at method calculatePageRanks");
+
+		if(iterations<0)
+			throw new NegativeNumberException("Negative number of iterations given at method calculatePageRanks");
+
+		StronglyConnectedComponents components=getStronglyConnectedComponents();
+
+		int vertices=this.graph.numberOfVertices();
+		int numberOfComponents=components.numberOfComponents();
+		int levels=components.numberOfLevels();
+
+		// Place the components of every level next to each other ,in increasing order of component
+		int[] levelOffsets=new int[levels+1];
+
+		for(int c=0;c<numberOfComponents;c++)
+			levelOffsets[components.getLevel(c)+1]++;
+
+		for(int level=0;level<levels;level++)
+			levelOffsets[level+1]+=levelOffsets[level];
+
+		int[] levelComponents=new int[numberOfComponents];
+		int[] nextPosition=new int[levels];
+
+		for(int c=0;c<numberOfComponents;c++)
+			levelComponents[levelOffsets[components.getLevel(c)]+nextPosition[components.getLevel(c)]++]=c;
+
+		double[] ranks=new double[vertices];
+		int[] localIndexes=new int[vertices];
+		double[] externalSums=new double[vertices];
+
+		int iterationsCompleted=0;
+		double residual=0;
+
+		ExecutorService executor=(this.threads>1)? Executors.newFixedThreadPool(this.threads) : null;
+
+		try
+		{
+			ArrayList<ComponentTask> tasks=new ArrayList<ComponentTask>();
+			ArrayList<Future<?>> futures=new ArrayList<Future<?>>();
+
+			for(int level=0;level<levels;level++)
+			{
+				int levelVertices=0;
+
+				for(int position=levelOffsets[level];position<levelOffsets[level+1];position++)
+					levelVertices+=components.getComponentSize(levelComponents[position]);
+
+				tasks.clear();
+				futures.clear();
+
+				// A small level is calculated by this thread ,because a task costs more than its components
+				if(executor==null || levelVertices<2*MIN_VERTICES_PER_TASK)
+					tasks.add(new ComponentTask(parameters,iterations,levelComponents,levelOffsets[level],levelOffsets[level+1],ranks,localIndexes,externalSums));
+				else
+				{
+					int verticesPerTask=Math.max(MIN_VERTICES_PER_TASK, levelVertices/this.threads);
+
+					int first=levelOffsets[level];
+
+					while(first<levelOffsets[level+1])
+					{
+						int last=first;
+						int taskVertices=0;
+
+						while(last<levelOffsets[level+1] && taskVertices<verticesPerTask)
+							taskVertices+=components.getComponentSize(levelComponents[last++]);
+
+						tasks.add(new ComponentTask(parameters,iterations,levelComponents,first,last,ranks,localIndexes,externalSums));
+
+						first=last;
+					}
+				}
+
+				if(tasks.size()==1)
+					tasks.get(0).run();
+				else
+				{
+					for(ComponentTask task : tasks)
+						futures.add(executor.submit(task));
+
+					for(Future<?> future : futures)
+					{
+						try
+						{
+							future.get();
+						}
+						catch(ExecutionException e)
+						{
+							Throwable cause=e.getCause();
+
+							if(cause instanceof RuntimeException)
+								throw (RuntimeException)cause;
+
+							throw new IllegalStateException("The calculation of the page ranks of a component has failed",cause);
+						}
+					}
+				}
+
+				// The results of the tasks are visible after the end of their futures
+				for(ComponentTask task : tasks)
+				{
+					iterationsCompleted=Math.max(iterationsCompleted, task.iterationsCompleted);
+					residual+=task.residual;
+				}
+			}
+		}
+		finally
+		{
+			if(executor!=null)
+				executor.shutdownNow();
+		}
+
+		return new PageRankResult(this.graph,parameters,ranks,iterationsCompleted,residual);
+	}
+
+
+	/**
+	 * This class represents the calculation of some components of one level ,which is run by one thread.Every
+	 * component writes only the page ranks of its own vertices ,so the components of a level can be calculated at the
+	 * same time on the same arrays.
+	 */
+	private class ComponentTask implements Runnable
+	{
+
+		private final PageRankParameters parameters;	// The parameters of the calculation
+
+		private final int iterations;					// The maximum number of iterations of every component
+
+		private final int[] levelComponents;			// The components by level
+
+		private final int first;						// The position of the first component of the task
+
+		private final int last;							// The position after the last component of the task
+
+		private final double[] ranks;					// The page ranks by vertex id
+
+		private final int[] localIndexes;				// The position of every vertex in its component ,by vertex id
+
+		private final double[] externalSums;			// The contributions from the other components by vertex id
+
+		private int iterationsCompleted;				// The greatest number of iterations of a component of the task
+
+		private double residual;						// The sum of the residuals of the components of the task
+
+
+		private ComponentTask(PageRankParameters parameters,int iterations,int[] levelComponents,int first,int last,
+				double[] ranks,int[] localIndexes,double[] externalSums)
+		{
+			this.parameters=parameters;
+			this.iterations=iterations;
+			this.levelComponents=levelComponents;
+			this.first=first;
+			this.last=last;
+			this.ranks=ranks;
+			this.localIndexes=localIndexes;
+			this.externalSums=externalSums;
+		}
+
+
+		@Override
+		public void run()
+		{
+			for(int position=this.first;position<this.last;position++)
+				calculateComponent(this.levelComponents[position]);
+		}
+
+
+		/**
+		 * This method calculates the page ranks of the vertices of one component ,with the page ranks of the vertices
+		 * of the components that point to it already calculated.
+		 *
+		 * @param component the number of the component
+		 */
+		private void calculateComponent(int component)
+		{
+			CompactWebPageGraph graph=ComponentRankEngine.this.graph;
+			StronglyConnectedComponents stronglyConnectedComponents=ComponentRankEngine.this.stronglyConnectedComponents;
+
+			int[] inLinkOffsets=graph.inLinkOffsets;
+			int[] inLinkSources=graph.inLinkSources;
+			int[] outLinkOffsets=graph.outLinkOffsets;
+			int[] domains=graph.domains;
+			int[] components=stronglyConnectedComponents.components();
+			int[] componentVertices=stronglyConnectedComponents.componentVertices();
+
+			double[] ranks=this.ranks;
+			double[] externalSums=this.externalSums;
+
+			double siblingFactor=this.parameters.getSiblingFactor();
+			double lowerBound=this.parameters.getLowerBound();
+			double dampingFactor=this.parameters.getDampingFactor();
+
+			int start=stronglyConnectedComponents.componentOffsets()[component];
+			int end=stronglyConnectedComponents.componentOffsets()[component+1];
+
+			if(this.iterations==0)
+			{
+				for(int position=start;position<end;position++)
+					ranks[componentVertices[position]]=WebPageGraph.INITIAL_PAGE_RANK;
+
+				return ;
+			}
+
+			// The page ranks of the other components are final ,so their contributions are added once
+			for(int position=start;position<end;position++)
+			{
+				int v=componentVertices[position];
+
+				double sum=0;
+
+				for(int e=inLinkOffsets[v];e<inLinkOffsets[v+1];e++)
+				{
+					int source=inLinkSources[e];
+
+					if(components[source]==component || ranks[source]<lowerBound)
+						continue;
+
+					double S=(domains[source]==domains[v])? siblingFactor : 1;
+
+					sum+=S*ranks[source]/(outLinkOffsets[source+1]-outLinkOffsets[source]);
+				}
+
+				externalSums[v]=sum;
+			}
+
+			// A vertex without links from itself has only contributions from other components
+			if(end-start==1)
+			{
+				int v=componentVertices[start];
+
+				ranks[v]=externalSums[v]*dampingFactor+(1-dampingFactor);
+
+				this.iterationsCompleted=Math.max(this.iterationsCompleted, 1);
+
+				return ;
+			}
+
+			// The links inside the component are copied to small arrays with positions in the component ,with the
+			// sibling factor and the out-degree of the source already applied to their weights
+			int size=end-start;
+
+			int[] localIndexes=this.localIndexes;
+
+			for(int position=start;position<end;position++)
+				localIndexes[componentVertices[position]]=position-start;
+
+			int[] localOffsets=new int[size+1];
+
+			for(int position=start;position<end;position++)
+			{
+				int v=componentVertices[position];
+
+				int internalLinks=0;
+
+				for(int e=inLinkOffsets[v];e<inLinkOffsets[v+1];e++)
+					if(components[inLinkSources[e]]==component)
+						internalLinks++;
+
+				localOffsets[position-start+1]=localOffsets[position-start]+internalLinks;
+			}
+
+			int[] localSources=new int[localOffsets[size]];
+			double[] localWeights=new double[localOffsets[size]];
+
+			for(int position=start;position<end;position++)
+			{
+				int v=componentVertices[position];
+
+				int link=localOffsets[position-start];
+
+				for(int e=inLinkOffsets[v];e<inLinkOffsets[v+1];e++)
+				{
+					int source=inLinkSources[e];
+
+					if(components[source]!=component)
+						continue;
+
+					double S=(domains[source]==domains[v])? siblingFactor : 1;
+
+					localSources[link]=localIndexes[source];
+					localWeights[link++]=S/(outLinkOffsets[source+1]-outLinkOffsets[source]);
+				}
+			}
+
+			double[] localRanks=new double[size];		// The page ranks of the previous iteration ,by position in the component
+			double[] newLocalRanks=new double[size];	// The page ranks of the current iteration ,by position in the component
+
+			Arrays.fill(localRanks, WebPageGraph.INITIAL_PAGE_RANK);
+
+			double tolerance=ComponentRankEngine.this.tolerance*size/graph.numberOfVertices();
+			double residual=0;
+
+			int i=0;
+
+			while(i<this.iterations)
+			{
+				residual=0;
+
+				for(int local=0;local<size;local++)
+				{
+					double calculatedPageRank=externalSums[componentVertices[start+local]];
+
+					for(int link=localOffsets[local];link<localOffsets[local+1];link++)
+					{
+						double previousPageRank=localRanks[localSources[link]];
+
+						// The spam WebPages don't affect the page rank of the current vertex
+						if(previousPageRank<lowerBound)
+							continue;
+
+						calculatedPageRank+=localWeights[link]*previousPageRank;
+					}
+
+					newLocalRanks[local]=calculatedPageRank*dampingFactor+(1-dampingFactor);
+
+					residual+=Math.abs(newLocalRanks[local]-localRanks[local]);
+				}
+
+				// The page ranks of the current iteration become the previous page ranks of the next iteration
+				double[] temporary=localRanks;
+				localRanks=newLocalRanks;
+				newLocalRanks=temporary;
+
+				i++;
+
+				if(tolerance>0 && residual<=tolerance)
+					break;
+			}
+
+			for(int local=0;local<size;local++)
+				ranks[componentVertices[start+local]]=localRanks[local];
+
+			this.iterationsCompleted=Math.max(this.iterationsCompleted, i);
+			this.residual+=residual;
+		}
+
+	}
+
+}
@@ -0,0 +1,33 @@
+package pageRankImplementation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+/**
+ * This class represents a Java Flight Recorder event which is recorded when the edges of an object of type
+ * WebPageGraph are generated ({@link WebPageGraph#createAssociationsBetweenVertices()}).The fields of the event
+ * are filled only if the event is going to be committed.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+@Name("pageRankImplementation.EdgeGeneration")
+@Label("Edge Generation")
+@Category("Page Rank")
+@Description("Generation of the edges between the vertices of a web page graph")
+final class EdgeGenerationEvent extends jdk.jfr.Event
+{
+
+	@Label("Vertices")
+	int vertices;				// The number of the vertices of the graph
+
+	@Label("Edges Added")
+	int edgesAdded;				// The number of the edges that have been added
+
+	@Label("Edges")
+	int edges;					// The number of the edges of the graph after the generation
+
+}
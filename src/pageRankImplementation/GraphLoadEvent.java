@@ -0,0 +1,35 @@
+package pageRankImplementation;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+/**
+ * This class represents a Java Flight Recorder event which is recorded when the vertices of an object of type
+ * WebPageGraph are created from the data of a text file ({@link WebPageGraph#createWebPageGraphFromFileData(String)}).
+ * The fields of the event are filled only if the event is going to be committed.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+@Name("pageRankImplementation.GraphLoad")
+@Label("Graph Load")
+@Category("Page Rank")
+@Description("Creation of the vertices of a web page graph from a text file")
+final class GraphLoadEvent extends jdk.jfr.Event
+{
+
+	@Label("File Name")
+	String fileName;			// The name of the file which has been read
+
+	@Label("Vertices")
+	int vertices;				// The number of the vertices of the graph after the load
+
+	@Label("Bytes Read")
+	@DataAmount
+	long bytesRead;				// The number of the bytes that have been read from the file
+
+}
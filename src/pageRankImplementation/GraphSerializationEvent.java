@@ -0,0 +1,41 @@
+package pageRankImplementation;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+/**
+ * This class represents a Java Flight Recorder event which is recorded when an object of type WebPageGraph is written
+ * to a binary file or read from a binary file.The fields of the event are filled only if the event is going to be
+ * committed.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+@Name("pageRankImplementation.GraphSerialization")
+@Label("Graph Serialization")
+@Category("Page Rank")
+@Description("Writing or reading of a web page graph to or from a binary file")
+final class GraphSerializationEvent extends jdk.jfr.Event
+{
+
+	@Label("File Name")
+	String fileName;			// The name of the binary file
+
+	@Label("Write")
+	boolean write;				// True if the graph has been written or false if it has been read
+
+	@Label("Vertices")
+	int vertices;				// The number of the vertices of the graph
+
+	@Label("Edges")
+	int edges;					// The number of the edges of the graph
+
+	@Label("Bytes")
+	@DataAmount
+	long bytes;					// The size of the binary file
+
+}
@@ -0,0 +1,541 @@
+package pageRankImplementation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+/**
+ * This class represents the statistics of the shape of an object of type CompactWebPageGraph ,calculated with one
+ * parallel pass over the arrays of the links of the graph :
+ * 1. The distributions of the in-degrees and the out-degrees of the vertices ({@link SizeDistribution}) ,with the
+ * number of the vertices without in-pointing links and of the dangling vertices.
+ * 2. The part of the links which are between siblings and the distribution of the sizes of the domains.
+ * 3. The reciprocity :the part of the links from a vertex u to a vertex v for which there is also a link from v to u.
+ * 4. The estimated memory of the graph and of the arrays of a calculation of its page ranks.
+ * The vertices are divided into tasks with about the same number of links ,so the pass over a graph of millions of
+ * links takes a few seconds.The statistics are also used for the automatic choices of the calculations
+ * ({@link GraphStatistics#recommendsStructuralPreprocessing()} and {@link GraphStatistics#recommendsBlockRank()}).
+ * The objects of this class are immutable.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class GraphStatistics
+{
+
+	// The part of the vertices without in-pointing or without out-pointing links over which the structural
+	// preprocessing is recommended
+	public static final double STRUCTURAL_PREPROCESSING_FRACTION=0.1;
+
+	// The part of the links between siblings over which the calculation of BlockRankEngine is recommended
+	public static final double BLOCK_RANK_SIBLING_FRACTION=0.5;
+
+	// The minimum number of links of the vertices that are processed by one task
+	static final int MIN_EDGES_PER_TASK=1<<16;
+
+	// The estimated number of bytes of the header of an object and of an array
+	private static final int OBJECT_HEADER_BYTES=16;
+
+	// The estimated number of bytes of an entry of a HashMap with its key of type Integer
+	private static final int MAP_ENTRY_BYTES=48;
+
+	private final int vertices;							// The number of the vertices
+
+	private final int edges;							// The number of the links
+
+	private final int domains;							// The number of the domains
+
+	private final SizeDistribution inDegrees;			// The distribution of the in-degrees of the vertices
+
+	private final SizeDistribution outDegrees;			// The distribution of the out-degrees of the vertices
+
+	private final SizeDistribution domainSizes;			// The distribution of the number of the vertices of the domains
+
+	private final long siblingEdges;					// The number of the links between siblings
+
+	private final long reciprocalEdges;					// The number of the links whose reverse link exists
+
+	private final long graphBytes;						// The estimated memory of the graph in bytes
+
+
+	/**
+	 * This constructor creates an object of type GraphStatistics with the statistics given as arguments
+	 */
+	private GraphStatistics(int vertices,int edges,int domains,SizeDistribution inDegrees,SizeDistribution outDegrees,
+			SizeDistribution domainSizes,long siblingEdges,long reciprocalEdges,long graphBytes)
+	{
+		this.vertices=vertices;
+		this.edges=edges;
+		this.domains=domains;
+		this.inDegrees=inDegrees;
+		this.outDegrees=outDegrees;
+		this.domainSizes=domainSizes;
+		this.siblingEdges=siblingEdges;
+		this.reciprocalEdges=reciprocalEdges;
+		this.graphBytes=graphBytes;
+	}
+
+
+	/**
+	 * This method calculates the statistics of the graph given as argument with as many threads as indicated by the
+	 * argument threads ,in O(vertices + edges * log(maximum in-degree)) time.
+	 *
+	 * @param graph an object of type CompactWebPageGraph
+	 * @param threads the number of threads of the calculation
+	 * @return an object of type GraphStatistics with the statistics of the graph
+	 * @throws InterruptedException This Exception is thrown if the thread is interrupted while waiting for the tasks
+	 */
+	public static GraphStatistics calculate(final CompactWebPageGraph graph,int threads) throws InterruptedException
+	{
+		if(graph==null)
+			throw new NullPointerException("Null graph was given at method calculate");
+
+		if(threads<=0)
+		{
+			if(threads<0)
+				throw new NegativeNumberException("Negative number of threads given at method calculate");
+			else
+				throw new ZeroNumberException("Zero number of threads given at method calculate");
+		}
+
+		int vertices=graph.numberOfVertices();
+		int edges=graph.numberOfEdges();
+
+		// The vertices are divided into ranges with about the same number of in-pointing and out-pointing links
+		int tasks=(int)Math.min(threads*4L, Math.max(1, (edges+(long)vertices)/MIN_EDGES_PER_TASK));
+
+		ArrayList<StatisticsTask> statisticsTasks=new ArrayList<StatisticsTask>(tasks);
+
+		int first=0;
+
+		for(int task=1;task<=tasks && first<vertices;task++)
+		{
+			long workUpTo=(edges*2L+vertices)*task/tasks;
+			int last=first;
+
+			while(last<vertices && graph.outLinkOffsets[last]+(long)graph.inLinkOffsets[last]+last<workUpTo)
+				last++;
+
+			if(task==tasks)
+				last=vertices;
+
+			if(last>first)
+				statisticsTasks.add(new StatisticsTask(graph,first,last));
+
+			first=last;
+		}
+
+		if(statisticsTasks.size()==1 || threads==1)
+		{
+			for(StatisticsTask task : statisticsTasks)
+				task.run();
+		}
+		else
+		{
+			ExecutorService executor=Executors.newFixedThreadPool(Math.min(threads, statisticsTasks.size()));
+
+			try
+			{
+				ArrayList<Future<?>> futures=new ArrayList<Future<?>>();
+
+				for(StatisticsTask task : statisticsTasks)
+					futures.add(executor.submit(task));
+
+				for(Future<?> future : futures)
+				{
+					try
+					{
+						future.get();
+					}
+					catch(ExecutionException e)
+					{
+						Throwable cause=e.getCause();
+
+						if(cause instanceof RuntimeException)
+							throw (RuntimeException)cause;
+
+						throw new IllegalStateException("The calculation of the statistics of the graph has failed",cause);
+					}
+				}
+			}
+			finally
+			{
+				executor.shutdownNow();
+			}
+		}
+
+		// The counts of the tasks are added
+		long[] inDegreeCounts=new long[1];
+		long[] outDegreeCounts=new long[1];
+		long siblingEdges=0;
+		long reciprocalEdges=0;
+		long urlCharacters=0;
+
+		for(StatisticsTask task : statisticsTasks)
+		{
+			inDegreeCounts=add(inDegreeCounts, task.inDegreeCounts);
+			outDegreeCounts=add(outDegreeCounts, task.outDegreeCounts);
+			siblingEdges+=task.siblingEdges;
+			reciprocalEdges+=task.reciprocalEdges;
+			urlCharacters+=task.urlCharacters;
+		}
+
+		int domains=graph.numberOfDomains();
+
+		int[] verticesOfDomains=new int[domains];
+		int largestDomain=0;
+
+		for(int v=0;v<vertices;v++)
+		{
+			if(++verticesOfDomains[graph.domains[v]]>largestDomain)
+				largestDomain=verticesOfDomains[graph.domains[v]];
+		}
+
+		long[] domainSizeCounts=new long[largestDomain+1];
+		long domainCharacters=0;
+
+		for(int domain=0;domain<domains;domain++)
+		{
+			domainSizeCounts[verticesOfDomains[domain]]++;
+			domainCharacters+=graph.domainNames[domain].length();
+		}
+
+		// The arrays of the links ,the URL names and domain names (as Strings of one byte per character) and the maps
+		// from the names to the ids
+		long graphBytes=4L*(vertices+2L*(vertices+1)+2L*edges)+6L*OBJECT_HEADER_BYTES
+				+2L*OBJECT_HEADER_BYTES*(vertices+domains)+urlCharacters+domainCharacters
+				+(long)MAP_ENTRY_BYTES*(vertices+domains)+8L*(2L*vertices+domains);
+
+		return new GraphStatistics(vertices,edges,domains,new SizeDistribution(inDegreeCounts),new SizeDistribution(outDegreeCounts),
+				new SizeDistribution(domainSizeCounts),siblingEdges,reciprocalEdges,graphBytes);
+	}
+
+
+	/**
+	 * This method adds the counts of the second array to the counts of the first array
+	 *
+	 * @param counts the first array of counts
+	 * @param moreCounts the second array of counts
+	 * @return the first array ,or a longer copy of it if the second array is longer
+	 */
+	private static long[] add(long[] counts,long[] moreCounts)
+	{
+		if(moreCounts.length>counts.length)
+		{
+			long[] longerCounts=new long[moreCounts.length];
+
+			System.arraycopy(counts, 0, longerCounts, 0, counts.length);
+			counts=longerCounts;
+		}
+
+		for(int size=0;size<moreCounts.length;size++)
+			counts[size]+=moreCounts[size];
+
+		return counts;
+	}
+
+
+	/**
+	 * This method returns the number of the vertices of the graph
+	 *
+	 * @return the number of the vertices
+	 */
+	public int numberOfVertices()
+	{
+		return this.vertices;
+	}
+
+
+	/**
+	 * This method returns the number of the links of the graph
+	 *
+	 * @return the number of the links
+	 */
+	public int numberOfEdges()
+	{
+		return this.edges;
+	}
+
+
+	/**
+	 * This method returns the number of the domains of the graph
+	 *
+	 * @return the number of the domains
+	 */
+	public int numberOfDomains()
+	{
+		return this.domains;
+	}
+
+
+	/**
+	 * This method returns the distribution of the in-degrees of the vertices
+	 *
+	 * @return the distribution of the in-degrees
+	 */
+	public SizeDistribution getInDegrees()
+	{
+		return this.inDegrees;
+	}
+
+
+	/**
+	 * This method returns the distribution of the out-degrees of the vertices
+	 *
+	 * @return the distribution of the out-degrees
+	 */
+	public SizeDistribution getOutDegrees()
+	{
+		return this.outDegrees;
+	}
+
+
+	/**
+	 * This method returns the distribution of the number of the vertices of the domains
+	 *
+	 * @return the distribution of the sizes of the domains
+	 */
+	public SizeDistribution getDomainSizes()
+	{
+		return this.domainSizes;
+	}
+
+
+	/**
+	 * This method returns the number of the vertices without in-pointing links
+	 *
+	 * @return the number of the vertices with zero in-degree
+	 */
+	public long numberOfZeroInDegreeVertices()
+	{
+		return this.inDegrees.getCount(0);
+	}
+
+
+	/**
+	 * This method returns the number of the vertices without out-pointing links
+	 *
+	 * @return the number of the dangling vertices
+	 */
+	public long numberOfDanglingVertices()
+	{
+		return this.outDegrees.getCount(0);
+	}
+
+
+	/**
+	 * This method returns the number of the links between siblings
+	 *
+	 * @return the number of the sibling links
+	 */
+	public long numberOfSiblingEdges()
+	{
+		return this.siblingEdges;
+	}
+
+
+	/**
+	 * This method returns the part of the links which are between siblings ,or 0 if the graph doesn't have links
+	 *
+	 * @return the fraction of the sibling links
+	 */
+	public double getSiblingEdgeFraction()
+	{
+		return (this.edges==0)? 0 : (double)this.siblingEdges/this.edges;
+	}
+
+
+	/**
+	 * This method returns the number of the links from a vertex u to a vertex v for which there is also a link from v
+	 * to u (every pair of opposite links is counted twice)
+	 *
+	 * @return the number of the reciprocal links
+	 */
+	public long numberOfReciprocalEdges()
+	{
+		return this.reciprocalEdges;
+	}
+
+
+	/**
+	 * This method returns the part of the links whose opposite link exists ,or 0 if the graph doesn't have links
+	 *
+	 * @return the reciprocity of the graph
+	 */
+	public double getReciprocity()
+	{
+		return (this.edges==0)? 0 : (double)this.reciprocalEdges/this.edges;
+	}
+
+
+	/**
+	 * This method returns the estimated memory of the graph in bytes :the arrays of the links and the domains ,the URL
+	 * names and domain names and the maps from the names to the ids
+	 *
+	 * @return the estimated bytes of the graph
+	 */
+	public long getEstimatedGraphBytes()
+	{
+		return this.graphBytes;
+	}
+
+
+	/**
+	 * This method returns the estimated memory in bytes of the arrays of one calculation of the page ranks of the graph
+	 * by an object of type PageRankEngine (the page ranks of two iterations and the weights of the links)
+	 *
+	 * @return the estimated bytes of a calculation
+	 */
+	public long getEstimatedCalculationBytes()
+	{
+		return 8L*(3L*this.vertices)+3L*OBJECT_HEADER_BYTES;
+	}
+
+
+	/**
+	 * This method returns true if the vertices without in-pointing links and the dangling vertices are so many that
+	 * skipping the head and tail vertices at the iterations is worth the preprocessing
+	 * ({@link PageRankEngine#setStructuralPreprocessing(boolean)})
+	 *
+	 * @return true if the structural preprocessing is recommended or false otherwise
+	 */
+	public boolean recommendsStructuralPreprocessing()
+	{
+		return this.vertices>0 && numberOfZeroInDegreeVertices()+numberOfDanglingVertices()>=STRUCTURAL_PREPROCESSING_FRACTION*this.vertices;
+	}
+
+
+	/**
+	 * This method returns true if the links are mostly between siblings and there are many domains ,so the two level
+	 * calculation of {@link BlockRankEngine} gives a good initial page rank
+	 *
+	 * @return true if the calculation by domains is recommended or false otherwise
+	 */
+	public boolean recommendsBlockRank()
+	{
+		return this.domains>1 && getSiblingEdgeFraction()>=BLOCK_RANK_SIBLING_FRACTION;
+	}
+
+
+	/**
+	 * Returns a String representation of the object of type GraphStatistics which invokes the method
+	 *
+	 * @return a String representation of the object invoking the method
+	 */
+	public String toString()
+	{
+		return String.format("Vertices : %d  |  Edges : %d  |  Domains : %d%n"
+				+"In-degrees : %s%n"
+				+"Out-degrees : %s%n"
+				+"Domain sizes : %s%n"
+				+"Zero in-degree : %d  |  Dangling : %d  |  Sibling edges : %.2f%%  |  Reciprocity : %.2f%%%n"
+				+"Estimated memory : graph %.1f MB  |  calculation %.1f MB",
+				this.vertices, this.edges, this.domains, this.inDegrees, this.outDegrees, this.domainSizes,
+				numberOfZeroInDegreeVertices(), numberOfDanglingVertices(), 100*getSiblingEdgeFraction(), 100*getReciprocity(),
+				this.graphBytes/1048576.0, getEstimatedCalculationBytes()/1048576.0);
+	}
+
+
+	/**
+	 * This class represents the part of the calculation of the statistics for a range of vertices.The counts of every
+	 * task are added after all the tasks have finished.
+	 */
+	private static class StatisticsTask implements Runnable
+	{
+		private final CompactWebPageGraph graph;		// The graph of the statistics
+
+		private final int first;						// The first vertex of the range
+
+		private final int last;							// The vertex after the last vertex of the range
+
+		private long[] inDegreeCounts;					// The number of the vertices of the range of every in-degree
+
+		private long[] outDegreeCounts;					// The number of the vertices of the range of every out-degree
+
+		private long siblingEdges;						// The number of the out-pointing links of the range between siblings
+
+		private long reciprocalEdges;					// The number of the out-pointing links of the range whose opposite link exists
+
+		private long urlCharacters;						// The number of the characters of the URL names of the range
+
+
+		private StatisticsTask(CompactWebPageGraph graph,int first,int last)
+		{
+			this.graph=graph;
+			this.first=first;
+			this.last=last;
+			this.inDegreeCounts=new long[16];
+			this.outDegreeCounts=new long[16];
+		}
+
+
+		/**
+		 * This method counts the degrees ,the sibling links and the reciprocal links of the vertices of the range.The
+		 * sources of the in-pointing links of a vertex are in increasing order ,so the opposite link of a link from u to
+		 * v is found with a binary search of v in the in-pointing links of u.
+		 */
+		public void run()
+		{
+			int[] domains=this.graph.domains;
+			int[] outLinkOffsets=this.graph.outLinkOffsets;
+			int[] outLinkTargets=this.graph.outLinkTargets;
+			int[] inLinkOffsets=this.graph.inLinkOffsets;
+			int[] inLinkSources=this.graph.inLinkSources;
+
+			for(int u=this.first;u<this.last;u++)
+			{
+				int outDegree=outLinkOffsets[u+1]-outLinkOffsets[u];
+				int inDegree=inLinkOffsets[u+1]-inLinkOffsets[u];
+
+				if(outDegree>=this.outDegreeCounts.length)
+					this.outDegreeCounts=grow(this.outDegreeCounts, outDegree);
+
+				if(inDegree>=this.inDegreeCounts.length)
+					this.inDegreeCounts=grow(this.inDegreeCounts, inDegree);
+
+				this.outDegreeCounts[outDegree]++;
+				this.inDegreeCounts[inDegree]++;
+				this.urlCharacters+=this.graph.urls[u].length();
+
+				int domain=domains[u];
+				int inStart=inLinkOffsets[u];
+				int inEnd=inLinkOffsets[u+1];
+
+				for(int e=outLinkOffsets[u];e<outLinkOffsets[u+1];e++)
+				{
+					int v=outLinkTargets[e];
+
+					if(domains[v]==domain)
+						this.siblingEdges++;
+
+					if(inStart<inEnd && Arrays.binarySearch(inLinkSources, inStart, inEnd, v)>=0)
+						this.reciprocalEdges++;
+				}
+			}
+		}
+
+
+		/**
+		 * This method returns a copy of the array of counts given as argument with place at least for the size given
+		 * as argument
+		 *
+		 * @param counts an array of counts
+		 * @param size the size which must have a place in the array
+		 * @return the longer copy of the array
+		 */
+		private static long[] grow(long[] counts,int size)
+		{
+			long[] longerCounts=new long[Math.max(size+1, counts.length*2)];
+
+			System.arraycopy(counts, 0, longerCounts, 0, counts.length);
+
+			return longerCounts;
+		}
+
+	}
+
+}
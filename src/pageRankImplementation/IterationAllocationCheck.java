@@ -0,0 +1,190 @@
+package pageRankImplementation;
+
+
+/**
+ * This class checks that the iterations of the calculations of page ranks don't allocate memory in the heap.For every
+ * checked calculation the bytes allocated by the current thread are measured ({@link AllocationMeter}) for a
+ * calculation with {@link IterationAllocationCheck#SHORT_ITERATIONS} and for a calculation with
+ * {@link IterationAllocationCheck#LONG_ITERATIONS} iterations ,and the difference divided by the difference of the
+ * iterations is the allocation of one steady iteration (the allocations before and after the iterations are the same
+ * for both calculations ,so they cancel out).The calculations run a few times before the measurements ,so the
+ * measured code is compiled ,and the smallest measurement of a few repetitions is kept.
+ * The main method exits with status 1 if a calculation allocates more bytes per iteration than allowed ,so it can be
+ * run by a build as a regression check :
+ * <pre>
+ * java pageRankImplementation.IterationAllocationCheck [vertices] [allowed bytes per iteration]
+ * </pre>
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class IterationAllocationCheck
+{
+
+	// The default number of WebPages of the graph of the check
+	public static final int DEFAULT_VERTICES=2000;
+
+	// The default number of bytes that an iteration may allocate
+	public static final long DEFAULT_ALLOWED_BYTES_PER_ITERATION=0;
+
+	// The number of iterations of the shorter calculation of a measurement
+	static final int SHORT_ITERATIONS=5;
+
+	// The number of iterations of the longer calculation of a measurement
+	static final int LONG_ITERATIONS=25;
+
+	// The number of the calculations that run before the measurements
+	static final int WARM_UP_CALCULATIONS=20;
+
+	// The number of the measurements of every calculation ,of which the smallest is kept
+	static final int REPETITIONS=5;
+
+	private final WebPageGraph graph;				// The graph of the legacy calculations
+
+	private final CompactWebPageGraph compactGraph;	// The graph of the calculations of the engines
+
+	private final long allowedBytesPerIteration;	// The number of bytes that an iteration may allocate
+
+	private int failedChecks;						// The number of the calculations which allocate too much
+
+
+	/**
+	 * This constructor creates an object of type IterationAllocationCheck with a graph of as many WebPages as
+	 * indicated by the argument vertices and random links.
+	 *
+	 * @param vertices the number of the WebPages of the graph
+	 * @param allowedBytesPerIteration the number of bytes that an iteration may allocate
+	 */
+	public IterationAllocationCheck(int vertices,long allowedBytesPerIteration)
+	{
+		if(vertices<=0)
+		{
+			if(vertices<0)
+				throw new NegativeNumberException("Negative number of vertices given at constructor of class IterationAllocationCheck");
+			else
+				throw new ZeroNumberException("Zero number of vertices given at constructor of class IterationAllocationCheck");
+		}
+
+		if(allowedBytesPerIteration<0)
+			throw new NegativeNumberException("Negative number of allowed bytes given at constructor of class IterationAllocationCheck");
+
+		this.graph=new WebPageGraph();
+
+		for(int index=0;index<vertices;index++)
+			this.graph.addWebPage(new WebPage("www.domain"+(index%50)+".com/page"+index+".html",WebPageGraph.INITIAL_PAGE_RANK));
+
+		this.graph.createAssociationsBetweenVertices();
+		this.graph.setSiblingFactor(0.7);
+		this.graph.setLowerBound(0.3);
+
+		this.compactGraph=this.graph.createCompactWebPageGraph();
+		this.allowedBytesPerIteration=allowedBytesPerIteration;
+	}
+
+
+	/**
+	 * This method runs all the checks and prints the allocated bytes per iteration of every calculation to the
+	 * standard output.
+	 *
+	 * @return the number of the calculations which allocate more bytes per iteration than allowed
+	 */
+	public int runChecks()
+	{
+		this.failedChecks=0;
+
+		final String focusedURLname="www.domain0.com/page0.html";
+
+		check("WebPageGraph simulation", (iterations) ->
+			this.graph.runPageRankCalculationProcessSimulation(null, null, iterations, focusedURLname));
+
+		final PageRankParameters parameters=new PageRankParameters(0.7,0);
+		final PageRankParameters spamParameters=new PageRankParameters(0.7,0.9);
+
+		final PageRankEngine engine=new PageRankEngine(this.compactGraph);
+
+		check("PageRankEngine", (iterations) -> engine.calculatePageRanks(parameters, iterations));
+
+		check("PageRankEngine with lower bound", (iterations) -> engine.calculatePageRanks(spamParameters, iterations));
+
+		final PageRankEngine structuralEngine=new PageRankEngine(this.compactGraph);
+		structuralEngine.setStructuralPreprocessing(true);
+
+		check("PageRankEngine with structural preprocessing", (iterations) -> structuralEngine.calculatePageRanks(parameters, iterations));
+
+		return this.failedChecks;
+	}
+
+
+	/**
+	 * This method measures the allocated bytes per iteration of a calculation and prints them
+	 *
+	 * @param name the name of the calculation
+	 * @param calculation the calculation with a number of iterations
+	 */
+	private void check(String name,Calculation calculation)
+	{
+		for(int index=0;index<WARM_UP_CALCULATIONS;index++)
+			calculation.run(LONG_ITERATIONS);
+
+		long bytesPerIteration=Long.MAX_VALUE;
+
+		for(int repetition=0;repetition<REPETITIONS;repetition++)
+		{
+			long shortStart=AllocationMeter.currentThreadAllocatedBytes();
+			calculation.run(SHORT_ITERATIONS);
+			long shortBytes=AllocationMeter.currentThreadAllocatedBytes()-shortStart;
+
+			long longStart=AllocationMeter.currentThreadAllocatedBytes();
+			calculation.run(LONG_ITERATIONS);
+			long longBytes=AllocationMeter.currentThreadAllocatedBytes()-longStart;
+
+			bytesPerIteration=Math.min(bytesPerIteration, Math.max(0, longBytes-shortBytes)/(LONG_ITERATIONS-SHORT_ITERATIONS));
+		}
+
+		boolean passed=bytesPerIteration<=this.allowedBytesPerIteration;
+
+		if(!passed)
+			this.failedChecks++;
+
+		System.out.printf("%-50s : %8d bytes per iteration  %s%n", name, bytesPerIteration, (passed)? "OK" : "FAILED");
+	}
+
+
+	/**
+	 * This method is the main method of the check.The optional arguments are the number of the WebPages of the graph
+	 * and the number of bytes that an iteration may allocate.It exits with status 1 if a calculation allocates more
+	 * than allowed ,or with status 2 if the allocations can't be measured.
+	 *
+	 * @param args arguments taken from the command line
+	 * @return void
+	 */
+	public static void main(String[] args)
+	{
+		if(!AllocationMeter.isSupported())
+		{
+			System.err.println("The allocated bytes of the threads can't be measured by this Java Virtual Machine.");
+			System.exit(2);
+		}
+
+		int vertices=(args.length>0)? Integer.parseInt(args[0]) : DEFAULT_VERTICES;
+		long allowedBytesPerIteration=(args.length>1)? Long.parseLong(args[1]) : DEFAULT_ALLOWED_BYTES_PER_ITERATION;
+
+		int failedChecks=new IterationAllocationCheck(vertices,allowedBytesPerIteration).runChecks();
+
+		if(failedChecks>0)
+		{
+			System.err.println(failedChecks+" calculation(s) allocate more than "+allowedBytesPerIteration+" bytes per iteration.");
+			System.exit(1);
+		}
+	}
+
+
+	/**
+	 * This interface represents a calculation of page ranks with a number of iterations
+	 */
+	private interface Calculation
+	{
+		void run(int iterations);
+	}
+
+}
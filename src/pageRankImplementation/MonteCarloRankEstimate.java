@@ -0,0 +1,395 @@
+package pageRankImplementation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+
+/**
+ * This class represents the result of a Monte Carlo estimation of page ranks ({@link MonteCarloRankEstimator}).For
+ * every vertex it holds the sum of the contributions of the walks and the sum of their squares ,so besides the
+ * estimated page rank it gives the standard error of the estimation and a confidence interval.The contributions of
+ * the walks are independent ,so the variance of their sum is at most the sum of their squares minus the square of
+ * their sum divided by the number of the walks ,which is the variance that is used (it is close to the real variance ,
+ * because most walks never visit a given vertex).
+ * If the walks have been kept ,the estimate can be updated when the links of some vertices change :only the walks
+ * which pass through these vertices are walked again from their first visit of a changed vertex.The objects of this
+ * class are immutable ,so an update returns a new object.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class MonteCarloRankEstimate
+{
+
+	// The number of standard errors on every side of the confidence intervals (95% confidence)
+	public static final double CONFIDENCE_Z=1.96;
+
+	private final CompactWebPageGraph graph;		// The graph whose page ranks have been estimated
+
+	private final PageRankParameters parameters;	// The parameters of the estimation
+
+	private final int walksPerVertex;				// The number of the walks that start from every vertex
+
+	private final double[] sums;					// The sum of the contributions of the walks ,by vertex id
+
+	private final double[] squareSums;				// The sum of the squares of the contributions of the walks ,by vertex id
+
+	private final long seed;						// The seed of the walks of the next update
+
+	private final int[] walkOffsets;				// The visits of walk w are at walkPath[walkOffsets[w]..walkOffsets[w+1]-1] ,or null
+
+	private final int[] walkPath;					// The visited vertices of the walks (without their start) ,or null
+
+	private final int updatedWalks;					// The number of the walks which have been walked again by the last update
+
+
+	/**
+	 * This constructor creates an object of type MonteCarloRankEstimate with the values given as arguments.The arrays
+	 * are used by the new object and they must not be changed after the call.
+	 *
+	 * @param graph the graph whose page ranks have been estimated
+	 * @param parameters the parameters of the estimation
+	 * @param walksPerVertex the number of the walks that start from every vertex
+	 * @param sums the sum of the contributions of the walks ,by vertex id
+	 * @param squareSums the sum of the squares of the contributions of the walks ,by vertex id
+	 * @param seed the seed of the walks of the next update
+	 * @param walkOffsets the start of the visits of every walk in the array walkPath ,or null if the walks aren't kept
+	 * @param walkPath the visited vertices of the walks ,or null if the walks aren't kept
+	 */
+	MonteCarloRankEstimate(CompactWebPageGraph graph,PageRankParameters parameters,int walksPerVertex,double[] sums,
+			double[] squareSums,long seed,int[] walkOffsets,int[] walkPath)
+	{
+		this(graph,parameters,walksPerVertex,sums,squareSums,seed,walkOffsets,walkPath,0);
+	}
+
+
+	/**
+	 * This constructor creates an object of type MonteCarloRankEstimate with the values given as arguments ,after an
+	 * update which has walked again the number of walks given as argument.
+	 *
+	 * @param graph the graph whose page ranks have been estimated
+	 * @param parameters the parameters of the estimation
+	 * @param walksPerVertex the number of the walks that start from every vertex
+	 * @param sums the sum of the contributions of the walks ,by vertex id
+	 * @param squareSums the sum of the squares of the contributions of the walks ,by vertex id
+	 * @param seed the seed of the walks of the next update
+	 * @param walkOffsets the start of the visits of every walk in the array walkPath ,or null if the walks aren't kept
+	 * @param walkPath the visited vertices of the walks ,or null if the walks aren't kept
+	 * @param updatedWalks the number of the walks which have been walked again
+	 */
+	private MonteCarloRankEstimate(CompactWebPageGraph graph,PageRankParameters parameters,int walksPerVertex,double[] sums,
+			double[] squareSums,long seed,int[] walkOffsets,int[] walkPath,int updatedWalks)
+	{
+		this.graph=graph;
+		this.parameters=parameters;
+		this.walksPerVertex=walksPerVertex;
+		this.sums=sums;
+		this.squareSums=squareSums;
+		this.seed=seed;
+		this.walkOffsets=walkOffsets;
+		this.walkPath=walkPath;
+		this.updatedWalks=updatedWalks;
+	}
+
+
+	/**
+	 * This method returns the graph whose page ranks have been estimated
+	 *
+	 * @return the graph of the estimate
+	 */
+	public CompactWebPageGraph getGraph()
+	{
+		return this.graph;
+	}
+
+
+	/**
+	 * This method returns the parameters of the estimation
+	 *
+	 * @return the parameters of the estimation
+	 */
+	public PageRankParameters getParameters()
+	{
+		return this.parameters;
+	}
+
+
+	/**
+	 * This method returns the number of the walks that start from every vertex
+	 *
+	 * @return the number of the walks per vertex
+	 */
+	public int getWalksPerVertex()
+	{
+		return this.walksPerVertex;
+	}
+
+
+	/**
+	 * This method returns true if the walks of the estimate have been kept ,so the estimate can be updated ,or false
+	 * otherwise.
+	 *
+	 * @return whether the walks have been kept
+	 */
+	public boolean hasWalks()
+	{
+		return this.walkPath!=null;
+	}
+
+
+	/**
+	 * This method returns the number of the walks which have been walked again by the update which created this
+	 * estimate ,or 0 if the estimate hasn't been created by an update.
+	 *
+	 * @return the number of the updated walks
+	 */
+	public int getUpdatedWalks()
+	{
+		return this.updatedWalks;
+	}
+
+
+	/**
+	 * This method returns the estimated page rank of the vertex with the vertex id given as argument
+	 *
+	 * @param vertex the id of a vertex
+	 * @return the estimated page rank of the vertex
+	 */
+	public double getPageRank(int vertex)
+	{
+		return (1-this.parameters.getDampingFactor())*(1+this.sums[vertex]/this.walksPerVertex);
+	}
+
+
+	/**
+	 * This method returns the estimated page rank of the WebPage with the URL name given as argument ,or -1 if the URL
+	 * name doesn't correspond to a vertex of the graph.
+	 *
+	 * @param nameURL the name of a URL
+	 * @return the estimated page rank of the WebPage or -1 if it doesn't exist in the graph
+	 */
+	public double getPageRank(String nameURL)
+	{
+		int vertex=this.graph.getVertexId(nameURL);
+
+		return (vertex<0)? -1 : getPageRank(vertex);
+	}
+
+
+	/**
+	 * This method returns a new array with the estimated page ranks of all the vertices ,by vertex id
+	 *
+	 * @return a new array with the estimated page ranks
+	 */
+	public double[] getPageRanks()
+	{
+		double[] ranks=new double[this.sums.length];
+
+		for(int v=0;v<ranks.length;v++)
+			ranks[v]=getPageRank(v);
+
+		return ranks;
+	}
+
+
+	/**
+	 * This method returns the standard error of the estimated page rank of the vertex with the vertex id given as
+	 * argument
+	 *
+	 * @param vertex the id of a vertex
+	 * @return the standard error of the estimated page rank
+	 */
+	public double getStandardError(int vertex)
+	{
+		double sum=this.sums[vertex];
+
+		double variance=Math.max(0, this.squareSums[vertex]-sum*sum/((double)this.sums.length*this.walksPerVertex));
+
+		return (1-this.parameters.getDampingFactor())*Math.sqrt(variance)/this.walksPerVertex;
+	}
+
+
+	/**
+	 * This method returns the lower end of the confidence interval of the page rank of the vertex with the vertex id
+	 * given as argument ({@link MonteCarloRankEstimate#CONFIDENCE_Z} standard errors under the estimation)
+	 *
+	 * @param vertex the id of a vertex
+	 * @return the lower end of the confidence interval
+	 */
+	public double getLowerConfidenceLimit(int vertex)
+	{
+		return getPageRank(vertex)-CONFIDENCE_Z*getStandardError(vertex);
+	}
+
+
+	/**
+	 * This method returns the upper end of the confidence interval of the page rank of the vertex with the vertex id
+	 * given as argument ({@link MonteCarloRankEstimate#CONFIDENCE_Z} standard errors over the estimation)
+	 *
+	 * @param vertex the id of a vertex
+	 * @return the upper end of the confidence interval
+	 */
+	public double getUpperConfidenceLimit(int vertex)
+	{
+		return getPageRank(vertex)+CONFIDENCE_Z*getStandardError(vertex);
+	}
+
+
+	/**
+	 * This method returns the vertex ids of the k vertices with the highest estimated page ranks ,by decreasing page
+	 * rank ({@link TopRankedVertices}).
+	 *
+	 * @param k the number of the vertices to return
+	 * @return an array with at most k vertex ids
+	 */
+	public int[] getTopRankedVertices(int k)
+	{
+		return TopRankedVertices.findTopRankedVertices(this.sums, k);
+	}
+
+
+	/**
+	 * This method updates the estimate after some links of the graph have changed.The graph given as argument must
+	 * have the same vertices as the graph of the estimate (the same URL names with the same vertex ids) and the
+	 * vertices given as argument must include every vertex whose out-pointing links have changed.The walks which
+	 * visit a changed vertex are walked again on the new graph from their first visit of a changed vertex ,and all
+	 * the other walks are kept as they are.
+	 *
+	 * @param newGraph the graph with the changed links
+	 * @param changedVertices the vertex ids of the vertices whose out-pointing links have changed
+	 * @return a new object of type MonteCarloRankEstimate with the estimated page ranks of the new graph
+	 */
+	public MonteCarloRankEstimate update(CompactWebPageGraph newGraph,int[] changedVertices)
+	{
+		if(newGraph==null || changedVertices==null)
+			throw new NullPointerException("Null argument was given at method update");
+
+		if(this.walkPath==null)
+			throw new IllegalStateException("The walks of the estimate haven't been kept");
+
+		int vertices=this.graph.numberOfVertices();
+
+		if(newGraph.numberOfVertices()!=vertices)
+			throw new IllegalArgumentException("The new graph doesn't have the same vertices at method update");
+
+		for(int v=0;v<vertices;v++)
+			if(!newGraph.urls[v].equals(this.graph.urls[v]))
+				throw new IllegalArgumentException("The new graph doesn't have the same vertices at method update");
+
+		boolean[] changed=new boolean[vertices];
+
+		for(int vertex : changedVertices)
+		{
+			if(vertex<0 || vertex>=vertices)
+				throw new IllegalArgumentException("Invalid vertex id "+vertex+" was given at method update");
+
+			changed[vertex]=true;
+		}
+
+		SplittableRandom random=new SplittableRandom(this.seed);
+		SplittableRandom walkRandom=random.split();
+
+		// The old walks are subtracted with the links of the old graph and the new walks are added with the new graph
+		RandomWalker removedWalks=new RandomWalker(this.graph,this.parameters,false);
+		RandomWalker addedWalks=new RandomWalker(newGraph,this.parameters,true);
+
+		int walks=this.walkOffsets.length-1;
+
+		int[] newWalkOffsets=new int[walks+1];
+		int[] newWalkPath=new int[this.walkPath.length];
+
+		int position=0;
+		int updatedWalks=0;
+
+		for(int walk=0;walk<walks;walk++)
+		{
+			int start=walk/this.walksPerVertex;
+			int first=this.walkOffsets[walk];
+			int end=this.walkOffsets[walk+1];
+
+			// Find the first visit of a changed vertex ,where -1 is the start of the walk
+			int changedVisit=changed[start]? -1 : end;
+
+			for(int p=first;p<end && changedVisit==end;p++)
+				if(changed[this.walkPath[p]])
+					changedVisit=p;
+
+			int length;
+
+			if(changedVisit==end)
+			{
+				length=end-first;
+
+				if(position+length>newWalkPath.length)
+					newWalkPath=Arrays.copyOf(newWalkPath, Math.max(newWalkPath.length*2, position+length));
+
+				System.arraycopy(this.walkPath, first, newWalkPath, position, length);
+			}
+			else
+			{
+				updatedWalks++;
+
+				double weight=1;
+				int previous=start;
+
+				for(int p=first;p<end;p++)
+				{
+					weight*=removedWalks.linkWeight(previous, this.walkPath[p]);
+					removedWalks.visit(this.walkPath[p], weight);
+					previous=this.walkPath[p];
+				}
+
+				removedWalks.finishWalk();
+
+				// The visits before the changed vertex are the same on the new graph
+				weight=1;
+				previous=start;
+				addedWalks.pathLength=0;
+
+				for(int p=first;p<=changedVisit;p++)
+				{
+					weight*=addedWalks.linkWeight(previous, this.walkPath[p]);
+					addedWalks.visit(this.walkPath[p], weight);
+					previous=this.walkPath[p];
+				}
+
+				addedWalks.walk(previous, weight, walkRandom);
+				addedWalks.finishWalk();
+
+				length=addedWalks.pathLength;
+
+				if(position+length>newWalkPath.length)
+					newWalkPath=Arrays.copyOf(newWalkPath, Math.max(newWalkPath.length*2, position+length));
+
+				System.arraycopy(addedWalks.path, 0, newWalkPath, position, length);
+			}
+
+			position+=length;
+			newWalkOffsets[walk+1]=position;
+		}
+
+		double[] newSums=new double[vertices];
+		double[] newSquareSums=new double[vertices];
+
+		for(int v=0;v<vertices;v++)
+		{
+			newSums[v]=this.sums[v]+addedWalks.sums[v]-removedWalks.sums[v];
+			newSquareSums[v]=this.squareSums[v]+addedWalks.squareSums[v]-removedWalks.squareSums[v];
+		}
+
+		return new MonteCarloRankEstimate(newGraph,this.parameters,this.walksPerVertex,newSums,newSquareSums,random.nextLong(),
+				newWalkOffsets,Arrays.copyOf(newWalkPath, position),updatedWalks);
+	}
+
+
+	/**
+	 * Returns a String representation of the object of type MonteCarloRankEstimate which invokes the method
+	 *
+	 * @return a String representation of the object invoking the method
+	 */
+	public String toString()
+	{
+		return "Graph : "+this.graph+"  |  "+this.parameters+"  |  Walks per vertex : "+this.walksPerVertex;
+	}
+
+}
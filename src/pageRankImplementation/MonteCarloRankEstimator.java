@@ -0,0 +1,257 @@
+package pageRankImplementation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+/**
+ * This class estimates the page ranks of an object of type CompactWebPageGraph with random walks (Monte Carlo) ,as an
+ * alternative to the iterations of {@link PageRankEngine}.From every vertex R walks start ,which end with probability
+ * 1 - d at every step ,and the page rank of every vertex is estimated from its visits ({@link RandomWalker}).The
+ * page ranks of the calculation are the sums (1 - d) (1 + d W + d^2 W^2 + ...) of the links W of the graph ,so the
+ * page rank of vertex v is estimated as (1 - d) (1 + visits of v / R).
+ * The vertices are divided into chunks ,and every chunk has its own random number generator ,split in order from one
+ * generator with the seed of the estimation ,so the same seed gives the same estimate.Every thread counts the visits
+ * of its chunks in its own arrays ,which are added together at the end.A few walks from every vertex give
+ * good estimates of the highest page ranks in much less time than the iterations of a full calculation.
+ * The lower bound of the parameters isn't used ,because a walk can't know whether the vertices it visits are spams
+ * before the page ranks are known.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class MonteCarloRankEstimator
+{
+
+	// The default number of threads of the estimations
+	public static final int DEFAULT_NUMBER_OF_THREADS=Runtime.getRuntime().availableProcessors();
+
+	// The number of vertices of a chunk of the walks
+	static final int VERTICES_PER_CHUNK=1<<12;
+
+	private final CompactWebPageGraph graph;		// The graph whose page ranks are estimated
+
+	private final int threads;						// The number of threads of the estimations
+
+	private boolean keepWalks;						// Whether the estimations keep their walks for updates
+
+
+	/**
+	 * This constructor creates an object of type MonteCarloRankEstimator which estimates the page ranks of the graph
+	 * given as argument ,with as many threads as indicated by the argument threads.
+	 *
+	 * @param graph an object of type CompactWebPageGraph whose page ranks will be estimated
+	 * @param threads the number of threads of the estimations
+	 */
+	public MonteCarloRankEstimator(CompactWebPageGraph graph,int threads)
+	{
+		if(graph==null)
+			throw new NullPointerException("Null graph was given at constructor of class MonteCarloRankEstimator");
+
+		if(threads<=0)
+		{
+			if(threads<0)
+				throw new NegativeNumberException("Negative number of threads given at constructor of class MonteCarloRankEstimator");
+			else
+				throw new ZeroNumberException("Zero number of threads given at constructor of class MonteCarloRankEstimator");
+		}
+
+		this.graph=graph;
+		this.threads=threads;
+	}
+
+
+	/**
+	 * This method returns the graph whose page ranks are estimated by this estimator
+	 *
+	 * @return the graph of the estimator
+	 */
+	public CompactWebPageGraph getGraph()
+	{
+		return this.graph;
+	}
+
+
+	/**
+	 * This method returns true if the estimations keep the visited vertices of their walks ,so they can be updated
+	 * when the links of the graph change ,or false otherwise.
+	 *
+	 * @return whether the estimations keep their walks
+	 */
+	public boolean isKeepWalks()
+	{
+		return this.keepWalks;
+	}
+
+
+	/**
+	 * This method sets whether the estimations keep the visited vertices of their walks ,so they can be updated with
+	 * the method {@link MonteCarloRankEstimate#update(CompactWebPageGraph, int[])}.The walks need about 1 / (1 - d)
+	 * integers for every walk.
+	 *
+	 * @param keepWalks true if the estimations must keep their walks or false otherwise
+	 * @return void
+	 */
+	public void setKeepWalks(boolean keepWalks)
+	{
+		this.keepWalks=keepWalks;
+	}
+
+
+	/**
+	 * This method estimates the page ranks of all the vertices of the graph with the parameters given as argument ,
+	 * with walksPerVertex walks from every vertex.The same seed gives the same walks.
+	 *
+	 * @param parameters the parameters of the estimation
+	 * @param walksPerVertex the number of the walks that start from every vertex
+	 * @param seed the seed of the random number generators of the walks
+	 * @return an object of type MonteCarloRankEstimate with the estimated page ranks
+	 * @throws InterruptedException This Exception is thrown if the thread is interrupted while waiting for the walks
+	 */
+	public MonteCarloRankEstimate estimate(final PageRankParameters parameters,final int walksPerVertex,long seed) throws InterruptedException
+	{
+		if(parameters==null)
+			throw new NullPointerException("Null parameters were given at method estimate");
+
+		if(walksPerVertex<=0)
+		{
+			if(walksPerVertex<0)
+				throw new NegativeNumberException("Negative number of walks given at method estimate");
+			else
+				throw new ZeroNumberException("Zero number of walks given at method estimate");
+		}
+
+		final CompactWebPageGraph graph=this.graph;
+		final boolean keepWalks=this.keepWalks;
+
+		final int vertices=graph.numberOfVertices();
+		final int chunks=(vertices+VERTICES_PER_CHUNK-1)/VERTICES_PER_CHUNK;
+
+		if((long)vertices*walksPerVertex>Integer.MAX_VALUE-1)
+			throw new IllegalArgumentException("Too many walks were given at method estimate");
+
+		SplittableRandom random=new SplittableRandom(seed);
+
+		final SplittableRandom[] chunkRandoms=new SplittableRandom[chunks];
+
+		for(int chunk=0;chunk<chunks;chunk++)
+			chunkRandoms[chunk]=random.split();
+
+		final int[] walkLengths=keepWalks? new int[vertices*walksPerVertex] : null;
+		final int[][] chunkPaths=keepWalks? new int[chunks][] : null;
+
+		final int tasks=Math.max(1, Math.min(this.threads, chunks));
+
+		ExecutorService executor=Executors.newFixedThreadPool(tasks);
+
+		RandomWalker[] walkers=new RandomWalker[tasks];
+
+		try
+		{
+			ArrayList<Future<RandomWalker>> futures=new ArrayList<Future<RandomWalker>>(tasks);
+
+			for(int task=0;task<tasks;task++)
+			{
+				final int firstChunk=task;
+
+				futures.add(executor.submit(() ->
+				{
+					RandomWalker walker=new RandomWalker(graph,parameters,keepWalks);
+
+					// Every thread takes every tasks-th chunk ,so the visits are always added in the same order
+					for(int chunk=firstChunk;chunk<chunks;chunk+=tasks)
+					{
+						SplittableRandom chunkRandom=chunkRandoms[chunk];
+
+						int end=Math.min(vertices, (chunk+1)*VERTICES_PER_CHUNK);
+
+						for(int v=chunk*VERTICES_PER_CHUNK;v<end;v++)
+						{
+							for(int r=0;r<walksPerVertex;r++)
+							{
+								// The first visit of every walk is always at its start ,so it isn't counted
+								int steps=walker.walk(v, 1, chunkRandom);
+
+								walker.finishWalk();
+
+								if(keepWalks)
+									walkLengths[v*walksPerVertex+r]=steps;
+							}
+						}
+
+						if(keepWalks)
+						{
+							chunkPaths[chunk]=Arrays.copyOf(walker.path, walker.pathLength);
+							walker.pathLength=0;
+						}
+					}
+
+					return walker;
+				}));
+			}
+
+			for(int task=0;task<tasks;task++)
+			{
+				try
+				{
+					walkers[task]=futures.get(task).get();
+				}
+				catch(ExecutionException e)
+				{
+					Throwable cause=e.getCause();
+
+					if(cause instanceof RuntimeException)
+						throw (RuntimeException)cause;
+
+					throw new IllegalStateException("The random walks have failed",cause);
+				}
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		// Add the counters of the threads together
+		double[] sums=walkers[0].sums;
+		double[] squareSums=walkers[0].squareSums;
+
+		for(int task=1;task<tasks;task++)
+		{
+			for(int v=0;v<vertices;v++)
+			{
+				sums[v]+=walkers[task].sums[v];
+				squareSums[v]+=walkers[task].squareSums[v];
+			}
+		}
+
+		int[] walkOffsets=null;
+		int[] walkPath=null;
+
+		if(keepWalks)
+		{
+			walkOffsets=new int[walkLengths.length+1];
+
+			for(int walk=0;walk<walkLengths.length;walk++)
+				walkOffsets[walk+1]=walkOffsets[walk]+walkLengths[walk];
+
+			walkPath=new int[walkOffsets[walkLengths.length]];
+
+			int position=0;
+
+			for(int chunk=0;chunk<chunks;chunk++)
+			{
+				System.arraycopy(chunkPaths[chunk], 0, walkPath, position, chunkPaths[chunk].length);
+				position+=chunkPaths[chunk].length;
+			}
+		}
+
+		return new MonteCarloRankEstimate(graph,parameters,walksPerVertex,sums,squareSums,random.nextLong(),walkOffsets,walkPath);
+	}
+
+}
@@ -0,0 +1,727 @@
+package pageRankImplementation;
+
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+
+/**
+ * This class represents the non-interactive (batch) mode of the page rank program.The batch mode reads a job file ,
+ * which is a properties file with the description of many jobs ,and runs the jobs at the same time on a fixed number
+ * of threads.Every job names the file of a graph ,the number of iterations ,a list of parameter sets (sibling factor,
+ * lower bound and optional d factor) and a file where the page ranks are written as tab separated values.Jobs that
+ * name the same graph file share one loaded graph ,which is loaded only once.At the end a summary of all the jobs is
+ * written as tab separated values.
+ * An example of a job file :
+ * <pre>
+ * threads=4
+ * summary=summary.tsv
+ * job.1.graph=manyURLs.txt
+ * job.1.format=text
+ * job.1.iterations=15
+ * job.1.parameters=1:0;0.5:0.2;0.8:0.3:0.9
+ * job.1.output=job1.tsv
+ * job.1.top=1000
+ * job.1.initial=previous.tsv
+ * job.1.tolerance=0.001
+ * job.1.acceleration=quadratic
+ * job.2.graph=manyURLs.txt
+ * job.2.adaptive=0.00001
+ * job.2.structural=auto
+ * job.2.blockrank=auto
+ * </pre>
+ * The format of a graph is "text" for a file with URL names (the links are created randomly) or "binary" for a file
+ * where an object of type WebPageGraph has been written.The optional key "top" limits the output of a job to the
+ * WebPages with the highest page ranks ,in decreasing page rank order.The optional key "initial" names a rank file
+ * (for example the output of a previous job) whose page ranks are the initial page ranks of the job
+ * ({@link StoredPageRanks}) ,and the optional key "tolerance" stops every calculation of the job when its residual
+ * is less or equal than the tolerance.The optional key "acceleration" is "none" ,"aitken" or "quadratic"
+ * ({@link RankAcceleration}).The optional key "adaptive" is the relative change under which the vertices are frozen
+ * ({@link PageRankEngine#setAdaptiveThreshold(double)}) ,and the optional key "structural" (true or false) skips the
+ * head and tail vertices at the iterations ({@link PageRankEngine#setStructuralPreprocessing(boolean)}).With the
+ * value "auto" the head and tail vertices are skipped if the statistics of the graph recommend it
+ * ({@link GraphStatistics#recommendsStructuralPreprocessing()}).The optional key "blockrank" (true ,false or auto)
+ * starts every calculation of a job without "initial" from the page ranks of the first two levels of a
+ * {@link BlockRankEngine} ,and with the value "auto" only if the statistics of the graph recommend it
+ * ({@link GraphStatistics#recommendsBlockRank()}).The statistics of a graph are calculated once ,with the threads of
+ * the runner ,and they are shared between the jobs of the graph.
+ * The jobs start in the order of their ids ,which is the numeric order for ids that are integers (job.2 before
+ * job.10) and the alphabetical order for the other ids ,which start after the integer ids.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class PageRankBatchRunner
+{
+
+	// The default number of jobs that run at the same time
+	public static final int DEFAULT_NUMBER_OF_THREADS=Runtime.getRuntime().availableProcessors();
+
+	private final int threads;			// The number of jobs that run at the same time
+
+	// The loaded graphs ,by format and name of file .Every graph is loaded once and shared between the jobs
+	private final ConcurrentHashMap<String,FutureTask<CompactWebPageGraph>> loadedGraphs;
+
+	// The statistics of the loaded graphs .The statistics of every graph are calculated once and shared between the jobs
+	private final ConcurrentHashMap<CompactWebPageGraph,FutureTask<GraphStatistics>> graphStatistics;
+
+
+	/**
+	 * This constructor creates an object of type PageRankBatchRunner which runs at most as many jobs at the same time
+	 * as indicated by the argument.
+	 *
+	 * @param threads the number of jobs that run at the same time
+	 */
+	public PageRankBatchRunner(int threads)
+	{
+		if(threads<=0)
+		{
+			if(threads<0)
+				throw new NegativeNumberException("Negative number of threads given at constructor of class PageRankBatchRunner");
+			else
+				throw new ZeroNumberException("Zero number of threads given at constructor of class PageRankBatchRunner");
+		}
+
+		this.threads=threads;
+		this.loadedGraphs=new ConcurrentHashMap<String,FutureTask<CompactWebPageGraph>>();
+		this.graphStatistics=new ConcurrentHashMap<CompactWebPageGraph,FutureTask<GraphStatistics>>();
+	}
+
+
+	/**
+	 * This method reads a job file ,runs all its jobs and writes the summary of the jobs to the file specified by the
+	 * key "summary" of the job file (or to the standard output if it isn't specified).
+	 *
+	 * @param jobFileName the name of the job file
+	 * @return the number of the jobs that have failed
+	 * @throws IOException This Exception is thrown if the job file or the summary file can't be read or written ,or the
+	 * number of threads of the job file is invalid
+	 * @throws InterruptedException This Exception is thrown if the thread is interrupted while waiting for the jobs
+	 */
+	public static int runJobFile(String jobFileName) throws IOException, InterruptedException
+	{
+		if(jobFileName==null)
+			throw new NullPointerException("Null job file name was given at method runJobFile");
+
+		Properties properties=new Properties();
+
+		FileInputStream inputStream=new FileInputStream(jobFileName);
+
+		try
+		{
+			properties.load(inputStream);
+		}
+		finally
+		{
+			inputStream.close();
+		}
+
+		String threadsValue=properties.getProperty("threads", String.valueOf(DEFAULT_NUMBER_OF_THREADS)).trim();
+
+		int threads;
+
+		try
+		{
+			threads=Integer.parseInt(threadsValue);
+		}
+		catch(NumberFormatException e)
+		{
+			throw new IOException("Invalid number of threads : "+threadsValue);
+		}
+
+		if(threads<=0)
+			throw new IOException("Invalid number of threads : "+threadsValue);
+
+		PageRankBatchRunner runner=new PageRankBatchRunner(threads);
+
+		ArrayList<BatchJobResult> results=runner.runJobs(readJobs(properties));
+
+		String summaryFileName=properties.getProperty("summary");
+
+		PrintWriter summary=(summaryFileName==null)? new PrintWriter(System.out) :
+			new PrintWriter(new BufferedWriter(new FileWriter(summaryFileName.trim())));
+
+		int failedJobs=0;
+
+		summary.println("job\tparameterSet\tsiblingFactor\tlowerBound\tdFactor\titerations\tresidual\tmillis\tstatus\tmessage");
+
+		for(BatchJobResult result : results)
+		{
+			summary.println(result.toString());
+
+			if(!result.succeeded)
+				failedJobs++;
+		}
+
+		if(summaryFileName==null)
+			summary.flush();
+		else
+			summary.close();
+
+		return failedJobs;
+	}
+
+
+	/**
+	 * This method reads the descriptions of the jobs from the properties of a job file.A job is described by the keys
+	 * which start with "job." followed by the id of the job.
+	 *
+	 * @param properties the properties of a job file
+	 * @return a list with the descriptions of the jobs ,ordered by their ids ({@link #compareJobIds(String, String)})
+	 */
+	private static ArrayList<BatchJob> readJobs(Properties properties)
+	{
+		TreeSet<String> ids=new TreeSet<String>(PageRankBatchRunner::compareJobIds);
+
+		for(String key : properties.stringPropertyNames())
+		{
+			if(key.startsWith("job.") && key.lastIndexOf('.')>4)
+				ids.add(key.substring(4, key.lastIndexOf('.')));
+		}
+
+		ArrayList<BatchJob> jobs=new ArrayList<BatchJob>(ids.size());
+
+		for(String id : ids)
+		{
+			String prefix="job."+id+".";
+
+			BatchJob job=new BatchJob(id);
+
+			job.graphFileName=properties.getProperty(prefix+"graph");
+			job.binaryGraph="binary".equalsIgnoreCase(properties.getProperty(prefix+"format", "text").trim());
+			job.outputFileName=properties.getProperty(prefix+"output");
+
+			try
+			{
+				job.iterations=Integer.parseInt(properties.getProperty(prefix+"iterations",
+						String.valueOf(PageRankSimulationUserInterface.NUMBER_OF_ITERATIONS)).trim());
+
+				job.parameterSets=parseParameterSets(properties.getProperty(prefix+"parameters", "1:0"));
+
+				String top=properties.getProperty(prefix+"top");
+
+				job.top=(top==null)? -1 : Integer.parseInt(top.trim());
+
+				job.initialRankFileName=properties.getProperty(prefix+"initial");
+
+				job.tolerance=Double.parseDouble(properties.getProperty(prefix+"tolerance", "0").trim());
+
+				if(job.tolerance<0)
+					throw new NegativeNumberException("Negative tolerance");
+
+				job.acceleration=RankAcceleration.valueOf(properties.getProperty(prefix+"acceleration", "none").trim().toUpperCase());
+
+				job.adaptiveThreshold=Double.parseDouble(properties.getProperty(prefix+"adaptive", "0").trim());
+
+				if(job.adaptiveThreshold<0)
+					throw new NegativeNumberException("Negative adaptive threshold");
+
+				String structural=properties.getProperty(prefix+"structural", "false").trim();
+
+				job.structuralPreprocessing="auto".equalsIgnoreCase(structural)? null : Boolean.valueOf(structural);
+
+				String blockRank=properties.getProperty(prefix+"blockrank", "false").trim();
+
+				job.blockRank="auto".equalsIgnoreCase(blockRank)? null : Boolean.valueOf(blockRank);
+
+				if(job.graphFileName==null)
+					job.error="The key "+prefix+"graph is missing";
+			}
+			catch(RuntimeException e)
+			{
+				job.error="Invalid job description : "+e.getMessage();
+			}
+
+			jobs.add(job);
+		}
+
+		return jobs;
+	}
+
+
+	/**
+	 * This method compares the ids of two jobs.The ids which are integers are compared numerically and they are
+	 * before the other ids ,which are compared alphabetically.Integer ids with the same value (for example "7" and
+	 * "07") are compared alphabetically ,so they remain different jobs.
+	 *
+	 * @param id1 the id of the first job
+	 * @param id2 the id of the second job
+	 * @return a negative number ,zero or a positive number if the first id is before ,equal or after the second id
+	 */
+	static int compareJobIds(String id1,String id2)
+	{
+		boolean integer1=isIntegerId(id1);
+		boolean integer2=isIntegerId(id2);
+
+		if(integer1!=integer2)
+			return (integer1)? -1 : 1;
+
+		if(integer1)
+		{
+			// The values are compared without their leading zeros ,first by the number of digits and then digit by digit
+			String digits1=id1.replaceFirst("^0+(?=.)", "");
+			String digits2=id2.replaceFirst("^0+(?=.)", "");
+
+			if(digits1.length()!=digits2.length())
+				return Integer.compare(digits1.length(), digits2.length());
+
+			int comparison=digits1.compareTo(digits2);
+
+			if(comparison!=0)
+				return comparison;
+		}
+
+		return id1.compareTo(id2);
+	}
+
+
+	/**
+	 * This method returns true if the id of a job is a non negative integer of any number of digits.
+	 *
+	 * @param id the id of a job
+	 * @return true if the id has only decimal digits or false otherwise
+	 */
+	private static boolean isIntegerId(String id)
+	{
+		if(id.isEmpty())
+			return false;
+
+		for(int i=0;i<id.length();i++)
+		{
+			if(id.charAt(i)<'0' || id.charAt(i)>'9')
+				return false;
+		}
+
+		return true;
+	}
+
+
+	/**
+	 * This method parses a list of parameter sets.The parameter sets are separated by ';' and every parameter set is
+	 * "siblingFactor:lowerBound" or "siblingFactor:lowerBound:dFactor".
+	 *
+	 * @param text the list of the parameter sets
+	 * @return a list with the parameter sets
+	 */
+	static ArrayList<PageRankParameters> parseParameterSets(String text)
+	{
+		ArrayList<PageRankParameters> parameterSets=new ArrayList<PageRankParameters>();
+
+		for(String parameterSet : text.split(";"))
+		{
+			if(parameterSet.trim().isEmpty())
+				continue;
+
+			String[] values=parameterSet.trim().split(":");
+
+			if(values.length<2 || values.length>3)
+				throw new IllegalArgumentException("Wrong parameter set \""+parameterSet.trim()+"\"");
+
+			double siblingFactor=Double.parseDouble(values[0].trim());
+			double lowerBound=Double.parseDouble(values[1].trim());
+			double dampingFactor=(values.length==3)? Double.parseDouble(values[2].trim()) : WebPageGraph.D_FACTOR;
+
+			parameterSets.add(new PageRankParameters(siblingFactor,lowerBound,dampingFactor));
+		}
+
+		return parameterSets;
+	}
+
+
+	/**
+	 * This method runs the jobs given as argument at the same time ,on at most as many threads as the number of
+	 * threads of this runner ,and waits for all of them to finish.
+	 *
+	 * @param jobs the descriptions of the jobs to run
+	 * @return a list with the results of every parameter set of every job ,in the order of the jobs
+	 * @throws InterruptedException This Exception is thrown if the thread is interrupted while waiting for the jobs
+	 */
+	private ArrayList<BatchJobResult> runJobs(ArrayList<BatchJob> jobs) throws InterruptedException
+	{
+		ExecutorService executor=Executors.newFixedThreadPool(this.threads);
+
+		ArrayList<Future<ArrayList<BatchJobResult>>> futures=new ArrayList<Future<ArrayList<BatchJobResult>>>(jobs.size());
+
+		try
+		{
+			for(final BatchJob job : jobs)
+				futures.add(executor.submit(() -> runJob(job)));
+
+			ArrayList<BatchJobResult> results=new ArrayList<BatchJobResult>();
+
+			for(int index=0;index<futures.size();index++)
+			{
+				try
+				{
+					results.addAll(futures.get(index).get());
+				}
+				catch(ExecutionException e)
+				{
+					results.add(new BatchJobResult(jobs.get(index).id,-1,null,0,0,0,String.valueOf(e.getCause())));
+				}
+			}
+
+			return results;
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+
+	/**
+	 * This method runs one job.It loads (or takes the already loaded) graph of the job ,calculates the page ranks
+	 * for every parameter set of the job and writes them to the output file of the job.
+	 *
+	 * @param job the description of the job
+	 * @return a list with the results of every parameter set of the job
+	 */
+	private ArrayList<BatchJobResult> runJob(BatchJob job)
+	{
+		ArrayList<BatchJobResult> results=new ArrayList<BatchJobResult>();
+
+		if(job.error!=null)
+		{
+			results.add(new BatchJobResult(job.id,-1,null,0,0,0,job.error));
+			return results;
+		}
+
+		CompactWebPageGraph graph;
+
+		try
+		{
+			graph=loadGraph(job.graphFileName.trim(), job.binaryGraph);
+		}
+		catch(Exception e)
+		{
+			results.add(new BatchJobResult(job.id,-1,null,0,0,0,"The graph couldn't be loaded : "+e));
+			return results;
+		}
+
+		PageRankEngine engine=new PageRankEngine(graph);
+
+		engine.setTolerance(job.tolerance);
+		engine.setAcceleration(job.acceleration, PageRankEngine.DEFAULT_EXTRAPOLATION_PERIOD);
+		engine.setAdaptiveThreshold(job.adaptiveThreshold);
+
+		// The statistics of the graph are needed only for the automatic choices of the job
+		GraphStatistics statistics=null;
+
+		if(job.structuralPreprocessing==null || (job.blockRank==null && job.initialRankFileName==null))
+		{
+			try
+			{
+				statistics=getGraphStatistics(graph);
+			}
+			catch(Exception e)
+			{
+				if(e instanceof InterruptedException)
+					Thread.currentThread().interrupt();
+
+				results.add(new BatchJobResult(job.id,-1,null,0,0,0,"The statistics of the graph couldn't be calculated : "+e));
+				return results;
+			}
+		}
+
+		engine.setStructuralPreprocessing((job.structuralPreprocessing!=null)? job.structuralPreprocessing : statistics.recommendsStructuralPreprocessing());
+
+		// The page ranks of the first two levels of BlockRank are the initial page ranks ,if the job hasn't a rank file
+		BlockRankEngine blockRankEngine=null;
+
+		if(job.initialRankFileName==null && ((job.blockRank!=null)? job.blockRank : statistics.recommendsBlockRank()))
+			blockRankEngine=new BlockRankEngine(graph,this.threads);
+
+		double[] initialRanks=null;
+
+		if(job.initialRankFileName!=null)
+		{
+			try
+			{
+				initialRanks=StoredPageRanks.readRankFile(job.initialRankFileName.trim()).mapToGraph(graph);
+			}
+			catch(IOException e)
+			{
+				results.add(new BatchJobResult(job.id,-1,null,0,0,0,"The initial page ranks couldn't be read : "+e));
+				return results;
+			}
+		}
+
+		PrintWriter output=null;
+
+		try
+		{
+			if(job.outputFileName!=null)
+			{
+				output=new PrintWriter(new BufferedWriter(new FileWriter(job.outputFileName.trim()),1<<16));
+				output.println("parameterSet\turl\tpageRank");
+			}
+
+			for(int index=0;index<job.parameterSets.size();index++)
+			{
+				PageRankParameters parameters=job.parameterSets.get(index);
+
+				long startTime=System.nanoTime();
+
+				if(blockRankEngine!=null)
+					initialRanks=blockRankEngine.calculateInitialRanks(parameters);
+
+				PageRankResult result=engine.calculatePageRanks(parameters, job.iterations, initialRanks);
+
+				long wallTimeNanos=System.nanoTime()-startTime;
+
+				if(output!=null)
+				{
+					int[] top=(job.top<0)? null : result.getTopRankedVertices(job.top);
+
+					int size=(top==null)? graph.numberOfVertices() : top.length;
+
+					for(int position=0;position<size;position++)
+					{
+						int v=(top==null)? position : top[position];
+
+						output.print(index);
+						output.print('\t');
+						output.print(graph.getNameOfURL(v));
+						output.print('\t');
+						output.println(result.getPageRank(v));
+					}
+				}
+
+				results.add(new BatchJobResult(job.id,index,parameters,result.getIterations(),result.getResidual(),wallTimeNanos,null));
+			}
+		}
+		catch(IOException e)
+		{
+			results.add(new BatchJobResult(job.id,-1,null,0,0,0,"The output couldn't be written : "+e));
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			results.add(new BatchJobResult(job.id,-1,null,0,0,0,"The page ranks of the first two levels were interrupted"));
+		}
+		finally
+		{
+			if(output!=null)
+			{
+				output.close();
+
+				if(output.checkError())
+					results.add(new BatchJobResult(job.id,-1,null,0,0,0,"The output couldn't be written to "+job.outputFileName.trim()));
+			}
+		}
+
+		return results;
+	}
+
+
+	/**
+	 * This method returns the graph which is stored in the file given as argument.If the graph has been loaded before
+	 * (or it is being loaded by another job) then the same graph is returned ,otherwise it is loaded now.
+	 *
+	 * @param fileName the name of the file of the graph
+	 * @param binary true if the file is a binary file with an object of type WebPageGraph or false if it is a text
+	 * file with URL names
+	 * @return the graph of the file
+	 * @throws Exception This Exception is thrown if the graph couldn't be loaded
+	 */
+	private CompactWebPageGraph loadGraph(final String fileName,final boolean binary) throws Exception
+	{
+		FutureTask<CompactWebPageGraph> task=new FutureTask<CompactWebPageGraph>(
+				() -> new PageRankSimulationUserInterface(fileName,binary).getWebPageGraph().createCompactWebPageGraph());
+
+		FutureTask<CompactWebPageGraph> existingTask=this.loadedGraphs.putIfAbsent((binary? "binary:" : "text:")+fileName, task);
+
+		if(existingTask==null)
+		{
+			task.run();
+			existingTask=task;
+		}
+
+		try
+		{
+			return existingTask.get();
+		}
+		catch(ExecutionException e)
+		{
+			throw (e.getCause() instanceof Exception)? (Exception)e.getCause() : e;
+		}
+	}
+
+
+	/**
+	 * This method returns the statistics of the graph given as argument.If the statistics have been calculated before
+	 * (or they are being calculated by another job) then the same statistics are returned ,otherwise they are
+	 * calculated now with as many threads as the threads of the runner.
+	 *
+	 * @param graph a graph which has been loaded by the runner
+	 * @return the statistics of the graph
+	 * @throws Exception This Exception is thrown if the statistics couldn't be calculated
+	 */
+	private GraphStatistics getGraphStatistics(final CompactWebPageGraph graph) throws Exception
+	{
+		FutureTask<GraphStatistics> task=new FutureTask<GraphStatistics>(() -> GraphStatistics.calculate(graph, this.threads));
+
+		FutureTask<GraphStatistics> existingTask=this.graphStatistics.putIfAbsent(graph, task);
+
+		if(existingTask==null)
+		{
+			task.run();
+			existingTask=task;
+		}
+
+		try
+		{
+			return existingTask.get();
+		}
+		catch(ExecutionException e)
+		{
+			throw (e.getCause() instanceof Exception)? (Exception)e.getCause() : e;
+		}
+	}
+
+
+	/**
+	 * This method is the main method of the batch mode.It takes the name of a job file as the first argument ,runs
+	 * its jobs and exits with status 1 if some jobs have failed.
+	 *
+	 * @param args arguments taken from the command line
+	 * @return void
+	 */
+	public static void main(String[] args)
+	{
+		if(args.length<1)
+		{
+			System.err.println("Usage : PageRankBatchRunner <job file>");
+			System.exit(2);
+		}
+
+		try
+		{
+			int failedJobs=runJobFile(args[0]);
+
+			if(failedJobs>0)
+			{
+				System.err.println(failedJobs+" job(s) have failed.");
+				System.exit(1);
+			}
+		}
+		catch(IOException e)
+		{
+			System.err.println("The job file couldn't be processed : "+e.getMessage());
+			System.exit(2);
+		}
+		catch(InterruptedException e)
+		{
+			System.err.println("The batch has been interrupted.");
+			System.exit(2);
+		}
+	}
+
+
+	/**
+	 * This class represents the description of a job of a job file.
+	 */
+	private static class BatchJob
+	{
+		private final String id;							// The id of the job
+
+		private String graphFileName;						// The name of the file of the graph
+
+		private boolean binaryGraph;						// Whether the file of the graph is binary
+
+		private int iterations;								// The number of the iterations
+
+		private ArrayList<PageRankParameters> parameterSets;	// The parameter sets of the job
+
+		private String outputFileName;						// The name of the output file or null
+
+		private int top;									// The number of the top ranked WebPages to write or -1 for all
+
+		private String initialRankFileName;					// The name of the rank file with the initial page ranks or null
+
+		private double tolerance;							// The residual under which the calculations stop ,or 0
+
+		private RankAcceleration acceleration;				// The extrapolation of the calculations
+
+		private double adaptiveThreshold;					// The relative change under which the vertices are frozen ,or 0
+
+		private Boolean structuralPreprocessing;			// Whether the calculations skip the head and tail vertices ,or null for automatic
+
+		private Boolean blockRank;							// Whether the calculations start from the page ranks of BlockRank ,or null for automatic
+
+		private String error;								// The error of the description of the job or null
+
+
+		private BatchJob(String id)
+		{
+			this.id=id;
+		}
+	}
+
+
+	/**
+	 * This class represents the result of one parameter set of a job ,as a line of the summary.
+	 */
+	private static class BatchJobResult
+	{
+		private final String jobId;						// The id of the job
+
+		private final int parameterSet;					// The index of the parameter set or -1
+
+		private final PageRankParameters parameters;	// The parameters or null
+
+		private final int iterations;					// The iterations that have been run
+
+		private final double residual;					// The residual of the last iteration
+
+		private final long wallTimeNanos;				// The wall time of the calculation
+
+		private final boolean succeeded;				// Whether the parameter set has succeeded
+
+		private final String message;					// The error message or null
+
+
+		private BatchJobResult(String jobId,int parameterSet,PageRankParameters parameters,int iterations,double residual,long wallTimeNanos,String message)
+		{
+			this.jobId=jobId;
+			this.parameterSet=parameterSet;
+			this.parameters=parameters;
+			this.iterations=iterations;
+			this.residual=residual;
+			this.wallTimeNanos=wallTimeNanos;
+			this.succeeded=(message==null);
+			this.message=message;
+		}
+
+
+		/**
+		 * Returns the line of the summary (tab separated values) which corresponds to the object invoking the method
+		 *
+		 * @return a line of the summary
+		 */
+		public String toString()
+		{
+			String clearMessage=(this.message==null)? "" : this.message.replace('\t', ' ').replace('\n', ' ');
+
+			if(this.parameters==null)
+				return this.jobId+"\t"+this.parameterSet+"\t\t\t\t\t\t\tFAILED\t"+clearMessage;
+
+			return this.jobId+"\t"+this.parameterSet+"\t"+this.parameters.getSiblingFactor()+"\t"+this.parameters.getLowerBound()+"\t"
+					+this.parameters.getDampingFactor()+"\t"+this.iterations+"\t"+this.residual+"\t"+(this.wallTimeNanos/1000000)+"\t"
+					+(this.succeeded? "OK" : "FAILED")+"\t"+clearMessage;
+		}
+	}
+
+}
@@ -0,0 +1,448 @@
+package pageRankImplementation;
+
+import java.util.Arrays;
+
+
+/**
+ * This class represents an engine which calculates the page ranks of the vertices of an object of type
+ * CompactWebPageGraph.The calculations are the same as the calculations of the method
+ * {@link WebPageGraph#runPageRankCalculationProcessSimulation(java.io.PrintStream, java.io.PrintStream, int, String)}
+ * (sibling factor ,lower bound for spams and d factor) but the page ranks are held in arrays that belong to every
+ * calculation ,so the graph isn't changed and many engines can calculate page ranks on the same graph at the same time.
+ * An object of this class must be used by one thread at a time.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class PageRankEngine
+{
+
+	// The default minimum number of iterations between two extrapolations
+	public static final int DEFAULT_EXTRAPOLATION_PERIOD=5;
+
+	private final CompactWebPageGraph graph;		// The graph whose page ranks are calculated
+
+	private RankEngineMetrics rankEngineMetrics;	// The receiver of the measurements of the calculations ,or null
+
+	private double tolerance;						// The residual under which a calculation stops ,or 0 for no check
+
+	private RankAcceleration acceleration;			// The extrapolation of the calculations
+
+	private int extrapolationPeriod;				// The minimum number of iterations between two extrapolations
+
+	private double adaptiveThreshold;				// The relative change under which a vertex is frozen ,or 0
+
+	private boolean structuralPreprocessing;		// Whether the calculations skip the head and tail vertices
+
+	private StructuralPreprocessing structure;		// The head ,tail and iterated vertices of the graph ,or null before the first use
+
+	private SpamPrunedRankIteration spamPruning;	// The active links of the calculations with a lower bound ,or null before the first use
+
+
+	/**
+	 * This constructor creates an object of type PageRankEngine which calculates the page ranks of the graph given
+	 * as argument.
+	 *
+	 * @param graph an object of type CompactWebPageGraph whose page ranks will be calculated
+	 */
+	public PageRankEngine(CompactWebPageGraph graph)
+	{
+		if(graph==null)
+			throw new NullPointerException("Null graph was given at constructor of class PageRankEngine");
+
+		this.graph=graph;
+		this.acceleration=RankAcceleration.NONE;
+		this.extrapolationPeriod=DEFAULT_EXTRAPOLATION_PERIOD;
+	}
+
+
+	/**
+	 * This method returns the graph whose page ranks are calculated by this engine
+	 *
+	 * @return the graph of the engine
+	 */
+	public CompactWebPageGraph getGraph()
+	{
+		return this.graph;
+	}
+
+
+	/**
+	 * This method sets the object of type RankEngineMetrics which will receive the measurements of the calculations
+	 * of this engine ,or null if the calculations shouldn't be measured.
+	 *
+	 * @param rankEngineMetrics an object of type RankEngineMetrics or null
+	 */
+	public void setRankEngineMetrics(RankEngineMetrics rankEngineMetrics)
+	{
+		this.rankEngineMetrics=rankEngineMetrics;
+	}
+
+
+	/**
+	 * This method returns the residual under which the calculations of this engine stop before running all their
+	 * iterations ,or 0 if they always run all their iterations.
+	 *
+	 * @return the tolerance of the engine
+	 */
+	public double getTolerance()
+	{
+		return this.tolerance;
+	}
+
+
+	/**
+	 * This method sets the residual (the sum of the absolute changes of the page ranks at an iteration) under which
+	 * the calculations of this engine stop before running all their iterations.If 0 is given the calculations always
+	 * run all their iterations.
+	 *
+	 * @param tolerance the new tolerance of the engine
+	 * @return true if the tolerance has been set or false if it is negative
+	 */
+	public boolean setTolerance(double tolerance)
+	{
+		if(tolerance<0 || Double.isNaN(tolerance))
+			return false;
+
+		this.tolerance=tolerance;
+
+		return true;
+	}
+
+
+	/**
+	 * This method returns the extrapolation that the calculations of this engine apply
+	 *
+	 * @return the extrapolation of the engine
+	 */
+	public RankAcceleration getAcceleration()
+	{
+		return this.acceleration;
+	}
+
+
+	/**
+	 * This method sets the extrapolation that the calculations of this engine apply every few iterations
+	 * ({@link RankExtrapolation}) ,and the minimum number of iterations between two extrapolations.The extrapolations
+	 * are useful together with a tolerance ,because they reduce the iterations that are needed to reach it.
+	 *
+	 * @param acceleration the extrapolation of the calculations
+	 * @param period the minimum number of iterations between two extrapolations
+	 * @return true if the extrapolation has been set or false if the period isn't positive
+	 */
+	public boolean setAcceleration(RankAcceleration acceleration,int period)
+	{
+		if(acceleration==null)
+			throw new NullPointerException("Null acceleration was given at method setAcceleration");
+
+		if(period<=0)
+			return false;
+
+		this.acceleration=acceleration;
+		this.extrapolationPeriod=period;
+
+		return true;
+	}
+
+
+	/**
+	 * This method returns the relative change of the page rank of a vertex under which the vertex is frozen by the
+	 * adaptive calculations ,or 0 if the calculations aren't adaptive.
+	 *
+	 * @return the adaptive threshold of the engine
+	 */
+	public double getAdaptiveThreshold()
+	{
+		return this.adaptiveThreshold;
+	}
+
+
+	/**
+	 * This method sets the relative change of the page rank of a vertex at an iteration (for example 0.00001) under
+	 * which the vertex is frozen and its page rank isn't calculated again ({@link AdaptiveRankIteration}).If 0 is
+	 * given the calculations calculate all the vertices at every iteration.The adaptive calculations don't apply
+	 * extrapolations ,because the frozen page ranks must not change.
+	 *
+	 * @param adaptiveThreshold the new adaptive threshold of the engine
+	 * @return true if the threshold has been set or false if it is negative
+	 */
+	public boolean setAdaptiveThreshold(double adaptiveThreshold)
+	{
+		if(adaptiveThreshold<0 || Double.isNaN(adaptiveThreshold))
+			return false;
+
+		this.adaptiveThreshold=adaptiveThreshold;
+
+		return true;
+	}
+
+
+	/**
+	 * This method returns true if the calculations of this engine use the structural preprocessing of the graph
+	 *
+	 * @return whether the calculations use the structural preprocessing
+	 */
+	public boolean isStructuralPreprocessing()
+	{
+		return this.structuralPreprocessing;
+	}
+
+
+	/**
+	 * This method sets whether the calculations of this engine use the structural preprocessing of the graph
+	 * ({@link StructuralPreprocessing}) :the vertices without in-pointing links and the chains that start from them
+	 * are calculated only until their page ranks are constant ,and the dangling vertices and the chains that end at
+	 * them are calculated once at the end ,so the iterations calculate only the other vertices.The page ranks are the
+	 * same as without the preprocessing ,but the spams of every iteration which are given to the metrics and to the
+	 * Flight Recorder events don't include the dangling vertices and the chains that end at them ,which aren't
+	 * calculated at the iterations.The preprocessing isn't used by adaptive calculations or calculations with
+	 * extrapolations ,which change the page ranks of all the vertices.
+	 *
+	 * @param structuralPreprocessing true if the calculations must use the structural preprocessing
+	 */
+	public void setStructuralPreprocessing(boolean structuralPreprocessing)
+	{
+		this.structuralPreprocessing=structuralPreprocessing;
+	}
+
+
+	/**
+	 * This method returns the head ,tail and iterated vertices of the graph ,which are found at the first call and are
+	 * used by all the calculations of this engine with structural preprocessing
+	 *
+	 * @return the structural preprocessing of the graph
+	 */
+	public StructuralPreprocessing getStructuralPreprocessing()
+	{
+		if(this.structure==null)
+			this.structure=new StructuralPreprocessing(this.graph);
+
+		return this.structure;
+	}
+
+
+	/**
+	 * This method calculates the page ranks of all the vertices of the graph with the parameters given as argument,
+	 * starting from the initial page rank {@link WebPageGraph#INITIAL_PAGE_RANK} for every vertex.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param iterations the number of the iterations to run
+	 * @return an object of type PageRankResult with the calculated page ranks
+	 */
+	public PageRankResult calculatePageRanks(PageRankParameters parameters,int iterations)
+	{
+		return calculatePageRanks(parameters, iterations, null);
+	}
+
+
+	/**
+	 * This method calculates the page ranks of all the vertices of the graph with the parameters given as argument,
+	 * starting from the initial page ranks given as argument (warm start).The initial page ranks of a previous
+	 * calculation on a similar graph can be mapped to the vertex ids of this graph with the method
+	 * {@link StoredPageRanks#mapToGraph(CompactWebPageGraph)}.If a tolerance has been set ,the calculation stops when
+	 * the residual of an iteration is less or equal than the tolerance.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param iterations the maximum number of the iterations to run
+	 * @param initialRanks the initial page ranks by vertex id ,or null for the initial page rank of every vertex
+	 * @return an object of type PageRankResult with the calculated page ranks
+	 */
+	public PageRankResult calculatePageRanks(PageRankParameters parameters,int iterations,double[] initialRanks)
+	{
+		if(parameters==null)
+			throw new NullPointerException("Null parameters were given at method calculatePageRanks");
+
+		if(iterations<0)
+			throw new NegativeNumberException("Negative number of iterations given at method calculatePageRanks");
+
+		int vertices=this.graph.numberOfVertices();
+
+		if(initialRanks!=null && initialRanks.length!=vertices)
+			throw new IllegalArgumentException("The number of initial page ranks doesn't match the vertices at method calculatePageRanks");
+
+		double[] ranks=new double[vertices];		// The page ranks of the previous iteration
+		double[] newRanks=new double[vertices];		// The page ranks of the current iteration
+
+		if(initialRanks==null)
+			Arrays.fill(ranks, WebPageGraph.INITIAL_PAGE_RANK);
+		else
+			System.arraycopy(initialRanks, 0, ranks, 0, vertices);
+
+		double tolerance=this.tolerance;
+
+		AdaptiveRankIteration adaptive=(this.adaptiveThreshold==0)? null : new AdaptiveRankIteration(this.graph,this.adaptiveThreshold);
+
+		RankExtrapolation extrapolation=(this.acceleration==RankAcceleration.NONE || adaptive!=null)? null :
+			new RankExtrapolation(this.acceleration,this.extrapolationPeriod,vertices,parameters.getDampingFactor());
+
+		StructuralRankIteration structural=(!this.structuralPreprocessing || adaptive!=null || extrapolation!=null)? null :
+			new StructuralRankIteration(this.graph,getStructuralPreprocessing(),ranks);
+
+		// With a lower bound the links of the spam vertices are removed from the links that the iterations read
+		SpamPrunedRankIteration spamPruning=null;
+
+		if(adaptive==null && structural==null && parameters.getLowerBound()>0)
+		{
+			if(this.spamPruning==null)
+				this.spamPruning=new SpamPrunedRankIteration(this.graph);
+			else
+				this.spamPruning.reset();
+
+			spamPruning=this.spamPruning;
+		}
+
+		RankEngineMetrics metrics=this.rankEngineMetrics;
+
+		long computationStartTime=System.nanoTime();
+
+		if(metrics!=null)
+			metrics.computationStarted(vertices, this.graph.numberOfEdges(), iterations, 1);
+
+		double residual=0;
+
+		int iterationsCompleted=0;
+
+		for(int i=0;i<iterations;i++)
+		{
+			RankIterationEvent iterationEvent=RankIterationEvent.beginIfEnabled();
+
+			long iterationStartTime=System.nanoTime();
+			long allocatedBytesAtStart=(metrics!=null)? AllocationMeter.currentThreadAllocatedBytes() : -1;
+
+			int spamPrunedPages;
+			long edgesProcessed;
+
+			if(adaptive!=null)
+			{
+				spamPrunedPages=adaptive.calculateIteration(parameters, ranks, newRanks);
+				residual=adaptive.getResidual();
+				edgesProcessed=adaptive.getEdgesProcessed();
+			}
+			else if(structural!=null)
+			{
+				spamPrunedPages=structural.calculateIteration(parameters, ranks, newRanks);
+				residual=structural.getResidual();
+				edgesProcessed=structural.getEdgesProcessed();
+			}
+			else
+			{
+				if(spamPruning!=null)
+				{
+					spamPrunedPages=spamPruning.calculateIteration(parameters, ranks, newRanks);
+					edgesProcessed=spamPruning.getEdgesProcessed();
+				}
+				else
+				{
+					spamPrunedPages=calculateIteration(parameters, ranks, newRanks);
+					edgesProcessed=this.graph.numberOfEdges();
+				}
+
+				residual=0;
+
+				for(int v=0;v<vertices;v++)
+					residual+=Math.abs(newRanks[v]-ranks[v]);
+			}
+
+			// The page ranks of the current iteration become the previous page ranks of the next iteration
+			double[] temporary=ranks;
+			ranks=newRanks;
+			newRanks=temporary;
+
+			if(metrics!=null)
+			{
+				long allocatedBytes=(allocatedBytesAtStart<0)? -1 : AllocationMeter.currentThreadAllocatedBytes()-allocatedBytesAtStart;
+
+				metrics.iterationCompleted(new RankIterationMetrics(i,System.nanoTime()-iterationStartTime,edgesProcessed,
+						residual,spamPrunedPages,1,allocatedBytes));
+			}
+
+			if(iterationEvent!=null && iterationEvent.shouldCommit())
+			{
+				iterationEvent.iteration=i;
+				iterationEvent.vertices=vertices;
+				iterationEvent.edgesProcessed=edgesProcessed;
+				iterationEvent.spamPages=spamPrunedPages;
+				iterationEvent.residual=residual;
+				iterationEvent.commit();
+			}
+
+			iterationsCompleted=i+1;
+
+			if(tolerance>0 && residual<=tolerance)
+				break;
+
+			// When all the vertices have been frozen the page ranks don't change anymore
+			if(adaptive!=null && adaptive.numberOfActiveVertices()==0)
+				break;
+
+			// The last iteration isn't extrapolated ,so the result is always checked by an iteration
+			if(extrapolation!=null && i<iterations-1)
+				extrapolation.iterationCompleted(ranks, residual);
+		}
+
+		// The tails haven't been calculated by the iterations
+		if(structural!=null)
+			structural.calculateTails(parameters, ranks);
+
+		if(metrics!=null)
+			metrics.computationFinished(iterationsCompleted, System.nanoTime()-computationStartTime);
+
+		return new PageRankResult(this.graph,parameters,ranks,iterationsCompleted,residual);
+	}
+
+
+	/**
+	 * This method calculates one iteration of the page ranks.For every vertex the page ranks of the vertices which
+	 * point to it and aren't spams are added (multiplied by the sibling factor if they are siblings and divided by
+	 * their number of out-pointing links) and the result is multiplied by the d factor and increased by (1 - d).
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param ranks the page ranks of the previous iteration ,by vertex id
+	 * @param newRanks the array where the page ranks of the current iteration will be placed ,by vertex id
+	 * @return the number of the vertices which have been treated as spams at this iteration
+	 */
+	private int calculateIteration(PageRankParameters parameters,double[] ranks,double[] newRanks)
+	{
+		int[] inLinkOffsets=this.graph.inLinkOffsets;
+		int[] inLinkSources=this.graph.inLinkSources;
+		int[] outLinkOffsets=this.graph.outLinkOffsets;
+		int[] domains=this.graph.domains;
+
+		double siblingFactor=parameters.getSiblingFactor();
+		double lowerBound=parameters.getLowerBound();
+		double dampingFactor=parameters.getDampingFactor();
+
+		int vertices=ranks.length;
+		int spams=0;
+
+		for(int v=0;v<vertices;v++)
+		{
+			if(ranks[v]<lowerBound)
+				spams++;
+
+			double calculatedPageRank=0;
+
+			int domain=domains[v];
+
+			for(int e=inLinkOffsets[v];e<inLinkOffsets[v+1];e++)
+			{
+				int source=inLinkSources[e];
+
+				double previousPageRank=ranks[source];
+
+				// The spam WebPages don't affect the page rank of the current vertex
+				if(previousPageRank<lowerBound)
+					continue;
+
+				double S=(domains[source]==domain)? siblingFactor : 1;
+
+				calculatedPageRank+=S*previousPageRank/(outLinkOffsets[source+1]-outLinkOffsets[source]);
+			}
+
+			newRanks[v]=calculatedPageRank*dampingFactor+(1-dampingFactor);
+		}
+
+		return spams;
+	}
+
+}
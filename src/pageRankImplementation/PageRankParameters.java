@@ -0,0 +1,139 @@
+package pageRankImplementation;
+
+
+/**
+ * This class represents the parameters which affect a calculation of the page ranks : the sibling factor ,the lower
+ * bound which distributes the spam WebPages and the d factor (damping factor).The objects of this class are immutable.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class PageRankParameters
+{
+
+	// The parameters of the classic page rank (no sibling factor ,no lower bound)
+	public static final PageRankParameters DEFAULT_PARAMETERS=new PageRankParameters(1,0,WebPageGraph.D_FACTOR);
+
+	private final double siblingFactor;		// The factor applied to the page rank of a sibling WebPage
+
+	private final double lowerBound;		// The lower bound which distributes the spam WebPages
+
+	private final double dampingFactor;		// The d factor of the calculations of the page ranks
+
+
+	/**
+	 * This constructor creates an object of type PageRankParameters with the sibling factor and lower bound given as
+	 * arguments and with d factor equal to {@link WebPageGraph#D_FACTOR}.
+	 *
+	 * @param siblingFactor the sibling factor ,which must be greater than 0 and less or equal than 1
+	 * @param lowerBound the lower bound for spams ,which must be greater or equal than 0
+	 */
+	public PageRankParameters(double siblingFactor,double lowerBound)
+	{
+		this(siblingFactor,lowerBound,WebPageGraph.D_FACTOR);
+	}
+
+
+	/**
+	 * This constructor creates an object of type PageRankParameters with the values given as arguments.
+	 *
+	 * @param siblingFactor the sibling factor ,which must be greater than 0 and less or equal than 1
+	 * @param lowerBound the lower bound for spams ,which must be greater or equal than 0
+	 * @param dampingFactor the d factor ,which must be greater than 0 and less than 1
+	 */
+	public PageRankParameters(double siblingFactor,double lowerBound,double dampingFactor)
+	{
+		if(siblingFactor<0 || lowerBound<0 || dampingFactor<0)
+			throw new NegativeNumberException("Negative number given in constructor of class PageRankParameters");
+
+		if(siblingFactor==0 || dampingFactor==0)
+			throw new ZeroNumberException("Zero number given for sibling factor or d factor in constructor of class PageRankParameters");
+
+		if(siblingFactor>1 || dampingFactor>=1 || Double.isNaN(siblingFactor) || Double.isNaN(lowerBound) || Double.isNaN(dampingFactor))
+			throw new IllegalArgumentException("The sibling factor must be at most 1 ,the d factor less than 1 and no number can be NaN in constructor of class PageRankParameters");
+
+		this.siblingFactor=siblingFactor;
+		this.lowerBound=lowerBound;
+		this.dampingFactor=dampingFactor;
+	}
+
+
+	/**
+	 * This method returns the sibling factor
+	 *
+	 * @return the sibling factor
+	 */
+	public double getSiblingFactor()
+	{
+		return this.siblingFactor;
+	}
+
+
+	/**
+	 * This method returns the lower bound which distributes the spam WebPages
+	 *
+	 * @return the lower bound for spams
+	 */
+	public double getLowerBound()
+	{
+		return this.lowerBound;
+	}
+
+
+	/**
+	 * This method returns the d factor (damping factor)
+	 *
+	 * @return the d factor
+	 */
+	public double getDampingFactor()
+	{
+		return this.dampingFactor;
+	}
+
+
+	/**
+	 * Checks if the object given as argument is equal with the object of type PageRankParameters which invokes the
+	 * method.Two objects of type PageRankParameters are equal if and only if all their parameters are equal.
+	 *
+	 * @param otherObject an object of the class Object
+	 * @return true if the two objects are equal or false otherwise
+	 */
+	public boolean equals(Object otherObject)
+	{
+		if(otherObject==null || getClass()!=otherObject.getClass())
+			return false;
+
+		PageRankParameters parameters=(PageRankParameters)otherObject;
+
+		return Double.compare(this.siblingFactor, parameters.siblingFactor)==0 &&
+				Double.compare(this.lowerBound, parameters.lowerBound)==0 &&
+				Double.compare(this.dampingFactor, parameters.dampingFactor)==0;
+	}
+
+
+	/**
+	 * Returns a hash code for the object of type PageRankParameters which invokes the method
+	 *
+	 * @return a hash code for the object invoking the method
+	 */
+	public int hashCode()
+	{
+		int hash=Double.hashCode(this.siblingFactor);
+		hash=31*hash+Double.hashCode(this.lowerBound);
+		hash=31*hash+Double.hashCode(this.dampingFactor);
+
+		return hash;
+	}
+
+
+	/**
+	 * Returns a String representation of the object of type PageRankParameters which invokes the method
+	 *
+	 * @return a String representation of the object invoking the method
+	 */
+	public String toString()
+	{
+		return "Sibling factor : "+this.siblingFactor+"  |  Lower bound : "+this.lowerBound+"  |  d factor : "+this.dampingFactor;
+	}
+
+}
@@ -0,0 +1,214 @@
+package pageRankImplementation;
+
+import java.util.Arrays;
+
+
+/**
+ * This class represents the result of a calculation of the page ranks of an object of type CompactWebPageGraph.
+ * It holds the page rank of every vertex of the graph (by vertex id) ,the parameters of the calculation ,the number
+ * of the iterations that have been run and the residual of the last iteration.The objects of this class are
+ * immutable ,so they can be shared between many threads.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class PageRankResult
+{
+
+	private final CompactWebPageGraph graph;			// The graph whose page ranks have been calculated
+
+	private final PageRankParameters parameters;		// The parameters of the calculation
+
+	final double[] ranks;								// The page rank of every vertex ,by vertex id
+
+	private final int iterations;						// The number of the iterations that have been run
+
+	private final double residual;						// The residual of the last iteration
+
+
+	/**
+	 * This constructor creates an object of type PageRankResult with the values given as arguments.The array of the
+	 * page ranks is used by the new object and it must not be changed after the call.
+	 *
+	 * @param graph the graph whose page ranks have been calculated
+	 * @param parameters the parameters of the calculation
+	 * @param ranks the page rank of every vertex ,by vertex id
+	 * @param iterations the number of the iterations that have been run
+	 * @param residual the residual of the last iteration
+	 */
+	PageRankResult(CompactWebPageGraph graph,PageRankParameters parameters,double[] ranks,int iterations,double residual)
+	{
+		if(graph==null || parameters==null || ranks==null)
+			throw new NullPointerException("Null argument was given at constructor of class PageRankResult");
+
+		if(ranks.length!=graph.numberOfVertices())
+			throw new IllegalArgumentException("The number of page ranks doesn't match the vertices at constructor of class PageRankResult");
+
+		this.graph=graph;
+		this.parameters=parameters;
+		this.ranks=ranks;
+		this.iterations=iterations;
+		this.residual=residual;
+	}
+
+
+	/**
+	 * This method returns the graph whose page ranks have been calculated
+	 *
+	 * @return the graph of the result
+	 */
+	public CompactWebPageGraph getGraph()
+	{
+		return this.graph;
+	}
+
+
+	/**
+	 * This method returns the parameters of the calculation
+	 *
+	 * @return the parameters of the calculation
+	 */
+	public PageRankParameters getParameters()
+	{
+		return this.parameters;
+	}
+
+
+	/**
+	 * This method returns the number of the iterations that have been run
+	 *
+	 * @return the number of the iterations that have been run
+	 */
+	public int getIterations()
+	{
+		return this.iterations;
+	}
+
+
+	/**
+	 * This method returns the residual of the last iteration ,which is the sum of the absolute changes of the page
+	 * ranks at the last iteration.
+	 *
+	 * @return the residual of the last iteration
+	 */
+	public double getResidual()
+	{
+		return this.residual;
+	}
+
+
+	/**
+	 * This method returns the page rank of the vertex with the vertex id given as argument
+	 *
+	 * @param vertex the id of a vertex
+	 * @return the page rank of the vertex
+	 */
+	public double getPageRank(int vertex)
+	{
+		return this.ranks[vertex];
+	}
+
+
+	/**
+	 * This method returns the page rank of the WebPage with the URL name given as argument ,or -1 if the URL
+	 * name doesn't correspond to a vertex of the graph.
+	 *
+	 * @param nameURL the name of a URL
+	 * @return the page rank of the WebPage or -1 if it doesn't exist in the graph
+	 */
+	public double getPageRank(String nameURL)
+	{
+		int vertex=this.graph.getVertexId(nameURL);
+
+		return (vertex<0)? -1 : this.ranks[vertex];
+	}
+
+
+	/**
+	 * This method returns a new array with the page ranks of all the vertices ,by vertex id
+	 *
+	 * @return a new array with the page ranks of all the vertices
+	 */
+	public double[] getPageRanks()
+	{
+		return Arrays.copyOf(this.ranks, this.ranks.length);
+	}
+
+
+	/**
+	 * This method returns the vertex ids of the k vertices with the highest page ranks ,by decreasing page rank ,
+	 * without sorting all the page ranks ({@link TopRankedVertices}).
+	 *
+	 * @param k the number of the vertices to return
+	 * @return an array with at most k vertex ids
+	 */
+	public int[] getTopRankedVertices(int k)
+	{
+		return TopRankedVertices.findTopRankedVertices(this.ranks, k);
+	}
+
+
+	/**
+	 * This method returns the vertex ids of the k vertices of a domain with the highest page ranks ,by decreasing
+	 * page rank.If the domain doesn't exist in the graph an empty array is returned.
+	 *
+	 * @param domainName the name of a domain
+	 * @param k the number of the vertices to return
+	 * @return an array with at most k vertex ids of the domain
+	 */
+	public int[] getTopRankedVerticesOfDomain(String domainName,int k)
+	{
+		int domain=this.graph.getDomainId(domainName);
+
+		if(domain<0)
+			return new int[0];
+
+		return TopRankedVertices.findTopRankedVerticesOfDomain(this.graph, this.ranks, domain, k);
+	}
+
+
+	/**
+	 * This method explains the page rank of the vertex given as argument :the top in-pointing WebPages by
+	 * contribution (S * pageRank / outDegree) ,with their spam status and sibling factor ,and the same explanation
+	 * for every one of them up to the number of hops given as argument ({@link RankProvenance}).It is calculated on
+	 * demand from the in-pointing links and the page ranks of the result ,in O(in-degree) for every explained vertex.
+	 *
+	 * @param vertex the id of a vertex
+	 * @param top the number of the highest contributions of every explained vertex
+	 * @param hops the number of the levels of in-pointing WebPages (0 for no contributions)
+	 * @return an object of type RankProvenance with the explanation
+	 */
+	public RankProvenance explain(int vertex,int top,int hops)
+	{
+		return RankProvenance.explain(this, vertex, top, hops);
+	}
+
+
+	/**
+	 * This method does the same as the method {@link #explain(int, int, int)} for the WebPage with the URL name given
+	 * as argument ,or returns null if the URL name doesn't correspond to a vertex of the graph.
+	 *
+	 * @param nameURL the name of a URL
+	 * @param top the number of the highest contributions of every explained vertex
+	 * @param hops the number of the levels of in-pointing WebPages (0 for no contributions)
+	 * @return an object of type RankProvenance with the explanation or null if the WebPage doesn't exist in the graph
+	 */
+	public RankProvenance explain(String nameURL,int top,int hops)
+	{
+		int vertex=this.graph.getVertexId(nameURL);
+
+		return (vertex<0)? null : RankProvenance.explain(this, vertex, top, hops);
+	}
+
+
+	/**
+	 * Returns a String representation of the object of type PageRankResult which invokes the method
+	 *
+	 * @return a String representation of the object invoking the method
+	 */
+	public String toString()
+	{
+		return "Graph : "+this.graph+"  |  "+this.parameters+"  |  Iterations : "+this.iterations+"  |  Residual : "+this.residual;
+	}
+
+}
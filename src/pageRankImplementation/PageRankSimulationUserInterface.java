@@ -1,5 +1,7 @@
 package pageRankImplementation;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -41,6 +43,9 @@ public class PageRankSimulationUserInterface
 	
 	public static final int NUMBER_OF_ITERATIONS=15;	// The number of iterations for calculating the PageRanks
 	
+	// The page ranks of the calculations that have already been done ,so the progress of other focused web pages is printed without calculating again
+	private final RankHistoryCache rankHistoryCache=new RankHistoryCache(RankHistoryCache.DEFAULT_MEMORY_BUDGET);
+	
 	
 	/**
 	 * 
@@ -82,6 +87,18 @@ public class PageRankSimulationUserInterface
 	
 	
 	
+	/**
+	 * This method returns the object of type WebPageGraph which is encapsulated inside of the object of type
+	 * PageRankSimulationUserInterface which invokes the method.
+	 * 
+	 * @return the object of type WebPageGraph of this simulation
+	 */
+	WebPageGraph getWebPageGraph()
+	{
+		return this.graph;
+	}
+	
+	
 	/**
 	 * This method reads an object graph of type WebPageGraph from a file which the name of file is specified by the argument fileName.
 	 * The object of type WebPageGraph that is read from the file is stored inside of the object of type PageRankSimulationUserInterface
@@ -96,12 +113,28 @@ public class PageRankSimulationUserInterface
 		if(fileName==null)
 			throw new NullPointerException("Null file name was given at method loadWebPageGraph");
 		
+		GraphSerializationEvent event=new GraphSerializationEvent();
+		event.begin();
+		
 		ObjectInputStream inputStream=new ObjectInputStream(new FileInputStream(fileName));
 		
 		this.graph=(WebPageGraph)inputStream.readObject();
 		
 		inputStream.close();
 		
+		// The histories of the previous graph can't be used anymore
+		this.rankHistoryCache.clear();
+		
+		if(event.shouldCommit())
+		{
+			event.fileName=fileName;
+			event.write=false;
+			event.vertices=this.graph.numberOfVertices();
+			event.edges=this.graph.numberOfEdges();
+			event.bytes=new File(fileName).length();
+			event.commit();
+		}
+		
 	}
 	
 	
@@ -119,11 +152,24 @@ public class PageRankSimulationUserInterface
 		if(fileName==null)
 			throw new NullPointerException("Null file name was given at method writeWebPageGraph");
 		
+		GraphSerializationEvent event=new GraphSerializationEvent();
+		event.begin();
+		
 		ObjectOutputStream outpuStream=new ObjectOutputStream(new FileOutputStream(fileName));
 		
 		outpuStream.writeObject(this.graph);
 		
 		outpuStream.close();
+		
+		if(event.shouldCommit())
+		{
+			event.fileName=fileName;
+			event.write=true;
+			event.vertices=this.graph.numberOfVertices();
+			event.edges=this.graph.numberOfEdges();
+			event.bytes=new File(fileName).length();
+			event.commit();
+		}
 	}
 	
 	
@@ -166,9 +212,15 @@ public class PageRankSimulationUserInterface
 		
 		boolean hasUsedFileForStream1=false;
 		boolean hasUsedFileForStream2=false;
+		String fileNameForStream1=null;
+		String fileNameForStream2=null;
 		PrintStream outputStream1=null;
 		PrintStream outputStream2=null;
 		
+		// The destination of the progress of the focused web page. The progress to a file is written by a background thread
+		RankTraceSink sink1=null;
+		AsynchronousRankTraceSink asynchronousSink1=null;
+		
 		if(option==2 || option==4)
 		{
 			
@@ -192,10 +244,12 @@ public class PageRankSimulationUserInterface
 				
 				System.out.println("Give the name of the file you want to use for the output stream :");
 				inputLine=keyboard.nextLine().trim();
+				fileNameForStream1=inputLine;
 				
 				try
 				{
-					outputStream1=new PrintStream(new FileOutputStream(inputLine));
+					asynchronousSink1=new AsynchronousRankTraceSink(new FileOutputStream(inputLine),inputLine);
+					sink1=asynchronousSink1;
 				} 
 				catch (FileNotFoundException e) 
 				{	
@@ -204,7 +258,11 @@ public class PageRankSimulationUserInterface
 				}
 				
 			}
-			else outputStream1=System.out;
+			else 
+			{
+				outputStream1=System.out;
+				sink1=new PrintStreamRankTraceSink(outputStream1);
+			}
 			
 		}
 		
@@ -232,14 +290,19 @@ public class PageRankSimulationUserInterface
 				
 				System.out.println("Give the name of the file you want to use for the output stream :");
 				inputLine=keyboard.nextLine().trim();
+				fileNameForStream2=inputLine;
 				
 				try 
 				{
-					outputStream2=new PrintStream(new FileOutputStream(inputLine));
+					outputStream2=new PrintStream(new BufferedOutputStream(new FileOutputStream(inputLine),AsynchronousRankTraceSink.OUTPUT_BUFFER_SIZE));
 				} 
 				catch (FileNotFoundException e) 
 				{	
 					System.out.println("The file can't be opened or doesn't exist.Try again later.\n");
+					
+					if(asynchronousSink1!=null)
+						closeAsynchronousSink(asynchronousSink1);
+					
 					return false;
 				}
 				
@@ -250,24 +313,72 @@ public class PageRankSimulationUserInterface
 		
 		
 		
-		this.graph.runPageRankCalculationProcessSimulation(outputStream1, outputStream2, NUMBER_OF_ITERATIONS, urlName);
+		// The page ranks are calculated only if the graph ,the sibling factor or the lower bound have changed since the last calculation
+		this.rankHistoryCache.runPageRankCalculationProcessSimulation(this.graph, sink1, outputStream2, NUMBER_OF_ITERATIONS, urlName);
+		
+		if(asynchronousSink1!=null)
+			closeAsynchronousSink(asynchronousSink1);
+		
+		if(outputStream1!=null)
+			finishOutputStream(outputStream1, fileNameForStream1);
+		
+		if(outputStream2!=null && outputStream2!=outputStream1)
+			finishOutputStream(outputStream2, fileNameForStream2);
 		
 		if(hasUsedFileForStream1)
-		 {
 			System.out.println("The output of the progress of the web page with URL "+urlName+" ,has been written to the specified file .");
-			outputStream1.close();
-		 }
 		
 		if(hasUsedFileForStream2)
-		 {
 			System.out.println("The output of the page ranks' results, of the factors that affect the web page with URL "+urlName+" has been written to the specified file :");
-			outputStream2.close();
-		 }
 		
 		return true;
 		
 	}
 	
+	
+	/**
+	 * This method closes an object of type AsynchronousRankTraceSink ,after all its progress has been written to its file.
+	 * 
+	 * @param sink an object of type AsynchronousRankTraceSink which writes to a file
+	 */
+	private static void closeAsynchronousSink(AsynchronousRankTraceSink sink)
+	{
+		try
+		{
+			sink.close();
+		}
+		catch(IOException e)
+		{
+			System.out.println("Problem trying to write the progress of the focused web page to the file.\n");
+		}
+	}
+	
+	
+	/**
+	 * This method flushes an output stream which has been used for printing the results of a focused web page and
+	 * closes it if it writes to a file.The flushing is recorded as a Java Flight Recorder event.
+	 * 
+	 * @param outputStream an object of type PrintStream which has been used for printing the results
+	 * @param fileName the name of the file that the stream writes to ,or null if it is the default screen output
+	 */
+	private static void finishOutputStream(PrintStream outputStream,String fileName)
+	{
+		TraceFlushEvent event=new TraceFlushEvent();
+		event.begin();
+		
+		if(fileName==null)
+			outputStream.flush();
+		else 
+			outputStream.close();
+		
+		if(event.shouldCommit())
+		{
+			event.destination=(fileName==null)? "System.out" : fileName;
+			event.bytes=(fileName==null)? -1 : new File(fileName).length();
+			event.commit();
+		}
+	}
+	
 	/**
 	 * This method is a method which builds a conversation-interface in which interface the computer guides the user to change 
 	 * the sibling factor of the graph.
@@ -568,13 +679,23 @@ public class PageRankSimulationUserInterface
 	
 	/**
 	 * This methd is the main method of the program from which the control flow of the program is moved to the method 
-	 * {@link PageRankSimulationUserInterface#runUserInterfaceForPageRankSimulation()}
+	 * {@link PageRankSimulationUserInterface#runUserInterfaceForPageRankSimulation()} ,or to the batch mode
+	 * {@link PageRankBatchRunner#main(String[])} if the arguments are "--batch" followed by the name of a job file.
 	 * 
 	 * @param args arguments taken from the command line
 	 * @return void
 	 */
 	public static void main(String[] args)
 	{
+		if(args.length>0 && args[0].equals("--batch"))
+		{
+			String[] batchArguments=new String[args.length-1];
+			System.arraycopy(args, 1, batchArguments, 0, batchArguments.length);
+			
+			PageRankBatchRunner.main(batchArguments);
+			return ;
+		}
+		
 		runUserInterfaceForPageRankSimulation();
 		
 		System.out.println("--------------------------------------------- Exiting the program"
@@ -0,0 +1,185 @@
+package pageRankImplementation;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.HashSet;
+
+
+/**
+ * This class represents the results of a parameter sweep ({@link ParameterSweepRunner}).It holds the result of every
+ * parameter set and compares it with the result of the first parameter set (the reference) :the sum of the absolute
+ * differences of the page ranks and the part of the WebPages with the highest page ranks which are the same as in the
+ * reference.The comparisons can be written as a table with tab separated values.The objects of this class are
+ * immutable.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class ParameterSweepResult
+{
+
+	// The number of the WebPages with the highest page ranks that are compared with the reference
+	public static final int COMPARED_TOP_VERTICES=10;
+
+	private final PageRankResult[] results;		// The result of every parameter set
+
+	private final long[] wallTimes;				// The time of the calculation of every parameter set in nanoseconds
+
+	private final double[] distances;			// The sum of the absolute differences from the reference ,by parameter set
+
+	private final double[] topOverlaps;			// The part of the top WebPages which are the same as in the reference
+
+	private final int[][] topVertices;			// The top WebPages of every parameter set
+
+
+	/**
+	 * This constructor creates an object of type ParameterSweepResult with the results given as arguments and
+	 * calculates the comparisons with the first result.
+	 *
+	 * @param results the result of every parameter set
+	 * @param wallTimes the time of the calculation of every parameter set in nanoseconds
+	 */
+	ParameterSweepResult(PageRankResult[] results,long[] wallTimes)
+	{
+		this.results=results;
+		this.wallTimes=wallTimes;
+		this.distances=new double[results.length];
+		this.topOverlaps=new double[results.length];
+		this.topVertices=new int[results.length][];
+
+		for(int index=0;index<results.length;index++)
+			this.topVertices[index]=results[index].getTopRankedVertices(COMPARED_TOP_VERTICES);
+
+		double[] reference=results[0].ranks;
+
+		HashSet<Integer> referenceTop=new HashSet<Integer>();
+
+		for(int vertex : this.topVertices[0])
+			referenceTop.add(vertex);
+
+		for(int index=0;index<results.length;index++)
+		{
+			double[] ranks=results[index].ranks;
+			double distance=0;
+
+			for(int v=0;v<ranks.length;v++)
+				distance+=Math.abs(ranks[v]-reference[v]);
+
+			int common=0;
+
+			for(int vertex : this.topVertices[index])
+				if(referenceTop.contains(vertex))
+					common++;
+
+			this.distances[index]=distance;
+			this.topOverlaps[index]=(this.topVertices[0].length==0)? 1 : (double)common/this.topVertices[0].length;
+		}
+	}
+
+
+	/**
+	 * This method returns the number of the parameter sets of the sweep
+	 *
+	 * @return the number of the parameter sets
+	 */
+	public int numberOfParameterSets()
+	{
+		return this.results.length;
+	}
+
+
+	/**
+	 * This method returns the result of the parameter set at the position given as argument
+	 *
+	 * @param index the position of a parameter set
+	 * @return the result of the parameter set
+	 */
+	public PageRankResult getResult(int index)
+	{
+		return this.results[index];
+	}
+
+
+	/**
+	 * This method returns the time of the calculation of the parameter set at the position given as argument
+	 *
+	 * @param index the position of a parameter set
+	 * @return the time of the calculation in nanoseconds
+	 */
+	public long getWallTimeNanos(int index)
+	{
+		return this.wallTimes[index];
+	}
+
+
+	/**
+	 * This method returns the sum of the absolute differences between the page ranks of the parameter set at the
+	 * position given as argument and the page ranks of the reference (the first parameter set)
+	 *
+	 * @param index the position of a parameter set
+	 * @return the distance of the page ranks from the reference
+	 */
+	public double getDistanceFromReference(int index)
+	{
+		return this.distances[index];
+	}
+
+
+	/**
+	 * This method returns the part (from 0 to 1) of the {@link ParameterSweepResult#COMPARED_TOP_VERTICES} WebPages
+	 * with the highest page ranks of the parameter set at the position given as argument which are also among the
+	 * WebPages with the highest page ranks of the reference.
+	 *
+	 * @param index the position of a parameter set
+	 * @return the overlap of the top WebPages with the reference
+	 */
+	public double getTopOverlapWithReference(int index)
+	{
+		return this.topOverlaps[index];
+	}
+
+
+	/**
+	 * This method writes the comparison table of the sweep with one line for every parameter set and tab separated
+	 * values.
+	 *
+	 * @param output the destination of the table
+	 * @return void
+	 */
+	public void writeComparisonTable(PrintWriter output)
+	{
+		if(output==null)
+			throw new NullPointerException("Null output was given at method writeComparisonTable");
+
+		output.println("parameterSet\tsiblingFactor\tlowerBound\tdFactor\titerations\tresidual\tmillis\tdistance\ttopOverlap\ttopURL");
+
+		for(int index=0;index<this.results.length;index++)
+		{
+			PageRankResult result=this.results[index];
+			PageRankParameters parameters=result.getParameters();
+
+			output.println(index+"\t"+parameters.getSiblingFactor()+"\t"+parameters.getLowerBound()+"\t"+parameters.getDampingFactor()
+					+"\t"+result.getIterations()+"\t"+result.getResidual()+"\t"+(this.wallTimes[index]/1000000)
+					+"\t"+this.distances[index]+"\t"+this.topOverlaps[index]
+					+"\t"+((this.topVertices[index].length==0)? "" : result.getGraph().getNameOfURL(this.topVertices[index][0])));
+		}
+
+		output.flush();
+	}
+
+
+	/**
+	 * Returns the comparison table of the sweep as a String
+	 *
+	 * @return the comparison table of the sweep
+	 */
+	public String toString()
+	{
+		StringWriter writer=new StringWriter();
+
+		writeComparisonTable(new PrintWriter(writer));
+
+		return writer.toString();
+	}
+
+}
@@ -0,0 +1,161 @@
+package pageRankImplementation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+/**
+ * This class runs the calculation of the page ranks of one graph for many parameter sets (sibling factor ,lower bound
+ * and d factor) at the same time.The graph is an immutable object of type CompactWebPageGraph which is shared by all
+ * the calculations ,and every calculation has its own engine and its own arrays of page ranks ,so the WebPages of the
+ * original graph are never changed.The calculations are run by a bounded pool of threads ,so at most as many
+ * calculations as the threads of the runner hold their working arrays at the same time.The results are returned as an
+ * object of type ParameterSweepResult which compares every parameter set with the first one.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class ParameterSweepRunner
+{
+
+	// The default number of calculations that run at the same time
+	public static final int DEFAULT_NUMBER_OF_THREADS=Runtime.getRuntime().availableProcessors();
+
+	private final CompactWebPageGraph graph;		// The graph whose page ranks are calculated
+
+	private final int threads;						// The number of calculations that run at the same time
+
+
+	/**
+	 * This constructor creates an object of type ParameterSweepRunner for the graph given as argument ,which runs at
+	 * most as many calculations at the same time as indicated by the argument threads.
+	 *
+	 * @param graph the graph whose page ranks will be calculated
+	 * @param threads the number of calculations that run at the same time
+	 */
+	public ParameterSweepRunner(CompactWebPageGraph graph,int threads)
+	{
+		if(graph==null)
+			throw new NullPointerException("Null graph was given at constructor of class ParameterSweepRunner");
+
+		if(threads<=0)
+		{
+			if(threads<0)
+				throw new NegativeNumberException("Negative number of threads given at constructor of class ParameterSweepRunner");
+			else
+				throw new ZeroNumberException("Zero number of threads given at constructor of class ParameterSweepRunner");
+		}
+
+		this.graph=graph;
+		this.threads=threads;
+	}
+
+
+	/**
+	 * This method returns all the combinations of the sibling factors ,lower bounds and d factors given as arguments ,
+	 * in the order of the sibling factors first ,then of the lower bounds and then of the d factors.
+	 *
+	 * @param siblingFactors the sibling factors of the grid
+	 * @param lowerBounds the lower bounds of the grid
+	 * @param dampingFactors the d factors of the grid
+	 * @return a list with all the parameter sets of the grid
+	 */
+	public static ArrayList<PageRankParameters> createGrid(double[] siblingFactors,double[] lowerBounds,double[] dampingFactors)
+	{
+		if(siblingFactors==null || lowerBounds==null || dampingFactors==null)
+			throw new NullPointerException("Null array was given at method createGrid");
+
+		ArrayList<PageRankParameters> grid=new ArrayList<PageRankParameters>(siblingFactors.length*lowerBounds.length*dampingFactors.length);
+
+		for(double siblingFactor : siblingFactors)
+			for(double lowerBound : lowerBounds)
+				for(double dampingFactor : dampingFactors)
+					grid.add(new PageRankParameters(siblingFactor,lowerBound,dampingFactor));
+
+		return grid;
+	}
+
+
+	/**
+	 * This method calculates the page ranks of the graph for every parameter set given as argument ,at the same time ,
+	 * and waits for all the calculations to finish.
+	 *
+	 * @param parameterSets the parameter sets ,where the first one is the reference of the comparisons
+	 * @param iterations the number of the iterations of every calculation
+	 * @return an object of type ParameterSweepResult with the results of all the parameter sets
+	 * @throws InterruptedException This Exception is thrown if the thread is interrupted while waiting for the calculations
+	 */
+	public ParameterSweepResult sweep(List<PageRankParameters> parameterSets,final int iterations) throws InterruptedException
+	{
+		if(parameterSets==null)
+			throw new NullPointerException("Null list of parameter sets was given at method sweep");
+
+		if(iterations<0)
+			throw new NegativeNumberException("Negative number of iterations given at method sweep");
+
+		if(parameterSets.isEmpty())
+			throw new IllegalArgumentException("Empty list of parameter sets was given at method sweep");
+
+		int size=parameterSets.size();
+
+		ExecutorService executor=Executors.newFixedThreadPool(Math.min(this.threads, size));
+
+		try
+		{
+			ArrayList<Future<PageRankResult>> futures=new ArrayList<Future<PageRankResult>>(size);
+
+			final long[] wallTimes=new long[size];
+
+			for(int index=0;index<size;index++)
+			{
+				final PageRankParameters parameters=parameterSets.get(index);
+				final int position=index;
+
+				if(parameters==null)
+					throw new NullPointerException("Null parameter set was given at method sweep");
+
+				futures.add(executor.submit(() ->
+				{
+					long startTime=System.nanoTime();
+
+					PageRankResult result=new PageRankEngine(this.graph).calculatePageRanks(parameters, iterations);
+
+					wallTimes[position]=System.nanoTime()-startTime;
+
+					return result;
+				}));
+			}
+
+			PageRankResult[] results=new PageRankResult[size];
+
+			for(int index=0;index<size;index++)
+			{
+				try
+				{
+					results[index]=futures.get(index).get();
+				}
+				catch(ExecutionException e)
+				{
+					Throwable cause=e.getCause();
+
+					if(cause instanceof RuntimeException)
+						throw (RuntimeException)cause;
+
+					throw new IllegalStateException("The calculation of parameter set "+index+" has failed",cause);
+				}
+			}
+
+			// The wall times have been written before the results were taken ,so they are visible here
+			return new ParameterSweepResult(results,wallTimes);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,149 @@
+package pageRankImplementation;
+
+import java.io.PrintStream;
+import java.util.Formatter;
+
+
+/**
+ * This class represents a destination of the progress of a focused WebPage which prints the progress directly to an
+ * object of type PrintStream ,at the thread which runs the calculation.The format of the progress is the format of
+ * the method {@link WebPageGraph#runPageRankCalculationProcessSimulation(PrintStream, PrintStream, int, String)}.
+ * The static methods of this class produce that format and they are used by the other destinations too.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class PrintStreamRankTraceSink implements RankTraceSink
+{
+
+	private final PrintStream outputStream;		// The stream where the progress is printed
+
+	private final Formatter formatter;			// The formatter which writes to the stream
+
+
+	/**
+	 * This constructor creates an object of type PrintStreamRankTraceSink which prints the progress to the stream given
+	 * as argument.The stream isn't closed by this object.
+	 *
+	 * @param outputStream an object of type PrintStream where the progress will be printed
+	 */
+	public PrintStreamRankTraceSink(PrintStream outputStream)
+	{
+		if(outputStream==null)
+			throw new NullPointerException("Null stream was given at constructor of class PrintStreamRankTraceSink");
+
+		this.outputStream=outputStream;
+		this.formatter=new Formatter((Appendable)outputStream);
+	}
+
+
+	@Override
+	public void focusedWebPage(String urlName, double initialPageRank)
+	{
+		formatFocusedWebPage(this.formatter, urlName, initialPageRank);
+	}
+
+
+	@Override
+	public void iterationStarted(int iteration, double dampingFactor)
+	{
+		formatIterationStarted(this.formatter, iteration, dampingFactor);
+	}
+
+
+	@Override
+	public void factorTerm(int position, double siblingFactor, double previousPageRank, int outDegree)
+	{
+		formatFactorTerm(this.formatter, position, siblingFactor, previousPageRank, outDegree);
+	}
+
+
+	@Override
+	public void spamFactorTerm(int position)
+	{
+		formatSpamFactorTerm(this.formatter, position);
+	}
+
+
+	@Override
+	public void iterationFinished(double pageRank)
+	{
+		formatIterationFinished(this.formatter, pageRank);
+	}
+
+
+	@Override
+	public void calculationFinished()
+	{
+		this.outputStream.flush();
+	}
+
+
+	/**
+	 * This method writes the title of the progress of a focused WebPage.
+	 *
+	 * @param formatter the formatter where the title is written
+	 * @param urlName the name of the URL of the focused WebPage
+	 * @param initialPageRank the initial page rank of the focused WebPage
+	 */
+	static void formatFocusedWebPage(Formatter formatter,String urlName,double initialPageRank)
+	{
+		String lineSeparator=System.lineSeparator();
+
+		formatter.format("%s", "++++++++++++++++++++  Focused webPage is "+urlName+" ++++++++++++++++++++ "+lineSeparator);
+		formatter.format("%s", "Initial Page Rank : "+initialPageRank+lineSeparator);
+	}
+
+
+	/**
+	 * This method writes the start of the calculation of the page rank of the focused WebPage at an iteration.
+	 *
+	 * @param formatter the formatter where the start of the calculation is written
+	 * @param iteration the number of the iteration
+	 * @param dampingFactor the d factor of the calculation
+	 */
+	static void formatIterationStarted(Formatter formatter,int iteration,double dampingFactor)
+	{
+		formatter.format("I : %d --> (1 - %.2f) + %.2f*(", iteration, dampingFactor, dampingFactor);
+	}
+
+
+	/**
+	 * This method writes the factor of a WebPage which points to the focused WebPage.
+	 *
+	 * @param formatter the formatter where the factor is written
+	 * @param position the position of the WebPage among the WebPages which point to the focused WebPage
+	 * @param siblingFactor the sibling factor applied to the page rank of the WebPage
+	 * @param previousPageRank the page rank of the WebPage at the previous iteration
+	 * @param outDegree the number of the out-pointing links of the WebPage
+	 */
+	static void formatFactorTerm(Formatter formatter,int position,double siblingFactor,double previousPageRank,int outDegree)
+	{
+		formatter.format((position>0)? "+ (%.2f *(%.2f / %d)) " : " (%.2f *(%.2f / %d)) ", siblingFactor, previousPageRank, outDegree);
+	}
+
+
+	/**
+	 * This method writes the factor of a spam WebPage which points to the focused WebPage.
+	 *
+	 * @param formatter the formatter where the factor is written
+	 * @param position the position of the WebPage among the WebPages which point to the focused WebPage
+	 */
+	static void formatSpamFactorTerm(Formatter formatter,int position)
+	{
+		formatter.format("%s", (position>0)? "+ 0 " : " 0 ");
+	}
+
+
+	/**
+	 * This method writes the end of the calculation of the page rank of the focused WebPage at an iteration.
+	 *
+	 * @param formatter the formatter where the end of the calculation is written
+	 * @param pageRank the new page rank of the focused WebPage
+	 */
+	static void formatIterationFinished(Formatter formatter,double pageRank)
+	{
+		formatter.format(") = %.2f%n", pageRank);
+	}
+
+}
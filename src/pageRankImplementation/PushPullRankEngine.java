@@ -0,0 +1,862 @@
+package pageRankImplementation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+
+/**
+ * This class represents an engine which calculates the page ranks of an object of type CompactWebPageGraph choosing
+ * the direction of every iteration (in the style of the direction optimizing traversals of Beamer et al) :
+ * 1. An iteration in pull direction calculates the page rank of every vertex from the page ranks of the vertices that
+ * point to it ,like {@link PageRankEngine} ,and keeps the sum of the contributions of every vertex.
+ * 2. An iteration in push direction changes only the sums of the vertices pointed by the sources whose contribution has
+ * changed (the active sources) ,by the change of the contribution ,and calculates again only the page ranks of these
+ * vertices.
+ * After every iteration the engine counts the out-pointing links of the active sources and the next iteration pushes
+ * if they are at most {@link PushPullRankEngine#getPushThreshold()} of all the links ,otherwise it pulls.A source is
+ * active if its page rank has changed since its contribution was last added to the sums ,or it has crossed the lower
+ * bound for spams (a spam contributes nothing) ,so the iterations push when most of the page ranks have converged ,
+ * when most of the WebPages are spams or when an activation threshold is set
+ * ({@link PushPullRankEngine#setActivationThreshold(double)}).The vertices of a pull are divided into ranges with
+ * about the same number of links and the active sources of a push into parts ,one for every thread ,which add their
+ * changes to accumulators of their own that are added to the sums at the end ,so the result doesn't depend on the
+ * order of the threads.With activation threshold 0 the page ranks are the same as the page ranks of PageRankEngine
+ * (up to the rounding of the sums).
+ * An object of this class must be used by one thread at a time.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class PushPullRankEngine
+{
+
+	// The default part of the links of the graph up to which the out-pointing links of the active sources are pushed
+	public static final double DEFAULT_PUSH_THRESHOLD=0.05;
+
+	// The minimum number of vertices of the graph that are calculated by one task
+	static final int MIN_VERTICES_PER_TASK=1<<12;
+
+	// The minimum number of links that are pushed by one task
+	static final int MIN_EDGES_PER_TASK=1<<16;
+
+	private final CompactWebPageGraph graph;		// The graph whose page ranks are calculated
+
+	private final int threads;						// The number of threads of the calculations
+
+	private RankEngineMetrics rankEngineMetrics;	// The receiver of the measurements of the calculations ,or null
+
+	private double tolerance;						// The residual under which a calculation stops ,or 0 for no check
+
+	private double pushThreshold;					// The part of the links up to which the active links are pushed
+
+	private double activationThreshold;				// The relative change under which a source isn't active ,or 0
+
+	private int pushIterations;						// The number of the iterations of the last calculation that have pushed
+
+	private int pullIterations;						// The number of the iterations of the last calculation that have pulled
+
+
+	/**
+	 * This constructor creates an object of type PushPullRankEngine which calculates the page ranks of the graph given
+	 * as argument ,with as many threads as indicated by the argument threads.
+	 *
+	 * @param graph an object of type CompactWebPageGraph whose page ranks will be calculated
+	 * @param threads the number of threads of the calculations
+	 */
+	public PushPullRankEngine(CompactWebPageGraph graph,int threads)
+	{
+		if(graph==null)
+			throw new NullPointerException("Null graph was given at constructor of class PushPullRankEngine");
+
+		if(threads<=0)
+		{
+			if(threads<0)
+				throw new NegativeNumberException("Negative number of threads given at constructor of class PushPullRankEngine");
+			else
+				throw new ZeroNumberException("Zero number of threads given at constructor of class PushPullRankEngine");
+		}
+
+		this.graph=graph;
+		this.threads=threads;
+		this.pushThreshold=DEFAULT_PUSH_THRESHOLD;
+	}
+
+
+	/**
+	 * This method returns the graph whose page ranks are calculated by this engine
+	 *
+	 * @return the graph of the engine
+	 */
+	public CompactWebPageGraph getGraph()
+	{
+		return this.graph;
+	}
+
+
+	/**
+	 * This method sets the object of type RankEngineMetrics which will receive the measurements of the calculations
+	 * of this engine ,or null if the calculations shouldn't be measured.
+	 *
+	 * @param rankEngineMetrics an object of type RankEngineMetrics or null
+	 */
+	public void setRankEngineMetrics(RankEngineMetrics rankEngineMetrics)
+	{
+		this.rankEngineMetrics=rankEngineMetrics;
+	}
+
+
+	/**
+	 * This method returns the residual under which the calculations of this engine stop before running all their
+	 * iterations ,or 0 if they always run all their iterations.
+	 *
+	 * @return the tolerance of the engine
+	 */
+	public double getTolerance()
+	{
+		return this.tolerance;
+	}
+
+
+	/**
+	 * This method sets the residual (the sum of the absolute changes of the page ranks at an iteration) under which
+	 * the calculations of this engine stop before running all their iterations.If 0 is given the calculations always
+	 * run all their iterations.
+	 *
+	 * @param tolerance the new tolerance of the engine
+	 * @return true if the tolerance has been set or false if it is negative
+	 */
+	public boolean setTolerance(double tolerance)
+	{
+		if(tolerance<0 || Double.isNaN(tolerance))
+			return false;
+
+		this.tolerance=tolerance;
+
+		return true;
+	}
+
+
+	/**
+	 * This method returns the part of the links of the graph up to which the out-pointing links of the active sources
+	 * are pushed instead of pulling all the links
+	 *
+	 * @return the push threshold of the engine
+	 */
+	public double getPushThreshold()
+	{
+		return this.pushThreshold;
+	}
+
+
+	/**
+	 * This method sets the part of the links of the graph (from 0 up to 1) up to which the out-pointing links of the
+	 * active sources are pushed instead of pulling all the links.If 0 is given the iterations push only when no source
+	 * is active ,and if 1 is given every iteration after the first pushes.
+	 *
+	 * @param pushThreshold the new push threshold of the engine
+	 * @return true if the push threshold has been set or false if it isn't from 0 up to 1
+	 */
+	public boolean setPushThreshold(double pushThreshold)
+	{
+		if(!(pushThreshold>=0 && pushThreshold<=1))
+			return false;
+
+		this.pushThreshold=pushThreshold;
+
+		return true;
+	}
+
+
+	/**
+	 * This method returns the relative change of the page rank of a source under which the source isn't active ,or 0
+	 * if every change makes a source active
+	 *
+	 * @return the activation threshold of the engine
+	 */
+	public double getActivationThreshold()
+	{
+		return this.activationThreshold;
+	}
+
+
+	/**
+	 * This method sets the relative change of the page rank of a source (from 0 up to 1 ,for example 0.00001) since its
+	 * contribution was last added to the sums ,under which the source isn't active and its change isn't pushed.The
+	 * changes which aren't pushed are added up ,so a source becomes active when its total change is big enough ,and
+	 * every pull adds the current contributions of all the sources.If 0 is given every change makes a source active.
+	 *
+	 * @param activationThreshold the new activation threshold of the engine
+	 * @return true if the threshold has been set or false if it isn't from 0 up to 1
+	 */
+	public boolean setActivationThreshold(double activationThreshold)
+	{
+		if(!(activationThreshold>=0 && activationThreshold<1))
+			return false;
+
+		this.activationThreshold=activationThreshold;
+
+		return true;
+	}
+
+
+	/**
+	 * This method returns the number of the iterations of the last calculation of this engine that have pushed
+	 *
+	 * @return the number of push iterations
+	 */
+	public int getPushIterations()
+	{
+		return this.pushIterations;
+	}
+
+
+	/**
+	 * This method returns the number of the iterations of the last calculation of this engine that have pulled
+	 *
+	 * @return the number of pull iterations
+	 */
+	public int getPullIterations()
+	{
+		return this.pullIterations;
+	}
+
+
+	/**
+	 * This method calculates the page ranks of all the vertices of the graph with the parameters given as argument,
+	 * starting from the initial page rank {@link WebPageGraph#INITIAL_PAGE_RANK} for every vertex.The first iteration
+	 * always pulls.If a tolerance has been set ,the calculation stops when the residual of an iteration is less or
+	 * equal than the tolerance.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param iterations the maximum number of the iterations to run
+	 * @return an object of type PageRankResult with the calculated page ranks
+	 * @throws InterruptedException This Exception is thrown if the thread is interrupted while waiting for the tasks
+	 */
+	public PageRankResult calculatePageRanks(PageRankParameters parameters,int iterations) throws InterruptedException
+	{
+		if(parameters==null)
+			throw new NullPointerException("Null parameters were given at method calculatePageRanks");
+
+		if(iterations<0)
+			throw new NegativeNumberException("Negative number of iterations given at method calculatePageRanks");
+
+		this.pushIterations=0;
+		this.pullIterations=0;
+
+		ExecutorService executor=(this.threads>1)? Executors.newFixedThreadPool(this.threads) : null;
+
+		try
+		{
+			return new Calculation(parameters,executor).calculate(iterations);
+		}
+		finally
+		{
+			if(executor!=null)
+				executor.shutdownNow();
+		}
+	}
+
+
+	/**
+	 * This class represents one calculation of the page ranks with the arrays that it keeps between its iterations.
+	 */
+	private final class Calculation
+	{
+
+		private final PageRankParameters parameters;	// The parameters of the calculation
+
+		private final ExecutorService executor;			// The threads of the tasks ,or null if the calculation runs on one thread
+
+		private final int[] rangeStarts;				// The vertices of range k of a pull are rangeStarts[k]..rangeStarts[k+1]-1
+
+		private double[] ranks;							// The page ranks of the previous iteration ,by vertex id
+
+		private double[] newRanks;						// The page ranks that a pull calculates ,by vertex id
+
+		private final double[] sums;					// The sum of the contributions that every vertex receives ,by vertex id
+
+		private final double[] sentRanks;				// The page rank of every source that its contribution to the sums comes from (0 for a spam)
+
+		private final int[] frontier;					// The active sources ,at positions 0..frontierSize-1
+
+		private int frontierSize;						// The number of the active sources
+
+		private long frontierEdges;						// The number of the out-pointing links of the active sources
+
+		private final int[] touched;					// The vertices whose sums a push has changed ,at positions 0..touchedSize-1
+
+		private final boolean[] touchedMarks;			// Whether every vertex is in the array touched ,by vertex id
+
+		private int touchedSize;						// The number of the vertices whose sums a push has changed
+
+		private int currentSpams;						// The number of the vertices whose page rank is less than the lower bound
+
+		private double residual;						// The residual of the last iteration
+
+		private final double[] partResiduals;			// The residual of every part of a parallel phase
+
+		private final int[] partSpams;					// The spams (or the change of the spams) of every part of a parallel phase
+
+		private final int[] partFrontierStarts;			// The position of the active sources of every part in the array frontier
+
+		private final int[] partFrontierSizes;			// The number of the active sources found by every part
+
+		private final long[] partFrontierEdges;			// The out-pointing links of the active sources found by every part
+
+		private double[][] accumulators;				// The changes of the sums of every part of a parallel push ,or null before the first use
+
+		private int[][] accumulatorTouched;				// The vertices whose changes every part of a parallel push has accumulated
+
+		private boolean[][] accumulatorMarks;			// Whether every vertex is in the accumulated vertices of every part
+
+		private final int[] accumulatorTouchedSizes;	// The number of the vertices whose changes every part has accumulated
+
+
+		private Calculation(PageRankParameters parameters,ExecutorService executor)
+		{
+			CompactWebPageGraph graph=PushPullRankEngine.this.graph;
+
+			int vertices=graph.numberOfVertices();
+			int edges=graph.numberOfEdges();
+
+			this.parameters=parameters;
+			this.executor=executor;
+
+			// The vertices are divided into ranges with about the same number of vertices and in-pointing links
+			int ranges=(executor==null)? 1 : Math.max(1, Math.min(PushPullRankEngine.this.threads*4, vertices/MIN_VERTICES_PER_TASK));
+
+			this.rangeStarts=new int[ranges+1];
+
+			int last=0;
+
+			for(int range=1;range<ranges;range++)
+			{
+				long workUpTo=(edges+(long)vertices)*range/ranges;
+
+				while(last<vertices && graph.inLinkOffsets[last]+(long)last<workUpTo)
+					last++;
+
+				this.rangeStarts[range]=last;
+			}
+
+			this.rangeStarts[ranges]=vertices;
+
+			this.ranks=new double[vertices];
+			this.newRanks=new double[vertices];
+			this.sums=new double[vertices];
+			this.sentRanks=new double[vertices];
+			this.frontier=new int[vertices];
+			this.touched=new int[vertices];
+			this.touchedMarks=new boolean[vertices];
+
+			int parts=Math.max(ranges, PushPullRankEngine.this.threads);
+
+			this.partResiduals=new double[parts];
+			this.partSpams=new int[parts];
+			this.partFrontierStarts=new int[parts];
+			this.partFrontierSizes=new int[parts];
+			this.partFrontierEdges=new long[parts];
+			this.accumulatorTouchedSizes=new int[parts];
+		}
+
+
+		/**
+		 * This method runs the iterations of the calculation
+		 *
+		 * @param iterations the maximum number of the iterations to run
+		 * @return an object of type PageRankResult with the calculated page ranks
+		 * @throws InterruptedException This Exception is thrown if the thread is interrupted while waiting for the tasks
+		 */
+		private PageRankResult calculate(int iterations) throws InterruptedException
+		{
+			CompactWebPageGraph graph=PushPullRankEngine.this.graph;
+			RankEngineMetrics metrics=PushPullRankEngine.this.rankEngineMetrics;
+
+			int vertices=graph.numberOfVertices();
+			int edges=graph.numberOfEdges();
+			int threadsInUse=(this.executor==null)? 1 : PushPullRankEngine.this.threads;
+
+			double tolerance=PushPullRankEngine.this.tolerance;
+			double pushThreshold=PushPullRankEngine.this.pushThreshold;
+
+			Arrays.fill(this.ranks, WebPageGraph.INITIAL_PAGE_RANK);
+
+			this.currentSpams=(WebPageGraph.INITIAL_PAGE_RANK<this.parameters.getLowerBound())? vertices : 0;
+
+			long computationStartTime=System.nanoTime();
+
+			if(metrics!=null)
+				metrics.computationStarted(vertices, edges, iterations, threadsInUse);
+
+			// The sums don't exist before the first pull
+			boolean push=false;
+
+			int iterationsCompleted=0;
+
+			for(int i=0;i<iterations;i++)
+			{
+				long iterationStartTime=System.nanoTime();
+
+				int spamPrunedPages=this.currentSpams;
+				long edgesProcessed;
+
+				if(push)
+				{
+					edgesProcessed=this.frontierEdges;
+					pushIteration();
+					PushPullRankEngine.this.pushIterations++;
+				}
+				else
+				{
+					edgesProcessed=edges;
+					pullIteration();
+					PushPullRankEngine.this.pullIterations++;
+				}
+
+				if(metrics!=null)
+					metrics.iterationCompleted(new RankIterationMetrics(i,System.nanoTime()-iterationStartTime,edgesProcessed,
+							this.residual,spamPrunedPages,threadsInUse,-1));
+
+				iterationsCompleted=i+1;
+
+				if(tolerance>0 && this.residual<=tolerance)
+					break;
+
+				push=this.frontierEdges<=pushThreshold*edges;
+			}
+
+			if(metrics!=null)
+				metrics.computationFinished(iterationsCompleted, System.nanoTime()-computationStartTime);
+
+			return new PageRankResult(graph,this.parameters,this.ranks,iterationsCompleted,this.residual);
+		}
+
+
+		/**
+		 * This method runs one iteration in pull direction ,with one task for every range of vertices ,and collects the
+		 * active sources of the ranges
+		 *
+		 * @throws InterruptedException This Exception is thrown if the thread is interrupted while waiting for the tasks
+		 */
+		private void pullIteration() throws InterruptedException
+		{
+			int ranges=this.rangeStarts.length-1;
+
+			runTasks(ranges, (range) -> pullRange(range));
+
+			double residual=0;
+			int spams=0;
+
+			for(int range=0;range<ranges;range++)
+			{
+				residual+=this.partResiduals[range];
+				spams+=this.partSpams[range];
+				this.partFrontierStarts[range]=this.rangeStarts[range];
+			}
+
+			this.residual=residual;
+			this.currentSpams=spams;
+
+			collectFrontier(ranges);
+
+			// The page ranks of the current iteration become the previous page ranks of the next iteration
+			double[] temporary=this.ranks;
+			this.ranks=this.newRanks;
+			this.newRanks=temporary;
+		}
+
+
+		/**
+		 * This method calculates the sums and the new page ranks of the vertices of one range from the page ranks of
+		 * all the vertices that point to them ,and finds the active sources of the range
+		 *
+		 * @param range the number of the range
+		 */
+		private void pullRange(int range)
+		{
+			CompactWebPageGraph graph=PushPullRankEngine.this.graph;
+
+			int[] inLinkOffsets=graph.inLinkOffsets;
+			int[] inLinkSources=graph.inLinkSources;
+			int[] outLinkOffsets=graph.outLinkOffsets;
+			int[] domains=graph.domains;
+
+			double[] ranks=this.ranks;
+			double[] newRanks=this.newRanks;
+			double[] sums=this.sums;
+			double[] sentRanks=this.sentRanks;
+			int[] frontier=this.frontier;
+
+			double siblingFactor=this.parameters.getSiblingFactor();
+			double lowerBound=this.parameters.getLowerBound();
+			double dampingFactor=this.parameters.getDampingFactor();
+
+			int first=this.rangeStarts[range];
+			int last=this.rangeStarts[range+1];
+
+			double residual=0;
+			int spams=0;
+			int frontierSize=0;
+			long frontierEdges=0;
+
+			for(int v=first;v<last;v++)
+			{
+				double sum=0;
+
+				int domain=domains[v];
+
+				for(int e=inLinkOffsets[v];e<inLinkOffsets[v+1];e++)
+				{
+					int source=inLinkSources[e];
+
+					double previousPageRank=ranks[source];
+
+					// The spam WebPages don't affect the page rank of the current vertex
+					if(previousPageRank<lowerBound)
+						continue;
+
+					double S=(domains[source]==domain)? siblingFactor : 1;
+
+					sum+=S*previousPageRank/(outLinkOffsets[source+1]-outLinkOffsets[source]);
+				}
+
+				sums[v]=sum;
+
+				// The sums of the pointed vertices now have the contribution of the previous page rank of the vertex
+				double rank=ranks[v];
+
+				sentRanks[v]=(rank<lowerBound)? 0 : rank;
+
+				double newRank=sum*dampingFactor+(1-dampingFactor);
+
+				newRanks[v]=newRank;
+				residual+=Math.abs(newRank-rank);
+
+				if(newRank<lowerBound)
+					spams++;
+
+				if(isActive(v, newRank, lowerBound))
+				{
+					frontier[first+frontierSize++]=v;
+					frontierEdges+=outLinkOffsets[v+1]-outLinkOffsets[v];
+				}
+			}
+
+			this.partResiduals[range]=residual;
+			this.partSpams[range]=spams;
+			this.partFrontierSizes[range]=frontierSize;
+			this.partFrontierEdges[range]=frontierEdges;
+		}
+
+
+		/**
+		 * This method runs one iteration in push direction :the changes of the contributions of the active sources are
+		 * added to the sums of the vertices they point to (by parts in parallel if they are many) and the page ranks of
+		 * the vertices whose sums have changed are calculated again.
+		 *
+		 * @throws InterruptedException This Exception is thrown if the thread is interrupted while waiting for the tasks
+		 */
+		private void pushIteration() throws InterruptedException
+		{
+			int threads=PushPullRankEngine.this.threads;
+			int frontierSize=this.frontierSize;
+
+			int parts=(this.executor==null)? 1 : (int)Math.min(threads, this.frontierEdges/MIN_EDGES_PER_TASK);
+
+			this.touchedSize=0;
+
+			if(parts<=1)
+				this.touchedSize=pushSources(0, frontierSize, this.sums, this.touched, this.touchedMarks);
+			else
+			{
+				if(this.accumulators==null)
+				{
+					int vertices=this.sums.length;
+
+					this.accumulators=new double[threads][vertices];
+					this.accumulatorTouched=new int[threads][vertices];
+					this.accumulatorMarks=new boolean[threads][vertices];
+				}
+
+				final int numberOfParts=parts;
+
+				runTasks(parts, (part) -> this.accumulatorTouchedSizes[part]=pushSources((int)((long)frontierSize*part/numberOfParts),
+						(int)((long)frontierSize*(part+1)/numberOfParts), this.accumulators[part], this.accumulatorTouched[part], this.accumulatorMarks[part]));
+
+				// The accumulators are added in order of part ,so the sums don't depend on the order of the threads
+				double[] sums=this.sums;
+				int[] touched=this.touched;
+				boolean[] touchedMarks=this.touchedMarks;
+				int touchedSize=0;
+
+				for(int part=0;part<parts;part++)
+				{
+					double[] accumulator=this.accumulators[part];
+					int[] accumulatedVertices=this.accumulatorTouched[part];
+					boolean[] accumulatorMarks=this.accumulatorMarks[part];
+
+					for(int position=0;position<this.accumulatorTouchedSizes[part];position++)
+					{
+						int v=accumulatedVertices[position];
+
+						sums[v]+=accumulator[v];
+						accumulator[v]=0;
+						accumulatorMarks[v]=false;
+
+						if(!touchedMarks[v])
+						{
+							touchedMarks[v]=true;
+							touched[touchedSize++]=v;
+						}
+					}
+				}
+
+				this.touchedSize=touchedSize;
+			}
+
+			int touchedSize=this.touchedSize;
+
+			int updateParts=(this.executor==null)? 1 : Math.max(1, Math.min(threads, touchedSize/MIN_VERTICES_PER_TASK));
+
+			for(int part=0;part<updateParts;part++)
+				this.partFrontierStarts[part]=(int)((long)touchedSize*part/updateParts);
+
+			final int numberOfUpdateParts=updateParts;
+
+			runTasks(updateParts, (part) -> updateTouched(part, this.partFrontierStarts[part], (int)((long)touchedSize*(part+1)/numberOfUpdateParts)));
+
+			double residual=0;
+
+			for(int part=0;part<updateParts;part++)
+			{
+				residual+=this.partResiduals[part];
+				this.currentSpams+=this.partSpams[part];
+			}
+
+			this.residual=residual;
+
+			collectFrontier(updateParts);
+		}
+
+
+		/**
+		 * This method adds the changes of the contributions of some active sources to an array of sums and remembers
+		 * the vertices whose sums have changed
+		 *
+		 * @param start the position of the first active source in the array frontier
+		 * @param end the position after the last active source in the array frontier
+		 * @param target the array of the sums where the changes are added
+		 * @param touched the array where the vertices whose sums have changed are placed
+		 * @param marks whether every vertex is already in the array touched
+		 * @return the number of the vertices whose sums have changed
+		 */
+		private int pushSources(int start,int end,double[] target,int[] touched,boolean[] marks)
+		{
+			CompactWebPageGraph graph=PushPullRankEngine.this.graph;
+
+			int[] outLinkOffsets=graph.outLinkOffsets;
+			int[] outLinkTargets=graph.outLinkTargets;
+			int[] domains=graph.domains;
+
+			double[] ranks=this.ranks;
+			double[] sentRanks=this.sentRanks;
+			int[] frontier=this.frontier;
+
+			double siblingFactor=this.parameters.getSiblingFactor();
+			double lowerBound=this.parameters.getLowerBound();
+
+			int touchedSize=0;
+
+			for(int position=start;position<end;position++)
+			{
+				int source=frontier[position];
+
+				double rank=ranks[source];
+				double sentRank=(rank<lowerBound)? 0 : rank;
+				double change=sentRank-sentRanks[source];
+
+				sentRanks[source]=sentRank;
+
+				int domain=domains[source];
+				int outDegree=outLinkOffsets[source+1]-outLinkOffsets[source];
+
+				for(int e=outLinkOffsets[source];e<outLinkOffsets[source+1];e++)
+				{
+					int v=outLinkTargets[e];
+
+					double S=(domains[v]==domain)? siblingFactor : 1;
+
+					target[v]+=S*change/outDegree;
+
+					if(!marks[v])
+					{
+						marks[v]=true;
+						touched[touchedSize++]=v;
+					}
+				}
+			}
+
+			return touchedSize;
+		}
+
+
+		/**
+		 * This method calculates again the page ranks of some of the vertices whose sums have changed and finds which
+		 * of them are active sources
+		 *
+		 * @param part the number of the part
+		 * @param start the position of the first vertex in the array touched
+		 * @param end the position after the last vertex in the array touched
+		 */
+		private void updateTouched(int part,int start,int end)
+		{
+			int[] outLinkOffsets=PushPullRankEngine.this.graph.outLinkOffsets;
+
+			double[] ranks=this.ranks;
+			double[] sums=this.sums;
+			int[] touched=this.touched;
+			boolean[] touchedMarks=this.touchedMarks;
+			int[] frontier=this.frontier;
+
+			double lowerBound=this.parameters.getLowerBound();
+			double dampingFactor=this.parameters.getDampingFactor();
+
+			double residual=0;
+			int spamChange=0;
+			int frontierSize=0;
+			long frontierEdges=0;
+
+			for(int position=start;position<end;position++)
+			{
+				int v=touched[position];
+
+				touchedMarks[v]=false;
+
+				double rank=ranks[v];
+				double newRank=sums[v]*dampingFactor+(1-dampingFactor);
+
+				ranks[v]=newRank;
+				residual+=Math.abs(newRank-rank);
+
+				if(rank<lowerBound)
+					spamChange--;
+
+				if(newRank<lowerBound)
+					spamChange++;
+
+				if(isActive(v, newRank, lowerBound))
+				{
+					frontier[start+frontierSize++]=v;
+					frontierEdges+=outLinkOffsets[v+1]-outLinkOffsets[v];
+				}
+			}
+
+			this.partResiduals[part]=residual;
+			this.partSpams[part]=spamChange;
+			this.partFrontierSizes[part]=frontierSize;
+			this.partFrontierEdges[part]=frontierEdges;
+		}
+
+
+		/**
+		 * This method returns true if the vertex given as argument has out-pointing links and its new page rank changes
+		 * its contribution to the sums enough to be pushed
+		 *
+		 * @param v the id of the vertex
+		 * @param newRank the new page rank of the vertex
+		 * @param lowerBound the lower bound for spams
+		 * @return true if the vertex is an active source or false otherwise
+		 */
+		private boolean isActive(int v,double newRank,double lowerBound)
+		{
+			int[] outLinkOffsets=PushPullRankEngine.this.graph.outLinkOffsets;
+
+			if(outLinkOffsets[v+1]==outLinkOffsets[v])
+				return false;
+
+			double sentRank=(newRank<lowerBound)? 0 : newRank;
+			double change=Math.abs(sentRank-this.sentRanks[v]);
+
+			// A spam which stops being a spam (or the opposite) is always active
+			return change>0 && change>PushPullRankEngine.this.activationThreshold*Math.abs(this.sentRanks[v]);
+		}
+
+
+		/**
+		 * This method moves the active sources that every part has found to the start of the array frontier ,in order
+		 * of part
+		 *
+		 * @param parts the number of the parts
+		 */
+		private void collectFrontier(int parts)
+		{
+			int frontierSize=0;
+			long frontierEdges=0;
+
+			for(int part=0;part<parts;part++)
+			{
+				// Every part has found its active sources at positions from its start ,which is after all the active
+				// sources of the previous parts
+				System.arraycopy(this.frontier, this.partFrontierStarts[part], this.frontier, frontierSize, this.partFrontierSizes[part]);
+
+				frontierSize+=this.partFrontierSizes[part];
+				frontierEdges+=this.partFrontierEdges[part];
+			}
+
+			this.frontierSize=frontierSize;
+			this.frontierEdges=frontierEdges;
+		}
+
+
+		/**
+		 * This method runs a task for every part ,on the threads of the calculation if there are more than one parts
+		 *
+		 * @param parts the number of the parts
+		 * @param task the task which is given the number of a part
+		 * @throws InterruptedException This Exception is thrown if the thread is interrupted while waiting for the tasks
+		 */
+		private void runTasks(int parts,IntConsumer task) throws InterruptedException
+		{
+			if(parts==1 || this.executor==null)
+			{
+				for(int part=0;part<parts;part++)
+					task.accept(part);
+
+				return ;
+			}
+
+			ArrayList<Future<?>> futures=new ArrayList<Future<?>>(parts);
+
+			for(int part=0;part<parts;part++)
+			{
+				final int taskPart=part;
+
+				futures.add(this.executor.submit(() -> task.accept(taskPart)));
+			}
+
+			for(Future<?> future : futures)
+			{
+				try
+				{
+					future.get();
+				}
+				catch(ExecutionException e)
+				{
+					Throwable cause=e.getCause();
+
+					if(cause instanceof RuntimeException)
+						throw (RuntimeException)cause;
+
+					throw new IllegalStateException("The calculation of the page ranks has failed",cause);
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,174 @@
+package pageRankImplementation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+
+/**
+ * This class simulates the random walks of a Monte Carlo estimation of page ranks ({@link MonteCarloRankEstimator})
+ * and counts the visits of every vertex.Every object of this class belongs to one thread and has its own counters ,
+ * so the threads never write to the same arrays.
+ * A walk goes from its vertex to a random out-pointing link with probability d ,or ends with probability 1 - d (or
+ * when its vertex has no out-pointing links).Every walk has a weight ,which starts from 1 and is multiplied by the
+ * sibling factor every time the walk follows a link between siblings ,and every visit of a vertex adds the weight of
+ * the walk to the visits of the vertex.The visits of one walk are first added to the contributions of the walk ,so
+ * at the end of the walk the sum and the sum of the squares of the contributions of the walks are kept for every
+ * vertex.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+final class RandomWalker
+{
+
+	private final CompactWebPageGraph graph;	// The graph of the walks
+
+	private final double siblingFactor;			// The weight of a link between siblings
+
+	private final double dampingFactor;			// The probability of a walk to continue
+
+	final double[] sums;						// The sum of the contributions of the walks ,by vertex id
+
+	final double[] squareSums;					// The sum of the squares of the contributions of the walks ,by vertex id
+
+	private final double[] walkContributions;	// The contributions of the current walk ,by vertex id
+
+	private int[] visited;						// The vertices with contributions from the current walk
+
+	private int numberOfVisited;				// The number of the vertices in the array visited
+
+	private final boolean keepWalks;			// Whether the visited vertices of the walks are kept
+
+	int[] path;									// The visited vertices of the kept walks ,one walk after the other
+
+	int pathLength;								// The number of the vertices in the array path
+
+
+	/**
+	 * This constructor creates an object of type RandomWalker for walks on the graph given as argument.
+	 *
+	 * @param graph the graph of the walks
+	 * @param parameters the parameters of the estimation
+	 * @param keepWalks true if the visited vertices of the walks must be kept or false otherwise
+	 */
+	RandomWalker(CompactWebPageGraph graph,PageRankParameters parameters,boolean keepWalks)
+	{
+		int vertices=graph.numberOfVertices();
+
+		this.graph=graph;
+		this.siblingFactor=parameters.getSiblingFactor();
+		this.dampingFactor=parameters.getDampingFactor();
+		this.sums=new double[vertices];
+		this.squareSums=new double[vertices];
+		this.walkContributions=new double[vertices];
+		this.visited=new int[16];
+		this.keepWalks=keepWalks;
+		this.path=keepWalks? new int[1024] : null;
+	}
+
+
+	/**
+	 * This method returns the weight of the link from the vertex source to the vertex destination
+	 *
+	 * @param source the vertex id of the source of the link
+	 * @param destination the vertex id of the destination of the link
+	 * @return the sibling factor if the vertices are siblings or 1 otherwise
+	 */
+	double linkWeight(int source,int destination)
+	{
+		return (this.graph.domains[source]==this.graph.domains[destination])? this.siblingFactor : 1;
+	}
+
+
+	/**
+	 * This method adds a visit with the weight given as argument to the contributions of the current walk ,and keeps
+	 * the vertex in the path if the walks are kept.
+	 *
+	 * @param vertex the vertex id of the visited vertex
+	 * @param weight the weight of the walk
+	 * @return void
+	 */
+	void visit(int vertex,double weight)
+	{
+		if(this.walkContributions[vertex]==0)
+		{
+			if(this.numberOfVisited==this.visited.length)
+				this.visited=Arrays.copyOf(this.visited, this.visited.length*2);
+
+			this.visited[this.numberOfVisited++]=vertex;
+		}
+
+		this.walkContributions[vertex]+=weight;
+
+		if(this.keepWalks)
+		{
+			if(this.pathLength==this.path.length)
+				this.path=Arrays.copyOf(this.path, this.path.length*2);
+
+			this.path[this.pathLength++]=vertex;
+		}
+	}
+
+
+	/**
+	 * This method continues the current walk from the vertex given as argument (which has already been visited) until
+	 * it ends.
+	 *
+	 * @param vertex the vertex id of the current vertex of the walk
+	 * @param weight the current weight of the walk
+	 * @param random the random number generator of the walk
+	 * @return the number of the vertices that the walk has visited
+	 */
+	int walk(int vertex,double weight,SplittableRandom random)
+	{
+		int[] outLinkOffsets=this.graph.outLinkOffsets;
+		int[] outLinkTargets=this.graph.outLinkTargets;
+
+		int steps=0;
+
+		while(random.nextDouble()<this.dampingFactor)
+		{
+			int outDegree=outLinkOffsets[vertex+1]-outLinkOffsets[vertex];
+
+			if(outDegree==0)
+				break;
+
+			int next=outLinkTargets[outLinkOffsets[vertex]+random.nextInt(outDegree)];
+
+			weight*=linkWeight(vertex, next);
+
+			visit(next, weight);
+
+			vertex=next;
+			steps++;
+		}
+
+		return steps;
+	}
+
+
+	/**
+	 * This method ends the current walk and adds its contributions and the squares of its contributions to the sums
+	 * of the vertices.
+	 *
+	 * @param void
+	 * @return void
+	 */
+	void finishWalk()
+	{
+		for(int index=0;index<this.numberOfVisited;index++)
+		{
+			int vertex=this.visited[index];
+
+			double contribution=this.walkContributions[vertex];
+
+			this.sums[vertex]+=contribution;
+			this.squareSums[vertex]+=contribution*contribution;
+
+			this.walkContributions[vertex]=0;
+		}
+
+		this.numberOfVisited=0;
+	}
+
+}
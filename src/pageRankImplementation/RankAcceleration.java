@@ -0,0 +1,23 @@
+package pageRankImplementation;
+
+
+/**
+ * This enumeration represents the extrapolations that an object of type {@link PageRankEngine} can apply every few
+ * iterations ,to reach the final page ranks with fewer iterations.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public enum RankAcceleration
+{
+
+	// No extrapolation. Every iteration is a plain iteration
+	NONE,
+
+	// Aitken extrapolation from the last three page rank vectors ,which removes the slowest changing part of the error
+	AITKEN,
+
+	// Quadratic extrapolation from the last four page rank vectors ,which removes the two slowest changing parts of the error
+	QUADRATIC
+
+}
@@ -0,0 +1,156 @@
+package pageRankImplementation;
+
+
+/**
+ * This class represents the contribution of a WebPage to the page rank of a WebPage that it points to ,in a finished
+ * calculation of page ranks.The contribution is S * pageRank / outDegree ,where S is the sibling factor if the two
+ * WebPages are siblings or 1 otherwise ,and it is 0 if the WebPage is a spam (its page rank is less than the lower
+ * bound).The page rank of the pointed WebPage is (1 - d) + d * (sum of the contributions).The objects of this class
+ * are immutable.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class RankContribution
+{
+
+	private final int sourceVertex;					// The vertex id of the WebPage that contributes
+
+	private final String sourceNameOfURL;			// The URL name of the WebPage that contributes
+
+	private final double sourcePageRank;			// The page rank of the WebPage that contributes
+
+	private final int sourceOutDegree;				// The number of the out-pointing links of the WebPage that contributes
+
+	private final double siblingFactor;				// The sibling factor applied to the contribution (1 if they aren't siblings)
+
+	private final boolean spam;						// Whether the WebPage that contributes is a spam
+
+	private final RankProvenance sourceProvenance;	// The provenance of the page rank of the contributing WebPage ,or null
+
+
+	/**
+	 * This constructor creates an object of type RankContribution with the values given as arguments.
+	 *
+	 * @param sourceVertex the vertex id of the WebPage that contributes
+	 * @param sourceNameOfURL the URL name of the WebPage that contributes
+	 * @param sourcePageRank the page rank of the WebPage that contributes
+	 * @param sourceOutDegree the number of the out-pointing links of the WebPage that contributes
+	 * @param siblingFactor the sibling factor applied to the contribution
+	 * @param spam whether the WebPage that contributes is a spam
+	 * @param sourceProvenance the provenance of the page rank of the contributing WebPage ,or null
+	 */
+	RankContribution(int sourceVertex,String sourceNameOfURL,double sourcePageRank,int sourceOutDegree,double siblingFactor,
+			boolean spam,RankProvenance sourceProvenance)
+	{
+		this.sourceVertex=sourceVertex;
+		this.sourceNameOfURL=sourceNameOfURL;
+		this.sourcePageRank=sourcePageRank;
+		this.sourceOutDegree=sourceOutDegree;
+		this.siblingFactor=siblingFactor;
+		this.spam=spam;
+		this.sourceProvenance=sourceProvenance;
+	}
+
+
+	/**
+	 * This method returns the vertex id of the WebPage that contributes
+	 *
+	 * @return the vertex id of the contributing WebPage
+	 */
+	public int getSourceVertex()
+	{
+		return this.sourceVertex;
+	}
+
+
+	/**
+	 * This method returns the URL name of the WebPage that contributes
+	 *
+	 * @return the URL name of the contributing WebPage
+	 */
+	public String getSourceNameOfURL()
+	{
+		return this.sourceNameOfURL;
+	}
+
+
+	/**
+	 * This method returns the page rank of the WebPage that contributes
+	 *
+	 * @return the page rank of the contributing WebPage
+	 */
+	public double getSourcePageRank()
+	{
+		return this.sourcePageRank;
+	}
+
+
+	/**
+	 * This method returns the number of the out-pointing links of the WebPage that contributes
+	 *
+	 * @return the out-degree of the contributing WebPage
+	 */
+	public int getSourceOutDegree()
+	{
+		return this.sourceOutDegree;
+	}
+
+
+	/**
+	 * This method returns the sibling factor which is applied to the contribution ,or 1 if the WebPages aren't siblings
+	 *
+	 * @return the applied sibling factor
+	 */
+	public double getSiblingFactor()
+	{
+		return this.siblingFactor;
+	}
+
+
+	/**
+	 * This method returns true if the WebPage that contributes is a spam ,so its contribution is 0
+	 *
+	 * @return whether the contributing WebPage is a spam
+	 */
+	public boolean isSpam()
+	{
+		return this.spam;
+	}
+
+
+	/**
+	 * This method returns the contribution S * pageRank / outDegree ,or 0 if the contributing WebPage is a spam
+	 *
+	 * @return the contribution
+	 */
+	public double getContribution()
+	{
+		return this.spam? 0 : this.siblingFactor*this.sourcePageRank/this.sourceOutDegree;
+	}
+
+
+	/**
+	 * This method returns the provenance of the page rank of the contributing WebPage (the next hop) ,or null if the
+	 * explanation hasn't been expanded so far.
+	 *
+	 * @return the provenance of the contributing WebPage or null
+	 */
+	public RankProvenance getSourceProvenance()
+	{
+		return this.sourceProvenance;
+	}
+
+
+	/**
+	 * Returns a String representation of the object of type RankContribution which invokes the method
+	 *
+	 * @return a String representation of the object invoking the method
+	 */
+	public String toString()
+	{
+		return this.sourceNameOfURL+"  |  Contribution : "+getContribution()+"  |  Page rank : "+this.sourcePageRank
+				+"  |  Out-degree : "+this.sourceOutDegree+"  |  Sibling factor : "+this.siblingFactor+(this.spam? "  |  Spam" : "");
+	}
+
+}
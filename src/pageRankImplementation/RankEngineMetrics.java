@@ -0,0 +1,45 @@
+package pageRankImplementation;
+
+
+/**
+ * This interface represents a receiver of the measurements that a rank engine produces while it calculates the page
+ * ranks of the WebPages of a graph. An object of a class which implements this interface can be attached to an object
+ * of type WebPageGraph by the method {@link WebPageGraph#setRankEngineMetrics(RankEngineMetrics)} and it will be informed
+ * at the start of every calculation ,after every iteration of the calculation and at the end of the calculation.
+ * The methods of this interface are invoked by the thread which runs the calculation ,so they should return quickly.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public interface RankEngineMetrics
+{
+
+	/**
+	 * This method is invoked when a calculation of the page ranks starts.
+	 *
+	 * @param vertices the number of the vertices of the graph which takes part in the calculation
+	 * @param edges the number of the edges of the graph which takes part in the calculation
+	 * @param iterations the number of the iterations that have been requested
+	 * @param threads the number of the threads that the calculation uses
+	 */
+	void computationStarted(int vertices,int edges,int iterations,int threads);
+
+
+	/**
+	 * This method is invoked after every iteration of a calculation of the page ranks, with the
+	 * measurements of that iteration.
+	 *
+	 * @param metrics an object of type RankIterationMetrics with the measurements of the iteration
+	 */
+	void iterationCompleted(RankIterationMetrics metrics);
+
+
+	/**
+	 * This method is invoked when a calculation of the page ranks has finished.
+	 *
+	 * @param iterationsCompleted the number of the iterations that have been completed
+	 * @param wallTimeNanos the wall time of the whole calculation in nanoseconds
+	 */
+	void computationFinished(int iterationsCompleted,long wallTimeNanos);
+
+}
@@ -0,0 +1,242 @@
+package pageRankImplementation;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+
+/**
+ * This class represents a monitor of a rank engine.An object of this class can be attached to an object of type
+ * WebPageGraph (as an object of type {@link RankEngineMetrics}) and it records the measurements of the calculations
+ * of the page ranks.The recorded measurements can be read in three ways : by polling the method
+ * {@link RankEngineMonitor#snapshot()} ,by a JMX client after registering the monitor as an MBean with the method
+ * {@link RankEngineMonitor#registerMBean(String)} ,or by an other object of type RankEngineMetrics which is given
+ * to the monitor and receives all the measurements after the monitor has recorded them.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class RankEngineMonitor implements RankEngineMetrics, RankEngineMonitorMXBean
+{
+
+	// The domain of the names of the MBeans of this program
+	public static final String MBEAN_DOMAIN="pageRankImplementation";
+
+	private volatile RankEngineSnapshot snapshot;		// The last state of the engine that has been recorded
+
+	private final RankEngineMetrics delegate;			// Another receiver of the measurements or null
+
+	private ObjectName registeredName;					// The name which the monitor has been registered with ,or null
+
+
+	/**
+	 * This constructor creates an object of type RankEngineMonitor which only records the measurements.
+	 *
+	 * @param void
+	 * @return void
+	 */
+	public RankEngineMonitor()
+	{
+		this(null);
+	}
+
+
+	/**
+	 * This constructor creates an object of type RankEngineMonitor which records the measurements and
+	 * passes them to the object of type RankEngineMetrics given as an argument.
+	 *
+	 * @param delegate an object of type RankEngineMetrics which will receive all the measurements or null
+	 */
+	public RankEngineMonitor(RankEngineMetrics delegate)
+	{
+		this.delegate=delegate;
+		this.snapshot=new RankEngineSnapshot(false,0,0,0,0,null);
+	}
+
+
+	/**
+	 * This method returns the last state of the engine that has been recorded by the monitor.
+	 *
+	 * @return an object of type RankEngineSnapshot with the last recorded state of the engine
+	 */
+	public RankEngineSnapshot snapshot()
+	{
+		return this.snapshot;
+	}
+
+
+	/**
+	 * This method registers the monitor in the platform MBean server with the name
+	 * "pageRankImplementation:type=RankEngineMonitor,name=" followed by the argument name.
+	 *
+	 * @param name the name that will distinguish this monitor from the other monitors
+	 * @throws JMException This Exception is thrown if the monitor couldn't be registered
+	 */
+	public synchronized void registerMBean(String name) throws JMException
+	{
+		if(name==null)
+			throw new NullPointerException("Null name was given at method registerMBean");
+
+		if(this.registeredName!=null)
+			unregisterMBean();
+
+		MBeanServer server=ManagementFactory.getPlatformMBeanServer();
+
+		ObjectName objectName=new ObjectName(MBEAN_DOMAIN+":type=RankEngineMonitor,name="+ObjectName.quote(name));
+
+		server.registerMBean(this, objectName);
+
+		this.registeredName=objectName;
+	}
+
+
+	/**
+	 * This method unregisters the monitor from the platform MBean server ,if it has been registered.
+	 *
+	 * @throws JMException This Exception is thrown if the monitor couldn't be unregistered
+	 */
+	public synchronized void unregisterMBean() throws JMException
+	{
+		if(this.registeredName==null)
+			return ;
+
+		ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.registeredName);
+
+		this.registeredName=null;
+	}
+
+
+	@Override
+	public synchronized void computationStarted(int vertices, int edges, int iterations, int threads)
+	{
+		this.snapshot=new RankEngineSnapshot(true,vertices,edges,iterations,this.snapshot.getComputationsCompleted(),null);
+
+		if(this.delegate!=null)
+			this.delegate.computationStarted(vertices, edges, iterations, threads);
+	}
+
+
+	@Override
+	public synchronized void iterationCompleted(RankIterationMetrics metrics)
+	{
+		RankEngineSnapshot current=this.snapshot;
+
+		this.snapshot=new RankEngineSnapshot(true,current.getVertices(),current.getEdges(),current.getIterationsRequested(),
+				current.getComputationsCompleted(),metrics);
+
+		if(this.delegate!=null)
+			this.delegate.iterationCompleted(metrics);
+	}
+
+
+	@Override
+	public synchronized void computationFinished(int iterationsCompleted, long wallTimeNanos)
+	{
+		RankEngineSnapshot current=this.snapshot;
+
+		this.snapshot=new RankEngineSnapshot(false,current.getVertices(),current.getEdges(),current.getIterationsRequested(),
+				current.getComputationsCompleted()+1,current.getLastIteration());
+
+		if(this.delegate!=null)
+			this.delegate.computationFinished(iterationsCompleted, wallTimeNanos);
+	}
+
+
+	@Override
+	public boolean isRunning()
+	{
+		return this.snapshot.isRunning();
+	}
+
+
+	@Override
+	public int getVertices()
+	{
+		return this.snapshot.getVertices();
+	}
+
+
+	@Override
+	public int getEdges()
+	{
+		return this.snapshot.getEdges();
+	}
+
+
+	@Override
+	public int getIterationsRequested()
+	{
+		return this.snapshot.getIterationsRequested();
+	}
+
+
+	@Override
+	public int getIterationsCompleted()
+	{
+		return this.snapshot.getIterationsCompleted();
+	}
+
+
+	@Override
+	public long getComputationsCompleted()
+	{
+		return this.snapshot.getComputationsCompleted();
+	}
+
+
+	@Override
+	public double getLastIterationWallTimeMillis()
+	{
+		RankIterationMetrics last=this.snapshot.getLastIteration();
+
+		return (last==null)? 0 : last.getWallTimeNanos()/1e6;
+	}
+
+
+	@Override
+	public double getEdgesProcessedPerSecond()
+	{
+		RankIterationMetrics last=this.snapshot.getLastIteration();
+
+		return (last==null)? 0 : last.getEdgesPerSecond();
+	}
+
+
+	@Override
+	public double getCurrentResidual()
+	{
+		RankIterationMetrics last=this.snapshot.getLastIteration();
+
+		return (last==null)? Double.NaN : last.getResidual();
+	}
+
+
+	@Override
+	public int getSpamPrunedPages()
+	{
+		RankIterationMetrics last=this.snapshot.getLastIteration();
+
+		return (last==null)? 0 : last.getSpamPrunedPages();
+	}
+
+
+	@Override
+	public int getThreadsInUse()
+	{
+		RankIterationMetrics last=this.snapshot.getLastIteration();
+
+		return (last==null)? 0 : last.getThreadsInUse();
+	}
+
+
+	@Override
+	public long getAllocatedBytesPerIteration()
+	{
+		RankIterationMetrics last=this.snapshot.getLastIteration();
+
+		return (last==null)? -1 : last.getAllocatedBytes();
+	}
+
+}
@@ -0,0 +1,74 @@
+package pageRankImplementation;
+
+
+/**
+ * This interface is the management interface (MXBean) of the class {@link RankEngineMonitor}.Through this interface
+ * the measurements of a running calculation of the page ranks can be read by any JMX client (for example jconsole).
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public interface RankEngineMonitorMXBean
+{
+
+	/**
+	 * @return true if a calculation of the page ranks is running at the moment ,or false otherwise
+	 */
+	boolean isRunning();
+
+	/**
+	 * @return the number of the vertices of the graph of the last calculation
+	 */
+	int getVertices();
+
+	/**
+	 * @return the number of the edges of the graph of the last calculation
+	 */
+	int getEdges();
+
+	/**
+	 * @return the number of the iterations that have been requested for the last calculation
+	 */
+	int getIterationsRequested();
+
+	/**
+	 * @return the number of the iterations of the last calculation that have been completed
+	 */
+	int getIterationsCompleted();
+
+	/**
+	 * @return the number of the calculations that have finished since the monitor was created
+	 */
+	long getComputationsCompleted();
+
+	/**
+	 * @return the wall time of the last completed iteration in milliseconds
+	 */
+	double getLastIterationWallTimeMillis();
+
+	/**
+	 * @return the number of the edges processed per second at the last completed iteration
+	 */
+	double getEdgesProcessedPerSecond();
+
+	/**
+	 * @return the residual of the last completed iteration
+	 */
+	double getCurrentResidual();
+
+	/**
+	 * @return the number of the WebPages which have been treated as spams at the last completed iteration
+	 */
+	int getSpamPrunedPages();
+
+	/**
+	 * @return the number of the threads that have been used at the last completed iteration
+	 */
+	int getThreadsInUse();
+
+	/**
+	 * @return the bytes that have been allocated at the last completed iteration or -1 if they are unknown
+	 */
+	long getAllocatedBytesPerIteration();
+
+}
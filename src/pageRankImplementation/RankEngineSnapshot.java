@@ -0,0 +1,123 @@
+package pageRankImplementation;
+
+
+/**
+ * This class represents the state of a rank engine at a moment ,as it has been recorded by an object of type
+ * {@link RankEngineMonitor}.The objects of this class are immutable and they are cheap to create ,so they can be
+ * polled as often as needed from any thread.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class RankEngineSnapshot
+{
+
+	private final boolean running;					// Whether a calculation was running when the snapshot was taken
+
+	private final int vertices;						// The number of the vertices of the graph of the calculation
+
+	private final int edges;						// The number of the edges of the graph of the calculation
+
+	private final int iterationsRequested;			// The number of the iterations that have been requested
+
+	private final long computationsCompleted;		// The number of the calculations that have finished
+
+	private final RankIterationMetrics lastIteration;	// The measurements of the last completed iteration or null
+
+
+	/**
+	 * This constructor creates an object of type RankEngineSnapshot with the values indicated by the arguments.
+	 *
+	 * @param running whether a calculation was running when the snapshot was taken
+	 * @param vertices the number of the vertices of the graph of the calculation
+	 * @param edges the number of the edges of the graph of the calculation
+	 * @param iterationsRequested the number of the iterations that have been requested
+	 * @param computationsCompleted the number of the calculations that have finished
+	 * @param lastIteration the measurements of the last completed iteration or null if there isn't any
+	 */
+	RankEngineSnapshot(boolean running,int vertices,int edges,int iterationsRequested,long computationsCompleted,RankIterationMetrics lastIteration)
+	{
+		this.running=running;
+		this.vertices=vertices;
+		this.edges=edges;
+		this.iterationsRequested=iterationsRequested;
+		this.computationsCompleted=computationsCompleted;
+		this.lastIteration=lastIteration;
+	}
+
+
+	/**
+	 * @return true if a calculation was running when the snapshot was taken or false otherwise
+	 */
+	public boolean isRunning()
+	{
+		return this.running;
+	}
+
+
+	/**
+	 * @return the number of the vertices of the graph of the calculation
+	 */
+	public int getVertices()
+	{
+		return this.vertices;
+	}
+
+
+	/**
+	 * @return the number of the edges of the graph of the calculation
+	 */
+	public int getEdges()
+	{
+		return this.edges;
+	}
+
+
+	/**
+	 * @return the number of the iterations that have been requested for the calculation
+	 */
+	public int getIterationsRequested()
+	{
+		return this.iterationsRequested;
+	}
+
+
+	/**
+	 * @return the number of the iterations of the calculation that have been completed
+	 */
+	public int getIterationsCompleted()
+	{
+		return (this.lastIteration==null)? 0 : this.lastIteration.getIteration()+1;
+	}
+
+
+	/**
+	 * @return the number of the calculations that have finished
+	 */
+	public long getComputationsCompleted()
+	{
+		return this.computationsCompleted;
+	}
+
+
+	/**
+	 * @return the measurements of the last completed iteration or null if no iteration has been completed
+	 */
+	public RankIterationMetrics getLastIteration()
+	{
+		return this.lastIteration;
+	}
+
+
+	/**
+	 * Returns a String representation of the object of type RankEngineSnapshot which invokes the method
+	 *
+	 * @return a String representation of the object invoking the method
+	 */
+	public String toString()
+	{
+		return "Running : "+this.running+"  |  Vertices : "+this.vertices+"  |  Edges : "+this.edges+"  |  Iterations : "
+				+this.getIterationsCompleted()+"/"+this.iterationsRequested+"  |  Last iteration : "+this.lastIteration;
+	}
+
+}
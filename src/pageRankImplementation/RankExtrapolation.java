@@ -0,0 +1,240 @@
+package pageRankImplementation;
+
+
+/**
+ * This class applies the extrapolations of one calculation of page ranks ({@link RankAcceleration}).It keeps the
+ * last page rank vectors of the calculation and ,every few iterations ,it replaces the current page ranks with an
+ * estimation of the final page ranks.
+ * Every iteration of the calculation is x(k+1) = c + M x(k) ,so the differences y(k) = x(k+1) - x(k) of the vectors
+ * shrink by the matrix M.The Aitken extrapolation assumes that the differences shrink by one factor L (estimated by
+ * least squares) and takes x = x(k+2) + L/(1-L) y(k+1).The quadratic extrapolation assumes that the differences
+ * satisfy y(k+2) + g1 y(k+1) + g0 y(k) = 0 (g1 ,g0 estimated by least squares) and takes
+ * x = (x(k+3) + g1 x(k+2) + g0 x(k+1)) / (1 + g1 + g0).
+ * The safeguards are :an extrapolation is skipped when the estimated factors are invalid ,the extrapolated page ranks
+ * are never less than 1 - d (the lowest possible page rank) ,and when the residual of the iteration after an
+ * extrapolation is greater than the residual before it ,the extrapolation is undone.After
+ * {@link RankExtrapolation#MAX_REJECTED_EXTRAPOLATIONS} undone extrapolations no more extrapolations are made.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+final class RankExtrapolation
+{
+
+	// The number of undone extrapolations after which the extrapolations stop
+	static final int MAX_REJECTED_EXTRAPOLATIONS=2;
+
+	// The smallest denominator of an extrapolation
+	private static final double MIN_DENOMINATOR=1e-9;
+
+	private final RankAcceleration acceleration;	// The kind of the extrapolations
+
+	private final int period;						// The minimum number of iterations between two extrapolations
+
+	private final double minimumRank;				// The lowest possible page rank (1 - d)
+
+	private final double[][] history;				// The previous page rank vectors ,as a ring
+
+	private int historyStart;						// The position of the oldest vector in the ring
+
+	private int historySize;						// The number of the vectors in the ring
+
+	private final double[] saved;					// The page ranks before the last extrapolation
+
+	private boolean checkPending;					// Whether the last iteration came after an extrapolation
+
+	private double residualBeforeExtrapolation;		// The residual of the iteration before the last extrapolation
+
+	private int iterationsSinceExtrapolation;		// The iterations since the last extrapolation
+
+	private int extrapolations;						// The number of the extrapolations that have been kept
+
+	private int rejectedExtrapolations;				// The number of the extrapolations that have been undone
+
+
+	/**
+	 * This constructor creates an object of type RankExtrapolation for a calculation.
+	 *
+	 * @param acceleration the kind of the extrapolations ,AITKEN or QUADRATIC
+	 * @param period the minimum number of iterations between two extrapolations
+	 * @param vertices the number of the vertices of the graph
+	 * @param dampingFactor the d factor of the calculation
+	 */
+	RankExtrapolation(RankAcceleration acceleration,int period,int vertices,double dampingFactor)
+	{
+		this.acceleration=acceleration;
+		this.period=period;
+		this.minimumRank=1-dampingFactor;
+		this.history=new double[(acceleration==RankAcceleration.QUADRATIC)? 3 : 2][vertices];
+		this.saved=new double[vertices];
+	}
+
+
+	/**
+	 * This method returns the number of the extrapolations that have been kept
+	 *
+	 * @return the number of the kept extrapolations
+	 */
+	int getExtrapolations()
+	{
+		return this.extrapolations-this.rejectedExtrapolations;
+	}
+
+
+	/**
+	 * This method returns the number of the extrapolations that have been undone
+	 *
+	 * @return the number of the undone extrapolations
+	 */
+	int getRejectedExtrapolations()
+	{
+		return this.rejectedExtrapolations;
+	}
+
+
+	/**
+	 * This method is called after every iteration of the calculation with the new page ranks.It may replace the page
+	 * ranks with extrapolated page ranks ,or undo the previous extrapolation.
+	 *
+	 * @param ranks the page ranks of the iteration ,which may be changed
+	 * @param residual the residual of the iteration
+	 * @return true if the page ranks have been changed or false otherwise
+	 */
+	boolean iterationCompleted(double[] ranks,double residual)
+	{
+		if(this.checkPending)
+		{
+			this.checkPending=false;
+
+			if(residual>this.residualBeforeExtrapolation || Double.isNaN(residual))
+			{
+				// The extrapolation made the page ranks worse ,so the calculation continues from the page ranks before it
+				System.arraycopy(this.saved, 0, ranks, 0, ranks.length);
+
+				this.rejectedExtrapolations++;
+				this.historySize=0;
+
+				return true;
+			}
+		}
+
+		if(this.rejectedExtrapolations>=MAX_REJECTED_EXTRAPOLATIONS)
+			return false;
+
+		this.iterationsSinceExtrapolation++;
+
+		if(this.historySize==this.history.length && this.iterationsSinceExtrapolation>=this.period && extrapolate(ranks))
+		{
+			this.checkPending=true;
+			this.residualBeforeExtrapolation=residual;
+			this.iterationsSinceExtrapolation=0;
+			this.historySize=0;
+			this.extrapolations++;
+
+			return true;
+		}
+
+		// Store the page ranks in the ring ,in the place of the oldest vector if the ring is full
+		int position=(this.historyStart+this.historySize)%this.history.length;
+
+		if(this.historySize==this.history.length)
+			this.historyStart=(this.historyStart+1)%this.history.length;
+		else
+			this.historySize++;
+
+		System.arraycopy(ranks, 0, this.history[position], 0, ranks.length);
+
+		return false;
+	}
+
+
+	/**
+	 * This method replaces the page ranks with the extrapolated page ranks ,if the estimated factors are valid.
+	 *
+	 * @param ranks the current page ranks
+	 * @return true if the page ranks have been extrapolated or false if the extrapolation has been skipped
+	 */
+	private boolean extrapolate(double[] ranks)
+	{
+		int length=this.history.length;
+
+		double[] x0=this.history[this.historyStart];
+		double[] x1=this.history[(this.historyStart+1)%length];
+
+		if(this.acceleration==RankAcceleration.AITKEN)
+		{
+			// y0 = x1 - x0 ,y1 = ranks - x1
+			double y1y0=0;
+			double y0y0=0;
+
+			for(int v=0;v<ranks.length;v++)
+			{
+				double y0=x1[v]-x0[v];
+
+				y1y0+=(ranks[v]-x1[v])*y0;
+				y0y0+=y0*y0;
+			}
+
+			if(y0y0==0)
+				return false;
+
+			double factor=y1y0/y0y0;
+
+			if(!(factor>0 && 1-factor>MIN_DENOMINATOR))
+				return false;
+
+			System.arraycopy(ranks, 0, this.saved, 0, ranks.length);
+
+			double step=factor/(1-factor);
+
+			for(int v=0;v<ranks.length;v++)
+				ranks[v]=Math.max(this.minimumRank, ranks[v]+step*(ranks[v]-x1[v]));
+
+			return true;
+		}
+
+		double[] x2=this.history[(this.historyStart+2)%length];
+
+		// y0 = x1 - x0 ,y1 = x2 - x1 ,y2 = ranks - x2
+		double y0y0=0;
+		double y1y0=0;
+		double y1y1=0;
+		double y2y0=0;
+		double y2y1=0;
+
+		for(int v=0;v<ranks.length;v++)
+		{
+			double y0=x1[v]-x0[v];
+			double y1=x2[v]-x1[v];
+			double y2=ranks[v]-x2[v];
+
+			y0y0+=y0*y0;
+			y1y0+=y1*y0;
+			y1y1+=y1*y1;
+			y2y0+=y2*y0;
+			y2y1+=y2*y1;
+		}
+
+		// The least squares solution of y2 + g1 y1 + g0 y0 = 0
+		double determinant=y1y1*y0y0-y1y0*y1y0;
+
+		if(!(Math.abs(determinant)>MIN_DENOMINATOR*y1y1*y0y0))
+			return false;
+
+		double g1=(-y2y1*y0y0+y2y0*y1y0)/determinant;
+		double g0=(-y2y0*y1y1+y2y1*y1y0)/determinant;
+
+		double denominator=1+g1+g0;
+
+		if(!(Math.abs(denominator)>MIN_DENOMINATOR))
+			return false;
+
+		System.arraycopy(ranks, 0, this.saved, 0, ranks.length);
+
+		for(int v=0;v<ranks.length;v++)
+			ranks[v]=Math.max(this.minimumRank, (ranks[v]+g1*x2[v]+g0*x1[v])/denominator);
+
+		return true;
+	}
+
+}
@@ -0,0 +1,195 @@
+package pageRankImplementation;
+
+
+/**
+ * This class represents the page ranks of every iteration of a calculation of the page ranks of an object of type
+ * WebPageGraph ({@link WebPageGraph#calculateRankHistory(int)}).The page ranks are held in one array of doubles ,
+ * one row of page ranks (by vertex id of the compact form of the graph) for the initial page ranks and one row for every
+ * iteration ,without an object for every vertex or iteration.The history belongs to one version of the graph (its
+ * modification count) and to the sibling factor and the lower bound of the calculation ,and it can be used only
+ * while the graph hasn't changed.The objects of this class are immutable.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class RankHistory
+{
+
+	// The bytes of a history besides its page ranks (the object and the header of the array)
+	static final long OVERHEAD_BYTES=64;
+
+	// The maximum number of the page ranks of a history (the maximum length of an array)
+	static final long MAX_RANKS=Integer.MAX_VALUE-8;
+
+	private final WebPageGraph graph;			// The graph of the calculation
+
+	private final long modificationCount;		// The modification count of the graph at the calculation
+
+	private final double siblingFactor;			// The sibling factor of the calculation
+
+	private final double lowerBound;			// The lower bound for spams of the calculation
+
+	private final int iterations;				// The number of the iterations of the calculation
+
+	private final int vertices;					// The number of the vertices of the graph at the calculation
+
+	final double[] ranks;						// The page rank of vertex v after iteration i at ranks[i*vertices+v] (i=0 for the initial)
+
+
+	/**
+	 * This constructor creates an object of type RankHistory with the values given as arguments.The array of the page
+	 * ranks is used by the new object and it must not be changed after the call.
+	 *
+	 * @param graph the graph of the calculation
+	 * @param modificationCount the modification count of the graph at the calculation
+	 * @param siblingFactor the sibling factor of the calculation
+	 * @param lowerBound the lower bound for spams of the calculation
+	 * @param iterations the number of the iterations of the calculation
+	 * @param vertices the number of the vertices of the graph at the calculation
+	 * @param ranks the page ranks of every iteration ,by iteration and vertex id
+	 */
+	RankHistory(WebPageGraph graph,long modificationCount,double siblingFactor,double lowerBound,int iterations,int vertices,double[] ranks)
+	{
+		this.graph=graph;
+		this.modificationCount=modificationCount;
+		this.siblingFactor=siblingFactor;
+		this.lowerBound=lowerBound;
+		this.iterations=iterations;
+		this.vertices=vertices;
+		this.ranks=ranks;
+	}
+
+
+	/**
+	 * This method returns the modification count of the graph at the calculation
+	 *
+	 * @return the modification count of the graph at the calculation
+	 */
+	public long getModificationCount()
+	{
+		return this.modificationCount;
+	}
+
+
+	/**
+	 * This method returns the sibling factor of the calculation
+	 *
+	 * @return the sibling factor of the calculation
+	 */
+	public double getSiblingFactor()
+	{
+		return this.siblingFactor;
+	}
+
+
+	/**
+	 * This method returns the lower bound for spams of the calculation
+	 *
+	 * @return the lower bound of the calculation
+	 */
+	public double getLowerBound()
+	{
+		return this.lowerBound;
+	}
+
+
+	/**
+	 * This method returns the number of the iterations of the calculation
+	 *
+	 * @return the number of the iterations
+	 */
+	public int getIterations()
+	{
+		return this.iterations;
+	}
+
+
+	/**
+	 * This method returns the number of the vertices of the graph at the calculation
+	 *
+	 * @return the number of the vertices
+	 */
+	public int numberOfVertices()
+	{
+		return this.vertices;
+	}
+
+
+	/**
+	 * This method returns the number of the bytes that the history occupies in memory (approximately)
+	 *
+	 * @return the size of the history in bytes
+	 */
+	public long sizeInBytes()
+	{
+		return OVERHEAD_BYTES+8L*this.ranks.length;
+	}
+
+
+	/**
+	 * This method returns the number of the bytes (approximately) of the history of a calculation with the number of
+	 * iterations and the number of vertices given as arguments ,before the history is created.
+	 *
+	 * @param iterations the number of the iterations of the calculation
+	 * @param vertices the number of the vertices of the graph
+	 * @return the size of the history in bytes
+	 */
+	static long sizeInBytes(int iterations,int vertices)
+	{
+		return OVERHEAD_BYTES+8L*((iterations+1L)*vertices);
+	}
+
+
+	/**
+	 * This method returns true if the history has been calculated on the graph given as argument ,which hasn't
+	 * changed since then ,with the sibling factor and the lower bound that the graph has now.
+	 *
+	 * @param graph an object of type WebPageGraph
+	 * @return true if the history is valid for the graph or false otherwise
+	 */
+	public boolean isCalculatedOn(WebPageGraph graph)
+	{
+		return this.graph==graph && graph.getModificationCount()==this.modificationCount &&
+				Double.compare(graph.getSiblingFactor(), this.siblingFactor)==0 &&
+				Double.compare(graph.getLoweBound(), this.lowerBound)==0;
+	}
+
+
+	/**
+	 * This method returns the page rank of the WebPage with the URL name given as argument after the iteration given
+	 * as argument (0 for the initial page rank) ,or -1 if the URL name doesn't correspond to a WebPage of the graph or
+	 * the graph has changed since the calculation.
+	 *
+	 * @param iteration the number of the iteration ,from 0 (initial) up to the number of the iterations
+	 * @param urlName the name of a URL
+	 * @return the page rank of the WebPage after the iteration or -1
+	 */
+	public double getPageRank(int iteration,String urlName)
+	{
+		if(iteration<0 || iteration>this.iterations)
+			throw new IllegalArgumentException("Invalid iteration "+iteration+" was given at method getPageRank");
+
+		synchronized(this.graph)
+		{
+			if(!isCalculatedOn(this.graph))
+				return -1;
+
+			int vertex=this.graph.getCompactVertexId(urlName);
+
+			return (vertex<0)? -1 : this.ranks[iteration*this.vertices+vertex];
+		}
+	}
+
+
+	/**
+	 * Returns a String representation of the object of type RankHistory which invokes the method
+	 *
+	 * @return a String representation of the object invoking the method
+	 */
+	public String toString()
+	{
+		return "Modification count : "+this.modificationCount+"  |  Sibling factor : "+this.siblingFactor+"  |  Lower bound : "
+				+this.lowerBound+"  |  Iterations : "+this.iterations+"  |  Vertices : "+this.vertices;
+	}
+
+}
@@ -0,0 +1,332 @@
+package pageRankImplementation;
+
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * This class represents a cache of the page ranks of every iteration (objects of type RankHistory) of calculations on
+ * objects of type WebPageGraph.A history is identified by its graph ,the modification count of the graph
+ * ({@link WebPageGraph#getModificationCount()}) ,the sibling factor ,the lower bound and the number of the iterations ,
+ * so the progress of any focused WebPage of a calculation that has already been done is printed from the cache
+ * without iterating again.When the histories exceed the memory budget of the cache the least recently used histories
+ * are removed.The methods of this class can be used by many threads at the same time.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class RankHistoryCache
+{
+
+	// The default number of bytes that the histories of a cache may occupy
+	public static final long DEFAULT_MEMORY_BUDGET=128L<<20;
+
+	private final LinkedHashMap<Key,RankHistory> histories;		// The histories ,from the least to the most recently used
+
+	private long memoryBudget;			// The number of bytes that the histories may occupy
+
+	private long usedBytes;				// The number of bytes that the histories occupy
+
+	private long hits;					// The number of the requests which have been served by the cache
+
+	private long misses;				// The number of the requests which have needed a calculation
+
+
+	/**
+	 * This constructor creates an empty object of type RankHistoryCache with the memory budget given as argument.
+	 *
+	 * @param memoryBudget the number of bytes that the histories may occupy
+	 */
+	public RankHistoryCache(long memoryBudget)
+	{
+		if(memoryBudget<=0)
+		{
+			if(memoryBudget<0)
+				throw new NegativeNumberException("Negative memory budget given at constructor of class RankHistoryCache");
+			else
+				throw new ZeroNumberException("Zero memory budget given at constructor of class RankHistoryCache");
+		}
+
+		this.histories=new LinkedHashMap<Key,RankHistory>(16,0.75f,true);
+		this.memoryBudget=memoryBudget;
+	}
+
+
+	/**
+	 * This method returns the number of bytes that the histories of the cache may occupy
+	 *
+	 * @return the memory budget of the cache
+	 */
+	public synchronized long getMemoryBudget()
+	{
+		return this.memoryBudget;
+	}
+
+
+	/**
+	 * This method sets the number of bytes that the histories of the cache may occupy ,and removes the least recently
+	 * used histories until they fit in the new budget.
+	 *
+	 * @param memoryBudget the new memory budget of the cache
+	 * @return true if the budget has been set or false if it isn't positive
+	 */
+	public synchronized boolean setMemoryBudget(long memoryBudget)
+	{
+		if(memoryBudget<=0)
+			return false;
+
+		this.memoryBudget=memoryBudget;
+
+		evict();
+
+		return true;
+	}
+
+
+	/**
+	 * This method returns the number of the histories of the cache
+	 *
+	 * @return the number of the histories
+	 */
+	public synchronized int size()
+	{
+		return this.histories.size();
+	}
+
+
+	/**
+	 * This method returns the number of bytes that the histories of the cache occupy
+	 *
+	 * @return the used bytes of the cache
+	 */
+	public synchronized long getUsedBytes()
+	{
+		return this.usedBytes;
+	}
+
+
+	/**
+	 * This method returns the number of the requests which have been served by the cache without a calculation
+	 *
+	 * @return the number of the hits of the cache
+	 */
+	public synchronized long getHits()
+	{
+		return this.hits;
+	}
+
+
+	/**
+	 * This method returns the number of the requests which have needed a calculation
+	 *
+	 * @return the number of the misses of the cache
+	 */
+	public synchronized long getMisses()
+	{
+		return this.misses;
+	}
+
+
+	/**
+	 * This method removes all the histories of the cache
+	 *
+	 * @param void
+	 * @return void
+	 */
+	public synchronized void clear()
+	{
+		this.histories.clear();
+		this.usedBytes=0;
+	}
+
+
+	/**
+	 * This method returns the history of a calculation with the number of iterations given as argument on the graph
+	 * given as argument ,with its current sibling factor and lower bound.If the cache doesn't have it ,the page ranks
+	 * are calculated and the history is added to the cache (if its size ,which is found before it is created ,fits in
+	 * the memory budget).The deleted vertices of
+	 * the graph are skipped by the calculation ,so the graph isn't changed.
+	 *
+	 * @param graph an object of type WebPageGraph
+	 * @param iterations the number of the iterations of the calculation
+	 * @return an object of type RankHistory with the page ranks of every iteration
+	 * @throws IllegalArgumentException if the page ranks of all the iterations don't fit in one array
+	 */
+	public RankHistory getRankHistory(WebPageGraph graph,int iterations)
+	{
+		if(graph==null)
+			throw new NullPointerException("Null graph was given at method getRankHistory");
+
+		if(iterations<0)
+			throw new NegativeNumberException("Negative number of iterations given at method getRankHistory");
+
+		// The graph is always locked before the cache ,so no thread waits for the cache while it holds the graph
+		synchronized(graph)
+		{
+			synchronized(this)
+			{
+				Key key=new Key(graph,graph.getModificationCount(),graph.getSiblingFactor(),graph.getLoweBound(),iterations);
+
+				RankHistory history=this.histories.get(key);
+
+				if(history!=null)
+				{
+					this.hits++;
+					return history;
+				}
+
+				this.misses++;
+
+				history=graph.calculateRankHistory(iterations);
+
+				// A history which doesn't fit in the whole budget is used once and isn't kept
+				if(fitsInMemoryBudget(graph, iterations))
+				{
+					this.histories.put(key, history);
+					this.usedBytes+=history.sizeInBytes();
+
+					evict();
+				}
+
+				return history;
+			}
+		}
+	}
+
+
+	/**
+	 * This method does the same as the method
+	 * {@link WebPageGraph#runPageRankCalculationProcessSimulationWithTraceSink(RankTraceSink, PrintStream, int, String)}
+	 * but the page ranks are taken from the history of the cache ,if the same calculation has already been done.If
+	 * the history of the calculation doesn't fit in the memory budget of the cache ,the page ranks are calculated
+	 * without a history (as by the method of the graph) ,so no history is created only to be thrown away.
+	 *
+	 * @param graph an object of type WebPageGraph
+	 * @param sinkForSpecificWebPage an object of type RankTraceSink which receives the progress of the
+	 * Page Rank of a focused WebPage ,or null
+	 * @param outputStreamForFactorsOfSpecificWebPage an object of type PrintStream which is used to print the
+	 * calculations of the pageRanks of the WebPages that affect the PageRank of the focused WebPage ,or null
+	 * @param iterations The number of iterations to run the simulation
+	 * @param focusedURLname A name of the URl of a WebPage in the graph which will be focused
+	 * @return void
+	 */
+	public void runPageRankCalculationProcessSimulation(WebPageGraph graph,RankTraceSink sinkForSpecificWebPage,
+			PrintStream outputStreamForFactorsOfSpecificWebPage,int iterations,String focusedURLname)
+	{
+		if(graph==null)
+			throw new NullPointerException("Null graph was given at method runPageRankCalculationProcessSimulation");
+
+		if(iterations<0)
+			return ;
+
+		// The graph stays locked ,so it can't change between the search of the history and its use
+		synchronized(graph)
+		{
+			if(!fitsInMemoryBudget(graph, iterations))
+			{
+				synchronized(this)
+				{
+					this.misses++;
+				}
+
+				graph.runPageRankCalculationProcessSimulationWithTraceSink(sinkForSpecificWebPage, outputStreamForFactorsOfSpecificWebPage, iterations, focusedURLname);
+				return ;
+			}
+
+			RankHistory history=getRankHistory(graph, iterations);
+
+			graph.replayPageRankCalculationProcessSimulation(history, sinkForSpecificWebPage, outputStreamForFactorsOfSpecificWebPage, focusedURLname);
+		}
+	}
+
+
+	/**
+	 * This method returns true if the history of a calculation with the number of iterations given as argument on
+	 * the current state of the graph fits in the memory budget of the cache.The size is found without creating the
+	 * history.
+	 *
+	 * @param graph an object of type WebPageGraph
+	 * @param iterations the number of the iterations of the calculation
+	 * @return true if the history fits in the memory budget or false otherwise
+	 */
+	private synchronized boolean fitsInMemoryBudget(WebPageGraph graph,int iterations)
+	{
+		return RankHistory.sizeInBytes(iterations, graph.numberOfVertices())<=this.memoryBudget;
+	}
+
+
+	/**
+	 * This method removes the least recently used histories until the histories fit in the memory budget
+	 *
+	 * @param void
+	 * @return void
+	 */
+	private void evict()
+	{
+		Iterator<Map.Entry<Key,RankHistory>> iterator=this.histories.entrySet().iterator();
+
+		while(this.usedBytes>this.memoryBudget && iterator.hasNext())
+		{
+			this.usedBytes-=iterator.next().getValue().sizeInBytes();
+			iterator.remove();
+		}
+	}
+
+
+	/**
+	 * This class represents the key of a history in the cache.Two keys are equal if they have the same graph (the
+	 * same object) ,modification count ,sibling factor ,lower bound and number of iterations.
+	 */
+	private static final class Key
+	{
+
+		private final WebPageGraph graph;			// The graph of the calculation
+
+		private final long modificationCount;		// The modification count of the graph
+
+		private final double siblingFactor;			// The sibling factor of the calculation
+
+		private final double lowerBound;			// The lower bound of the calculation
+
+		private final int iterations;				// The number of the iterations of the calculation
+
+
+		private Key(WebPageGraph graph,long modificationCount,double siblingFactor,double lowerBound,int iterations)
+		{
+			this.graph=graph;
+			this.modificationCount=modificationCount;
+			this.siblingFactor=siblingFactor;
+			this.lowerBound=lowerBound;
+			this.iterations=iterations;
+		}
+
+
+		public boolean equals(Object otherObject)
+		{
+			if(!(otherObject instanceof Key))
+				return false;
+
+			Key key=(Key)otherObject;
+
+			return this.graph==key.graph && this.modificationCount==key.modificationCount &&
+					Double.compare(this.siblingFactor, key.siblingFactor)==0 &&
+					Double.compare(this.lowerBound, key.lowerBound)==0 && this.iterations==key.iterations;
+		}
+
+
+		public int hashCode()
+		{
+			int hash=System.identityHashCode(this.graph);
+
+			hash=31*hash+Long.hashCode(this.modificationCount);
+			hash=31*hash+Double.hashCode(this.siblingFactor);
+			hash=31*hash+Double.hashCode(this.lowerBound);
+			hash=31*hash+this.iterations;
+
+			return hash;
+		}
+	}
+
+}
@@ -0,0 +1,62 @@
+package pageRankImplementation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+/**
+ * This class represents a Java Flight Recorder event which is recorded for every iteration of a calculation of the
+ * page ranks.The fields of the event are filled only if the event is going to be committed ,and the event is created
+ * only if its recording is enabled ({@link RankIterationEvent#beginIfEnabled()}) ,so the event costs nothing (not
+ * even an allocation) when the recording of it is disabled.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+@Name("pageRankImplementation.RankIteration")
+@Label("Rank Iteration")
+@Category("Page Rank")
+@Description("One iteration of a calculation of the page ranks")
+final class RankIterationEvent extends jdk.jfr.Event
+{
+
+	@Label("Iteration")
+	int iteration;				// The number of the iteration (starting from 0)
+
+	@Label("Vertices")
+	int vertices;				// The number of the vertices whose page ranks have been calculated
+
+	@Label("Edges Processed")
+	long edgesProcessed;		// The number of the edges that have been visited
+
+	@Label("Spam Pages")
+	int spamPages;				// The number of the WebPages which have been treated as spams (without the tails of the structural preprocessing)
+
+	@Label("Residual")
+	double residual;			// The sum of the absolute changes of the page ranks
+
+	// The type of the event ,which tells whether a recording of the event is running
+	private static final EventType EVENT_TYPE=EventType.getEventType(RankIterationEvent.class);
+
+
+	/**
+	 * This method creates and begins an event of an iteration if a recording of the event is running ,otherwise it
+	 * returns null without any allocation.
+	 *
+	 * @return the begun event or null if the event isn't recorded
+	 */
+	static RankIterationEvent beginIfEnabled()
+	{
+		if(!EVENT_TYPE.isEnabled())
+			return null;
+
+		RankIterationEvent event=new RankIterationEvent();
+		event.begin();
+
+		return event;
+	}
+
+}
@@ -0,0 +1,164 @@
+package pageRankImplementation;
+
+
+/**
+ * This class represents the measurements of one iteration of a calculation of the page ranks.Objects of this class
+ * are immutable ,so they can be passed safely from the thread which runs the calculation to any other thread which
+ * polls them.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class RankIterationMetrics
+{
+
+	private final int iteration;				// The number of the iteration (starting from 0)
+
+	private final long wallTimeNanos;			// The wall time of the iteration in nanoseconds
+
+	private final long edgesProcessed;			// The number of the edges that have been visited during the iteration
+
+	private final double residual;				// The sum of the absolute changes of the page ranks during the iteration
+
+	private final int spamPrunedPages;			// The number of the WebPages which have been treated as spams during the iteration
+
+	private final int threadsInUse;				// The number of the threads that have been used for the iteration
+
+	private final long allocatedBytes;			// The bytes allocated by the calculating thread during the iteration or -1 if unknown
+
+
+	/**
+	 * This constructor creates an object of type RankIterationMetrics which holds the measurements of an iteration
+	 * as indicated by the arguments.
+	 *
+	 * @param iteration the number of the iteration (starting from 0)
+	 * @param wallTimeNanos the wall time of the iteration in nanoseconds
+	 * @param edgesProcessed the number of the edges that have been visited during the iteration
+	 * @param residual the sum of the absolute changes of the page ranks during the iteration
+	 * @param spamPrunedPages the number of the WebPages which have been treated as spams during the iteration
+	 * @param threadsInUse the number of the threads that have been used for the iteration
+	 * @param allocatedBytes the bytes allocated during the iteration or -1 if they couldn't be measured
+	 */
+	public RankIterationMetrics(int iteration,long wallTimeNanos,long edgesProcessed,double residual,int spamPrunedPages,int threadsInUse,long allocatedBytes)
+	{
+		if(iteration<0 || wallTimeNanos<0 || edgesProcessed<0 || spamPrunedPages<0 || threadsInUse<0)
+			throw new NegativeNumberException("Negative number given in constructor of class RankIterationMetrics");
+
+		this.iteration=iteration;
+		this.wallTimeNanos=wallTimeNanos;
+		this.edgesProcessed=edgesProcessed;
+		this.residual=residual;
+		this.spamPrunedPages=spamPrunedPages;
+		this.threadsInUse=threadsInUse;
+		this.allocatedBytes=allocatedBytes;
+	}
+
+
+	/**
+	 * This method returns the number of the iteration (starting from 0)
+	 *
+	 * @return the number of the iteration
+	 */
+	public int getIteration()
+	{
+		return this.iteration;
+	}
+
+
+	/**
+	 * This method returns the wall time of the iteration in nanoseconds
+	 *
+	 * @return the wall time of the iteration in nanoseconds
+	 */
+	public long getWallTimeNanos()
+	{
+		return this.wallTimeNanos;
+	}
+
+
+	/**
+	 * This method returns the number of the edges that have been visited during the iteration
+	 *
+	 * @return the number of the edges that have been visited during the iteration
+	 */
+	public long getEdgesProcessed()
+	{
+		return this.edgesProcessed;
+	}
+
+
+	/**
+	 * This method returns the number of the edges that have been processed per second during the iteration.
+	 *
+	 * @return the number of the edges processed per second or 0 if the wall time of the iteration was zero
+	 */
+	public double getEdgesPerSecond()
+	{
+		if(this.wallTimeNanos==0)
+			return 0;
+
+		return this.edgesProcessed*1e9/this.wallTimeNanos;
+	}
+
+
+	/**
+	 * This method returns the residual of the iteration ,which is the sum of the absolute differences between the
+	 * page ranks before and after the iteration.
+	 *
+	 * @return the residual of the iteration
+	 */
+	public double getResidual()
+	{
+		return this.residual;
+	}
+
+
+	/**
+	 * This method returns the number of the WebPages which have been treated as spams during the iteration.With the
+	 * structural preprocessing ({@link PageRankEngine#setStructuralPreprocessing(boolean)}) the tail vertices ,which
+	 * aren't calculated at the iterations ,aren't counted.
+	 *
+	 * @return the number of the spam WebPages of the iteration
+	 */
+	public int getSpamPrunedPages()
+	{
+		return this.spamPrunedPages;
+	}
+
+
+	/**
+	 * This method returns the number of the threads that have been used for the iteration
+	 *
+	 * @return the number of the threads that have been used for the iteration
+	 */
+	public int getThreadsInUse()
+	{
+		return this.threadsInUse;
+	}
+
+
+	/**
+	 * This method returns the bytes that have been allocated during the iteration or -1 if the
+	 * Java Virtual Machine doesn't support measuring them.
+	 *
+	 * @return the bytes that have been allocated during the iteration or -1
+	 */
+	public long getAllocatedBytes()
+	{
+		return this.allocatedBytes;
+	}
+
+
+	/**
+	 * Returns a String representation of the object of type RankIterationMetrics which invokes the method
+	 *
+	 * @return a String representation of the object invoking the method
+	 */
+	public String toString()
+	{
+		return "Iteration : "+this.iteration+"  |  Time (ms) : "+(this.wallTimeNanos/1e6)+"  |  Edges/s : "+(long)this.getEdgesPerSecond()
+				+"  |  Residual : "+this.residual+"  |  Spams : "+this.spamPrunedPages+"  |  Threads : "+this.threadsInUse
+				+"  |  Allocated bytes : "+this.allocatedBytes;
+	}
+
+}
@@ -0,0 +1,269 @@
+package pageRankImplementation;
+
+
+/**
+ * This class explains the page rank of a WebPage in a finished calculation of page ranks (an object of type
+ * PageRankResult) :the WebPages that point to it with the highest contributions ({@link RankContribution}) and ,
+ * optionally ,the explanations of their own page ranks up to a number of hops.The explanation is calculated on demand
+ * from the in-pointing links of the graph and the page ranks of the result ,with one pass over the in-pointing links
+ * of every explained WebPage ,so it costs O(in-degree) for one hop (and at most top^hops explained WebPages for more
+ * hops).The objects of this class are immutable.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class RankProvenance
+{
+
+	private final int vertex;							// The vertex id of the explained WebPage
+
+	private final String nameOfURL;						// The URL name of the explained WebPage
+
+	private final double pageRank;						// The page rank of the explained WebPage
+
+	private final double dampingFactor;					// The d factor of the calculation
+
+	private final int inDegree;							// The number of the in-pointing links of the WebPage
+
+	private final int spamInNeighbors;					// The number of the spams that point to the WebPage
+
+	private final double sumOfContributions;			// The sum of the contributions of all the in-pointing WebPages
+
+	private final RankContribution[] contributions;		// The highest contributions by decreasing contribution
+
+
+	/**
+	 * This constructor creates an object of type RankProvenance with the values given as arguments.
+	 */
+	private RankProvenance(int vertex,String nameOfURL,double pageRank,double dampingFactor,int inDegree,int spamInNeighbors,
+			double sumOfContributions,RankContribution[] contributions)
+	{
+		this.vertex=vertex;
+		this.nameOfURL=nameOfURL;
+		this.pageRank=pageRank;
+		this.dampingFactor=dampingFactor;
+		this.inDegree=inDegree;
+		this.spamInNeighbors=spamInNeighbors;
+		this.sumOfContributions=sumOfContributions;
+		this.contributions=contributions;
+	}
+
+
+	/**
+	 * This method explains the page rank of a vertex of a result with its top in-pointing WebPages by contribution ,
+	 * and the page ranks of these WebPages up to the number of hops given as argument.
+	 *
+	 * @param result a finished calculation of page ranks
+	 * @param vertex the vertex id of the explained WebPage
+	 * @param top the number of the highest contributions of every explained WebPage
+	 * @param hops the number of the levels of in-pointing WebPages (1 for the WebPages which point directly to the vertex)
+	 * @return an object of type RankProvenance with the explanation
+	 */
+	static RankProvenance explain(PageRankResult result,int vertex,int top,int hops)
+	{
+		if(result==null)
+			throw new NullPointerException("Null result was given at method explain");
+
+		if(top<0 || hops<0)
+			throw new NegativeNumberException("Negative number given at method explain");
+
+		CompactWebPageGraph graph=result.getGraph();
+
+		if(vertex<0 || vertex>=graph.numberOfVertices())
+			throw new IllegalArgumentException("Invalid vertex id "+vertex+" was given at method explain");
+
+		return explain(result, graph, vertex, top, hops);
+	}
+
+
+	/**
+	 * This method creates the explanation of one vertex and the explanations of its top contributors recursively.
+	 */
+	private static RankProvenance explain(PageRankResult result,CompactWebPageGraph graph,int vertex,int top,int hops)
+	{
+		PageRankParameters parameters=result.getParameters();
+
+		double[] ranks=result.ranks;
+		double lowerBound=parameters.getLowerBound();
+		double siblingFactor=parameters.getSiblingFactor();
+
+		int first=graph.inLinkOffsets[vertex];
+		int inDegree=graph.inLinkOffsets[vertex+1]-first;
+
+		// The contribution of every in-pointing link ,by position among the in-pointing links
+		double[] contributions=new double[inDegree];
+
+		int spams=0;
+		double sum=0;
+
+		for(int position=0;position<inDegree;position++)
+		{
+			int source=graph.inLinkSources[first+position];
+
+			if(ranks[source]<lowerBound)
+			{
+				spams++;
+				continue;
+			}
+
+			double S=(graph.domains[source]==graph.domains[vertex])? siblingFactor : 1;
+
+			contributions[position]=S*ranks[source]/(graph.outLinkOffsets[source+1]-graph.outLinkOffsets[source]);
+
+			sum+=contributions[position];
+		}
+
+		int[] topPositions=(hops==0)? new int[0] : TopRankedVertices.findTopPositions(contributions, inDegree, top);
+
+		RankContribution[] topContributions=new RankContribution[topPositions.length];
+
+		for(int index=0;index<topPositions.length;index++)
+		{
+			int source=graph.inLinkSources[first+topPositions[index]];
+
+			topContributions[index]=new RankContribution(source,graph.getNameOfURL(source),ranks[source],graph.getOutDegree(source),
+					(graph.domains[source]==graph.domains[vertex])? siblingFactor : 1,ranks[source]<lowerBound,
+					(hops>1)? explain(result, graph, source, top, hops-1) : null);
+		}
+
+		return new RankProvenance(vertex,graph.getNameOfURL(vertex),ranks[vertex],parameters.getDampingFactor(),inDegree,spams,sum,topContributions);
+	}
+
+
+	/**
+	 * This method returns the vertex id of the explained WebPage
+	 *
+	 * @return the vertex id of the explained WebPage
+	 */
+	public int getVertex()
+	{
+		return this.vertex;
+	}
+
+
+	/**
+	 * This method returns the URL name of the explained WebPage
+	 *
+	 * @return the URL name of the explained WebPage
+	 */
+	public String getNameOfURL()
+	{
+		return this.nameOfURL;
+	}
+
+
+	/**
+	 * This method returns the page rank of the explained WebPage
+	 *
+	 * @return the page rank of the explained WebPage
+	 */
+	public double getPageRank()
+	{
+		return this.pageRank;
+	}
+
+
+	/**
+	 * This method returns the number of the WebPages that point to the explained WebPage
+	 *
+	 * @return the in-degree of the explained WebPage
+	 */
+	public int getInDegree()
+	{
+		return this.inDegree;
+	}
+
+
+	/**
+	 * This method returns the number of the spams that point to the explained WebPage (their contributions are 0)
+	 *
+	 * @return the number of the spam in-pointing WebPages
+	 */
+	public int getSpamInNeighbors()
+	{
+		return this.spamInNeighbors;
+	}
+
+
+	/**
+	 * This method returns the sum of the contributions of all the WebPages that point to the explained WebPage
+	 *
+	 * @return the sum of the contributions
+	 */
+	public double getSumOfContributions()
+	{
+		return this.sumOfContributions;
+	}
+
+
+	/**
+	 * This method returns the page rank that the contributions give :(1 - d) + d * (sum of the contributions).It is
+	 * the page rank of the next iteration ,so it is equal to the page rank of the WebPage when the calculation has
+	 * converged.
+	 *
+	 * @return the page rank given by the contributions
+	 */
+	public double getExplainedPageRank()
+	{
+		return (1-this.dampingFactor)+this.dampingFactor*this.sumOfContributions;
+	}
+
+
+	/**
+	 * This method returns the number of the highest contributions of the explanation
+	 *
+	 * @return the number of the contributions
+	 */
+	public int numberOfContributions()
+	{
+		return this.contributions.length;
+	}
+
+
+	/**
+	 * This method returns the contribution at the position given as argument ,by decreasing contribution
+	 *
+	 * @param index the position of a contribution
+	 * @return the contribution at the position
+	 */
+	public RankContribution getContribution(int index)
+	{
+		return this.contributions[index];
+	}
+
+
+	/**
+	 * Returns a String representation of the object of type RankProvenance which invokes the method ,with one line for
+	 * every contribution ,indented by its hop.
+	 *
+	 * @return a String representation of the object invoking the method
+	 */
+	public String toString()
+	{
+		StringBuilder builder=new StringBuilder();
+
+		appendTo(builder, "");
+
+		return builder.toString();
+	}
+
+
+	/**
+	 * This method appends the explanation and the explanations of its contributors to a StringBuilder.
+	 */
+	private void appendTo(StringBuilder builder,String indentation)
+	{
+		builder.append(indentation).append(this.nameOfURL).append("  |  Page rank : ").append(this.pageRank)
+			.append("  |  In-degree : ").append(this.inDegree).append("  |  Spams : ").append(this.spamInNeighbors)
+			.append("  |  Sum of contributions : ").append(this.sumOfContributions).append('\n');
+
+		for(RankContribution contribution : this.contributions)
+		{
+			builder.append(indentation).append("  <- ").append(contribution).append('\n');
+
+			if(contribution.getSourceProvenance()!=null)
+				contribution.getSourceProvenance().appendTo(builder, indentation+"     ");
+		}
+	}
+
+}
@@ -0,0 +1,317 @@
+package pageRankImplementation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+
+/**
+ * This class represents an embeddable query service for the page ranks of a finished calculation.The service answers
+ * HTTP requests on the local host (loopback address only) from an immutable snapshot of type RankQuerySnapshot ,and a
+ * new snapshot can be published at any time with the method {@link RankQueryServer#publish(PageRankResult)}.The new
+ * snapshot replaces the old one atomically ,so every request is answered from exactly one snapshot.
+ * The answers are plain text with one record per line and tab separated fields.The requests that are served are :
+ * <pre>
+ * GET /rank?url=URL                  the page rank and the position of a WebPage
+ * GET /top?k=K                       the K WebPages with the highest page ranks
+ * GET /top?k=K&amp;domain=DOMAIN         the K WebPages with the highest page ranks of a domain
+ * GET /inlinks?url=URL               the WebPages that point to a WebPage ,with their page ranks
+ * GET /outlinks?url=URL              the WebPages that a WebPage points to ,with their page ranks
+ * GET /status                        the version and the size of the current snapshot
+ * </pre>
+ * Every answer has the header "X-Snapshot-Version" with the version of the snapshot that answered the request.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class RankQueryServer
+{
+
+	// The default number of the threads which answer the requests
+	public static final int DEFAULT_NUMBER_OF_THREADS=Runtime.getRuntime().availableProcessors();
+
+	private final AtomicReference<RankQuerySnapshot> snapshot;	// The current snapshot or null if nothing has been published
+
+	private final AtomicLong versions;							// The counter of the versions of the published snapshots
+
+	private final int port;										// The port that the server listens to (0 for any free port)
+
+	private final int threads;									// The number of the threads which answer the requests
+
+	private HttpServer server;									// The HTTP server ,or null if it isn't running
+
+	private ExecutorService executor;							// The threads of the HTTP server ,or null
+
+
+	/**
+	 * This constructor creates an object of type RankQueryServer which will listen to the port given as argument on
+	 * the loopback address.The server doesn't start before the method {@link RankQueryServer#start()} is called.
+	 *
+	 * @param port the port to listen to ,or 0 for any free port
+	 * @param threads the number of the threads which answer the requests
+	 */
+	public RankQueryServer(int port,int threads)
+	{
+		if(port<0 || threads<0)
+			throw new NegativeNumberException("Negative number given in constructor of class RankQueryServer");
+
+		if(threads==0)
+			throw new ZeroNumberException("Zero number of threads given in constructor of class RankQueryServer");
+
+		this.port=port;
+		this.threads=threads;
+		this.snapshot=new AtomicReference<RankQuerySnapshot>();
+		this.versions=new AtomicLong();
+	}
+
+
+	/**
+	 * This method publishes the result of a new calculation of page ranks.A new snapshot is prepared from the result
+	 * and then it replaces the current snapshot atomically.
+	 *
+	 * @param result the result of a finished calculation of page ranks
+	 * @return the new snapshot that has been published
+	 */
+	public RankQuerySnapshot publish(PageRankResult result)
+	{
+		if(result==null)
+			throw new NullPointerException("Null result was given at method publish");
+
+		RankQuerySnapshot newSnapshot=new RankQuerySnapshot(result,this.versions.incrementAndGet());
+
+		this.snapshot.set(newSnapshot);
+
+		return newSnapshot;
+	}
+
+
+	/**
+	 * This method returns the current snapshot ,or null if nothing has been published.The snapshot can be queried
+	 * directly by code which runs in the same Java Virtual Machine.
+	 *
+	 * @return the current snapshot or null
+	 */
+	public RankQuerySnapshot getSnapshot()
+	{
+		return this.snapshot.get();
+	}
+
+
+	/**
+	 * This method starts the HTTP server on the loopback address.
+	 *
+	 * @throws IOException This Exception is thrown if the server couldn't listen to the port
+	 */
+	public synchronized void start() throws IOException
+	{
+		if(this.server!=null)
+			return ;
+
+		HttpServer newServer=HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(),this.port), 0);
+
+		newServer.createContext("/rank", exchange -> answer(exchange, "/rank"));
+		newServer.createContext("/top", exchange -> answer(exchange, "/top"));
+		newServer.createContext("/inlinks", exchange -> answer(exchange, "/inlinks"));
+		newServer.createContext("/outlinks", exchange -> answer(exchange, "/outlinks"));
+		newServer.createContext("/status", exchange -> answer(exchange, "/status"));
+
+		this.executor=Executors.newFixedThreadPool(this.threads);
+		newServer.setExecutor(this.executor);
+		newServer.start();
+
+		this.server=newServer;
+	}
+
+
+	/**
+	 * This method stops the HTTP server ,if it is running.
+	 *
+	 * @param void
+	 * @return void
+	 */
+	public synchronized void stop()
+	{
+		if(this.server==null)
+			return ;
+
+		this.server.stop(0);
+		this.executor.shutdownNow();
+
+		this.server=null;
+		this.executor=null;
+	}
+
+
+	/**
+	 * This method returns the port that the server listens to ,or -1 if the server isn't running.
+	 *
+	 * @return the port of the server or -1
+	 */
+	public synchronized int getPort()
+	{
+		return (this.server==null)? -1 : this.server.getAddress().getPort();
+	}
+
+
+	/**
+	 * This method answers an HTTP request.A context of the server matches every path which starts with its path ,so
+	 * a request whose path isn't exactly the path of the context (for example "/rankings" or "/rank/x") is answered
+	 * with the status 404.
+	 *
+	 * @param exchange the HTTP request and its answer
+	 * @param path the path of the context of the request
+	 * @throws IOException This Exception is thrown if the answer couldn't be written
+	 */
+	private void answer(HttpExchange exchange,String path) throws IOException
+	{
+		try
+		{
+			RankQuerySnapshot current=this.snapshot.get();
+
+			if(!path.equals(exchange.getRequestURI().getPath()))
+			{
+				send(exchange, 404, "Unknown path\n", current);
+				return ;
+			}
+
+			if(!exchange.getRequestMethod().equals("GET"))
+			{
+				send(exchange, 405, "Only GET requests are served\n", current);
+				return ;
+			}
+
+			if(current==null)
+			{
+				send(exchange, 503, "No page ranks have been published\n", current);
+				return ;
+			}
+
+			String query=exchange.getRequestURI().getRawQuery();
+
+			CompactWebPageGraph graph=current.getResult().getGraph();
+
+			StringBuilder builder=new StringBuilder();
+
+			if(path.equals("/status"))
+			{
+				builder.append(current.getVersion()).append('\t').append(graph.numberOfVertices()).append('\t')
+					.append(graph.numberOfEdges()).append('\t').append(current.getResult().getIterations()).append('\n');
+
+				send(exchange, 200, builder.toString(), current);
+				return ;
+			}
+
+			if(path.equals("/top"))
+			{
+				String k=queryParameter(query, "k");
+				String domain=queryParameter(query, "domain");
+
+				int number=(k==null)? 10 : Integer.parseInt(k);
+
+				int[] top=(domain==null)? current.getTopRankedVertices(number) : current.getTopRankedVerticesOfDomain(domain, number);
+
+				for(int position=0;position<top.length;position++)
+					builder.append(position+1).append('\t').append(graph.getNameOfURL(top[position])).append('\t')
+						.append(current.getResult().getPageRank(top[position])).append('\n');
+
+				send(exchange, 200, builder.toString(), current);
+				return ;
+			}
+
+			String url=queryParameter(query, "url");
+
+			if(url==null || graph.getVertexId(url)<0)
+			{
+				send(exchange, 404, "Unknown URL name\n", current);
+				return ;
+			}
+
+			if(path.equals("/rank"))
+			{
+				builder.append(url).append('\t').append(current.getPageRank(url)).append('\t')
+					.append(current.getRankPosition(url)).append('\n');
+			}
+			else
+			{
+				int[] links=path.equals("/inlinks")? current.getInLinkedVertices(url) : current.getOutLinkedVertices(url);
+
+				for(int vertex : links)
+					builder.append(graph.getNameOfURL(vertex)).append('\t').append(current.getResult().getPageRank(vertex)).append('\n');
+			}
+
+			send(exchange, 200, builder.toString(), current);
+		}
+		catch(RuntimeException e)
+		{
+			send(exchange, 400, "Bad request : "+e.getMessage()+"\n", null);
+		}
+		finally
+		{
+			exchange.close();
+		}
+	}
+
+
+	/**
+	 * This method sends the answer of an HTTP request.
+	 *
+	 * @param exchange the HTTP request and its answer
+	 * @param status the status code of the answer
+	 * @param body the body of the answer
+	 * @param answeringSnapshot the snapshot which answered the request ,or null
+	 * @throws IOException This Exception is thrown if the answer couldn't be written
+	 */
+	private static void send(HttpExchange exchange,int status,String body,RankQuerySnapshot answeringSnapshot) throws IOException
+	{
+		byte[] bytes=body.getBytes(StandardCharsets.UTF_8);
+
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+
+		if(answeringSnapshot!=null)
+			exchange.getResponseHeaders().set("X-Snapshot-Version", String.valueOf(answeringSnapshot.getVersion()));
+
+		exchange.sendResponseHeaders(status, bytes.length);
+
+		OutputStream outputStream=exchange.getResponseBody();
+		outputStream.write(bytes);
+		outputStream.close();
+	}
+
+
+	/**
+	 * This method returns the decoded value of a parameter of the query of a request ,or null if the parameter
+	 * doesn't exist.
+	 *
+	 * @param query the raw query of the request or null
+	 * @param name the name of the parameter
+	 * @return the decoded value of the parameter or null
+	 * @throws UnsupportedEncodingException never ,because UTF-8 is always supported
+	 */
+	private static String queryParameter(String query,String name) throws UnsupportedEncodingException
+	{
+		if(query==null)
+			return null;
+
+		for(String parameter : query.split("&"))
+		{
+			int separator=parameter.indexOf('=');
+
+			if(separator>0 && parameter.substring(0, separator).equals(name))
+				return URLDecoder.decode(parameter.substring(separator+1), "UTF-8");
+		}
+
+		return null;
+	}
+
+}
@@ -0,0 +1,247 @@
+package pageRankImplementation;
+
+
+/**
+ * This class represents an immutable snapshot of a finished calculation of page ranks ,prepared for fast queries.
+ * When a snapshot is created all the vertices are ordered by decreasing page rank ,once for the whole graph and once
+ * for every domain ,so the queries for the top ranked WebPages only read the first positions of the orderings.The
+ * queries for a URL name take constant time and the listings of the links take time proportional to the number of
+ * the links.Because the objects of this class can't be changed ,they can be read by many threads at the same time
+ * without any synchronization.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class RankQuerySnapshot
+{
+
+	private final PageRankResult result;		// The result of the calculation of the page ranks
+
+	private final long version;					// The version of the snapshot
+
+	private final int[] rankOrder;				// All the vertex ids by decreasing page rank
+
+	private final int[] positions;				// The position of every vertex in the array rankOrder ,by vertex id
+
+	private final int[] domainOffsets;			// The vertices of domain d are at domainRankOrder[domainOffsets[d]..domainOffsets[d+1]-1]
+
+	private final int[] domainRankOrder;		// The vertex ids grouped by domain ,and by decreasing page rank inside every domain
+
+
+	/**
+	 * This constructor creates an object of type RankQuerySnapshot from the result of a calculation of page ranks.
+	 *
+	 * @param result the result of a calculation of page ranks
+	 * @param version the version of the snapshot
+	 */
+	public RankQuerySnapshot(PageRankResult result,long version)
+	{
+		if(result==null)
+			throw new NullPointerException("Null result was given at constructor of class RankQuerySnapshot");
+
+		CompactWebPageGraph graph=result.getGraph();
+
+		int vertices=graph.numberOfVertices();
+
+		this.result=result;
+		this.version=version;
+
+		this.rankOrder=new int[vertices];
+
+		for(int v=0;v<vertices;v++)
+			this.rankOrder[v]=v;
+
+		sortByDecreasingRank(this.rankOrder, 0, vertices, result.ranks, new int[vertices]);
+
+		this.positions=new int[vertices];
+
+		for(int position=0;position<vertices;position++)
+			this.positions[this.rankOrder[position]]=position;
+
+		// Group the vertices by domain keeping the order of the page ranks (counting sort by domain id)
+		int domains=graph.numberOfDomains();
+
+		this.domainOffsets=new int[domains+1];
+
+		for(int v=0;v<vertices;v++)
+			this.domainOffsets[graph.domains[v]+1]++;
+
+		for(int d=0;d<domains;d++)
+			this.domainOffsets[d+1]+=this.domainOffsets[d];
+
+		this.domainRankOrder=new int[vertices];
+
+		int[] nextPosition=new int[domains];
+		System.arraycopy(this.domainOffsets, 0, nextPosition, 0, domains);
+
+		for(int position=0;position<vertices;position++)
+		{
+			int v=this.rankOrder[position];
+			this.domainRankOrder[nextPosition[graph.domains[v]]++]=v;
+		}
+	}
+
+
+	/**
+	 * This method sorts a part of an array of vertex ids by decreasing page rank (stable merge sort).
+	 *
+	 * @param vertices the array of vertex ids
+	 * @param from the first position of the part to sort (inclusive)
+	 * @param to the last position of the part to sort (exclusive)
+	 * @param ranks the page ranks ,by vertex id
+	 * @param buffer an array with the same length as the array of vertex ids ,for temporary use
+	 */
+	private static void sortByDecreasingRank(int[] vertices,int from,int to,double[] ranks,int[] buffer)
+	{
+		if(to-from<2)
+			return ;
+
+		int middle=(from+to)>>>1;
+
+		sortByDecreasingRank(vertices, from, middle, ranks, buffer);
+		sortByDecreasingRank(vertices, middle, to, ranks, buffer);
+
+		int left=from;
+		int right=middle;
+		int index=from;
+
+		while(left<middle && right<to)
+			buffer[index++]=(ranks[vertices[right]]>ranks[vertices[left]])? vertices[right++] : vertices[left++];
+
+		while(left<middle)
+			buffer[index++]=vertices[left++];
+
+		while(right<to)
+			buffer[index++]=vertices[right++];
+
+		System.arraycopy(buffer, from, vertices, from, to-from);
+	}
+
+
+	/**
+	 * This method returns the result of the calculation of the page ranks of this snapshot
+	 *
+	 * @return the result of the calculation of this snapshot
+	 */
+	public PageRankResult getResult()
+	{
+		return this.result;
+	}
+
+
+	/**
+	 * This method returns the version of the snapshot
+	 *
+	 * @return the version of the snapshot
+	 */
+	public long getVersion()
+	{
+		return this.version;
+	}
+
+
+	/**
+	 * This method returns the page rank of the WebPage with the URL name given as argument ,or -1 if the URL
+	 * name doesn't correspond to a vertex of the graph.
+	 *
+	 * @param nameURL the name of a URL
+	 * @return the page rank of the WebPage or -1 if it doesn't exist in the graph
+	 */
+	public double getPageRank(String nameURL)
+	{
+		return this.result.getPageRank(nameURL);
+	}
+
+
+	/**
+	 * This method returns the position (starting from 1) of the WebPage with the URL name given as argument in the
+	 * ordering of all the WebPages by decreasing page rank ,or -1 if the URL name doesn't correspond to a vertex.
+	 *
+	 * @param nameURL the name of a URL
+	 * @return the position of the WebPage in the ordering by page rank or -1 if it doesn't exist in the graph
+	 */
+	public int getRankPosition(String nameURL)
+	{
+		int vertex=this.result.getGraph().getVertexId(nameURL);
+
+		return (vertex<0)? -1 : this.positions[vertex]+1;
+	}
+
+
+	/**
+	 * This method returns the vertex ids of the k WebPages with the highest page ranks ,by decreasing page rank.
+	 *
+	 * @param k the number of the WebPages to return
+	 * @return an array with at most k vertex ids
+	 */
+	public int[] getTopRankedVertices(int k)
+	{
+		if(k<0)
+			throw new NegativeNumberException("Negative number given at method getTopRankedVertices");
+
+		int size=Math.min(k, this.rankOrder.length);
+
+		int[] top=new int[size];
+		System.arraycopy(this.rankOrder, 0, top, 0, size);
+
+		return top;
+	}
+
+
+	/**
+	 * This method returns the vertex ids of the k WebPages with the highest page ranks of a domain ,by decreasing
+	 * page rank.If the domain doesn't exist in the graph an empty array is returned.
+	 *
+	 * @param domainName the name of a domain
+	 * @param k the number of the WebPages to return
+	 * @return an array with at most k vertex ids of the domain
+	 */
+	public int[] getTopRankedVerticesOfDomain(String domainName,int k)
+	{
+		if(k<0)
+			throw new NegativeNumberException("Negative number given at method getTopRankedVerticesOfDomain");
+
+		int domain=this.result.getGraph().getDomainId(domainName);
+
+		if(domain<0)
+			return new int[0];
+
+		int size=Math.min(k, this.domainOffsets[domain+1]-this.domainOffsets[domain]);
+
+		int[] top=new int[size];
+		System.arraycopy(this.domainRankOrder, this.domainOffsets[domain], top, 0, size);
+
+		return top;
+	}
+
+
+	/**
+	 * This method returns the vertex ids of the WebPages which point to the WebPage with the URL name given as
+	 * argument ,or null if the URL name doesn't correspond to a vertex of the graph.
+	 *
+	 * @param nameURL the name of a URL
+	 * @return an array with the vertex ids of the in-pointing WebPages or null
+	 */
+	public int[] getInLinkedVertices(String nameURL)
+	{
+		int vertex=this.result.getGraph().getVertexId(nameURL);
+
+		return (vertex<0)? null : this.result.getGraph().getInLinkedVertices(vertex);
+	}
+
+
+	/**
+	 * This method returns the vertex ids of the WebPages which are pointed to by the WebPage with the URL name given
+	 * as argument ,or null if the URL name doesn't correspond to a vertex of the graph.
+	 *
+	 * @param nameURL the name of a URL
+	 * @return an array with the vertex ids of the out-pointed WebPages or null
+	 */
+	public int[] getOutLinkedVertices(String nameURL)
+	{
+		int vertex=this.result.getGraph().getVertexId(nameURL);
+
+		return (vertex<0)? null : this.result.getGraph().getOutLinkedVertices(vertex);
+	}
+
+}
@@ -0,0 +1,74 @@
+package pageRankImplementation;
+
+
+/**
+ * This interface represents the destination of the progress of the calculation of the page rank of a focused WebPage.
+ * A calculation of page ranks calls the methods of this interface in this order : once the method
+ * {@link RankTraceSink#focusedWebPage(String, double)} ,then for every iteration the method
+ * {@link RankTraceSink#iterationStarted(int, double)} ,one call of {@link RankTraceSink#factorTerm(int, double, double, int)}
+ * or {@link RankTraceSink#spamFactorTerm(int)} for every WebPage that points to the focused WebPage ,and the method
+ * {@link RankTraceSink#iterationFinished(double)} ,and at the end once the method {@link RankTraceSink#calculationFinished()}.
+ * The methods are called by the thread which runs the calculation.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public interface RankTraceSink
+{
+
+	/**
+	 * This method is called before the first iteration with the focused WebPage.
+	 *
+	 * @param urlName the name of the URL of the focused WebPage
+	 * @param initialPageRank the initial page rank of the focused WebPage
+	 */
+	void focusedWebPage(String urlName,double initialPageRank);
+
+
+	/**
+	 * This method is called when the calculation of the page rank of the focused WebPage starts at an iteration.
+	 *
+	 * @param iteration the number of the iteration (starting from 0)
+	 * @param dampingFactor the d factor of the calculation
+	 */
+	void iterationStarted(int iteration,double dampingFactor);
+
+
+	/**
+	 * This method is called for a WebPage which points to the focused WebPage and affects its page rank.
+	 *
+	 * @param position the position of the WebPage among the WebPages which point to the focused WebPage (starting from 0)
+	 * @param siblingFactor the sibling factor applied to the page rank of the WebPage (1 if it isn't a sibling)
+	 * @param previousPageRank the page rank of the WebPage at the previous iteration
+	 * @param outDegree the number of the out-pointing links of the WebPage
+	 */
+	void factorTerm(int position,double siblingFactor,double previousPageRank,int outDegree);
+
+
+	/**
+	 * This method is called for a WebPage which points to the focused WebPage but it is a spam ,so it doesn't affect
+	 * the page rank of the focused WebPage.
+	 *
+	 * @param position the position of the WebPage among the WebPages which point to the focused WebPage (starting from 0)
+	 */
+	void spamFactorTerm(int position);
+
+
+	/**
+	 * This method is called when the calculation of the page rank of the focused WebPage at an iteration has finished.
+	 *
+	 * @param pageRank the new page rank of the focused WebPage
+	 */
+	void iterationFinished(double pageRank);
+
+
+	/**
+	 * This method is called when the whole calculation has finished.After this call all the progress that has been
+	 * given to the sink must have reached its destination.
+	 *
+	 * @param void
+	 * @return void
+	 */
+	void calculationFinished();
+
+}
@@ -0,0 +1,283 @@
+package pageRankImplementation;
+
+import java.util.Arrays;
+
+
+/**
+ * This class represents the update of the page ranks that an object of type {@link RankUpdatePublisher} gives to its
+ * subscribers after an iteration of a calculation :the summary of the iteration (residual and spams) and the new page
+ * ranks of the vertices whose page rank has changed enough since it was last given (a sparse batch of changes).The
+ * first update of every calculation that a subscriber receives is a snapshot with the page ranks of all the vertices ,
+ * and the last update of a calculation is final ,with all the remaining changes ,so a subscriber which applies the
+ * updates in order has the exact page ranks at the end.
+ * When a subscriber can't keep up ,its pending updates are merged into one update which covers many iterations
+ * (from {@link RankUpdate#getFirstIteration()} up to {@link RankUpdate#getIteration()}) with the latest page rank of
+ * every changed vertex.Objects of this class are immutable.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class RankUpdate
+{
+
+	private final long calculation;			// The number of the calculation of the publisher (starting from 1)
+
+	private final int firstIteration;		// The iterations completed at the first update that has been merged into this one
+
+	private final int iteration;			// The iterations completed at this update
+
+	private final int updates;				// The number of the updates that have been merged into this one
+
+	private final double residual;			// The residual of the last iteration
+
+	private final int spamPages;			// The number of the spams of the last iteration
+
+	private final boolean snapshot;			// Whether the update has the page ranks of all the vertices
+
+	private final boolean last;				// Whether the update is the final update of the calculation
+
+	private final int[] vertices;			// The ids of the changed vertices ,in increasing order
+
+	private final double[] pageRanks;		// The new page ranks of the changed vertices
+
+	private final String[] urls;			// The URL names of all the vertices of the graph ,by vertex id
+
+
+	/**
+	 * This constructor creates an object of type RankUpdate as indicated by the arguments.The arrays are used by the
+	 * new object and they must not be changed after the call.
+	 */
+	RankUpdate(long calculation,int firstIteration,int iteration,int updates,double residual,int spamPages,boolean snapshot,boolean last,
+			int[] vertices,double[] pageRanks,String[] urls)
+	{
+		this.calculation=calculation;
+		this.firstIteration=firstIteration;
+		this.iteration=iteration;
+		this.updates=updates;
+		this.residual=residual;
+		this.spamPages=spamPages;
+		this.snapshot=snapshot;
+		this.last=last;
+		this.vertices=vertices;
+		this.pageRanks=pageRanks;
+		this.urls=urls;
+	}
+
+
+	/**
+	 * This method returns the number of the calculation of the publisher that the update belongs to (starting from 1)
+	 *
+	 * @return the number of the calculation
+	 */
+	public long getCalculation()
+	{
+		return this.calculation;
+	}
+
+
+	/**
+	 * This method returns the number of the completed iterations at the first update that has been merged into this
+	 * update ,which is equal to {@link RankUpdate#getIteration()} if the update hasn't been merged
+	 *
+	 * @return the first iteration covered by the update
+	 */
+	public int getFirstIteration()
+	{
+		return this.firstIteration;
+	}
+
+
+	/**
+	 * This method returns the number of the completed iterations of the calculation at this update
+	 *
+	 * @return the iteration of the update
+	 */
+	public int getIteration()
+	{
+		return this.iteration;
+	}
+
+
+	/**
+	 * This method returns the number of the updates of the publisher that have been merged into this update
+	 *
+	 * @return the number of the merged updates
+	 */
+	public int numberOfMergedUpdates()
+	{
+		return this.updates;
+	}
+
+
+	/**
+	 * This method returns the residual (the sum of the absolute changes of the page ranks) of the last iteration
+	 *
+	 * @return the residual of the last iteration
+	 */
+	public double getResidual()
+	{
+		return this.residual;
+	}
+
+
+	/**
+	 * This method returns the number of the WebPages which have been treated as spams at the last iteration
+	 *
+	 * @return the number of the spams
+	 */
+	public int getSpamPages()
+	{
+		return this.spamPages;
+	}
+
+
+	/**
+	 * This method returns true if the update has the page ranks of all the vertices of the graph ,or false if it has
+	 * only the changed vertices
+	 *
+	 * @return true if the update is a snapshot or false otherwise
+	 */
+	public boolean isSnapshot()
+	{
+		return this.snapshot;
+	}
+
+
+	/**
+	 * This method returns true if the update is the final update of the calculation ,after which the page ranks of
+	 * the subscriber are the exact page ranks of the calculation
+	 *
+	 * @return true if the update is final or false otherwise
+	 */
+	public boolean isFinal()
+	{
+		return this.last;
+	}
+
+
+	/**
+	 * This method returns the number of the vertices of the graph of the calculation
+	 *
+	 * @return the number of the vertices of the graph
+	 */
+	public int numberOfGraphVertices()
+	{
+		return this.urls.length;
+	}
+
+
+	/**
+	 * This method returns the number of the vertices whose page ranks are in the update
+	 *
+	 * @return the number of the changed vertices
+	 */
+	public int size()
+	{
+		return this.vertices.length;
+	}
+
+
+	/**
+	 * This method returns the id of a changed vertex of the update
+	 *
+	 * @param index the position of the changed vertex in the update (from 0 up to size - 1)
+	 * @return the id of the vertex
+	 */
+	public int getVertex(int index)
+	{
+		return this.vertices[index];
+	}
+
+
+	/**
+	 * This method returns the name of the URL of a changed vertex of the update
+	 *
+	 * @param index the position of the changed vertex in the update (from 0 up to size - 1)
+	 * @return the name of the URL of the vertex
+	 */
+	public String getURLName(int index)
+	{
+		return this.urls[this.vertices[index]];
+	}
+
+
+	/**
+	 * This method returns the new page rank of a changed vertex of the update
+	 *
+	 * @param index the position of the changed vertex in the update (from 0 up to size - 1)
+	 * @return the new page rank of the vertex
+	 */
+	public double getPageRank(int index)
+	{
+		return this.pageRanks[index];
+	}
+
+
+	/**
+	 * This method merges two updates of the same calculation of a subscriber into one update ,with the latest page
+	 * rank of every vertex which has changed at any of them.If the later update is a snapshot it replaces the earlier
+	 * update.The updates of different calculations are never merged ,so the final update of a calculation is never
+	 * lost.
+	 *
+	 * @param earlier the earlier update
+	 * @param later the later update
+	 * @return an object of type RankUpdate which covers both updates
+	 * @throws IllegalArgumentException if the updates belong to different calculations
+	 */
+	static RankUpdate merge(RankUpdate earlier,RankUpdate later)
+	{
+		if(later.calculation!=earlier.calculation)
+			throw new IllegalArgumentException("Updates of different calculations were given at method merge");
+
+		if(later.snapshot)
+			return later;
+
+		int[] vertices=new int[earlier.vertices.length+later.vertices.length];
+		double[] pageRanks=new double[vertices.length];
+
+		int size=0;
+		int first=0;
+		int second=0;
+
+		// Both updates have their vertices in increasing order
+		while(first<earlier.vertices.length || second<later.vertices.length)
+		{
+			if(second==later.vertices.length || (first<earlier.vertices.length && earlier.vertices[first]<later.vertices[second]))
+			{
+				vertices[size]=earlier.vertices[first];
+				pageRanks[size++]=earlier.pageRanks[first++];
+			}
+			else
+			{
+				if(first<earlier.vertices.length && earlier.vertices[first]==later.vertices[second])
+					first++;
+
+				vertices[size]=later.vertices[second];
+				pageRanks[size++]=later.pageRanks[second++];
+			}
+		}
+
+		if(size<vertices.length)
+		{
+			vertices=Arrays.copyOf(vertices, size);
+			pageRanks=Arrays.copyOf(pageRanks, size);
+		}
+
+		return new RankUpdate(later.calculation,earlier.firstIteration,later.iteration,earlier.updates+later.updates,later.residual,later.spamPages,
+				earlier.snapshot,later.last,vertices,pageRanks,later.urls);
+	}
+
+
+	/**
+	 * Returns a String representation of the object of type RankUpdate which invokes the method
+	 *
+	 * @return a String representation of the object invoking the method
+	 */
+	public String toString()
+	{
+		return String.format("Calculation : %d  |  Iterations : %d-%d  |  Residual : %.6f  |  Spams : %d  |  Changed : %d/%d%s%s",
+				this.calculation, this.firstIteration, this.iteration, this.residual, this.spamPages, this.vertices.length,
+				this.urls.length, (this.snapshot)? "  |  Snapshot" : "", (this.last)? "  |  Final" : "");
+	}
+
+}
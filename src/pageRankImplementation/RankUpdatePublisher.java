@@ -0,0 +1,493 @@
+package pageRankImplementation;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * This class represents a publisher ({@link Flow.Publisher}) of the progress of the calculations of the page ranks of
+ * an object of type WebPageGraph ({@link WebPageGraph#setRankUpdatePublisher(RankUpdatePublisher)}) ,so the
+ * subscribers can use the page ranks while a long calculation still runs.After every iteration the publisher gives
+ * to every subscriber an object of type {@link RankUpdate} with the summary of the iteration and the vertices whose
+ * page rank has changed more than the change threshold since it was last given ,and at the end of the calculation a
+ * final update with all the remaining changes.
+ * The calculating thread never waits for a subscriber :it only puts the update in a bounded queue of every subscriber
+ * and the updates are delivered ,as many as the subscriber has requested ,by the executor of the publisher.When the
+ * queue of a subscriber is full the new update is merged into the last update of the queue (with the latest page rank
+ * of every changed vertex) ,so a slow subscriber receives fewer and bigger updates but never loses a change.The
+ * updates of different calculations are never merged :when the new update belongs to a new calculation ,the updates
+ * of the previous calculation at the end of the queue are merged into one and the new update is placed after it ,so
+ * the queue of a slow subscriber can exceed its capacity by one update for every calculation that it hasn't received.
+ * The methods for the calculations must be called by one thread at a time (the thread which runs the calculation).
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class RankUpdatePublisher implements Flow.Publisher<RankUpdate>, Closeable
+{
+
+	// The default change of the page rank of a vertex after which its page rank is given again
+	public static final double DEFAULT_CHANGE_THRESHOLD=0.0001;
+
+	// The default number of updates that the queue of a subscriber can hold before the updates are merged
+	public static final int DEFAULT_QUEUE_CAPACITY=16;
+
+	private final Executor executor;				// The executor which delivers the updates to the subscribers
+
+	private final double changeThreshold;			// The change after which the page rank of a vertex is given again
+
+	private final int queueCapacity;				// The number of updates that the queue of a subscriber can hold
+
+	private final CopyOnWriteArrayList<RankSubscription> subscriptions;	// The subscriptions which haven't been cancelled
+
+	private volatile boolean closed;				// Whether the publisher has been closed
+
+	private long calculation;						// The number of the current calculation
+
+	private String[] urls;							// The URL names of the vertices of the current calculation
+
+	private double[] publishedRanks;				// The page rank of every vertex that has been given last ,by vertex id
+
+
+	/**
+	 * This constructor creates an object of type RankUpdatePublisher which delivers the updates at the common pool of
+	 * threads ({@link ForkJoinPool#commonPool()}) ,with the default change threshold and capacity of the queues.
+	 */
+	public RankUpdatePublisher()
+	{
+		this(ForkJoinPool.commonPool(),DEFAULT_CHANGE_THRESHOLD,DEFAULT_QUEUE_CAPACITY);
+	}
+
+
+	/**
+	 * This constructor creates an object of type RankUpdatePublisher as indicated by the arguments.
+	 *
+	 * @param executor the executor which delivers the updates to the subscribers
+	 * @param changeThreshold the change of the page rank of a vertex after which its page rank is given again (0 for
+	 * every change)
+	 * @param queueCapacity the number of updates that the queue of a subscriber can hold before the updates are merged
+	 */
+	public RankUpdatePublisher(Executor executor,double changeThreshold,int queueCapacity)
+	{
+		if(executor==null)
+			throw new NullPointerException("Null executor was given at constructor of class RankUpdatePublisher");
+
+		if(changeThreshold<0 || Double.isNaN(changeThreshold))
+			throw new NegativeNumberException("Negative change threshold given at constructor of class RankUpdatePublisher");
+
+		if(queueCapacity<=0)
+		{
+			if(queueCapacity<0)
+				throw new NegativeNumberException("Negative capacity given at constructor of class RankUpdatePublisher");
+			else
+				throw new ZeroNumberException("Zero capacity given at constructor of class RankUpdatePublisher");
+		}
+
+		this.executor=executor;
+		this.changeThreshold=changeThreshold;
+		this.queueCapacity=queueCapacity;
+		this.subscriptions=new CopyOnWriteArrayList<RankSubscription>();
+	}
+
+
+	/**
+	 * This method returns the change of the page rank of a vertex after which its page rank is given again
+	 *
+	 * @return the change threshold of the publisher
+	 */
+	public double getChangeThreshold()
+	{
+		return this.changeThreshold;
+	}
+
+
+	/**
+	 * This method returns the number of the subscribers which haven't cancelled their subscription
+	 *
+	 * @return the number of the subscribers
+	 */
+	public int numberOfSubscribers()
+	{
+		return this.subscriptions.size();
+	}
+
+
+	/**
+	 * This method adds a subscriber to the publisher.The first update that the subscriber receives is a snapshot with
+	 * the page ranks of all the vertices.If the publisher has been closed the subscriber is completed at once.
+	 *
+	 * @param subscriber the new subscriber
+	 */
+	@Override
+	public void subscribe(Flow.Subscriber<? super RankUpdate> subscriber)
+	{
+		if(subscriber==null)
+			throw new NullPointerException("Null subscriber was given at method subscribe");
+
+		RankSubscription subscription=new RankSubscription(subscriber);
+
+		subscriber.onSubscribe(subscription);
+
+		if(this.closed)
+		{
+			subscription.complete();
+			return ;
+		}
+
+		this.subscriptions.add(subscription);
+
+		// A subscriber which arrives while the publisher is closing is completed by this call or by the method close
+		if(this.closed)
+			subscription.complete();
+	}
+
+
+	/**
+	 * This method completes all the subscribers after they receive their pending updates ,and the publisher doesn't
+	 * accept new subscribers.
+	 */
+	@Override
+	public void close()
+	{
+		this.closed=true;
+
+		for(RankSubscription subscription : this.subscriptions)
+			subscription.complete();
+	}
+
+
+	/**
+	 * This method is called before the first iteration of a calculation with the graph and the initial page ranks of
+	 * the calculation.
+	 *
+	 * @param graph the graph of the calculation (its vertex ids are the ids of the updates)
+	 * @param initialRanks the initial page ranks ,by vertex id
+	 */
+	void calculationStarted(CompactWebPageGraph graph,double[] initialRanks)
+	{
+		this.calculation++;
+		this.urls=graph.urls;
+
+		if(this.publishedRanks==null || this.publishedRanks.length!=initialRanks.length)
+			this.publishedRanks=new double[initialRanks.length];
+
+		System.arraycopy(initialRanks, 0, this.publishedRanks, 0, initialRanks.length);
+
+		// Every subscriber starts the calculation with a snapshot
+		for(RankSubscription subscription : this.subscriptions)
+			subscription.needsSnapshot=true;
+	}
+
+
+	/**
+	 * This method gives the update of an iteration to the subscribers
+	 *
+	 * @param iteration the number of the completed iterations
+	 * @param ranks the page ranks of the iteration ,by vertex id
+	 * @param residual the residual of the iteration
+	 * @param spamPages the number of the spams of the iteration
+	 */
+	void iterationCompleted(int iteration,double[] ranks,double residual,int spamPages)
+	{
+		publish(iteration, ranks, residual, spamPages, this.changeThreshold, false);
+	}
+
+
+	/**
+	 * This method gives the final update of a calculation ,with every page rank which differs from the page rank that
+	 * has been given last ,to the subscribers
+	 *
+	 * @param iterations the number of the completed iterations of the calculation
+	 * @param ranks the final page ranks ,by vertex id
+	 * @param residual the residual of the last iteration
+	 * @param spamPages the number of the spams of the last iteration
+	 */
+	void calculationFinished(int iterations,double[] ranks,double residual,int spamPages)
+	{
+		publish(iterations, ranks, residual, spamPages, 0, true);
+	}
+
+
+	/**
+	 * This method finds the vertices whose page rank has changed more than a threshold since it was last given and
+	 * puts the update in the queue of every subscriber (or a snapshot for the subscribers which need one).
+	 */
+	private void publish(int iteration,double[] ranks,double residual,int spamPages,double threshold,boolean last)
+	{
+		if(this.subscriptions.isEmpty())
+		{
+			// Without subscribers the page ranks that would have been given are kept ,so a new subscriber gets them
+			System.arraycopy(ranks, 0, this.publishedRanks, 0, ranks.length);
+			return ;
+		}
+
+		double[] publishedRanks=this.publishedRanks;
+
+		int vertices=ranks.length;
+		int changed=0;
+
+		for(int v=0;v<vertices;v++)
+			if(Math.abs(ranks[v]-publishedRanks[v])>threshold || (last && ranks[v]!=publishedRanks[v]))
+				changed++;
+
+		int[] changedVertices=new int[changed];
+		double[] changedRanks=new double[changed];
+
+		int position=0;
+
+		for(int v=0;v<vertices && position<changed;v++)
+		{
+			if(Math.abs(ranks[v]-publishedRanks[v])>threshold || (last && ranks[v]!=publishedRanks[v]))
+			{
+				changedVertices[position]=v;
+				changedRanks[position++]=ranks[v];
+				publishedRanks[v]=ranks[v];
+			}
+		}
+
+		RankUpdate update=new RankUpdate(this.calculation,iteration,iteration,1,residual,spamPages,false,last,
+				changedVertices,changedRanks,this.urls);
+
+		RankUpdate snapshot=null;
+
+		for(RankSubscription subscription : this.subscriptions)
+		{
+			if(subscription.needsSnapshot)
+			{
+				// The snapshot has the page ranks that the other subscribers have after this update
+				if(snapshot==null)
+				{
+					int[] allVertices=new int[vertices];
+
+					for(int v=0;v<vertices;v++)
+						allVertices[v]=v;
+
+					snapshot=new RankUpdate(this.calculation,iteration,iteration,1,residual,spamPages,true,last,
+							allVertices,publishedRanks.clone(),this.urls);
+				}
+
+				subscription.needsSnapshot=false;
+				subscription.offer(snapshot);
+			}
+			else
+				subscription.offer(update);
+		}
+	}
+
+
+	/**
+	 * This class represents the subscription of a subscriber with its queue of updates and its demand.The updates are
+	 * delivered by at most one task of the executor at a time ,so the subscriber is called by one thread at a time.
+	 */
+	private final class RankSubscription implements Flow.Subscription
+	{
+
+		private final Flow.Subscriber<? super RankUpdate> subscriber;	// The subscriber of the subscription
+
+		private final ArrayDeque<RankUpdate> queue;		// The updates which haven't been delivered (guarded by this)
+
+		private long demand;							// The number of updates that have been requested and not delivered (guarded by this)
+
+		private boolean completing;						// Whether the subscriber must be completed after the queue (guarded by this)
+
+		private Throwable error;						// The error that must be given to the subscriber ,or null (guarded by this)
+
+		private volatile boolean cancelled;				// Whether the subscription has been cancelled or completed
+
+		private volatile boolean needsSnapshot;			// Whether the next update of the subscriber must be a snapshot
+
+		private final AtomicInteger work;				// The number of the requests to deliver since the last delivery has started
+
+
+		private RankSubscription(Flow.Subscriber<? super RankUpdate> subscriber)
+		{
+			this.subscriber=subscriber;
+			this.queue=new ArrayDeque<RankUpdate>();
+			this.needsSnapshot=true;
+			this.work=new AtomicInteger();
+		}
+
+
+		/**
+		 * This method puts an update in the queue ,or merges it into the last update of the queue if the queue is
+		 * full and the last update belongs to the same calculation ,and never waits for the subscriber.
+		 *
+		 * @param update the new update
+		 */
+		private void offer(RankUpdate update)
+		{
+			synchronized(this)
+			{
+				if(this.cancelled || this.completing)
+					return ;
+
+				if(this.queue.size()<RankUpdatePublisher.this.queueCapacity)
+					this.queue.addLast(update);
+				else
+				{
+					RankUpdate last=this.queue.pollLast();
+
+					if(last.getCalculation()==update.getCalculation())
+						this.queue.addLast(RankUpdate.merge(last, update));
+					else
+					{
+						// The updates of the previous calculation are kept (up to its final update) ,and the last two
+						// updates are merged if they belong to the same calculation ,to make space for the new update
+						RankUpdate previous=this.queue.peekLast();
+
+						if(previous!=null && previous.getCalculation()==last.getCalculation())
+							last=RankUpdate.merge(this.queue.pollLast(), last);
+
+						this.queue.addLast(last);
+						this.queue.addLast(update);
+					}
+				}
+			}
+
+			schedule();
+		}
+
+
+		@Override
+		public void request(long n)
+		{
+			synchronized(this)
+			{
+				if(n<=0)
+				{
+					// The error is given by the delivery ,so the subscriber isn't called by two threads at a time
+					if(this.error==null)
+						this.error=new IllegalArgumentException("Non-positive number of updates "+n+" was requested");
+				}
+				else
+					this.demand=(this.demand+n<0)? Long.MAX_VALUE : this.demand+n;
+			}
+
+			schedule();
+		}
+
+
+		@Override
+		public void cancel()
+		{
+			this.cancelled=true;
+
+			synchronized(this)
+			{
+				this.queue.clear();
+			}
+
+			RankUpdatePublisher.this.subscriptions.remove(this);
+		}
+
+
+		/**
+		 * This method completes the subscriber after it receives the updates of the queue
+		 */
+		private void complete()
+		{
+			synchronized(this)
+			{
+				this.completing=true;
+			}
+
+			schedule();
+		}
+
+
+		/**
+		 * This method starts a delivery at the executor ,unless a delivery is running ,which then runs once more.
+		 */
+		private void schedule()
+		{
+			if(this.work.getAndIncrement()!=0)
+				return ;
+
+			try
+			{
+				RankUpdatePublisher.this.executor.execute(this::deliver);
+			}
+			catch(RejectedExecutionException e)
+			{
+				cancel();
+				this.subscriber.onError(e);
+			}
+		}
+
+
+		/**
+		 * This method gives the requested updates of the queue to the subscriber ,and completes it when the queue is
+		 * empty and the publisher has been closed.
+		 */
+		private void deliver()
+		{
+			int missed=this.work.get();
+
+			while(true)
+			{
+				while(!this.cancelled)
+				{
+					RankUpdate update;
+
+					synchronized(this)
+					{
+						if(this.error!=null || this.demand==0 || this.queue.isEmpty())
+							break;
+
+						update=this.queue.pollFirst();
+
+						if(this.demand!=Long.MAX_VALUE)
+							this.demand--;
+					}
+
+					try
+					{
+						this.subscriber.onNext(update);
+					}
+					catch(Throwable e)
+					{
+						// A subscriber which fails is removed from the publisher
+						cancel();
+						return ;
+					}
+				}
+
+				Throwable error;
+				boolean completeNow;
+
+				synchronized(this)
+				{
+					error=(this.cancelled)? null : this.error;
+					completeNow=this.completing && this.queue.isEmpty() && !this.cancelled;
+				}
+
+				if(error!=null)
+				{
+					cancel();
+					this.subscriber.onError(error);
+					return ;
+				}
+
+				if(completeNow)
+				{
+					cancel();
+					this.subscriber.onComplete();
+					return ;
+				}
+
+				missed=this.work.addAndGet(-missed);
+
+				if(missed==0)
+					return ;
+			}
+		}
+
+	}
+
+}
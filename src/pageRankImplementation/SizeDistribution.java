@@ -0,0 +1,169 @@
+package pageRankImplementation;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the distribution of a non-negative integer size over some items ,for example the in-degrees
+ * or the out-degrees of the vertices of a graph or the number of the vertices of every domain.The number of the items
+ * of every size is kept ,so the percentiles are exact.The objects of this class are immutable.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class SizeDistribution
+{
+
+	private final long[] counts;		// The number of the items of every size ,by size (up to the maximum size)
+
+	private final long items;			// The number of the items
+
+	private final long total;			// The sum of the sizes of all the items
+
+
+	/**
+	 * This constructor creates an object of type SizeDistribution with the number of the items of every size given as
+	 * argument.The array is used by the new object and it must not be changed after the call.
+	 *
+	 * @param counts the number of the items of every size ,by size
+	 */
+	SizeDistribution(long[] counts)
+	{
+		int length=counts.length;
+
+		// The sizes after the maximum size aren't kept
+		while(length>1 && counts[length-1]==0)
+			length--;
+
+		long items=0;
+		long total=0;
+
+		for(int size=0;size<length;size++)
+		{
+			items+=counts[size];
+			total+=counts[size]*size;
+		}
+
+		this.counts=(length==counts.length)? counts : Arrays.copyOf(counts, Math.max(length, 1));
+		this.items=items;
+		this.total=total;
+	}
+
+
+	/**
+	 * This method returns the number of the items of the distribution
+	 *
+	 * @return the number of the items
+	 */
+	public long numberOfItems()
+	{
+		return this.items;
+	}
+
+
+	/**
+	 * This method returns the sum of the sizes of all the items
+	 *
+	 * @return the total size
+	 */
+	public long getTotal()
+	{
+		return this.total;
+	}
+
+
+	/**
+	 * This method returns the greatest size of an item ,or 0 if there aren't items
+	 *
+	 * @return the maximum size
+	 */
+	public int getMaximum()
+	{
+		return (this.items==0)? 0 : this.counts.length-1;
+	}
+
+
+	/**
+	 * This method returns the mean size of the items ,or 0 if there aren't items
+	 *
+	 * @return the mean size
+	 */
+	public double getMean()
+	{
+		return (this.items==0)? 0 : (double)this.total/this.items;
+	}
+
+
+	/**
+	 * This method returns the number of the items with the size given as argument
+	 *
+	 * @param size a size
+	 * @return the number of the items with the size
+	 */
+	public long getCount(int size)
+	{
+		return (size<0 || size>=this.counts.length)? 0 : this.counts[size];
+	}
+
+
+	/**
+	 * This method returns the smallest size such that at least the part of the items given as argument have a size
+	 * less or equal than it (for example 0.5 for the median or 0.99 for the 99th percentile) ,or 0 if there aren't
+	 * items.
+	 *
+	 * @param fraction a number from 0 up to 1
+	 * @return the percentile of the sizes
+	 */
+	public int getPercentile(double fraction)
+	{
+		if(fraction<0 || fraction>1 || Double.isNaN(fraction))
+			throw new IllegalArgumentException("Invalid fraction "+fraction+" was given at method getPercentile");
+
+		if(this.items==0)
+			return 0;
+
+		long needed=Math.max(1, (long)Math.ceil(fraction*this.items));
+		long cumulative=0;
+
+		for(int size=0;size<this.counts.length;size++)
+		{
+			cumulative+=this.counts[size];
+
+			if(cumulative>=needed)
+				return size;
+		}
+
+		return this.counts.length-1;
+	}
+
+
+	/**
+	 * This method returns the histogram of the sizes in buckets of powers of 2 :the first bucket has the items of size
+	 * 0 and bucket k (k greater than 0) has the items with sizes from 2^(k-1) up to 2^k - 1.
+	 *
+	 * @return a new array with the number of the items of every bucket
+	 */
+	public long[] getHistogram()
+	{
+		int maximum=getMaximum();
+
+		long[] histogram=new long[(maximum==0)? 1 : 33-Integer.numberOfLeadingZeros(maximum)];
+
+		for(int size=0;size<this.counts.length;size++)
+			histogram[(size==0)? 0 : 32-Integer.numberOfLeadingZeros(size)]+=this.counts[size];
+
+		return histogram;
+	}
+
+
+	/**
+	 * Returns a String representation of the object of type SizeDistribution which invokes the method
+	 *
+	 * @return a String representation of the object invoking the method
+	 */
+	public String toString()
+	{
+		return String.format("Mean : %.2f  |  Median : %d  |  90%% : %d  |  99%% : %d  |  99.9%% : %d  |  Maximum : %d",
+				getMean(), getPercentile(0.5), getPercentile(0.9), getPercentile(0.99), getPercentile(0.999), getMaximum());
+	}
+
+}
@@ -0,0 +1,351 @@
+package pageRankImplementation;
+
+import java.util.Arrays;
+
+
+/**
+ * This class calculates the iterations of the calculations of page ranks with a lower bound for spams ,reading only
+ * the in-pointing links whose sources aren't spams (the active links).The spam vertices don't contribute to the page
+ * ranks of the vertices they point to ,so their links are removed from a compacted copy of the in-pointing links and
+ * the iterations read only the links that contribute.The set of the spam vertices is found at the start of every
+ * iteration and compared with the set of the last compaction :
+ * 1. If a vertex which was a spam at the last compaction isn't a spam anymore ,its links are missing ,so the iteration
+ * reads all the links of the graph and compacts them again at the same pass.
+ * 2. If only new spams have appeared ,their links are still in the compacted links and the iteration skips them with
+ * a test ,until their links are more than {@link SpamPrunedRankIteration#REBUILD_FRACTION} of the compacted links
+ * and the iteration compacts the compacted links again (in place).
+ * 3. Otherwise the iteration reads the compacted links without any test.
+ * The arrays of the compacted links are allocated once and reused by all the calculations of an engine.The links are
+ * read in the same order as by {@link PageRankEngine} ,so the page ranks are exactly the same.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+final class SpamPrunedRankIteration
+{
+
+	// The part of the compacted links that must come from new spams before the compacted links are compacted again
+	static final double REBUILD_FRACTION=0.1;
+
+	private final CompactWebPageGraph graph;		// The graph of the calculations
+
+	private final boolean[] spams;					// Whether every vertex is a spam at the current iteration ,by vertex id
+
+	private final boolean[] compactedSpams;			// Whether every vertex was a spam at the last compaction ,by vertex id
+
+	private int[] prunedInLinkOffsets;				// The start of the compacted in-pointing links of every vertex ,or null before the first use
+
+	private int[] prunedInLinkSources;				// The sources of the compacted in-pointing links ,or null before the first use
+
+	private int[] activeInLinkOffsets;				// The start of the active in-pointing links of every vertex
+
+	private int[] activeInLinkSources;				// The sources of the active in-pointing links
+
+	private long staleEdges;						// The active links whose sources have become spams since the last compaction
+
+	private long edgesProcessed;					// The links processed by the last iteration
+
+	private int rebuilds;							// The number of the iterations that have compacted the links
+
+
+	/**
+	 * This constructor creates an object of type SpamPrunedRankIteration for the calculations on the graph given as
+	 * argument.
+	 *
+	 * @param graph the graph of the calculations
+	 */
+	SpamPrunedRankIteration(CompactWebPageGraph graph)
+	{
+		this.graph=graph;
+		this.spams=new boolean[graph.numberOfVertices()];
+		this.compactedSpams=new boolean[graph.numberOfVertices()];
+
+		reset();
+	}
+
+
+	/**
+	 * This method prepares the object for a new calculation :no vertex is a spam and all the links are active
+	 */
+	void reset()
+	{
+		Arrays.fill(this.spams, false);
+		Arrays.fill(this.compactedSpams, false);
+
+		this.activeInLinkOffsets=this.graph.inLinkOffsets;
+		this.activeInLinkSources=this.graph.inLinkSources;
+		this.staleEdges=0;
+		this.edgesProcessed=0;
+		this.rebuilds=0;
+	}
+
+
+	/**
+	 * This method returns the number of the links processed by the last iteration
+	 *
+	 * @return the processed links
+	 */
+	long getEdgesProcessed()
+	{
+		return this.edgesProcessed;
+	}
+
+
+	/**
+	 * This method returns the number of the iterations of the current calculation which have found a different set of
+	 * spam vertices and have written the compacted links again
+	 *
+	 * @return the number of the rebuilds of the active links
+	 */
+	int getRebuilds()
+	{
+		return this.rebuilds;
+	}
+
+
+	/**
+	 * This method returns the number of the active links ,whose sources weren't spams at the last iteration
+	 *
+	 * @return the number of the active links
+	 */
+	int numberOfActiveEdges()
+	{
+		return this.activeInLinkOffsets[this.spams.length];
+	}
+
+
+	/**
+	 * This method calculates one iteration of the page ranks with the same formula as {@link PageRankEngine}.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param ranks the page ranks of the previous iteration ,by vertex id
+	 * @param newRanks the array where the page ranks of the current iteration will be placed ,by vertex id
+	 * @return the number of the vertices which have been treated as spams at this iteration
+	 */
+	int calculateIteration(PageRankParameters parameters,double[] ranks,double[] newRanks)
+	{
+		boolean[] spams=this.spams;
+		boolean[] compactedSpams=this.compactedSpams;
+		int[] outLinkOffsets=this.graph.outLinkOffsets;
+
+		double lowerBound=parameters.getLowerBound();
+
+		int vertices=ranks.length;
+		int numberOfSpams=0;
+		boolean missingLinks=false;
+
+		for(int v=0;v<vertices;v++)
+		{
+			boolean spam=ranks[v]<lowerBound;
+
+			if(spam)
+				numberOfSpams++;
+
+			if(spam!=spams[v])
+			{
+				spams[v]=spam;
+
+				if(compactedSpams[v])
+					missingLinks|=!spam;
+				else if(spam)
+					this.staleEdges+=outLinkOffsets[v+1]-outLinkOffsets[v];
+				else
+					this.staleEdges-=outLinkOffsets[v+1]-outLinkOffsets[v];
+			}
+		}
+
+		if(missingLinks)
+		{
+			if(numberOfSpams==0)
+			{
+				// Without spams all the links are active
+				this.activeInLinkOffsets=this.graph.inLinkOffsets;
+				this.activeInLinkSources=this.graph.inLinkSources;
+				this.staleEdges=0;
+				this.rebuilds++;
+
+				Arrays.fill(compactedSpams, false);
+				calculateActiveLinks(parameters, ranks, newRanks);
+			}
+			else
+				calculateAndCompactLinks(parameters, ranks, newRanks, this.graph.inLinkOffsets, this.graph.inLinkSources);
+		}
+		else if(this.staleEdges>REBUILD_FRACTION*numberOfActiveEdges())
+			calculateAndCompactLinks(parameters, ranks, newRanks, this.activeInLinkOffsets, this.activeInLinkSources);
+		else if(this.staleEdges>0)
+			calculateActiveLinksWithSpams(parameters, ranks, newRanks);
+		else
+			calculateActiveLinks(parameters, ranks, newRanks);
+
+		return numberOfSpams;
+	}
+
+
+	/**
+	 * This method calculates one iteration with the active links ,without testing their sources
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param ranks the page ranks of the previous iteration ,by vertex id
+	 * @param newRanks the array where the page ranks of the current iteration will be placed ,by vertex id
+	 */
+	private void calculateActiveLinks(PageRankParameters parameters,double[] ranks,double[] newRanks)
+	{
+		int[] activeInLinkOffsets=this.activeInLinkOffsets;
+		int[] activeInLinkSources=this.activeInLinkSources;
+		int[] outLinkOffsets=this.graph.outLinkOffsets;
+		int[] domains=this.graph.domains;
+
+		double siblingFactor=parameters.getSiblingFactor();
+		double dampingFactor=parameters.getDampingFactor();
+
+		int vertices=ranks.length;
+
+		for(int v=0;v<vertices;v++)
+		{
+			double calculatedPageRank=0;
+
+			int domain=domains[v];
+
+			for(int e=activeInLinkOffsets[v];e<activeInLinkOffsets[v+1];e++)
+			{
+				int source=activeInLinkSources[e];
+
+				double S=(domains[source]==domain)? siblingFactor : 1;
+
+				calculatedPageRank+=S*ranks[source]/(outLinkOffsets[source+1]-outLinkOffsets[source]);
+			}
+
+			newRanks[v]=calculatedPageRank*dampingFactor+(1-dampingFactor);
+		}
+
+		this.edgesProcessed=activeInLinkOffsets[vertices];
+	}
+
+
+	/**
+	 * This method calculates one iteration with the active links ,skipping the sources which have become spams since
+	 * the last compaction
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param ranks the page ranks of the previous iteration ,by vertex id
+	 * @param newRanks the array where the page ranks of the current iteration will be placed ,by vertex id
+	 */
+	private void calculateActiveLinksWithSpams(PageRankParameters parameters,double[] ranks,double[] newRanks)
+	{
+		int[] activeInLinkOffsets=this.activeInLinkOffsets;
+		int[] activeInLinkSources=this.activeInLinkSources;
+		int[] outLinkOffsets=this.graph.outLinkOffsets;
+		int[] domains=this.graph.domains;
+
+		double siblingFactor=parameters.getSiblingFactor();
+		double lowerBound=parameters.getLowerBound();
+		double dampingFactor=parameters.getDampingFactor();
+
+		int vertices=ranks.length;
+
+		for(int v=0;v<vertices;v++)
+		{
+			double calculatedPageRank=0;
+
+			int domain=domains[v];
+
+			for(int e=activeInLinkOffsets[v];e<activeInLinkOffsets[v+1];e++)
+			{
+				int source=activeInLinkSources[e];
+
+				// The spam WebPages don't affect the page rank of the current vertex
+				if(ranks[source]<lowerBound)
+					continue;
+
+				double S=(domains[source]==domain)? siblingFactor : 1;
+
+				calculatedPageRank+=S*ranks[source]/(outLinkOffsets[source+1]-outLinkOffsets[source]);
+			}
+
+			newRanks[v]=calculatedPageRank*dampingFactor+(1-dampingFactor);
+		}
+
+		this.edgesProcessed=activeInLinkOffsets[vertices];
+	}
+
+
+	/**
+	 * This method calculates one iteration with the links given as argument (all the links of the graph or the active
+	 * links) and writes the links whose sources aren't spams to the compacted links ,which become the active links.
+	 * The compacted links may be the links given as argument ,because every link is written at a position less or
+	 * equal than the position it is read from.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param ranks the page ranks of the previous iteration ,by vertex id
+	 * @param newRanks the array where the page ranks of the current iteration will be placed ,by vertex id
+	 * @param inLinkOffsets the start of the in-pointing links of every vertex which are read
+	 * @param inLinkSources the sources of the in-pointing links which are read
+	 */
+	private void calculateAndCompactLinks(PageRankParameters parameters,double[] ranks,double[] newRanks,
+			int[] inLinkOffsets,int[] inLinkSources)
+	{
+		int vertices=ranks.length;
+
+		if(this.prunedInLinkOffsets==null)
+		{
+			this.prunedInLinkOffsets=new int[vertices+1];
+			this.prunedInLinkSources=new int[this.graph.numberOfEdges()];
+		}
+
+		boolean[] spams=this.spams;
+		int[] prunedInLinkOffsets=this.prunedInLinkOffsets;
+		int[] prunedInLinkSources=this.prunedInLinkSources;
+		int[] outLinkOffsets=this.graph.outLinkOffsets;
+		int[] domains=this.graph.domains;
+
+		double siblingFactor=parameters.getSiblingFactor();
+		double lowerBound=parameters.getLowerBound();
+		double dampingFactor=parameters.getDampingFactor();
+
+		int edgesRead=inLinkOffsets[vertices];
+		int position=0;
+		int start=inLinkOffsets[0];
+
+		for(int v=0;v<vertices;v++)
+		{
+			// The end is read before the offset of the next vertex is written
+			int end=inLinkOffsets[v+1];
+
+			prunedInLinkOffsets[v]=position;
+
+			double calculatedPageRank=0;
+
+			int domain=domains[v];
+
+			for(int e=start;e<end;e++)
+			{
+				int source=inLinkSources[e];
+
+				// The spam WebPages don't affect the page rank of the current vertex
+				if(ranks[source]<lowerBound)
+					continue;
+
+				prunedInLinkSources[position++]=source;
+
+				double S=(domains[source]==domain)? siblingFactor : 1;
+
+				calculatedPageRank+=S*ranks[source]/(outLinkOffsets[source+1]-outLinkOffsets[source]);
+			}
+
+			newRanks[v]=calculatedPageRank*dampingFactor+(1-dampingFactor);
+
+			start=end;
+		}
+
+		prunedInLinkOffsets[vertices]=position;
+
+		System.arraycopy(spams, 0, this.compactedSpams, 0, vertices);
+
+		this.activeInLinkOffsets=prunedInLinkOffsets;
+		this.activeInLinkSources=prunedInLinkSources;
+		this.staleEdges=0;
+		this.edgesProcessed=edgesRead;
+		this.rebuilds++;
+	}
+
+}
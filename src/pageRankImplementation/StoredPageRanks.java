@@ -0,0 +1,226 @@
+package pageRankImplementation;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * This class represents the page ranks of a previous calculation ,stored by URL name ,so they can be used as the
+ * initial page ranks (warm start) of a new calculation on a graph which may have changed since then.The page ranks
+ * can be taken from an object of type PageRankResult or from a rank file with tab separated values ,where every line
+ * is "url pageRank" or "parameterSet url pageRank" (the output format of {@link PageRankBatchRunner}).The objects of
+ * this class are immutable.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class StoredPageRanks
+{
+
+	private final HashMap<String,Double> pageRanks;		// The stored page ranks by URL name
+
+
+	/**
+	 * This constructor creates an object of type StoredPageRanks with the page ranks given as argument.
+	 *
+	 * @param pageRanks the page ranks by URL name
+	 */
+	private StoredPageRanks(HashMap<String,Double> pageRanks)
+	{
+		this.pageRanks=pageRanks;
+	}
+
+
+	/**
+	 * This method creates an object of type StoredPageRanks with the page ranks of a finished calculation
+	 *
+	 * @param result the result of a calculation of page ranks
+	 * @return an object of type StoredPageRanks with the page ranks of the result
+	 */
+	public static StoredPageRanks fromResult(PageRankResult result)
+	{
+		if(result==null)
+			throw new NullPointerException("Null result was given at method fromResult");
+
+		CompactWebPageGraph graph=result.getGraph();
+
+		HashMap<String,Double> pageRanks=new HashMap<String,Double>(Math.max(16, graph.numberOfVertices()*2));
+
+		for(int v=0;v<graph.numberOfVertices();v++)
+			pageRanks.put(graph.getNameOfURL(v), result.getPageRank(v));
+
+		return new StoredPageRanks(pageRanks);
+	}
+
+
+	/**
+	 * This method reads the page ranks of a rank file.The lines which don't end with a number (like a header line)
+	 * are skipped ,and when a URL name appears in many lines (many parameter sets) only its first line is used.
+	 *
+	 * @param fileName the name of the rank file
+	 * @return an object of type StoredPageRanks with the page ranks of the file
+	 * @throws IOException This Exception is thrown if the file can't be read
+	 */
+	public static StoredPageRanks readRankFile(String fileName) throws IOException
+	{
+		if(fileName==null)
+			throw new NullPointerException("Null file name was given at method readRankFile");
+
+		HashMap<String,Double> pageRanks=new HashMap<String,Double>();
+
+		BufferedReader reader=new BufferedReader(new FileReader(fileName),1<<16);
+
+		try
+		{
+			String line;
+
+			while((line=reader.readLine())!=null)
+			{
+				String[] fields=line.split("\t");
+
+				if(fields.length<2 || fields.length>3)
+					continue;
+
+				double pageRank;
+
+				try
+				{
+					pageRank=Double.parseDouble(fields[fields.length-1].trim());
+				}
+				catch(NumberFormatException e)
+				{
+					continue;
+				}
+
+				pageRanks.putIfAbsent(fields[fields.length-2].trim(), pageRank);
+			}
+		}
+		finally
+		{
+			reader.close();
+		}
+
+		return new StoredPageRanks(pageRanks);
+	}
+
+
+	/**
+	 * This method writes the stored page ranks to a rank file ,with one line "url pageRank" for every WebPage.
+	 *
+	 * @param fileName the name of the rank file
+	 * @throws IOException This Exception is thrown if the file can't be written
+	 */
+	public void writeRankFile(String fileName) throws IOException
+	{
+		if(fileName==null)
+			throw new NullPointerException("Null file name was given at method writeRankFile");
+
+		PrintWriter writer=new PrintWriter(new BufferedWriter(new FileWriter(fileName),1<<16));
+
+		for(Map.Entry<String,Double> entry : this.pageRanks.entrySet())
+		{
+			writer.print(entry.getKey());
+			writer.print('\t');
+			writer.println(entry.getValue());
+		}
+
+		writer.close();
+
+		if(writer.checkError())
+			throw new IOException("The rank file "+fileName+" couldn't be written");
+	}
+
+
+	/**
+	 * This method returns the number of the stored page ranks
+	 *
+	 * @return the number of the stored page ranks
+	 */
+	public int size()
+	{
+		return this.pageRanks.size();
+	}
+
+
+	/**
+	 * This method returns the stored page rank of the WebPage with the URL name given as argument ,or -1 if it isn't stored.
+	 *
+	 * @param nameURL the name of a URL
+	 * @return the stored page rank or -1
+	 */
+	public double getPageRank(String nameURL)
+	{
+		Double pageRank=this.pageRanks.get(nameURL);
+
+		return (pageRank==null)? -1 : pageRank;
+	}
+
+
+	/**
+	 * This method maps the stored page ranks to the vertex ids of the graph given as argument ,so the array can be
+	 * given as the initial page ranks of a calculation on the graph.A vertex without a stored page rank (a new WebPage)
+	 * takes the average stored page rank of the other vertices of its domain ,or ,if no vertex of its domain has a
+	 * stored page rank ,the average stored page rank of all the mapped vertices ,or {@link WebPageGraph#INITIAL_PAGE_RANK}
+	 * if nothing could be mapped.
+	 *
+	 * @param graph the graph of the new calculation
+	 * @return a new array with the initial page ranks ,by vertex id
+	 */
+	public double[] mapToGraph(CompactWebPageGraph graph)
+	{
+		if(graph==null)
+			throw new NullPointerException("Null graph was given at method mapToGraph");
+
+		int vertices=graph.numberOfVertices();
+
+		double[] initialRanks=new double[vertices];
+
+		boolean[] missing=new boolean[vertices];
+
+		double[] domainSums=new double[graph.numberOfDomains()];
+		int[] domainCounts=new int[graph.numberOfDomains()];
+
+		double sum=0;
+		int count=0;
+
+		for(int v=0;v<vertices;v++)
+		{
+			Double pageRank=this.pageRanks.get(graph.getNameOfURL(v));
+
+			if(pageRank==null)
+			{
+				missing[v]=true;
+				continue;
+			}
+
+			initialRanks[v]=pageRank;
+
+			domainSums[graph.domains[v]]+=pageRank;
+			domainCounts[graph.domains[v]]++;
+
+			sum+=pageRank;
+			count++;
+		}
+
+		double average=(count==0)? WebPageGraph.INITIAL_PAGE_RANK : sum/count;
+
+		for(int v=0;v<vertices;v++)
+		{
+			if(!missing[v])
+				continue;
+
+			int domain=graph.domains[v];
+
+			initialRanks[v]=(domainCounts[domain]==0)? average : domainSums[domain]/domainCounts[domain];
+		}
+
+		return initialRanks;
+	}
+
+}
@@ -0,0 +1,318 @@
+package pageRankImplementation;
+
+
+/**
+ * This class represents the strongly connected components of an object of type CompactWebPageGraph ,found with the
+ * algorithm of Tarjan without recursion (with an array as the stack of the calls) ,so it doesn't overflow the stack of
+ * the thread for any graph.The components are numbered in topological order of the graph of the components
+ * (condensation) :every link between two different components points from a component to a component with a greater
+ * number ,so when the components are processed in order of number ,the page ranks of all the WebPages that point to a
+ * component are already known.Every component has also a level :the components without links from other components
+ * have level 0 and every other component has the level after the greatest level of the components that point to it ,
+ * so the components of the same level don't point to each other.The objects of this class are immutable.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class StronglyConnectedComponents
+{
+
+	private final int[] components;				// The component of every vertex ,by vertex id
+
+	private final int[] componentOffsets;		// The vertices of component c are at componentVertices[componentOffsets[c]..componentOffsets[c+1]-1]
+
+	private final int[] componentVertices;		// The vertex ids by component ,in increasing order of vertex id in a component
+
+	private final int[] levels;					// The level of every component in the graph of the components
+
+	private final int numberOfLevels;			// The number of the levels of the components
+
+	private final int largestComponent;			// The number of the component with the most vertices
+
+
+	/**
+	 * This constructor finds the strongly connected components of the graph given as argument ,their topological
+	 * order and their levels ,in O(vertices + edges) time.
+	 *
+	 * @param graph an object of type CompactWebPageGraph
+	 */
+	public StronglyConnectedComponents(CompactWebPageGraph graph)
+	{
+		if(graph==null)
+			throw new NullPointerException("Null graph was given at constructor of class StronglyConnectedComponents");
+
+		int vertices=graph.numberOfVertices();
+
+		int[] outLinkOffsets=graph.outLinkOffsets;
+		int[] outLinkTargets=graph.outLinkTargets;
+
+		int[] components=new int[vertices];
+		int[] indexes=new int[vertices];		// The order of discovery of every vertex plus 1 ,or 0 if it hasn't been found
+		int[] lowLinks=new int[vertices];		// The smallest discovery order of a vertex of the stack that the vertex reaches
+		boolean[] onStack=new boolean[vertices];
+
+		int[] stack=new int[vertices];			// The vertices which haven't been placed in a component yet
+		int[] callVertices=new int[vertices];	// The vertex of every call of the depth first search
+		int[] callEdges=new int[vertices];		// The next out-pointing link of every call of the depth first search
+
+		int stackSize=0;
+		int calls=0;
+		int discovered=0;
+		int found=0;							// The number of the components found ,in reverse topological order
+
+		for(int root=0;root<vertices;root++)
+		{
+			if(indexes[root]!=0)
+				continue;
+
+			indexes[root]=lowLinks[root]=++discovered;
+			stack[stackSize++]=root;
+			onStack[root]=true;
+			callVertices[calls]=root;
+			callEdges[calls++]=outLinkOffsets[root];
+
+			while(calls>0)
+			{
+				int v=callVertices[calls-1];
+				int e=callEdges[calls-1];
+
+				if(e<outLinkOffsets[v+1])
+				{
+					callEdges[calls-1]++;
+
+					int w=outLinkTargets[e];
+
+					if(indexes[w]==0)
+					{
+						indexes[w]=lowLinks[w]=++discovered;
+						stack[stackSize++]=w;
+						onStack[w]=true;
+						callVertices[calls]=w;
+						callEdges[calls++]=outLinkOffsets[w];
+					}
+					else if(onStack[w] && indexes[w]<lowLinks[v])
+						lowLinks[v]=indexes[w];
+
+					continue;
+				}
+
+				calls--;
+
+				// The vertex is the root of a component ,which is the part of the stack from the vertex to the top
+				if(lowLinks[v]==indexes[v])
+				{
+					int w;
+
+					do
+					{
+						w=stack[--stackSize];
+						onStack[w]=false;
+						components[w]=found;
+					}
+					while(w!=v);
+
+					found++;
+				}
+
+				if(calls>0)
+				{
+					int caller=callVertices[calls-1];
+
+					if(lowLinks[v]<lowLinks[caller])
+						lowLinks[caller]=lowLinks[v];
+				}
+			}
+		}
+
+		// A component is found after all the components that it points to ,so the order is reversed
+		int[] componentOffsets=new int[found+1];
+
+		for(int v=0;v<vertices;v++)
+		{
+			components[v]=found-1-components[v];
+			componentOffsets[components[v]+1]++;
+		}
+
+		// The largest component is found from the sizes ,before the sizes become offsets
+		int largestComponent=0;
+
+		for(int c=1;c<found;c++)
+			if(componentOffsets[c+1]>componentOffsets[largestComponent+1])
+				largestComponent=c;
+
+		for(int c=0;c<found;c++)
+			componentOffsets[c+1]+=componentOffsets[c];
+
+		int[] componentVertices=new int[vertices];
+		int[] nextPosition=new int[found];
+
+		for(int v=0;v<vertices;v++)
+			componentVertices[componentOffsets[components[v]]+nextPosition[components[v]]++]=v;
+
+		// The links between components point to greater numbers ,so the levels are found in order of number
+		int[] levels=new int[found];
+		int numberOfLevels=(found>0)? 1 : 0;
+
+		for(int c=0;c<found;c++)
+		{
+			for(int position=componentOffsets[c];position<componentOffsets[c+1];position++)
+			{
+				int v=componentVertices[position];
+
+				for(int e=outLinkOffsets[v];e<outLinkOffsets[v+1];e++)
+				{
+					int target=components[outLinkTargets[e]];
+
+					if(target!=c && levels[target]<=levels[c])
+					{
+						levels[target]=levels[c]+1;
+
+						if(levels[target]>=numberOfLevels)
+							numberOfLevels=levels[target]+1;
+					}
+				}
+			}
+		}
+
+		this.components=components;
+		this.componentOffsets=componentOffsets;
+		this.componentVertices=componentVertices;
+		this.levels=levels;
+		this.numberOfLevels=numberOfLevels;
+		this.largestComponent=largestComponent;
+	}
+
+
+	/**
+	 * This method returns the number of the strongly connected components
+	 *
+	 * @return the number of the components
+	 */
+	public int numberOfComponents()
+	{
+		return this.levels.length;
+	}
+
+
+	/**
+	 * This method returns the number of the component of the vertex given as argument
+	 *
+	 * @param vertex the id of a vertex
+	 * @return the number of the component of the vertex
+	 */
+	public int getComponent(int vertex)
+	{
+		return this.components[vertex];
+	}
+
+
+	/**
+	 * This method returns the number of the vertices of the component given as argument
+	 *
+	 * @param component the number of a component
+	 * @return the number of the vertices of the component
+	 */
+	public int getComponentSize(int component)
+	{
+		return this.componentOffsets[component+1]-this.componentOffsets[component];
+	}
+
+
+	/**
+	 * This method returns the level of the component given as argument in the graph of the components
+	 *
+	 * @param component the number of a component
+	 * @return the level of the component
+	 */
+	public int getLevel(int component)
+	{
+		return this.levels[component];
+	}
+
+
+	/**
+	 * This method returns the number of the levels of the components ,which is the number of the components of the
+	 * longest path in the graph of the components
+	 *
+	 * @return the number of the levels
+	 */
+	public int numberOfLevels()
+	{
+		return this.numberOfLevels;
+	}
+
+
+	/**
+	 * This method returns the number of the component with the most vertices (the core of a web graph) ,or 0 if the
+	 * graph doesn't have vertices
+	 *
+	 * @return the number of the largest component
+	 */
+	public int getLargestComponent()
+	{
+		return this.largestComponent;
+	}
+
+
+	/**
+	 * This method returns a new array with the vertex ids of the component given as argument ,in increasing order
+	 *
+	 * @param component the number of a component
+	 * @return a new array with the vertices of the component
+	 */
+	public int[] getVerticesOfComponent(int component)
+	{
+		int[] vertices=new int[getComponentSize(component)];
+
+		System.arraycopy(this.componentVertices, this.componentOffsets[component], vertices, 0, vertices.length);
+
+		return vertices;
+	}
+
+
+	/**
+	 * This method returns the array with the component of every vertex ,which is used by the engines without a copy
+	 *
+	 * @return the components by vertex id
+	 */
+	int[] components()
+	{
+		return this.components;
+	}
+
+
+	/**
+	 * This method returns the array with the positions of the vertices of every component in the array of the
+	 * vertices by component ,which is used by the engines without a copy
+	 *
+	 * @return the offsets of the components
+	 */
+	int[] componentOffsets()
+	{
+		return this.componentOffsets;
+	}
+
+
+	/**
+	 * This method returns the array with the vertex ids by component ,which is used by the engines without a copy
+	 *
+	 * @return the vertices by component
+	 */
+	int[] componentVertices()
+	{
+		return this.componentVertices;
+	}
+
+
+	/**
+	 * Returns a String representation of the object of type StronglyConnectedComponents which invokes the method
+	 *
+	 * @return a String representation of the object invoking the method
+	 */
+	public String toString()
+	{
+		return "Components : "+numberOfComponents()+"  |  Largest component : "+
+				((numberOfComponents()==0)? 0 : getComponentSize(this.largestComponent))+"  |  Levels : "+this.numberOfLevels;
+	}
+
+}
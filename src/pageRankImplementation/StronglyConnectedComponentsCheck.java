@@ -0,0 +1,144 @@
+package pageRankImplementation;
+
+import java.util.Arrays;
+
+
+/**
+ * This class checks the strongly connected components of small graphs whose components are known.Every graph is a
+ * chain of cycles (every cycle is a component and the last vertex of every cycle points to the first vertex of the
+ * next cycle) ,and the number of the components ,the size of every component and the largest component are checked.
+ * The chains have their largest cycle at the beginning ,in the middle and at the end ,so the largest component is
+ * checked whatever its number is.
+ * The main method exits with status 1 if a check fails ,so it can be run by a build as a regression check :
+ * <pre>
+ * java pageRankImplementation.StronglyConnectedComponentsCheck
+ * </pre>
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class StronglyConnectedComponentsCheck
+{
+
+	// The sizes of the cycles of the chains of the checks
+	private static final int[][] CHAINS={ {2,3,4}, {4,3,2}, {3,4,2}, {1,1,5,1}, {6} };
+
+	private int failedChecks;			// The number of the checks which have failed
+
+
+	/**
+	 * This method runs all the checks and prints the result of every check to the standard output.
+	 *
+	 * @param void
+	 * @return the number of the checks which have failed
+	 */
+	public int runChecks()
+	{
+		this.failedChecks=0;
+
+		for(int[] chain : CHAINS)
+			checkChain(chain);
+
+		return this.failedChecks;
+	}
+
+
+	/**
+	 * This method checks the components of a chain of cycles with the sizes given as argument.
+	 *
+	 * @param cycleSizes the sizes of the cycles of the chain ,in the order of the chain
+	 * @return void
+	 */
+	private void checkChain(int[] cycleSizes)
+	{
+		StronglyConnectedComponents components=new StronglyConnectedComponents(createChain(cycleSizes));
+
+		int largestSize=0;
+
+		for(int size : cycleSizes)
+			largestSize=Math.max(largestSize, size);
+
+		boolean passed=components.numberOfComponents()==cycleSizes.length &&
+				components.getComponentSize(components.getLargestComponent())==largestSize;
+
+		// Every cycle is a component of its own ,so the first vertex of every cycle is in a component of the cycle's size
+		int firstVertex=0;
+
+		for(int size : cycleSizes)
+		{
+			passed&=components.getComponentSize(components.getComponent(firstVertex))==size;
+			firstVertex+=size;
+		}
+
+		if(!passed)
+			this.failedChecks++;
+
+		System.out.println(String.format("%-30s : largest %d of size %d  %s", "Chain of cycles "+Arrays.toString(cycleSizes),
+				components.getLargestComponent(), components.getComponentSize(components.getLargestComponent()), (passed)? "OK" : "FAILED"));
+	}
+
+
+	/**
+	 * This method creates a graph which is a chain of cycles with the sizes given as argument.
+	 *
+	 * @param cycleSizes the sizes of the cycles of the chain ,in the order of the chain
+	 * @return an object of type CompactWebPageGraph with the chain
+	 */
+	private static CompactWebPageGraph createChain(int[] cycleSizes)
+	{
+		int vertices=0;
+
+		for(int size : cycleSizes)
+			vertices+=size;
+
+		String[] urls=new String[vertices];
+		int[] outLinkOffsets=new int[vertices+1];
+		int[] outLinkTargets=new int[vertices+cycleSizes.length-1];
+
+		int first=0;
+		int links=0;
+
+		for(int cycle=0;cycle<cycleSizes.length;cycle++)
+		{
+			int size=cycleSizes[cycle];
+
+			for(int v=first;v<first+size;v++)
+			{
+				urls[v]="www.domain"+cycle+".com/page"+v+".html";
+
+				// Every vertex points to the next vertex of its cycle (a cycle of one vertex has no link to itself)
+				if(size>1)
+					outLinkTargets[links++]=(v+1<first+size)? v+1 : first;
+
+				// The last vertex of the cycle points to the first vertex of the next cycle
+				if(v==first+size-1 && cycle+1<cycleSizes.length)
+					outLinkTargets[links++]=first+size;
+
+				outLinkOffsets[v+1]=links;
+			}
+
+			first+=size;
+		}
+
+		return new CompactWebPageGraph(urls,outLinkOffsets,Arrays.copyOf(outLinkTargets, links));
+	}
+
+
+	/**
+	 * This method is the main method of the check.
+	 *
+	 * @param args arguments taken from the command line
+	 * @return void
+	 */
+	public static void main(String[] args)
+	{
+		int failedChecks=new StronglyConnectedComponentsCheck().runChecks();
+
+		if(failedChecks>0)
+		{
+			System.err.println(failedChecks+" check(s) of the strongly connected components have failed.");
+			System.exit(1);
+		}
+	}
+
+}
@@ -0,0 +1,407 @@
+package pageRankImplementation;
+
+
+/**
+ * This class represents the vertices of an object of type CompactWebPageGraph whose page ranks don't need to be
+ * calculated at every iteration ,found with one pass over the links of the graph :
+ * 1. The head vertices :the vertices without in-pointing links (their page rank is 1 - d after the first iteration)
+ * and the vertices that are pointed only by head vertices ,like the chains that start from a vertex without
+ * in-pointing links.A head vertex at distance h from the vertices without in-pointing links has the same page rank
+ * after iteration h + 1 ,so after the first iterations the contributions of the head vertices are constant.
+ * 2. The tail vertices :the vertices without out-pointing links (dangling) and the vertices that point only to tail
+ * vertices ,like the chains that end at a dangling vertex.No other vertex uses the page rank of a tail vertex ,so the
+ * tail vertices are calculated once at the end of a calculation ,from the page ranks of the last iterations of the
+ * vertices that point to them.
+ * The other vertices are the iterated vertices.The heads and the tails are found up to
+ * {@link StructuralPreprocessing#MAX_DEPTH} links away from the vertices without in-pointing or out-pointing links ,
+ * so a calculation keeps the page ranks of at most so many iterations of the vertices that point to the tails.The
+ * objects of this class are immutable.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class StructuralPreprocessing
+{
+
+	// The greatest distance of a head vertex from a vertex without in-pointing links ,and of a tail vertex from a
+	// dangling vertex
+	public static final int MAX_DEPTH=8;
+
+	// The kinds of the vertices
+	static final byte ITERATED=0;
+	static final byte HEAD=1;
+	static final byte TAIL=2;
+
+	private final byte[] kinds;					// The kind of every vertex ,by vertex id
+
+	private final int[] iteratedVertices;		// The vertex ids of the iterated vertices ,in increasing order
+
+	private final int[] headVertices;			// The vertex ids of the head vertices ,by distance from the vertices without in-pointing links
+
+	private final int[] tailVertices;			// The vertex ids of the tail vertices ,by distance from the dangling vertices
+
+	private final int[] feederVertices;			// The vertex ids of the other vertices which point to tail vertices
+
+	private final int headDepth;				// The greatest distance of a head vertex ,or -1 if there aren't heads
+
+	private final int tailDepth;				// The greatest distance of a tail vertex plus 1 ,or 0 if there aren't tails
+
+	private final int zeroInDegreeVertices;		// The number of the vertices without in-pointing links
+
+	private final int danglingVertices;			// The number of the vertices without out-pointing links
+
+	private final int chainVertices;			// The number of the heads and tails with one in-pointing and one out-pointing link
+
+
+	/**
+	 * This constructor finds the head ,tail and iterated vertices of the graph given as argument ,in
+	 * O(vertices + edges) time.
+	 *
+	 * @param graph an object of type CompactWebPageGraph
+	 */
+	public StructuralPreprocessing(CompactWebPageGraph graph)
+	{
+		if(graph==null)
+			throw new NullPointerException("Null graph was given at constructor of class StructuralPreprocessing");
+
+		int vertices=graph.numberOfVertices();
+
+		int[] inLinkOffsets=graph.inLinkOffsets;
+		int[] inLinkSources=graph.inLinkSources;
+		int[] outLinkOffsets=graph.outLinkOffsets;
+		int[] outLinkTargets=graph.outLinkTargets;
+
+		byte[] kinds=new byte[vertices];
+
+		// The vertices are found one distance after the other ,so a vertex is found after all the vertices that
+		// make it a head (or a tail) and its distance is the longest path from a vertex of distance 0
+		int[] remainingLinks=new int[vertices];
+		int[] found=new int[vertices];
+		int numberOfFound=0;
+
+		int zeroInDegreeVertices=0;
+		int danglingVertices=0;
+
+		for(int v=0;v<vertices;v++)
+		{
+			remainingLinks[v]=inLinkOffsets[v+1]-inLinkOffsets[v];
+
+			if(remainingLinks[v]==0)
+			{
+				zeroInDegreeVertices++;
+				kinds[v]=HEAD;
+				found[numberOfFound++]=v;
+			}
+
+			if(outLinkOffsets[v+1]==outLinkOffsets[v])
+				danglingVertices++;
+		}
+
+		int headDepth=(numberOfFound>0)? 0 : -1;
+		int levelStart=0;
+
+		for(int depth=1;depth<=MAX_DEPTH && levelStart<numberOfFound;depth++)
+		{
+			int levelEnd=numberOfFound;
+
+			for(int position=levelStart;position<levelEnd;position++)
+			{
+				int u=found[position];
+
+				for(int e=outLinkOffsets[u];e<outLinkOffsets[u+1];e++)
+				{
+					int w=outLinkTargets[e];
+
+					if(--remainingLinks[w]==0)
+					{
+						kinds[w]=HEAD;
+						found[numberOfFound++]=w;
+						headDepth=depth;
+					}
+				}
+			}
+
+			levelStart=levelEnd;
+		}
+
+		int[] headVertices=new int[numberOfFound];
+
+		System.arraycopy(found, 0, headVertices, 0, numberOfFound);
+
+		// The out-pointing links of a vertex which isn't a head never point to a head
+		numberOfFound=0;
+
+		for(int v=0;v<vertices;v++)
+		{
+			remainingLinks[v]=outLinkOffsets[v+1]-outLinkOffsets[v];
+
+			if(remainingLinks[v]==0 && kinds[v]!=HEAD)
+			{
+				kinds[v]=TAIL;
+				found[numberOfFound++]=v;
+			}
+		}
+
+		int tailDepth=(numberOfFound>0)? 1 : 0;
+		levelStart=0;
+
+		for(int depth=2;depth<=MAX_DEPTH && levelStart<numberOfFound;depth++)
+		{
+			int levelEnd=numberOfFound;
+
+			for(int position=levelStart;position<levelEnd;position++)
+			{
+				int t=found[position];
+
+				for(int e=inLinkOffsets[t];e<inLinkOffsets[t+1];e++)
+				{
+					int u=inLinkSources[e];
+
+					if(kinds[u]!=HEAD && --remainingLinks[u]==0)
+					{
+						kinds[u]=TAIL;
+						found[numberOfFound++]=u;
+						tailDepth=depth;
+					}
+				}
+			}
+
+			levelStart=levelEnd;
+		}
+
+		int[] tailVertices=new int[numberOfFound];
+
+		System.arraycopy(found, 0, tailVertices, 0, numberOfFound);
+
+		// The vertices which point to tails and aren't tails themselves
+		boolean[] feeders=new boolean[vertices];
+		int numberOfFeeders=0;
+
+		for(int t : tailVertices)
+		{
+			for(int e=inLinkOffsets[t];e<inLinkOffsets[t+1];e++)
+			{
+				int u=inLinkSources[e];
+
+				if(kinds[u]!=TAIL && !feeders[u])
+				{
+					feeders[u]=true;
+					numberOfFeeders++;
+				}
+			}
+		}
+
+		int[] feederVertices=new int[numberOfFeeders];
+		int[] iteratedVertices=new int[vertices-headVertices.length-tailVertices.length];
+
+		int chainVertices=0;
+		int feederPosition=0;
+		int iteratedPosition=0;
+
+		for(int v=0;v<vertices;v++)
+		{
+			if(feeders[v])
+				feederVertices[feederPosition++]=v;
+
+			if(kinds[v]==ITERATED)
+				iteratedVertices[iteratedPosition++]=v;
+			else if(inLinkOffsets[v+1]-inLinkOffsets[v]==1 && outLinkOffsets[v+1]-outLinkOffsets[v]==1)
+				chainVertices++;
+		}
+
+		this.kinds=kinds;
+		this.iteratedVertices=iteratedVertices;
+		this.headVertices=headVertices;
+		this.tailVertices=tailVertices;
+		this.feederVertices=feederVertices;
+		this.headDepth=headDepth;
+		this.tailDepth=tailDepth;
+		this.zeroInDegreeVertices=zeroInDegreeVertices;
+		this.danglingVertices=danglingVertices;
+		this.chainVertices=chainVertices;
+	}
+
+
+	/**
+	 * This method returns the number of the vertices without in-pointing links
+	 *
+	 * @return the number of the vertices with zero in-degree
+	 */
+	public int numberOfZeroInDegreeVertices()
+	{
+		return this.zeroInDegreeVertices;
+	}
+
+
+	/**
+	 * This method returns the number of the vertices without out-pointing links
+	 *
+	 * @return the number of the dangling vertices
+	 */
+	public int numberOfDanglingVertices()
+	{
+		return this.danglingVertices;
+	}
+
+
+	/**
+	 * This method returns the number of the head and tail vertices with one in-pointing and one out-pointing link
+	 * (the vertices of the chains which start from a vertex without in-pointing links or end at a dangling vertex)
+	 *
+	 * @return the number of the chain vertices
+	 */
+	public int numberOfChainVertices()
+	{
+		return this.chainVertices;
+	}
+
+
+	/**
+	 * This method returns the number of the head vertices
+	 *
+	 * @return the number of the head vertices
+	 */
+	public int numberOfHeadVertices()
+	{
+		return this.headVertices.length;
+	}
+
+
+	/**
+	 * This method returns the number of the tail vertices
+	 *
+	 * @return the number of the tail vertices
+	 */
+	public int numberOfTailVertices()
+	{
+		return this.tailVertices.length;
+	}
+
+
+	/**
+	 * This method returns the number of the vertices which are calculated at every iteration
+	 *
+	 * @return the number of the iterated vertices
+	 */
+	public int numberOfIteratedVertices()
+	{
+		return this.iteratedVertices.length;
+	}
+
+
+	/**
+	 * This method returns true if the vertex given as argument is a head vertex
+	 *
+	 * @param vertex the id of a vertex
+	 * @return true if the vertex is a head or false otherwise
+	 */
+	public boolean isHead(int vertex)
+	{
+		return this.kinds[vertex]==HEAD;
+	}
+
+
+	/**
+	 * This method returns true if the vertex given as argument is a tail vertex
+	 *
+	 * @param vertex the id of a vertex
+	 * @return true if the vertex is a tail or false otherwise
+	 */
+	public boolean isTail(int vertex)
+	{
+		return this.kinds[vertex]==TAIL;
+	}
+
+
+	/**
+	 * This method returns the greatest distance of a head vertex from the vertices without in-pointing links ,or -1 if
+	 * the graph doesn't have head vertices.The page ranks of all the heads are constant after iteration depth + 1.
+	 *
+	 * @return the depth of the heads
+	 */
+	public int getHeadDepth()
+	{
+		return this.headDepth;
+	}
+
+
+	/**
+	 * This method returns the number of the iterations whose page ranks of the vertices which point to tails are
+	 * needed for the page ranks of the tails ,or 0 if the graph doesn't have tail vertices
+	 *
+	 * @return the depth of the tails
+	 */
+	public int getTailDepth()
+	{
+		return this.tailDepth;
+	}
+
+
+	/**
+	 * This method returns the array with the kind of every vertex ,which is used by the calculations without a copy
+	 *
+	 * @return the kinds by vertex id
+	 */
+	byte[] kinds()
+	{
+		return this.kinds;
+	}
+
+
+	/**
+	 * This method returns the array with the iterated vertices ,which is used by the calculations without a copy
+	 *
+	 * @return the vertex ids of the iterated vertices
+	 */
+	int[] iteratedVertices()
+	{
+		return this.iteratedVertices;
+	}
+
+
+	/**
+	 * This method returns the array with the head vertices ,which is used by the calculations without a copy
+	 *
+	 * @return the vertex ids of the head vertices
+	 */
+	int[] headVertices()
+	{
+		return this.headVertices;
+	}
+
+
+	/**
+	 * This method returns the array with the tail vertices ,which is used by the calculations without a copy
+	 *
+	 * @return the vertex ids of the tail vertices
+	 */
+	int[] tailVertices()
+	{
+		return this.tailVertices;
+	}
+
+
+	/**
+	 * This method returns the array with the vertices which point to tails and aren't tails ,which is used by the
+	 * calculations without a copy
+	 *
+	 * @return the vertex ids of the feeder vertices
+	 */
+	int[] feederVertices()
+	{
+		return this.feederVertices;
+	}
+
+
+	/**
+	 * Returns a String representation of the object of type StructuralPreprocessing which invokes the method
+	 *
+	 * @return a String representation of the object invoking the method
+	 */
+	public String toString()
+	{
+		return "Zero in-degree : "+this.zeroInDegreeVertices+"  |  Dangling : "+this.danglingVertices+"  |  Chains : "+this.chainVertices
+				+"  |  Heads : "+this.headVertices.length+"  |  Tails : "+this.tailVertices.length+"  |  Iterated : "+this.iteratedVertices.length;
+	}
+
+}
@@ -0,0 +1,451 @@
+package pageRankImplementation;
+
+
+/**
+ * This class calculates the iterations of one calculation of page ranks with the structural preprocessing of the
+ * graph ({@link StructuralPreprocessing}) :
+ * 1. The first iterations (until the page ranks of all the head vertices are constant) calculate the head and the
+ * iterated vertices.Then the contributions of the heads to every iterated vertex are added once to a constant term of
+ * the vertex ,and the next iterations calculate only the iterated vertices with their links from other iterated
+ * vertices.
+ * 2. The tail vertices aren't calculated at any iteration.The page ranks of the vertices which point to tails are kept
+ * for the last iterations ,and at the end of the calculation the tails are calculated for these iterations ,so every
+ * tail has the page rank that it would have after the last iteration.
+ * The page ranks of all the vertices after the end of the calculation are the page ranks of a calculation which
+ * calculates all the vertices at every iteration (the sums are only added in a different order).The residual of an
+ * iteration is the residual of the calculated vertices ,and the spams of an iteration are the spams among the
+ * calculated vertices and the heads :the page ranks of the tails aren't known during the iterations ,so the tails
+ * which are spams aren't counted and the number can be smaller than the spams of a calculation without the
+ * preprocessing.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+final class StructuralRankIteration
+{
+
+	private final CompactWebPageGraph graph;				// The graph of the calculation
+
+	private final StructuralPreprocessing structure;		// The head ,tail and iterated vertices of the graph
+
+	private final double[] feederHistory;					// The page ranks of the feeders of the last iterations ,by iteration and feeder
+
+	private final double[] initialTailRanks;				// The initial page ranks of the tails ,by position in the tails
+
+	private int iterations;									// The number of the iterations that have been calculated
+
+	private boolean headsSettled;							// Whether the page ranks of the heads are constant
+
+	private double[] constantTerms;							// The contributions of the heads ,by position in the iterated vertices
+
+	private int[] iteratedInLinkOffsets;					// The start of the links from iterated vertices ,by position in the iterated vertices
+
+	private int[] iteratedInLinkSources;					// The sources of the links from iterated vertices
+
+	private int headSpams;									// The heads whose constant page rank is less than the lower bound
+
+	private double residual;								// The residual of the last iteration
+
+	private long edgesProcessed;							// The links processed by the last iteration
+
+
+	/**
+	 * This constructor creates an object of type StructuralRankIteration for a calculation on the graph given as
+	 * argument with the initial page ranks given as argument.
+	 *
+	 * @param graph the graph of the calculation
+	 * @param structure the head ,tail and iterated vertices of the graph
+	 * @param initialRanks the initial page ranks of the calculation ,by vertex id
+	 */
+	StructuralRankIteration(CompactWebPageGraph graph,StructuralPreprocessing structure,double[] initialRanks)
+	{
+		this.graph=graph;
+		this.structure=structure;
+
+		int[] feederVertices=structure.feederVertices();
+		int[] tailVertices=structure.tailVertices();
+
+		// The page ranks of the iterations from the last - depth up to the last are needed by the tails
+		this.feederHistory=new double[(structure.getTailDepth()+1)*feederVertices.length];
+		this.initialTailRanks=new double[tailVertices.length];
+
+		for(int position=0;position<tailVertices.length;position++)
+			this.initialTailRanks[position]=initialRanks[tailVertices[position]];
+
+		recordFeeders(initialRanks);
+	}
+
+
+	/**
+	 * This method returns the residual of the last iteration ,only for the calculated vertices
+	 *
+	 * @return the residual of the last iteration
+	 */
+	double getResidual()
+	{
+		return this.residual;
+	}
+
+
+	/**
+	 * This method returns the number of the links that the last iteration has processed
+	 *
+	 * @return the number of the processed links
+	 */
+	long getEdgesProcessed()
+	{
+		return this.edgesProcessed;
+	}
+
+
+	/**
+	 * This method calculates one iteration of the page ranks of the head vertices (until they are constant) and of the
+	 * iterated vertices.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param ranks the page ranks of the previous iteration ,by vertex id
+	 * @param newRanks the array where the page ranks of the current iteration will be placed ,by vertex id
+	 * @return the number of the calculated vertices and the heads which have been treated as spams at this iteration
+	 * (without the tails ,whose page ranks are calculated only at the end)
+	 */
+	int calculateIteration(PageRankParameters parameters,double[] ranks,double[] newRanks)
+	{
+		int spams;
+
+		this.residual=0;
+		this.edgesProcessed=0;
+
+		if(this.headsSettled)
+			spams=this.headSpams+calculateIteratedVertices(parameters, ranks, newRanks);
+		else
+		{
+			spams=calculateVertices(parameters, this.structure.headVertices(), ranks, newRanks)+
+					calculateVertices(parameters, this.structure.iteratedVertices(), ranks, newRanks);
+
+			// The heads of the greatest distance have their constant page rank after iteration depth + 1
+			if(this.iterations==this.structure.getHeadDepth())
+				settleHeads(parameters, ranks, newRanks);
+		}
+
+		this.iterations++;
+
+		recordFeeders(newRanks);
+
+		return spams;
+	}
+
+
+	/**
+	 * This method calculates the page ranks of the tail vertices after the last iteration of the calculation ,from the
+	 * page ranks of the last iterations of the vertices which point to them ,and places them in the array of the
+	 * page ranks of the last iteration.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param ranks the page ranks of the last iteration ,by vertex id
+	 */
+	void calculateTails(PageRankParameters parameters,double[] ranks)
+	{
+		int[] tailVertices=this.structure.tailVertices();
+
+		if(this.iterations==0 || tailVertices.length==0)
+			return ;
+
+		CompactWebPageGraph graph=this.graph;
+
+		int[] inLinkOffsets=graph.inLinkOffsets;
+		int[] inLinkSources=graph.inLinkSources;
+		int[] outLinkOffsets=graph.outLinkOffsets;
+		int[] domains=graph.domains;
+		byte[] kinds=this.structure.kinds();
+
+		double siblingFactor=parameters.getSiblingFactor();
+		double lowerBound=parameters.getLowerBound();
+		double dampingFactor=parameters.getDampingFactor();
+
+		int vertices=graph.numberOfVertices();
+		int[] feederVertices=this.structure.feederVertices();
+		int feeders=feederVertices.length;
+		int slots=this.structure.getTailDepth()+1;
+
+		// The position of every tail in the tails and of every feeder in the feeders
+		int[] positions=new int[vertices];
+
+		for(int position=0;position<tailVertices.length;position++)
+			positions[tailVertices[position]]=position;
+
+		for(int position=0;position<feeders;position++)
+			positions[feederVertices[position]]=position;
+
+		double[] tailRanks=this.initialTailRanks.clone();
+		double[] newTailRanks=new double[tailVertices.length];
+
+		// A tail at distance k from the feeders depends only on the page ranks of the feeders k iterations before ,so
+		// after depth iterations the page ranks of the tails don't depend on their page ranks at the start
+		int first=Math.max(0, this.iterations-this.structure.getTailDepth());
+
+		for(int iteration=first+1;iteration<=this.iterations;iteration++)
+		{
+			int row=((iteration-1)%slots)*feeders;
+
+			for(int position=0;position<tailVertices.length;position++)
+			{
+				int v=tailVertices[position];
+
+				double calculatedPageRank=0;
+
+				int domain=domains[v];
+
+				for(int e=inLinkOffsets[v];e<inLinkOffsets[v+1];e++)
+				{
+					int source=inLinkSources[e];
+
+					double previousPageRank=(kinds[source]==StructuralPreprocessing.TAIL)? tailRanks[positions[source]] :
+						this.feederHistory[row+positions[source]];
+
+					// The spam WebPages don't affect the page rank of the current vertex
+					if(previousPageRank<lowerBound)
+						continue;
+
+					double S=(domains[source]==domain)? siblingFactor : 1;
+
+					calculatedPageRank+=S*previousPageRank/(outLinkOffsets[source+1]-outLinkOffsets[source]);
+				}
+
+				newTailRanks[position]=calculatedPageRank*dampingFactor+(1-dampingFactor);
+			}
+
+			double[] temporary=tailRanks;
+			tailRanks=newTailRanks;
+			newTailRanks=temporary;
+		}
+
+		for(int position=0;position<tailVertices.length;position++)
+			ranks[tailVertices[position]]=tailRanks[position];
+	}
+
+
+	/**
+	 * This method calculates the page ranks of some vertices with all their in-pointing links.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param calculatedVertices the vertex ids of the vertices
+	 * @param ranks the page ranks of the previous iteration ,by vertex id
+	 * @param newRanks the array where the page ranks of the current iteration will be placed ,by vertex id
+	 * @return the number of the vertices which have been treated as spams
+	 */
+	private int calculateVertices(PageRankParameters parameters,int[] calculatedVertices,double[] ranks,double[] newRanks)
+	{
+		CompactWebPageGraph graph=this.graph;
+
+		int[] inLinkOffsets=graph.inLinkOffsets;
+		int[] inLinkSources=graph.inLinkSources;
+		int[] outLinkOffsets=graph.outLinkOffsets;
+		int[] domains=graph.domains;
+
+		double siblingFactor=parameters.getSiblingFactor();
+		double lowerBound=parameters.getLowerBound();
+		double dampingFactor=parameters.getDampingFactor();
+
+		int spams=0;
+		double residual=0;
+
+		for(int v : calculatedVertices)
+		{
+			if(ranks[v]<lowerBound)
+				spams++;
+
+			double calculatedPageRank=0;
+
+			int domain=domains[v];
+
+			for(int e=inLinkOffsets[v];e<inLinkOffsets[v+1];e++)
+			{
+				int source=inLinkSources[e];
+
+				double previousPageRank=ranks[source];
+
+				// The spam WebPages don't affect the page rank of the current vertex
+				if(previousPageRank<lowerBound)
+					continue;
+
+				double S=(domains[source]==domain)? siblingFactor : 1;
+
+				calculatedPageRank+=S*previousPageRank/(outLinkOffsets[source+1]-outLinkOffsets[source]);
+			}
+
+			newRanks[v]=calculatedPageRank*dampingFactor+(1-dampingFactor);
+
+			residual+=Math.abs(newRanks[v]-ranks[v]);
+
+			this.edgesProcessed+=inLinkOffsets[v+1]-inLinkOffsets[v];
+		}
+
+		this.residual+=residual;
+
+		return spams;
+	}
+
+
+	/**
+	 * This method calculates the page ranks of the iterated vertices with their constant terms and their links from
+	 * other iterated vertices.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param ranks the page ranks of the previous iteration ,by vertex id
+	 * @param newRanks the array where the page ranks of the current iteration will be placed ,by vertex id
+	 * @return the number of the iterated vertices which have been treated as spams
+	 */
+	private int calculateIteratedVertices(PageRankParameters parameters,double[] ranks,double[] newRanks)
+	{
+		CompactWebPageGraph graph=this.graph;
+
+		int[] iteratedVertices=this.structure.iteratedVertices();
+		int[] iteratedInLinkOffsets=this.iteratedInLinkOffsets;
+		int[] iteratedInLinkSources=this.iteratedInLinkSources;
+		int[] outLinkOffsets=graph.outLinkOffsets;
+		int[] domains=graph.domains;
+		double[] constantTerms=this.constantTerms;
+
+		double siblingFactor=parameters.getSiblingFactor();
+		double lowerBound=parameters.getLowerBound();
+		double dampingFactor=parameters.getDampingFactor();
+
+		int spams=0;
+		double residual=0;
+
+		for(int position=0;position<iteratedVertices.length;position++)
+		{
+			int v=iteratedVertices[position];
+
+			if(ranks[v]<lowerBound)
+				spams++;
+
+			double calculatedPageRank=constantTerms[position];
+
+			int domain=domains[v];
+
+			for(int e=iteratedInLinkOffsets[position];e<iteratedInLinkOffsets[position+1];e++)
+			{
+				int source=iteratedInLinkSources[e];
+
+				double previousPageRank=ranks[source];
+
+				// The spam WebPages don't affect the page rank of the current vertex
+				if(previousPageRank<lowerBound)
+					continue;
+
+				double S=(domains[source]==domain)? siblingFactor : 1;
+
+				calculatedPageRank+=S*previousPageRank/(outLinkOffsets[source+1]-outLinkOffsets[source]);
+			}
+
+			newRanks[v]=calculatedPageRank*dampingFactor+(1-dampingFactor);
+
+			residual+=Math.abs(newRanks[v]-ranks[v]);
+		}
+
+		this.residual=residual;
+		this.edgesProcessed=iteratedInLinkSources.length;
+
+		return spams;
+	}
+
+
+	/**
+	 * This method is called when the page ranks of all the heads have become constant.The heads get their constant
+	 * page rank in both arrays of page ranks ,their contributions are added to the constant terms of the iterated
+	 * vertices and the in-pointing links of the iterated vertices are rebuilt without the links from heads.
+	 *
+	 * @param parameters the parameters of the calculation
+	 * @param ranks the page ranks of the previous iteration ,by vertex id
+	 * @param newRanks the page ranks of the current iteration ,by vertex id
+	 */
+	private void settleHeads(PageRankParameters parameters,double[] ranks,double[] newRanks)
+	{
+		CompactWebPageGraph graph=this.graph;
+
+		int[] inLinkOffsets=graph.inLinkOffsets;
+		int[] inLinkSources=graph.inLinkSources;
+		int[] outLinkOffsets=graph.outLinkOffsets;
+		int[] domains=graph.domains;
+		byte[] kinds=this.structure.kinds();
+		int[] iteratedVertices=this.structure.iteratedVertices();
+
+		double siblingFactor=parameters.getSiblingFactor();
+		double lowerBound=parameters.getLowerBound();
+
+		for(int v : this.structure.headVertices())
+		{
+			ranks[v]=newRanks[v];
+
+			if(newRanks[v]<lowerBound)
+				this.headSpams++;
+		}
+
+		int[] offsets=new int[iteratedVertices.length+1];
+		double[] constantTerms=new double[iteratedVertices.length];
+
+		for(int position=0;position<iteratedVertices.length;position++)
+		{
+			int v=iteratedVertices[position];
+
+			int links=0;
+
+			for(int e=inLinkOffsets[v];e<inLinkOffsets[v+1];e++)
+			{
+				int source=inLinkSources[e];
+
+				if(kinds[source]!=StructuralPreprocessing.HEAD)
+				{
+					links++;
+					continue;
+				}
+
+				if(newRanks[source]<lowerBound)
+					continue;
+
+				double S=(domains[source]==domains[v])? siblingFactor : 1;
+
+				constantTerms[position]+=S*newRanks[source]/(outLinkOffsets[source+1]-outLinkOffsets[source]);
+			}
+
+			offsets[position+1]=offsets[position]+links;
+		}
+
+		int[] sources=new int[offsets[iteratedVertices.length]];
+
+		for(int position=0;position<iteratedVertices.length;position++)
+		{
+			int v=iteratedVertices[position];
+
+			int link=offsets[position];
+
+			for(int e=inLinkOffsets[v];e<inLinkOffsets[v+1];e++)
+				if(kinds[inLinkSources[e]]!=StructuralPreprocessing.HEAD)
+					sources[link++]=inLinkSources[e];
+		}
+
+		this.constantTerms=constantTerms;
+		this.iteratedInLinkOffsets=offsets;
+		this.iteratedInLinkSources=sources;
+		this.headsSettled=true;
+	}
+
+
+	/**
+	 * This method keeps the page ranks of the vertices which point to tails after the current iteration ,in place of
+	 * the oldest iteration that is kept.
+	 *
+	 * @param ranks the page ranks of the current iteration ,by vertex id
+	 */
+	private void recordFeeders(double[] ranks)
+	{
+		int[] feederVertices=this.structure.feederVertices();
+
+		int row=(this.iterations%(this.structure.getTailDepth()+1))*feederVertices.length;
+
+		for(int position=0;position<feederVertices.length;position++)
+			this.feederHistory[row+position]=ranks[feederVertices[position]];
+	}
+
+}
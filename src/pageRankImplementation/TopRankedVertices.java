@@ -0,0 +1,319 @@
+package pageRankImplementation;
+
+import java.util.stream.IntStream;
+
+
+/**
+ * This class finds the k vertices with the highest page ranks of an array of page ranks ,without sorting the whole
+ * array.Every part of the array is scanned with a bounded heap of k positions ,which holds only the vertex ids and
+ * the page ranks (no objects are created for the vertices) ,and when the array is large the parts are scanned in
+ * parallel and their heaps are merged at the end.So the cost is about V + k*log(k) operations instead of the V*log(V)
+ * operations of a full sort.The vertices with equal page ranks are ordered by increasing vertex id.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class TopRankedVertices
+{
+
+	// The minimum number of page ranks of a part of the array that is scanned by one thread
+	public static final int MIN_VERTICES_PER_PART=1<<16;
+
+
+	private TopRankedVertices()
+	{
+	}
+
+
+	/**
+	 * This method returns the vertex ids of the k vertices with the highest page ranks ,by decreasing page rank.
+	 *
+	 * @param ranks the page ranks ,by vertex id
+	 * @param k the number of the vertices to return
+	 * @return an array with min(k ,number of vertices) vertex ids
+	 */
+	public static int[] findTopRankedVertices(final double[] ranks,int k)
+	{
+		if(ranks==null)
+			throw new NullPointerException("Null array of page ranks was given at method findTopRankedVertices");
+
+		if(k<0)
+			throw new NegativeNumberException("Negative number given at method findTopRankedVertices");
+
+		if(k==0 || ranks.length==0)
+			return new int[0];
+
+		// The heaps are never bigger than the page ranks ,whatever k is asked
+		final int top=Math.min(k, ranks.length);
+
+		final int parts=Math.max(1, Math.min(Runtime.getRuntime().availableProcessors()*4, ranks.length/MIN_VERTICES_PER_PART));
+
+		if(parts==1)
+		{
+			BoundedHeap heap=new BoundedHeap(top);
+
+			for(int v=0;v<ranks.length;v++)
+				heap.offer(v, ranks[v]);
+
+			return heap.toSortedVertices();
+		}
+
+		final BoundedHeap[] heaps=new BoundedHeap[parts];
+
+		IntStream.range(0, parts).parallel().forEach(part ->
+		{
+			int start=(int)((long)ranks.length*part/parts);
+			int end=(int)((long)ranks.length*(part+1)/parts);
+
+			BoundedHeap heap=new BoundedHeap(Math.min(top, end-start));
+
+			for(int v=start;v<end;v++)
+				heap.offer(v, ranks[v]);
+
+			heaps[part]=heap;
+		});
+
+		// The heaps of the parts may be smaller than the result ,so they are merged into a new heap
+		BoundedHeap merged=new BoundedHeap(top);
+
+		for(int part=0;part<parts;part++)
+			merged.offerAll(heaps[part]);
+
+		return merged.toSortedVertices();
+	}
+
+
+	/**
+	 * This method returns the vertex ids of the k vertices of a domain with the highest page ranks ,by decreasing page rank.
+	 *
+	 * @param graph the graph of the vertices
+	 * @param ranks the page ranks ,by vertex id
+	 * @param domain the domain id of the domain
+	 * @param k the number of the vertices to return
+	 * @return an array with at most k vertex ids of the domain
+	 */
+	public static int[] findTopRankedVerticesOfDomain(CompactWebPageGraph graph,double[] ranks,int domain,int k)
+	{
+		if(graph==null || ranks==null)
+			throw new NullPointerException("Null argument was given at method findTopRankedVerticesOfDomain");
+
+		if(k<0)
+			throw new NegativeNumberException("Negative number given at method findTopRankedVerticesOfDomain");
+
+		if(k==0)
+			return new int[0];
+
+		int[] domains=graph.domains;
+
+		// The heap is never bigger than the domain ,whatever k is asked
+		int domainSize=0;
+
+		for(int v=0;v<ranks.length;v++)
+			if(domains[v]==domain)
+				domainSize++;
+
+		if(domainSize==0)
+			return new int[0];
+
+		BoundedHeap heap=new BoundedHeap(Math.min(k, domainSize));
+
+		for(int v=0;v<ranks.length;v++)
+			if(domains[v]==domain)
+				heap.offer(v, ranks[v]);
+
+		return heap.toSortedVertices();
+	}
+
+
+	/**
+	 * This method returns for every domain the vertex ids of its k vertices with the highest page ranks ,by
+	 * decreasing page rank.All the domains are served by one scan of the page ranks.
+	 *
+	 * @param graph the graph of the vertices
+	 * @param ranks the page ranks ,by vertex id
+	 * @param k the number of the vertices to return for every domain
+	 * @return an array ,by domain id ,with arrays of at most k vertex ids
+	 */
+	public static int[][] findTopRankedVerticesOfAllDomains(CompactWebPageGraph graph,double[] ranks,int k)
+	{
+		if(graph==null || ranks==null)
+			throw new NullPointerException("Null argument was given at method findTopRankedVerticesOfAllDomains");
+
+		if(k<0)
+			throw new NegativeNumberException("Negative number given at method findTopRankedVerticesOfAllDomains");
+
+		int domains=graph.numberOfDomains();
+
+		// The heap of every domain has the size of the domain ,if the domain is smaller than k
+		int[] domainSizes=new int[domains];
+
+		for(int v=0;v<ranks.length;v++)
+			domainSizes[graph.domains[v]]++;
+
+		BoundedHeap[] heaps=new BoundedHeap[domains];
+
+		for(int d=0;d<domains;d++)
+			heaps[d]=new BoundedHeap(Math.min(k, domainSizes[d]));
+
+		for(int v=0;v<ranks.length;v++)
+			heaps[graph.domains[v]].offer(v, ranks[v]);
+
+		int[][] top=new int[domains][];
+
+		for(int d=0;d<domains;d++)
+			top[d]=heaps[d].toSortedVertices();
+
+		return top;
+	}
+
+
+	/**
+	 * This method returns the positions of the k highest values among the first length values of the array given as
+	 * argument ,by decreasing value (the equal values are ordered by increasing position).
+	 *
+	 * @param values the values
+	 * @param length the number of the values of the array that are examined
+	 * @param k the number of the positions to return
+	 * @return an array with min(k ,length) positions
+	 */
+	static int[] findTopPositions(double[] values,int length,int k)
+	{
+		BoundedHeap heap=new BoundedHeap(Math.min(k, length));
+
+		for(int position=0;position<length;position++)
+			heap.offer(position, values[position]);
+
+		return heap.toSortedVertices();
+	}
+
+
+	/**
+	 * This class represents a heap of at most a fixed number of vertices ,which keeps the vertices with the highest
+	 * page ranks that have been offered to it.The root of the heap is the worst of the kept vertices.
+	 */
+	private static final class BoundedHeap
+	{
+		private final int[] vertices;		// The vertex ids of the heap
+
+		private final double[] ranks;		// The page ranks of the vertices of the heap
+
+		private int size;					// The number of the vertices in the heap
+
+
+		private BoundedHeap(int capacity)
+		{
+			this.vertices=new int[capacity];
+			this.ranks=new double[capacity];
+		}
+
+
+		/**
+		 * This method returns whether the vertex a with page rank rankA is worse (placed after) than the vertex b
+		 * with page rank rankB.
+		 */
+		private static boolean isWorse(int a,double rankA,int b,double rankB)
+		{
+			return rankA<rankB || (rankA==rankB && a>b);
+		}
+
+
+		/**
+		 * This method offers a vertex to the heap.The vertex is kept if the heap isn't full or if the vertex is
+		 * better than the worst vertex of the heap.
+		 */
+		private void offer(int vertex,double rank)
+		{
+			if(this.vertices.length==0)
+				return ;
+
+			if(this.size<this.vertices.length)
+			{
+				// Place the vertex at the end and move it up
+				int position=this.size++;
+
+				while(position>0)
+				{
+					int parent=(position-1)>>>1;
+
+					if(!isWorse(vertex, rank, this.vertices[parent], this.ranks[parent]))
+						break;
+
+					this.vertices[position]=this.vertices[parent];
+					this.ranks[position]=this.ranks[parent];
+					position=parent;
+				}
+
+				this.vertices[position]=vertex;
+				this.ranks[position]=rank;
+				return ;
+			}
+
+			if(!isWorse(this.vertices[0], this.ranks[0], vertex, rank))
+				return ;
+
+			replaceRoot(vertex, rank, this.size);
+		}
+
+
+		/**
+		 * This method replaces the root of the heap (the worst vertex) and moves the new vertex down.
+		 */
+		private void replaceRoot(int vertex,double rank,int heapSize)
+		{
+			int position=0;
+
+			while(true)
+			{
+				int child=2*position+1;
+
+				if(child>=heapSize)
+					break;
+
+				if(child+1<heapSize && isWorse(this.vertices[child+1], this.ranks[child+1], this.vertices[child], this.ranks[child]))
+					child++;
+
+				if(!isWorse(this.vertices[child], this.ranks[child], vertex, rank))
+					break;
+
+				this.vertices[position]=this.vertices[child];
+				this.ranks[position]=this.ranks[child];
+				position=child;
+			}
+
+			this.vertices[position]=vertex;
+			this.ranks[position]=rank;
+		}
+
+
+		/**
+		 * This method offers all the vertices of another heap to this heap.
+		 */
+		private void offerAll(BoundedHeap heap)
+		{
+			for(int index=0;index<heap.size;index++)
+				offer(heap.vertices[index], heap.ranks[index]);
+		}
+
+
+		/**
+		 * This method empties the heap and returns its vertices by decreasing page rank.
+		 */
+		private int[] toSortedVertices()
+		{
+			int[] sorted=new int[this.size];
+
+			// Remove repeatedly the worst vertex and place it at the end
+			for(int last=this.size-1;last>=0;last--)
+			{
+				sorted[last]=this.vertices[0];
+
+				replaceRoot(this.vertices[last], this.ranks[last], last);
+			}
+
+			this.size=0;
+
+			return sorted;
+		}
+	}
+
+}
@@ -0,0 +1,32 @@
+package pageRankImplementation;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+/**
+ * This class represents a Java Flight Recorder event which is recorded when the output of the progress of a focused
+ * WebPage ,or the output of the calculations of its factors ,is flushed to its destination.The fields of the event
+ * are filled only if the event is going to be committed.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+@Name("pageRankImplementation.TraceFlush")
+@Label("Trace Flush")
+@Category("Page Rank")
+@Description("Flushing of the output of a focused web page")
+final class TraceFlushEvent extends jdk.jfr.Event
+{
+
+	@Label("Destination")
+	String destination;			// The name of the destination of the output
+
+	@Label("Bytes")
+	@DataAmount
+	long bytes;					// The number of the bytes that have been flushed ,or -1 if unknown
+
+}
@@ -0,0 +1,23 @@
+package pageRankImplementation;
+
+
+/**
+ * This enumeration represents what an object of type {@link AsynchronousRankTraceSink} does with a new record of
+ * progress when its queue is full.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public enum TraceOverflowPolicy
+{
+
+	// The calculating thread waits until the writer thread makes space in the queue. No record is lost
+	BLOCK,
+
+	// The iteration of the new record is dropped (with its records which are already in the queue) and the calculating thread continues
+	DROP,
+
+	// One of every few iterations which find the queue full waits for space in the queue and the other ones are dropped
+	SAMPLE
+
+}
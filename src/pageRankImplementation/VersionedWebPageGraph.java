@@ -0,0 +1,407 @@
+package pageRankImplementation;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * This class represents a graph of WebPages which can be changed while calculations of page ranks and queries run on
+ * it.Any thread can give changes (new WebPages ,new edges ,deleted WebPages) which are stored in a log of changes ,and
+ * only one writer thread takes the changes from the log and applies them ,in their order ,to a private object of type
+ * WebPageGraph.After a group of changes the writer publishes a new immutable snapshot of the graph
+ * ({@link WebPageGraphSnapshot}) which replaces the previous snapshot atomically (copy on write).The readers take the
+ * current snapshot with the method {@link VersionedWebPageGraph#getSnapshot()} and they use it for as long as they want ,
+ * without any locking ,while the changes continue.An old snapshot is freed by the garbage collector when no reader
+ * uses it anymore.
+ * The writer publishes a snapshot when the log becomes empty or when the publishing interval has passed since the
+ * previous snapshot ,so a steady stream of changes doesn't create a new snapshot for every change.
+ * Every snapshot is a new compact form of the whole graph ,so its cost is O(V+E) however few the changes are.The
+ * writer measures the time of every snapshot and waits at least {@link VersionedWebPageGraph#PUBLISHING_COST_FACTOR}
+ * times that time before the next snapshot (even if the log becomes empty) ,so on a big graph the snapshots become
+ * less frequent than the publishing interval and the writer spends at most about a third of its time on snapshots.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public class VersionedWebPageGraph implements Closeable
+{
+
+	// The default minimum time between two snapshots while changes keep coming ,in milliseconds
+	public static final long DEFAULT_PUBLISHING_INTERVAL=100;
+
+	// The minimum time between two snapshots as a multiple of the time that the creation of the last snapshot took
+	public static final int PUBLISHING_COST_FACTOR=2;
+
+	// The types of the changes
+	private static final byte ADD_WEB_PAGE=0;
+	private static final byte ADD_EDGE=1;
+	private static final byte DELETE_WEB_PAGE=2;
+	private static final byte CLOSE=3;
+
+	private final WebPageGraph graph;								// The graph which only the writer thread changes
+
+	private final LinkedBlockingQueue<Change> changes;				// The log of the changes which haven't been applied
+
+	private final AtomicLong sequenceNumbers;						// The counter of the sequence numbers of the changes
+
+	private final AtomicReference<WebPageGraphSnapshot> snapshot;	// The current snapshot
+
+	private final AtomicLong rejectedChanges;						// The number of the changes that couldn't be applied
+
+	private final long publishingInterval;							// The minimum time between two snapshots in nanoseconds
+
+	private final Thread writer;									// The thread which applies the changes
+
+
+	/**
+	 * This constructor creates an object of type VersionedWebPageGraph with an empty graph and the default publishing
+	 * interval.
+	 *
+	 * @param void
+	 * @return void
+	 */
+	public VersionedWebPageGraph()
+	{
+		this(new WebPageGraph(),DEFAULT_PUBLISHING_INTERVAL);
+	}
+
+
+	/**
+	 * This constructor creates an object of type VersionedWebPageGraph which starts from the graph given as argument.
+	 * The graph is used by the writer thread ,so it must not be used by any other code after the call.
+	 *
+	 * @param graph the initial graph
+	 * @param publishingInterval the minimum time between two snapshots while changes keep coming ,in milliseconds.
+	 * Every snapshot costs O(V+E) ,so the writer stretches the interval to {@link VersionedWebPageGraph#PUBLISHING_COST_FACTOR}
+	 * times the time of the last snapshot when that is longer
+	 */
+	public VersionedWebPageGraph(WebPageGraph graph,long publishingInterval)
+	{
+		if(graph==null)
+			throw new NullPointerException("Null graph was given at constructor of class VersionedWebPageGraph");
+
+		if(publishingInterval<0)
+			throw new NegativeNumberException("Negative publishing interval given at constructor of class VersionedWebPageGraph");
+
+		this.graph=graph;
+		this.changes=new LinkedBlockingQueue<Change>();
+		this.sequenceNumbers=new AtomicLong();
+		this.rejectedChanges=new AtomicLong();
+		this.publishingInterval=TimeUnit.MILLISECONDS.toNanos(publishingInterval);
+		this.snapshot=new AtomicReference<WebPageGraphSnapshot>(new WebPageGraphSnapshot(1,0,graph.createCompactWebPageGraph()));
+
+		this.writer=new Thread(this::applyChanges,"web-page-graph-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+
+	/**
+	 * This method adds to the log the addition of a new WebPage with the URL name given as argument.
+	 *
+	 * @param nameURL the name of the URL of the new WebPage
+	 * @return the sequence number of the change
+	 */
+	public long addWebPage(String nameURL)
+	{
+		if(nameURL==null)
+			throw new NullPointerException("Null URL name was given at method addWebPage");
+
+		return submit(ADD_WEB_PAGE, nameURL, null, 0);
+	}
+
+
+	/**
+	 * This method adds to the log the addition of a directed edge between the WebPages with the URL names given as
+	 * arguments.
+	 *
+	 * @param fromURLname the name of the URL of the source WebPage
+	 * @param toURLname the name of the URL of the destination WebPage
+	 * @param weight the weight of the edge
+	 * @return the sequence number of the change
+	 */
+	public long addDirectedWeightedEdge(String fromURLname,String toURLname,double weight)
+	{
+		if(fromURLname==null || toURLname==null)
+			throw new NullPointerException("Null URL name was given at method addDirectedWeightedEdge");
+
+		if(weight<0)
+			throw new NegativeNumberException("Negative weight was given at method addDirectedWeightedEdge");
+
+		return submit(ADD_EDGE, fromURLname, toURLname, weight);
+	}
+
+
+	/**
+	 * This method adds to the log the deletion of the WebPage with the URL name given as argument.
+	 *
+	 * @param nameURL the name of the URL of the WebPage to delete
+	 * @return the sequence number of the change
+	 */
+	public long deleteWebPage(String nameURL)
+	{
+		if(nameURL==null)
+			throw new NullPointerException("Null URL name was given at method deleteWebPage");
+
+		return submit(DELETE_WEB_PAGE, nameURL, null, 0);
+	}
+
+
+	/**
+	 * This method returns the current snapshot of the graph.The snapshot never changes ,so it can be used by a
+	 * calculation of page ranks for as long as needed.
+	 *
+	 * @return the current snapshot of the graph
+	 */
+	public WebPageGraphSnapshot getSnapshot()
+	{
+		return this.snapshot.get();
+	}
+
+
+	/**
+	 * This method waits until a snapshot which contains the change with the sequence number given as argument has
+	 * been published ,and returns it.
+	 *
+	 * @param sequenceNumber the sequence number of a change
+	 * @return a snapshot which contains the change
+	 * @throws InterruptedException This Exception is thrown if the thread is interrupted while waiting
+	 */
+	public WebPageGraphSnapshot awaitSnapshot(long sequenceNumber) throws InterruptedException
+	{
+		synchronized(this.snapshot)
+		{
+			while(this.snapshot.get().getAppliedChanges()<sequenceNumber)
+			{
+				if(!this.writer.isAlive())
+					throw new IllegalStateException("The writer of the graph has stopped");
+
+				this.snapshot.wait();
+			}
+
+			return this.snapshot.get();
+		}
+	}
+
+
+	/**
+	 * This method returns the number of the changes which haven't been applied yet
+	 *
+	 * @return the number of the changes in the log
+	 */
+	public int pendingChanges()
+	{
+		return this.changes.size();
+	}
+
+
+	/**
+	 * This method returns the number of the changes that couldn't be applied (for example an edge to a WebPage which
+	 * doesn't exist or a WebPage which already exists)
+	 *
+	 * @return the number of the rejected changes
+	 */
+	public long getRejectedChanges()
+	{
+		return this.rejectedChanges.get();
+	}
+
+
+	/**
+	 * This method stops the writer thread after it has applied and published all the changes that have been given
+	 * before the call.The changes that are given after the call are never applied.
+	 *
+	 * @param void
+	 * @return void
+	 */
+	public void close()
+	{
+		if(!this.writer.isAlive())
+			return ;
+
+		submit(CLOSE, null, null, 0);
+
+		try
+		{
+			this.writer.join();
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	/**
+	 * This method adds a change to the log.The sequence number is taken inside the lock of the log ,so the changes
+	 * are in the log in the order of their sequence numbers.
+	 */
+	private long submit(byte type,String first,String second,double weight)
+	{
+		synchronized(this.changes)
+		{
+			long sequenceNumber=this.sequenceNumbers.incrementAndGet();
+
+			this.changes.add(new Change(type,first,second,weight,sequenceNumber));
+
+			return sequenceNumber;
+		}
+	}
+
+
+	/**
+	 * This method is run by the writer thread.It takes the changes from the log ,applies them to the graph and
+	 * publishes the new snapshots.
+	 */
+	private void applyChanges()
+	{
+		ArrayList<Change> batch=new ArrayList<Change>();
+
+		long lastPublishing=System.nanoTime();
+		long minimumGap=0;				// The minimum time until the next snapshot ,from the cost of the last snapshot
+		long lastSequenceNumber=0;
+		boolean unpublishedChanges=false;
+		boolean closing=false;
+
+		try
+		{
+			while(!closing)
+			{
+				// Wait for a change without a time limit only when everything has been published ,otherwise until the
+				// next snapshot is allowed
+				if(!unpublishedChanges)
+					batch.add(this.changes.take());
+				else
+				{
+					long remaining=lastPublishing+minimumGap-System.nanoTime();
+
+					Change change=(remaining>0)? this.changes.poll(remaining, TimeUnit.NANOSECONDS) : null;
+
+					if(change!=null)
+						batch.add(change);
+				}
+
+				this.changes.drainTo(batch);
+
+				for(Change change : batch)
+				{
+					if(change.type==CLOSE)
+					{
+						closing=true;
+						break;
+					}
+
+					if(!apply(change))
+						this.rejectedChanges.incrementAndGet();
+
+					lastSequenceNumber=change.sequenceNumber;
+					unpublishedChanges=true;
+				}
+
+				batch.clear();
+
+				long sincePublishing=System.nanoTime()-lastPublishing;
+
+				if(unpublishedChanges && (closing || (sincePublishing>=minimumGap && (this.changes.isEmpty() || sincePublishing>=this.publishingInterval))))
+				{
+					long publishingStart=System.nanoTime();
+
+					publish(lastSequenceNumber);
+
+					lastPublishing=System.nanoTime();
+					minimumGap=PUBLISHING_COST_FACTOR*(lastPublishing-publishingStart);
+					unpublishedChanges=false;
+				}
+			}
+		}
+		catch(InterruptedException e)
+		{
+			// The writer stops
+		}
+		finally
+		{
+			synchronized(this.snapshot)
+			{
+				this.snapshot.notifyAll();
+			}
+		}
+	}
+
+
+	/**
+	 * This method applies a change to the graph.
+	 *
+	 * @param change a change of the log
+	 * @return true if the change has been applied or false if it has been rejected
+	 */
+	private boolean apply(Change change)
+	{
+		try
+		{
+			switch(change.type)
+			{
+				case ADD_WEB_PAGE:
+					return this.graph.addWebPage(new WebPage(change.first,WebPageGraph.INITIAL_PAGE_RANK));
+
+				case ADD_EDGE:
+					return this.graph.addDirectedWeightedEdge(change.first, change.second, change.weight);
+
+				default:
+					return this.graph.deleteWebPageVertex(change.first)!=null;
+			}
+		}
+		catch(RuntimeException e)
+		{
+			return false;
+		}
+	}
+
+
+	/**
+	 * This method publishes a new snapshot of the graph which contains all the changes up to the sequence number
+	 * given as argument.The compact form of the whole graph is created ,which costs O(V+E).
+	 */
+	private void publish(long appliedChanges)
+	{
+		WebPageGraphSnapshot newSnapshot=new WebPageGraphSnapshot(this.snapshot.get().getVersion()+1,appliedChanges,
+				this.graph.createCompactWebPageGraph());
+
+		synchronized(this.snapshot)
+		{
+			this.snapshot.set(newSnapshot);
+			this.snapshot.notifyAll();
+		}
+	}
+
+
+	/**
+	 * This class represents a change of the log.
+	 */
+	private static final class Change
+	{
+		private final byte type;				// The type of the change
+
+		private final String first;				// The URL name of the WebPage or of the source of the edge
+
+		private final String second;			// The URL name of the destination of the edge ,or null
+
+		private final double weight;			// The weight of the edge
+
+		private final long sequenceNumber;		// The sequence number of the change
+
+
+		private Change(byte type,String first,String second,double weight,long sequenceNumber)
+		{
+			this.type=type;
+			this.first=first;
+			this.second=second;
+			this.weight=weight;
+			this.sequenceNumber=sequenceNumber;
+		}
+	}
+
+}
@@ -14,6 +14,12 @@ import java.io.Serializable;
  */
 public class WebPage implements Serializable{
 
+	/**
+	 * The version of the serialized form ,equal to the version of the first WebPage class so the graphs
+	 * which have been written to binary files by it can still be read.
+	 */
+	private static final long serialVersionUID = 9215756996937511840L;
+	
 	private String url; 		// The path of the webPage 
 	
 	private double pageRank; 			// the pageRank of the current WebPage
@@ -152,6 +158,38 @@ public class WebPage implements Serializable{
 	}
 	
 	
+	/**
+	 * This method returns the name of the domain of the URL of this WebPage, which is the starting part of the URL
+	 * name up to the first '/' character.If the URL name doesn't contain a '/' character then the whole URL name is
+	 * returned.
+	 * 
+	 * @return the name of the domain of the URL of this WebPage
+	 */
+	public String getDomainName()
+	{
+		return domainNameOfURL(this.url);
+	}
+	
+	
+	/**
+	 * This method returns the name of the domain of the URL name which is passed as an argument, which is the starting
+	 * part of the URL name up to the first '/' character.If the URL name doesn't contain a '/' character then the whole
+	 * URL name is returned.
+	 * 
+	 * @param urlName the name of a URL
+	 * @return the name of the domain of the URL name
+	 */
+	public static String domainNameOfURL(String urlName)
+	{
+		if(urlName==null)
+			throw new NullPointerException("Null URL name was given at method domainNameOfURL");
+		
+		int end=urlName.indexOf('/');
+		
+		return (end<0)? urlName : urlName.substring(0, end);
+	}
+	
+	
 	/**
 	 * 
 	 * This method checks whether the object of type WebPage that invokes the method is sibling to the object of type WebPage that is passed as an argument
@@ -1,11 +1,20 @@
 package pageRankImplementation;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.PrintStream;
 import java.io.Serializable;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Scanner;
 
 
@@ -38,6 +47,9 @@ public class WebPageGraph implements Serializable
 	// The d constant which is used in the calculations of the page rank of a WebPage
 	public static final double D_FACTOR=0.85;
 	
+	// The default part of the vertices that must be deleted before the deleted vertices are removed from the graph
+	public static final double DEFAULT_COMPACTION_THRESHOLD=0.1;
+	
 	// All the vertices of the Graph
 	private ArrayList<WebPageVertex> webPageVertices;
 	
@@ -51,6 +63,33 @@ public class WebPageGraph implements Serializable
 	// which last WebPage is a sibling of the source-first WebPage
 	private double siblingFactor;
 	
+	// The receiver of the measurements of the calculations of the page ranks ,or null if the calculations aren't measured
+	private transient RankEngineMetrics rankEngineMetrics;
+	
+	// The publisher of the page ranks of every iteration of the calculations ,or null if they aren't published
+	private transient RankUpdatePublisher rankUpdatePublisher;
+	
+	// The position of every vertex in the list of the vertices by URL name ,or null if it must be created again
+	private transient HashMap<String,Integer> vertexIndexes;
+	
+	// The positions of the vertices which have been deleted but haven't been removed from the graph yet ,or null
+	private BitSet deletedVertices;
+	
+	// The part of the vertices that must be deleted before the compaction ,or 0 for the default part
+	private transient double compactionThreshold;
+	
+	// Whether the compaction runs at a background thread when the threshold is reached
+	private transient boolean backgroundCompaction;
+	
+	// Whether a compaction has been scheduled at a background thread and hasn't run yet
+	private transient boolean compactionScheduled;
+	
+	// The number of the changes of the vertices and the edges of the graph ,which identifies a version of the graph
+	private transient long modificationCount;
+	
+	// The number of the compactions of the graph ,which are the only changes of the positions of the vertices
+	private transient long compactions;
+	
 	
 	/**
 	 * Creates a new WebPageGraph object which is a graph for web pages. It initializes all the attributes to
@@ -75,9 +114,35 @@ public class WebPageGraph implements Serializable
 	 * @param void
 	 * @return the number of vertices that the object invoking the method have
 	 */
-	public int numberOfVertices()
+	public synchronized int numberOfVertices()
+	{
+		return this.webPageVertices.size()-numberOfDeletedVertices();
+	}
+	
+	
+	/**
+	 * This method returns the number of the vertices that have been deleted but haven't been removed from the graph
+	 * by a compaction yet.
+	 * 
+	 * @param void
+	 * @return the number of the deleted vertices which haven't been removed yet
+	 */
+	public synchronized int numberOfDeletedVertices()
+	{
+		return (this.deletedVertices==null)? 0 : this.deletedVertices.cardinality();
+	}
+	
+	
+	/**
+	 * This method returns the number of the directed edges that this graph-object has.The edges from and to the
+	 * deleted vertices are counted until they are removed by a compaction.
+	 * 
+	 * @param void
+	 * @return the number of the edges that the object invoking the method have
+	 */
+	public synchronized int numberOfEdges()
 	{
-		return this.webPageVertices.size();
+		return this.edges;
 	}
 	
 	
@@ -86,15 +151,32 @@ public class WebPageGraph implements Serializable
 	 * 
 	 * @return void
 	 */
-	public void clear()
+	public synchronized void clear()
 	{
 		this.webPageVertices.clear();
 		this.siblingFactor=1;
 		this.lowerBound=0;
 		this.edges=0;
+		this.vertexIndexes=null;
+		this.deletedVertices=null;
+		this.modificationCount++;
 		
 	}
 	
+	
+	/**
+	 * This method returns the number of the changes of the vertices and the edges of the graph.Every addition ,
+	 * deletion or compaction increases the number ,so two calculations of page ranks with the same number ,sibling
+	 * factor and lower bound give the same page ranks ({@link RankHistoryCache}).
+	 * 
+	 * @param void
+	 * @return the modification count of the graph
+	 */
+	public synchronized long getModificationCount()
+	{
+		return this.modificationCount;
+	}
+	
 	/**
 	 * Returns whether a graph is empty or not
 	 * 
@@ -102,7 +184,7 @@ public class WebPageGraph implements Serializable
 	 */
 	public boolean isEmpty()
 	{
-		return this.webPageVertices.isEmpty();
+		return this.numberOfVertices()==0;
 	}
 	
 	
@@ -159,6 +241,56 @@ public class WebPageGraph implements Serializable
 		
 	}
 	
+	/**
+	 * This method returns the object of type RankEngineMetrics which receives the measurements of the calculations
+	 * of the page ranks of this graph ,or null if the calculations aren't measured.
+	 * 
+	 * @return the object of type RankEngineMetrics of this graph or null
+	 */
+	public RankEngineMetrics getRankEngineMetrics()
+	{
+		return this.rankEngineMetrics;
+	}
+	
+	
+	/**
+	 * This method sets the object of type RankEngineMetrics which will receive the measurements of every iteration
+	 * of the calculations of the page ranks of this graph.If null is given then the calculations aren't measured.
+	 * The object isn't written when the graph is serialized.
+	 * 
+	 * @param rankEngineMetrics an object of type RankEngineMetrics (for example a {@link RankEngineMonitor}) or null
+	 */
+	public void setRankEngineMetrics(RankEngineMetrics rankEngineMetrics)
+	{
+		this.rankEngineMetrics=rankEngineMetrics;
+	}
+	
+	
+	/**
+	 * This method returns the object of type RankUpdatePublisher which publishes the page ranks of every iteration
+	 * of the calculations of the page ranks of this graph ,or null if they aren't published.
+	 * 
+	 * @return the object of type RankUpdatePublisher of this graph or null
+	 */
+	public RankUpdatePublisher getRankUpdatePublisher()
+	{
+		return this.rankUpdatePublisher;
+	}
+	
+	
+	/**
+	 * This method sets the object of type RankUpdatePublisher which will publish the changed page ranks of every
+	 * iteration of the calculations of the page ranks of this graph to its subscribers ,while the calculations run.
+	 * If null is given then the page ranks aren't published.The object isn't written when the graph is serialized.
+	 * 
+	 * @param rankUpdatePublisher an object of type RankUpdatePublisher or null
+	 */
+	public void setRankUpdatePublisher(RankUpdatePublisher rankUpdatePublisher)
+	{
+		this.rankUpdatePublisher=rankUpdatePublisher;
+	}
+	
+	
 	/**
 	 * This method takes two objects of type WebPage as argumetns tests whether the two WebPages are siblings and returns
 	 * the sibling factor that is encapsulated in this object of type WebPageGraph if the two WebPages objects are siblings
@@ -177,56 +309,129 @@ public class WebPageGraph implements Serializable
 	
 	
 	/**
-	 * Collect all the vertices of type WebPageVertex that point to a vertex ,in an object of type ArrayList<WebPageVertex>.
+	 * This method returns a WebPageVertex object which is located in the object of type WebPageGraph
+	 * which invokes the method ,which corresponds to the name of the URL that is passed as an  
+	 * argument to parameter nameURL .If the URL name doesn't correpsond to an actual WebPage, null 
+	 * is returned.
+	 * 
+	 * @param nameURL The name of a URL to find its WebPage in the graph
+	 * @return a WebPageVertex object in the object of type WebPageGraph which invokes the method which
+	 *  corresponds to the name of the URL that is passed as an argument to parameter nameURL .If the 
+	 *  URL name doesn't correpsond to an actual WebPage, null is returned.
+	 */
+	private WebPageVertex findWebPageVertex(String nameURL)
+	{
+		int index=getVertexIndex(nameURL);
+		
+		return (index<0)? null : this.webPageVertices.get(index);
+		
+	}
+	
+	
+	/**
+	 * This method returns the position of the vertex of the WebPage with the URL name given as argument in the graph ,
+	 * which is also the vertex id of the WebPage in the objects of type BulkEdgeBuilder.If the URL name doesn't
+	 * correspond to a WebPage of the graph (or its WebPage has been deleted) -1 is returned.The positions of the
+	 * vertices change only when the deleted vertices are removed by a compaction ,so while there are deleted vertices
+	 * which haven't been removed the vertex id of the WebPage in an object of type CompactWebPageGraph is smaller than
+	 * its position (the deleted vertices before it are skipped).
 	 * 
-	 * @param vertex an objcect of type WebPageVertex which reprsents a vertex in the graph
-	 * @param inPointingVertices an object of type ArrayList<WebPageVertex> which will be filled with
-	 * all the WebPageVertex objects that point to the specified (by parameter vertex WebPageVertex)
-	 * WebPageVertex object
+	 * @param nameURL the name of a URL
+	 * @return the position of the vertex of the WebPage in the graph or -1 if it doesn't exist
 	 */
-	private void getInPointingVertices(WebPageVertex vertex,ArrayList<WebPageVertex> inPointingVertices)
+	public synchronized int getVertexIndex(String nameURL)
 	{
-		if(vertex==null || inPointingVertices==null)
-			return ;
+		if(nameURL==null)
+			return -1;
 		
-		inPointingVertices.clear();
+		Integer index=vertexIndexes().get(nameURL);
 		
-		for(WebPageVertex graphVertex : this.webPageVertices)
+		return (index==null)? -1 : index;
+	}
+	
+	
+	/**
+	 * This method returns the map from the URL names to the positions of the vertices in the graph ,without the
+	 * deleted vertices.The map isn't stored with the graph ,so it is created again after the graph has been read from
+	 * a file or after a compaction.
+	 * 
+	 * @return the map from the URL names to the positions of the vertices
+	 */
+	private HashMap<String,Integer> vertexIndexes()
+	{
+		if(this.vertexIndexes==null)
 		{
-			// Check first whether the examined vertex has an out-pointing reference to the desired vertex and also 
-			// check whether the examined WebPage from the graph isn't the vertex that we want to find its in-pointing vertices
+			HashMap<String,Integer> indexes=new HashMap<String,Integer>(Math.max(16, this.webPageVertices.size()*2));
 			
-				if(graphVertex.containsAtOutLinkedWebPages(vertex.webPage.getNameOfURL()) &&
-				!graphVertex.webPage.getNameOfURL().equals(vertex.webPage.getNameOfURL()))
-					inPointingVertices.add(graphVertex);
-		
+			int index=0;
+			
+			for(WebPageVertex vertex : this.webPageVertices)
+			{
+				if(!isDeleted(index))
+					indexes.put(vertex.webPage.getNameOfURL(), index);
+				
+				index++;
+			}
+			
+			this.vertexIndexes=indexes;
 		}
 		
+		return this.vertexIndexes;
 	}
 	
 	
 	/**
-	 * This method returns a WebPageVertex object which is located in the object of type WebPageGraph
-	 * which invokes the method ,which corresponds to the name of the URL that is passed as an  
-	 * argument to parameter nameURL .If the URL name doesn't correpsond to an actual WebPage, null 
-	 * is returned.
+	 * This method returns whether the vertex at the position given as argument has been deleted
 	 * 
-	 * @param nameURL The name of a URL to find its WebPage in the graph
-	 * @return a WebPageVertex object in the object of type WebPageGraph which invokes the method which
-	 *  corresponds to the name of the URL that is passed as an argument to parameter nameURL .If the 
-	 *  URL name doesn't correpsond to an actual WebPage, null is returned.
+	 * @param index the position of a vertex in the graph
+	 * @return true if the vertex has been deleted or false otherwise
 	 */
-	private WebPageVertex findWebPageVertex(String nameURL)
+	private boolean isDeleted(int index)
 	{
-		if(nameURL==null)
-			return null;
-		
-		for(WebPageVertex vertex : this.webPageVertices)
-			if(vertex.webPage.getNameOfURL().equals(nameURL))
-				return vertex;
+		return this.deletedVertices!=null && this.deletedVertices.get(index);
+	}
+	
+	
+	/**
+	 * This method returns the position of a vertex in the graph ,or -1 if the vertex has been deleted.
+	 * 
+	 * @param vertex a vertex of the graph
+	 * @return the position of the vertex or -1 if it has been deleted
+	 */
+	private int positionOf(WebPageVertex vertex)
+	{
+		Integer index=vertexIndexes().get(vertex.webPage.getNameOfURL());
 		
-		return null;
+		return (index!=null && this.webPageVertices.get(index)==vertex)? index : -1;
+	}
+	
+	
+	/**
+	 * This method returns the vertex id of the WebPage with the URL name given as argument in the compact form of the
+	 * graph (and in the page ranks of an object of type RankHistory) ,or -1 if the URL name doesn't correspond to a
+	 * WebPage of the graph.
+	 * 
+	 * @param nameURL the name of a URL
+	 * @return the vertex id of the WebPage or -1 if it doesn't exist
+	 */
+	synchronized int getCompactVertexId(String nameURL)
+	{
+		int index=getVertexIndex(nameURL);
 		
+		return (index<0)? -1 : vertexIdOf(index);
+	}
+	
+	
+	/**
+	 * This method returns the vertex id in the compact form of the graph of the vertex at the position given as
+	 * argument ,which is its position without the deleted vertices before it.
+	 * 
+	 * @param position the position of a vertex which hasn't been deleted
+	 * @return the vertex id of the vertex in the compact form of the graph
+	 */
+	private int vertexIdOf(int position)
+	{
+		return (this.deletedVertices==null)? position : position-this.deletedVertices.get(0, position).cardinality();
 	}
 	
 	
@@ -285,152 +490,350 @@ public class WebPageGraph implements Serializable
 	 */
 	public void runPageRankCalculationProcessSimulation(PrintStream outputStreamForSpecificWebPage,PrintStream outputStreamForFactorsOfSpecificWebPage,int iterations,String focusedURLname)
 	{
+		RankTraceSink sinkForSpecificWebPage=(outputStreamForSpecificWebPage==null)? null : new PrintStreamRankTraceSink(outputStreamForSpecificWebPage);
+		
+		this.runPageRankCalculationProcessSimulationWithTraceSink(sinkForSpecificWebPage, outputStreamForFactorsOfSpecificWebPage, iterations, focusedURLname);
+	}
+	
+	
+	/**
+	 * This method simulates the calculations of the page ranks for all the WebPages in a WebPageGraph object
+	 * and there is an option to give the progress of a WebPage specified by its URL name to an object of type
+	 * RankTraceSink (for example an {@link AsynchronousRankTraceSink} which doesn't block the calculation while
+	 * writing) ,and/or print the calculations for the WebPages that affect the specified WebPage.The deleted
+	 * vertices are skipped by the calculation.
+	 * 
+	 * @param sinkForSpecificWebPage an object of type RankTraceSink which receives the progress of the
+	 * Page Rank of a focused WebPage ,or null
+	 * @param outputStreamForFactorsOfSpecificWebPage  an object of type PrintStream which is 
+	 * used to printthe calculations of the  pageRanks of the WebPages that affect the PageRank
+	 *  of the focused WebPage
+	 * @param iterations The number of iterations to run the simulation
+	 * @param focusedURLname A name of the URl of a WebPage in the graph which will be focused 
+	 */
+	public synchronized void runPageRankCalculationProcessSimulationWithTraceSink(RankTraceSink sinkForSpecificWebPage,PrintStream outputStreamForFactorsOfSpecificWebPage,int iterations,String focusedURLname)
+	{
+		this.runPageRankCalculation(sinkForSpecificWebPage, outputStreamForFactorsOfSpecificWebPage, iterations, focusedURLname, null, null, null);
+	}
+	
+	
+	/**
+	 * This method simulates the calculations of the page ranks for all the WebPages in a WebPageGraph object and gives
+	 * the progress of many focused WebPages ,in one calculation.Every focused WebPage has its own object of type
+	 * RankTraceSink (the value of its URL name in the map ,or null if only its factors are printed) ,and the
+	 * calculations of the WebPages that affect every focused WebPage are printed to one stream ,in the order of the
+	 * map (for example a LinkedHashMap).During the calculation only the page ranks of the focused WebPages and their
+	 * factors are recorded ,without any work for the other vertices ,and the progress is given to the sinks after
+	 * the calculation ,one focused WebPage after the other ,exactly as the method
+	 * {@link WebPageGraph#runPageRankCalculationProcessSimulationWithTraceSink(RankTraceSink, PrintStream, int, String)}
+	 * would give it for every focused WebPage.The URL names which don't correspond to a WebPage of the graph are
+	 * ignored.The deleted vertices are skipped by the calculation.
+	 * 
+	 * @param sinksForFocusedWebPages a map from the URL names of the focused WebPages to the objects of type
+	 * RankTraceSink which receive their progress (a sink can be given for many focused WebPages)
+	 * @param outputStreamForFactorsOfFocusedWebPages an object of type PrintStream which is used to print the
+	 * calculations of the pageRanks of the WebPages that affect the PageRank of every focused WebPage ,or null
+	 * @param iterations The number of iterations to run the simulation
+	 */
+	public synchronized void runPageRankCalculationProcessSimulation(Map<String,? extends RankTraceSink> sinksForFocusedWebPages,
+			PrintStream outputStreamForFactorsOfFocusedWebPages,int iterations)
+	{
+		if(sinksForFocusedWebPages==null)
+			throw new NullPointerException("Null map of sinks was given at method runPageRankCalculationProcessSimulation");
+		
 		if(this.isEmpty() || iterations<0)
 			return ;
 		
+		// The factors of every focused vertex are read from the in-pointing links of the compact form of the graph ,
+		// which is also used by the calculation
+		CompactWebPageGraph compactGraph=this.createCompactWebPageGraph();
+		
+		ArrayList<FocusedWebPageTrace> traces=new ArrayList<FocusedWebPageTrace>(sinksForFocusedWebPages.size());
+		ArrayList<RankTraceSink> sinks=new ArrayList<RankTraceSink>(sinksForFocusedWebPages.size());
+		
+		for(Map.Entry<String,? extends RankTraceSink> entry : sinksForFocusedWebPages.entrySet())
+		{
+			WebPageVertex focusedVertex=findWebPageVertex(entry.getKey());
+			
+			if(focusedVertex==null)
+				continue;
+			
+			traces.add(new FocusedWebPageTrace(entry.getKey(),focusedVertex,iterations,compactGraph));
+			sinks.add(entry.getValue());
+		}
+		
+		this.runPageRankCalculation(null, null, iterations, null, null, traces.toArray(new FocusedWebPageTrace[traces.size()]), compactGraph);
+		
+		for(int index=0;index<traces.size();index++)
+			printFocusedWebPageTrace(traces.get(index), sinks.get(index), outputStreamForFactorsOfFocusedWebPages);
+	}
+	
+	
+	/**
+	 * This method does the same as the method {@link WebPageGraph#runPageRankCalculationProcessSimulation(Map, PrintStream, int)}
+	 * but the progress of all the focused WebPages is printed to one stream ,one focused WebPage after the other in
+	 * the order of the collection ,so the output is the same as the output of one calculation for every focused
+	 * WebPage with the method {@link WebPageGraph#runPageRankCalculationProcessSimulation(PrintStream, PrintStream, int, String)}.
+	 * 
+	 * @param outputStreamForFocusedWebPages an object of type PrintStream which is used to print the progress of the
+	 * Page Rank of every focused WebPage ,or null
+	 * @param outputStreamForFactorsOfFocusedWebPages an object of type PrintStream which is used to print the
+	 * calculations of the pageRanks of the WebPages that affect the PageRank of every focused WebPage ,or null
+	 * @param iterations The number of iterations to run the simulation
+	 * @param focusedURLnames the names of the URLs of the WebPages in the graph which will be focused
+	 */
+	public void runPageRankCalculationProcessSimulation(PrintStream outputStreamForFocusedWebPages,PrintStream outputStreamForFactorsOfFocusedWebPages,
+			int iterations,Collection<String> focusedURLnames)
+	{
+		if(focusedURLnames==null)
+			throw new NullPointerException("Null collection of URL names was given at method runPageRankCalculationProcessSimulation");
+		
+		RankTraceSink sinkForFocusedWebPages=(outputStreamForFocusedWebPages==null)? null : new PrintStreamRankTraceSink(outputStreamForFocusedWebPages);
+		
+		LinkedHashMap<String,RankTraceSink> sinksForFocusedWebPages=new LinkedHashMap<String,RankTraceSink>();
+		
+		for(String focusedURLname : focusedURLnames)
+			sinksForFocusedWebPages.put(focusedURLname, sinkForFocusedWebPages);
+		
+		this.runPageRankCalculationProcessSimulation(sinksForFocusedWebPages, outputStreamForFactorsOfFocusedWebPages, iterations);
+	}
+	
+	
+	/**
+	 * This method calculates the page ranks of all the WebPages of the graph and keeps the page ranks of every
+	 * iteration in an object of type RankHistory ,so the progress of any focused WebPage can be printed later
+	 * without calculating again ({@link WebPageGraph#replayPageRankCalculationProcessSimulation(RankHistory, RankTraceSink, PrintStream, String)}).
+	 * The page ranks are kept by vertex id of the compact form of the graph ,so the deleted vertices are skipped.
+	 * 
+	 * @param iterations The number of iterations to run the simulation
+	 * @return an object of type RankHistory with the page ranks of every iteration
+	 * @throws IllegalArgumentException if the page ranks of all the iterations don't fit in one array
+	 */
+	synchronized RankHistory calculateRankHistory(int iterations)
+	{
+		if(iterations<0)
+			throw new NegativeNumberException("Negative number of iterations given at method calculateRankHistory");
+		
+		int vertices=this.numberOfVertices();
+		
+		// The size is calculated in long ,so a big graph with many iterations doesn't give a wrong (overflowed) size
+		long ranks=(iterations+1L)*vertices;
+		
+		if(ranks>RankHistory.MAX_RANKS)
+			throw new IllegalArgumentException("The history of "+iterations+" iterations of "+vertices+" vertices is too big at method calculateRankHistory");
+		
+		double[] rankHistory=new double[(int)ranks];
+		
+		this.runPageRankCalculation(null, null, iterations, null, rankHistory, null, null);
+		
+		return new RankHistory(this,this.modificationCount,this.siblingFactor,this.lowerBound,iterations,vertices,rankHistory);
+	}
+	
+	
+	/**
+	 * This method prints the progress of a focused WebPage and/or the calculations of the WebPages that affect it
+	 * from the page ranks of a calculation that has already been done ,exactly as the method
+	 * {@link WebPageGraph#runPageRankCalculationProcessSimulationWithTraceSink(RankTraceSink, PrintStream, int, String)}
+	 * would print them ,without calculating the page ranks again.The page ranks of the WebPages are set to the page
+	 * ranks of the last iteration ,as after a calculation.
+	 * 
+	 * @param rankHistory the page ranks of every iteration of a calculation on this graph
+	 * @param sinkForSpecificWebPage an object of type RankTraceSink which receives the progress of the
+	 * Page Rank of a focused WebPage ,or null
+	 * @param outputStreamForFactorsOfSpecificWebPage an object of type PrintStream which is used to print the
+	 * calculations of the pageRanks of the WebPages that affect the PageRank of the focused WebPage ,or null
+	 * @param focusedURLname A name of the URl of a WebPage in the graph which will be focused
+	 * @return true if the progress has been printed or false if the graph has changed since the calculation
+	 */
+	synchronized boolean replayPageRankCalculationProcessSimulation(RankHistory rankHistory,RankTraceSink sinkForSpecificWebPage,PrintStream outputStreamForFactorsOfSpecificWebPage,String focusedURLname)
+	{
+		if(rankHistory==null)
+			throw new NullPointerException("Null rank history was given at method replayPageRankCalculationProcessSimulation");
+		
+		if(!rankHistory.isCalculatedOn(this))
+			return false;
+		
+		if(this.isEmpty())
+			return true;
+		
+		int vertices=this.numberOfVertices();
+		int iterations=rankHistory.getIterations();
+		double[] ranks=rankHistory.ranks;
+		
+		setPageRanksByVertexId(ranks, iterations*vertices);
+		
+		WebPageVertex focusedVertex=findWebPageVertex(focusedURLname);
+		
+		if(focusedVertex==null)
+			return true;
+		
+		FocusedWebPageTrace trace=new FocusedWebPageTrace(focusedURLname,focusedVertex,iterations,this.createCompactWebPageGraph());
+		
+		for(int i=0;i<=iterations;i++)
+			trace.record(i, ranks, i*vertices);
+		
+		printFocusedWebPageTrace(trace, sinkForSpecificWebPage, outputStreamForFactorsOfSpecificWebPage);
+		
+		return true;
+	}
+	
+	
+	/**
+	 * This method calculates the page ranks of all the WebPages of the graph ,gives the progress of a focused WebPage
+	 * to a sink and/or prints the calculations of the WebPages that affect it ,and keeps the page ranks of every
+	 * iteration if an array is given.
+	 * 
+	 * @param sinkForSpecificWebPage an object of type RankTraceSink which receives the progress of the
+	 * Page Rank of a focused WebPage ,or null
+	 * @param outputStreamForFactorsOfSpecificWebPage an object of type PrintStream which is used to print the
+	 * calculations of the pageRanks of the WebPages that affect the PageRank of the focused WebPage ,or null
+	 * @param iterations The number of iterations to run the simulation
+	 * @param focusedURLname A name of the URl of a WebPage in the graph which will be focused ,or null
+	 * @param rankHistory an array with (iterations + 1) * vertices positions where the initial page ranks and the page
+	 * ranks of every iteration are placed ,by vertex id ,or null
+	 * @param focusedWebPageTraces the histories of the focused WebPages whose page ranks and the page ranks of their
+	 * factors are recorded at every iteration ,or null
+	 * @param preparedCompactGraph the compact form of the graph if it has already been created (for the histories of
+	 * the focused WebPages) ,or null
+	 */
+	private void runPageRankCalculation(RankTraceSink sinkForSpecificWebPage,PrintStream outputStreamForFactorsOfSpecificWebPage,int iterations,String focusedURLname,double[] rankHistory,
+			FocusedWebPageTrace[] focusedWebPageTraces,CompactWebPageGraph preparedCompactGraph)
+	{
+		if(this.isEmpty() || iterations<0)
+			return ;
 		
 		WebPageVertex focusedVertex=findWebPageVertex(focusedURLname);
 		
 		// Condition that has to be valid in order to print the progress of calculation of a web page
-		boolean printCalculationPRofSpecificWebPage= focusedVertex!=null && outputStreamForSpecificWebPage!=null;
+		boolean printCalculationPRofSpecificWebPage= focusedVertex!=null && sinkForSpecificWebPage!=null;
 		
 		// Condition that has to be valid in order to print the calculations of the web pages that affect a specific web page
 		boolean printFactorsOfSpecificWebPage=outputStreamForFactorsOfSpecificWebPage!=null && focusedVertex!=null;
 		
-		// an array which corresponds to the vertices in the arraylist by their position in the arraylist
-		double newPageRanks[]=new double[this.webPageVertices.size()];
-			
 		// The number of vertices in the graph
 		int vertices=this.numberOfVertices();
 		
+		// The vertex id of the focused WebPage ,or -1 if its progress isn't given to a sink
+		int focusedIndex=(printCalculationPRofSpecificWebPage)? vertexIdOf(positionOf(focusedVertex)) : -1;
 		
-		int index=0;
+		// The links of the graph as arrays of vertex ids ,without the deleted vertices (which are skipped ,not removed
+		// from the graph) .Everything that the iterations need is allocated here ,so the iterations don't allocate
+		CompactWebPageGraph compactGraph=(preparedCompactGraph!=null)? preparedCompactGraph : this.createCompactWebPageGraph();
 		
-		// The current calculate page Rank of each vertex
-		double calculatedPageRank=0;
+		int[] inLinkOffsets=compactGraph.inLinkOffsets;
+		int[] inLinkSources=compactGraph.inLinkSources;
+		int[] outLinkOffsets=compactGraph.outLinkOffsets;
+		int[] domains=compactGraph.domains;
 		
-		// The current vertex to use for calculating its pageRank
-		WebPageVertex currentVertex=null;
+		// The page ranks of the previous iteration and of the current iteration ,by vertex id
+		double pageRanks[]=new double[vertices];
+		double newPageRanks[]=new double[vertices];
 		
-		// A list which contains all the vertices that point to a vertex
-		ArrayList<WebPageVertex> inPointingVertices=new ArrayList<WebPageVertex>();
+		// The page ranks of the factors of the focused WebPage are recorded and printed after the calculation
+		FocusedWebPageTrace factorsTrace=(printFactorsOfSpecificWebPage)? new FocusedWebPageTrace(focusedURLname,focusedVertex,iterations,compactGraph) : null;
+		
+		double siblingFactor=this.siblingFactor;
+		double lowerBound=this.lowerBound;
 		
 		// Initialization of the pageRanks of the vertices in order to test the simulation
 		for(WebPageVertex vertex : this.webPageVertices)
 			vertex.webPage.setPageRank(INITIAL_PAGE_RANK);
 		
-		// Object for decimal formatting
-		DecimalFormat formatter=new DecimalFormat("0.00");
+		Arrays.fill(pageRanks, INITIAL_PAGE_RANK);
 		
-		// The arrayList which will hold the web pages that affect the page rank of the selected web page
-		ArrayList<WebPageVertex> focusedWebPageFactors=null;
+		if(rankHistory!=null)
+			Arrays.fill(rankHistory, 0, vertices, INITIAL_PAGE_RANK);
 		
-		// The arrayList which will hold all the calculations of the page ranks of the web pages that affect the page rank of the selected webpage
-		ArrayList< ArrayList<String>> calculationsOfTheFactors=null;
+		if(focusedWebPageTraces!=null)
+			for(FocusedWebPageTrace trace : focusedWebPageTraces)
+				trace.recordInitialPageRanks();
 		
-		if(printCalculationPRofSpecificWebPage)
-		{
-			outputStreamForSpecificWebPage.println("++++++++++++++++++++  Focused webPage is "+focusedURLname+" ++++++++++++++++++++ ");
-			outputStreamForSpecificWebPage.println("Initial Page Rank : "+focusedVertex.webPage.getPageRank());
-								
-		}
+		if(factorsTrace!=null)
+			factorsTrace.recordInitialPageRanks();
 		
+		// The receiver of the measurements of the calculation ,or null if the calculation isn't measured
+		RankEngineMetrics metrics=this.rankEngineMetrics;
 		
-		if(printFactorsOfSpecificWebPage)
-		{
-					
-				focusedWebPageFactors=new ArrayList<WebPageVertex>();
-				
-				getInPointingVertices(focusedVertex, focusedWebPageFactors);
-				
-				focusedWebPageFactors.trimToSize();
-				
-				calculationsOfTheFactors=new ArrayList< ArrayList<String>> (focusedWebPageFactors.size());
-							
-				
-				// Initialization of the calculation of the factors statistics with the name of the factors
-				for(index=0;index<focusedWebPageFactors.size(); ++index)
-				{
-					calculationsOfTheFactors.add(index,new ArrayList<String>());
-					calculationsOfTheFactors.get(index).add(focusedWebPageFactors.get(index).webPage.getNameOfURL());
-					
-					// The first page rank of each web page is its initial
-					int isSpam=(this.isSpam(focusedWebPageFactors.get(index))? 1 : 0);
-					calculationsOfTheFactors.get(index).add(+isSpam+"/ "+String.valueOf(focusedWebPageFactors.get(index).webPage.getPageRank()));
-					
-				}
-				
-		}
+		long computationStartTime=System.nanoTime();
+		
+		if(metrics!=null)
+			metrics.computationStarted(vertices, this.edges, iterations, 1);
+		
+		// The publisher of the page ranks of every iteration ,or null if they aren't published
+		RankUpdatePublisher publisher=this.rankUpdatePublisher;
+		
+		if(publisher!=null)
+			publisher.calculationStarted(compactGraph, pageRanks);
 		
+		// The residual and the spams of the last iteration ,for the final update of the publisher
+		double lastResidual=0;
+		int lastSpamPages=0;
 		
+		if(printCalculationPRofSpecificWebPage)
+		{
+			sinkForSpecificWebPage.focusedWebPage(focusedURLname, INITIAL_PAGE_RANK);
+								
+		}
 		
 		
 		for(int i=0;i<iterations;i++)
 		{
 			// In every loop the next sequence of pageRanks for all the vertices of the graph is calculated
 		
+			// The Flight Recorder event of the current iteration
+			RankIterationEvent iterationEvent=RankIterationEvent.beginIfEnabled();
 			
-			for(index=0;index<vertices;index++)
+			// The measurements of the current iteration
+			long iterationStartTime=System.nanoTime();
+			long allocatedBytesAtStart=(metrics!=null)? AllocationMeter.currentThreadAllocatedBytes() : -1;
+			int spamPrunedPages=0;
+			double residual=0;
+			
+			for(int index=0;index<vertices;index++)
 			{
-				calculatedPageRank=0;
-				
-				currentVertex=this.webPageVertices.get(index);
+				double calculatedPageRank=0;
 				
-				// Get all the vertices that point to the current vertex
-				this.getInPointingVertices(currentVertex, inPointingVertices);
-				 
-				int inDegree=inPointingVertices.size();
+				// The current vertex still holds the page rank of the previous iteration
+				if(pageRanks[index]<lowerBound)
+					spamPrunedPages++;
 				
-				boolean itsTime=printCalculationPRofSpecificWebPage && currentVertex.equals(focusedVertex);
+				boolean itsTime=index==focusedIndex;
 				
 				if(itsTime)
 				{
-					outputStreamForSpecificWebPage.print("I : "+i+" --> ");
-					outputStreamForSpecificWebPage.printf("(1 - %.2f) + %.2f*(",D_FACTOR,D_FACTOR);
+					sinkForSpecificWebPage.iterationStarted(i, D_FACTOR);
 				}
 				
-				WebPageVertex inVertex=null;
+				int domain=domains[index];
+				int firstLink=inLinkOffsets[index];
 				
-				for(int k=0;k<inDegree;k++)
+				// The vertices that point to the current vertex ,in order of position
+				for(int e=firstLink;e<inLinkOffsets[index+1];e++)
 				{
+					int inVertex=inLinkSources[e];
 					
+					double previousPageRank=pageRanks[inVertex];
 					
-					inVertex=inPointingVertices.get(k);
-					
-					if(!this.isSpam(inVertex))
+					if(!(previousPageRank<lowerBound))
 					{
 						// Calculate final sibling factor for this pointed vertex in association with the current vertex
-						double S=calculateSiblingFactor(currentVertex.webPage,inVertex.webPage);
-						
-						double previousPageRank=inVertex.webPage.getPageRank();
+						double S=(domains[inVertex]==domain)? siblingFactor : 1;
 						
-						int outDegree=inVertex.outLinkingWebPages.size();
+						int outDegree=outLinkOffsets[inVertex+1]-outLinkOffsets[inVertex];
 						
 						calculatedPageRank+=S*previousPageRank/outDegree;
 					
 						if(itsTime)
-						{
-							if(k>0)
-								outputStreamForSpecificWebPage.print("+");
-							
-							outputStreamForSpecificWebPage.printf(" (%.2f *(%.2f / %d)) ",S,previousPageRank,outDegree);
-															
-						}				
+							sinkForSpecificWebPage.factorTerm(e-firstLink, S, previousPageRank, outDegree);				
 																							
 					}
 					else
 					{
 						// Doesn't affect the page Rank of the current vertex
 						
+						// 0 indicates zero affection and indicates that this vertex was a spam 	
 						if(itsTime)
-						{
-							if(k>0)
-								outputStreamForSpecificWebPage.print("+");
-							
-							// 0 indicates zero affection and indicates that this vertex was a spam 	
-							outputStreamForSpecificWebPage.printf(" 0 ");
-															
-						}	
+							sinkForSpecificWebPage.spamFactorTerm(e-firstLink);
 					}
 										
 										
@@ -441,64 +844,198 @@ public class WebPageGraph implements Serializable
 				
 				newPageRanks[index]=calculatedPageRank;
 				
+				residual+=Math.abs(calculatedPageRank-pageRanks[index]);
+				
 				if(itsTime)
-				{
-					outputStreamForSpecificWebPage.printf(") = %.2f",calculatedPageRank);
-					outputStreamForSpecificWebPage.println();
-				}
+					sinkForSpecificWebPage.iterationFinished(calculatedPageRank);
 				
 			}
 			
-			index=0;
+			// The page ranks of the current iteration become the previous page ranks of the next iteration
+			double[] temporary=pageRanks;
+			pageRanks=newPageRanks;
+			newPageRanks=temporary;
 			
-			for(WebPageVertex vertex : this.webPageVertices)
-				vertex.webPage.setPageRank(newPageRanks[index++]);
+			long edgesProcessed=inLinkOffsets[vertices];
 			
-			// avoid to print the last iteration because if so the profram will print iterations+1 page ranks
-			if(printFactorsOfSpecificWebPage && i!=iterations-1)  
-			{													 
-				int isSpam=0;
-				
-								
-				for(index=0;index<calculationsOfTheFactors.size();index++)
-				{
-										
-					isSpam=(this.isSpam(focusedWebPageFactors.get(index))? 1 : 0);
-					calculationsOfTheFactors.get(index).add(isSpam+"/ "+
-					formatter.format(focusedWebPageFactors.get(index).webPage.getPageRank()));
-				}
-				
+			if(rankHistory!=null)
+				System.arraycopy(pageRanks, 0, rankHistory, (i+1)*vertices, vertices);
+			
+			// Only the page ranks of the focused WebPages and their factors are recorded ,not a row for every vertex
+			if(focusedWebPageTraces!=null)
+				for(FocusedWebPageTrace trace : focusedWebPageTraces)
+					trace.record(i+1, pageRanks, 0);
+			
+			if(factorsTrace!=null)
+				factorsTrace.record(i+1, pageRanks, 0);
+			
+			if(metrics!=null)
+			{
+				long allocatedBytes=(allocatedBytesAtStart<0)? -1 : AllocationMeter.currentThreadAllocatedBytes()-allocatedBytesAtStart;
 				
+				metrics.iterationCompleted(new RankIterationMetrics(i,System.nanoTime()-iterationStartTime,edgesProcessed,
+						residual,spamPrunedPages,1,allocatedBytes));
+			}
+			
+			if(iterationEvent!=null && iterationEvent.shouldCommit())
+			{
+				iterationEvent.iteration=i;
+				iterationEvent.vertices=vertices;
+				iterationEvent.edgesProcessed=edgesProcessed;
+				iterationEvent.spamPages=spamPrunedPages;
+				iterationEvent.residual=residual;
+				iterationEvent.commit();
 			}
 			
+			if(publisher!=null)
+				publisher.iterationCompleted(i+1, pageRanks, residual, spamPrunedPages);
+			
+			lastResidual=residual;
+			lastSpamPages=spamPrunedPages;
 		}
 		
+		// The WebPages get the page ranks of the last iteration
+		setPageRanksByVertexId(pageRanks, 0);
+		
+		if(metrics!=null)
+			metrics.computationFinished(iterations, System.nanoTime()-computationStartTime);
+		
+		if(publisher!=null)
+			publisher.calculationFinished(iterations, pageRanks, lastResidual, lastSpamPages);
+		
+		if(printCalculationPRofSpecificWebPage)
+			sinkForSpecificWebPage.calculationFinished();
+		
 		if(printFactorsOfSpecificWebPage)
+			printFocusedWebPageTrace(factorsTrace, null, outputStreamForFactorsOfSpecificWebPage);
+		
+		
+	}
+	
+	
+	/**
+	 * This method sets the page ranks of the WebPages which haven't been deleted from an array with the page ranks of
+	 * all the vertices by vertex id of the compact form of the graph.
+	 * 
+	 * @param pageRanks an array with the page ranks of all the vertices
+	 * @param offset the position of the page rank of the first vertex in the array
+	 */
+	private void setPageRanksByVertexId(double[] pageRanks,int offset)
+	{
+		int vertexId=offset;
+		int position=0;
+		
+		for(WebPageVertex vertex : this.webPageVertices)
+			if(!isDeleted(position++))
+				vertex.webPage.setPageRank(pageRanks[vertexId++]);
+	}
+	
+	
+	/**
+	 * This method prints the table with the page ranks of every iteration of the WebPages that affect a focused
+	 * WebPage.
+	 * 
+	 * @param outputStreamForFactorsOfSpecificWebPage the stream where the table is printed
+	 * @param focusedURLname the name of the URL of the focused WebPage
+	 * @param focusedWebPageFactors the vertices which point to the focused WebPage
+	 * @param calculationsOfTheFactors the URL name and the page ranks of every iteration of every vertex which points
+	 * to the focused WebPage
+	 */
+	private void printFactorsOfFocusedWebPage(PrintStream outputStreamForFactorsOfSpecificWebPage,String focusedURLname,
+			ArrayList<WebPageVertex> focusedWebPageFactors,ArrayList< ArrayList<String>> calculationsOfTheFactors)
+	{
+		int maxSizeOfURL=findMaxLengthOfURLnames(focusedWebPageFactors);
+		
+		outputStreamForFactorsOfSpecificWebPage.println("\n-------------------------- Page Ranks calculations of the factors that affect web page with URL : "+focusedURLname+" --------------------------\n");
+		
+		int size=calculationsOfTheFactors.size();
+		
+		for(int index=0;index<size;index++)
 		{
+			outputStreamForFactorsOfSpecificWebPage.printf("%-"+(maxSizeOfURL)+"s : ", calculationsOfTheFactors.get(index).get(0));
 			
-			int maxSizeOfURL=findMaxLengthOfURLnames(focusedWebPageFactors);
-			
-			outputStreamForFactorsOfSpecificWebPage.println("\n-------------------------- Page Ranks calculations of the factors that affect web page with URL : "+focusedURLname+" --------------------------\n");
+			for(int i=1;i<calculationsOfTheFactors.get(index).size();i++)
+			{
+				outputStreamForFactorsOfSpecificWebPage.printf("%-10s ",calculationsOfTheFactors.get(index).get(i));
+			}
+							
 			
-			int size=calculationsOfTheFactors.size();
+			outputStreamForFactorsOfSpecificWebPage.println();
+		}
+	
+		outputStreamForFactorsOfSpecificWebPage.println("<< Note >>  ( isSample/ pageRank of each iteration )");
+	}
+	
+	
+	/**
+	 * This method gives the recorded progress of a focused WebPage to a sink and/or prints the table with the page
+	 * ranks of every iteration of the WebPages that affect it ,exactly as a calculation with the focused WebPage would
+	 * give and print them.
+	 * 
+	 * @param trace the recorded page ranks of the focused WebPage and its factors
+	 * @param sinkForSpecificWebPage an object of type RankTraceSink which receives the progress of the
+	 * Page Rank of the focused WebPage ,or null
+	 * @param outputStreamForFactorsOfSpecificWebPage an object of type PrintStream which is used to print the
+	 * calculations of the pageRanks of the WebPages that affect the PageRank of the focused WebPage ,or null
+	 */
+	private void printFocusedWebPageTrace(FocusedWebPageTrace trace,RankTraceSink sinkForSpecificWebPage,PrintStream outputStreamForFactorsOfSpecificWebPage)
+	{
+		int iterations=trace.iterations;
+		int factors=trace.factorVertexIds.length;
+		
+		if(sinkForSpecificWebPage!=null)
+		{
+			sinkForSpecificWebPage.focusedWebPage(trace.focusedURLname, trace.focusedPageRanks[0]);
 			
-			for(index=0;index<size;index++)
+			for(int i=0;i<iterations;i++)
 			{
-				outputStreamForFactorsOfSpecificWebPage.printf("%-"+(maxSizeOfURL)+"s : ", calculationsOfTheFactors.get(index).get(0));
+				sinkForSpecificWebPage.iterationStarted(i, D_FACTOR);
 				
-				for(int i=1;i<calculationsOfTheFactors.get(index).size();i++)
+				for(int k=0;k<factors;k++)
 				{
-					outputStreamForFactorsOfSpecificWebPage.printf("%-10s ",calculationsOfTheFactors.get(index).get(i));
+					WebPageVertex inVertex=trace.factors.get(k);
+					
+					double previousPageRank=trace.factorPageRanks[i*factors+k];
+					
+					if(previousPageRank<this.lowerBound)
+						sinkForSpecificWebPage.spamFactorTerm(k);
+					else
+						sinkForSpecificWebPage.factorTerm(k, calculateSiblingFactor(trace.focusedVertex.webPage,inVertex.webPage),
+								previousPageRank, trace.factorOutDegrees[k]);
 				}
-								
 				
-				outputStreamForFactorsOfSpecificWebPage.println();
+				sinkForSpecificWebPage.iterationFinished(trace.focusedPageRanks[i+1]);
 			}
-		
-			outputStreamForFactorsOfSpecificWebPage.println("<< Note >>  ( isSample/ pageRank of each iteration )");
+			
+			sinkForSpecificWebPage.calculationFinished();
 		}
 		
-		
+		if(outputStreamForFactorsOfSpecificWebPage!=null)
+		{
+			DecimalFormat formatter=new DecimalFormat("0.00");
+			
+			ArrayList< ArrayList<String>> calculationsOfTheFactors=new ArrayList< ArrayList<String>> (factors);
+			
+			for(int index=0;index<factors;index++)
+			{
+				ArrayList<String> calculations=new ArrayList<String>();
+				
+				calculations.add(trace.factors.get(index).webPage.getNameOfURL());
+				
+				// The first page rank of each web page is its initial ,and the last iteration isn't printed
+				for(int i=0;i<Math.max(iterations, 1);i++)
+				{
+					double pageRank=trace.factorPageRanks[i*factors+index];
+					int isSpam=(pageRank<this.lowerBound)? 1 : 0;
+					
+					calculations.add(isSpam+"/ "+((i==0)? String.valueOf(pageRank) : formatter.format(pageRank)));
+				}
+				
+				calculationsOfTheFactors.add(calculations);
+			}
+			
+			printFactorsOfFocusedWebPage(outputStreamForFactorsOfSpecificWebPage, trace.focusedURLname, trace.factors, calculationsOfTheFactors);
+		}
 	}
 	
 	
@@ -534,11 +1071,14 @@ public class WebPageGraph implements Serializable
 	 * @throws FileNotFoundException The Exception is thrown when there occur problems while reading
 	 * the data from the file
 	 */
-	public boolean createWebPageGraphFromFileData(String filename) throws FileNotFoundException
+	public synchronized boolean createWebPageGraphFromFileData(String filename) throws FileNotFoundException
 	{
 		if(filename==null)
 			return false;
 		
+		GraphLoadEvent event=new GraphLoadEvent();
+		event.begin();
+		
 		Scanner inputStream=new Scanner(new FileInputStream(filename));
 		
 		while(inputStream.hasNext())
@@ -548,6 +1088,14 @@ public class WebPageGraph implements Serializable
 		
 		inputStream.close();
 		
+		if(event.shouldCommit())
+		{
+			event.fileName=filename;
+			event.vertices=this.numberOfVertices();
+			event.bytesRead=new File(filename).length();
+			event.commit();
+		}
+		
 		return true;
 		
 	}
@@ -559,17 +1107,28 @@ public class WebPageGraph implements Serializable
 	 * 
 	 * @return true if the random associations between the vertices of the graph have been created succesfully
 	 */
-	public boolean createAssociationsBetweenVertices()
+	public synchronized boolean createAssociationsBetweenVertices()
 	{
-		if(this.webPageVertices.isEmpty())
+		if(this.isEmpty())
 			return false;
 		
+		// The random edges are created between the vertices which haven't been deleted
+		this.compactDeletedVertices();
+		
+		EdgeGenerationEvent event=new EdgeGenerationEvent();
+		event.begin();
+		
+		int edgesBefore=this.edges;
+		
 		// An array which will be filled with random numbers which numbers represent indexes in the object of 
 		// type ArrayList<WebPageVertex>. 
 		int randomNumbers[]=new int[MAX_NUMBER_OF_OUT_DIRECTED_EDGES_IN_VERTEX-MIN_NUMBER_OF_OUT_DIRECTED_EDGES_IN_VERTEX+1];
 		int randomNumberOfOutVertices=0;
 		int index=0;
 		
+		// The edges are collected and they are added to the graph at once
+		BulkEdgeBuilder builder=createBulkEdgeBuilder(this.webPageVertices.size()*((MAX_NUMBER_OF_OUT_DIRECTED_EDGES_IN_VERTEX+MIN_NUMBER_OF_OUT_DIRECTED_EDGES_IN_VERTEX)/2));
+		
 		for(WebPageVertex vertex : this.webPageVertices)
 		{
 			
@@ -587,12 +1146,22 @@ public class WebPageGraph implements Serializable
 			// For all the vertices that randomly were collected , add a reference from the current verex examined to them 
 			for(int i=0;i<randomNumberOfOutVertices;i++)
 			{
-				this.addDirectedWeightedEdge(vertex.webPage.getNameOfURL(), this.webPageVertices.get(randomNumbers[i]).webPage.getNameOfURL(), 1.0/randomNumberOfOutVertices);
+				builder.addEdge(index, randomNumbers[i], 1.0/randomNumberOfOutVertices);
 			}
 			
 			index++;
 		}
 		
+		this.addDirectedWeightedEdges(builder);
+		
+		if(event.shouldCommit())
+		{
+			event.vertices=this.numberOfVertices();
+			event.edgesAdded=this.edges-edgesBefore;
+			event.edges=this.edges;
+			event.commit();
+		}
+		
 		return true;
 		
 	}
@@ -645,6 +1214,74 @@ public class WebPageGraph implements Serializable
 	}
 	
 	
+	/**
+	 * This method creates an immutable compact form of the graph ,as an object of type CompactWebPageGraph ,where
+	 * every vertex of the graph gets as vertex id its position in the graph.The compact form can be used for
+	 * calculating the page ranks of the graph without changing the page ranks of the WebPages of the graph and it
+	 * can be shared between many calculations that run at the same time.The deleted vertices and their edges are
+	 * skipped ,so when there are deleted vertices which haven't been removed yet the vertex ids of the vertices
+	 * after them are smaller than their positions in the graph.
+	 * 
+	 * @return an object of type CompactWebPageGraph which represents the current state of the graph
+	 */
+	public synchronized CompactWebPageGraph createCompactWebPageGraph()
+	{
+		int positions=this.webPageVertices.size();
+		int vertices=this.numberOfVertices();
+		
+		// The vertex id of the vertex at every position ,or -1 if the vertex has been deleted
+		int[] vertexIds=new int[positions];
+		
+		String[] urls=new String[vertices];
+		
+		int[] outLinkOffsets=new int[vertices+1];
+		
+		int index=0;
+		int vertexId=0;
+		
+		for(WebPageVertex vertex : this.webPageVertices)
+		{
+			if(isDeleted(index))
+			{
+				vertexIds[index++]=-1;
+				continue;
+			}
+			
+			vertexIds[index++]=vertexId;
+			urls[vertexId]=vertex.webPage.getNameOfURL();
+			
+			int outDegree=0;
+			
+			for(OutLinkedWebPage outLinkedWebPage : vertex.outLinkingWebPages)
+				if(positionOf(outLinkedWebPage.pointedWebPage)>=0)
+					outDegree++;
+			
+			outLinkOffsets[vertexId+1]=outLinkOffsets[vertexId]+outDegree;
+			vertexId++;
+		}
+		
+		int[] outLinkTargets=new int[outLinkOffsets[vertices]];
+		
+		index=0;
+		
+		for(int position=0;position<positions;position++)
+		{
+			if(vertexIds[position]<0)
+				continue;
+			
+			for(OutLinkedWebPage outLinkedWebPage : this.webPageVertices.get(position).outLinkingWebPages)
+			{
+				int target=positionOf(outLinkedWebPage.pointedWebPage);
+				
+				if(target>=0)
+					outLinkTargets[index++]=vertexIds[target];
+			}
+		}
+		
+		return new CompactWebPageGraph(urls,outLinkOffsets,outLinkTargets);
+	}
+	
+	
 	/**
 	 * This method takes an object of type WebPage and places this object in the object of
 	 *  type WebPageGraph which invokes the method 
@@ -652,18 +1289,21 @@ public class WebPageGraph implements Serializable
 	 * @param newWebPage an object of type WebPage which will be added in the Graph
 	 * @return true if the WebPage was added o the graph or false otherwise
 	 */
-	public boolean addWebPage(WebPage newWebPage)
+	public synchronized boolean addWebPage(WebPage newWebPage)
 	{
 		if(newWebPage==null)
 			return false;
 		
+		HashMap<String,Integer> indexes=vertexIndexes();
 		
-		for(WebPageVertex vertex : this.webPageVertices)
-			if(vertex.webPage.getNameOfURL().equals(newWebPage.getNameOfURL()))
-				return false;
+		if(indexes.containsKey(newWebPage.getNameOfURL()))
+			return false;
 		
 		
 		this.webPageVertices.add(new WebPageVertex(newWebPage));
+		indexes.put(newWebPage.getNameOfURL(), this.webPageVertices.size()-1);
+		
+		this.modificationCount++;
 		
 		return true;
 		
@@ -677,42 +1317,41 @@ public class WebPageGraph implements Serializable
 	 * @return the object of type WebPage,which is located inside the object of 
 	 * type WebPageGraph, and correpsonds to the name of URL passed as an argument 
 	 */
-	public WebPage getWebPageWithSpecificNameURL(String nameURL)
+	public synchronized WebPage getWebPageWithSpecificNameURL(String nameURL)
 	{
-		if(nameURL==null)
-			return null;
+		WebPageVertex vertex=findWebPageVertex(nameURL);
 		
-		for(WebPageVertex vertex : this.webPageVertices)
-		{
-			if(vertex.webPage.getNameOfURL().equals(nameURL))
-				return vertex.webPage;
-		}
-		
-		return null;
+		return (vertex==null)? null : vertex.webPage;
 	}
 	
 	/**
 	 * This method returns an array with all the WebPage objects that that are pointed to by 
 	 * an object of type WebPage with URL name as indicated by the parameter.If the name of
-	 * the URL doesn't correpsnod to an actual WbPage in the graph ,null is returned.
+	 * the URL doesn't correpsnod to an actual WbPage in the graph ,null is returned.The deleted WebPages
+	 * aren't included in the array.
 	 * 
 	 * @param nameURL a name of a URL
 	 * @return array with all the WebPage objects that that are pointed to by an object of type
 	 *  WebPage with URL name as indicated by the parameteror or null if the name of the URL 
 	 *  doen't correpsond to any actual WebPage in the graph
 	 */
-	public WebPage[] getOutputLinkedWebPagesOfWebPageWithURL(String nameURL)
+	public synchronized WebPage[] getOutputLinkedWebPagesOfWebPageWithURL(String nameURL)
 	{
-		if(nameURL==null)
+		WebPageVertex vertex=findWebPageVertex(nameURL);
+		
+		if(vertex==null)
 			return null;
 		
-		for(WebPageVertex vertex : this.webPageVertices)
-		{
-			if(vertex.webPage.getNameOfURL().equals(nameURL))
-				return vertex.getOutLinkedWebPages();
-		}
+		if(numberOfDeletedVertices()==0)
+			return vertex.getOutLinkedWebPages();
+		
+		ArrayList<WebPage> outWebPages=new ArrayList<WebPage>(vertex.outLinkingWebPages.size());
+		
+		for(OutLinkedWebPage outLinkedWebPage : vertex.outLinkingWebPages)
+			if(positionOf(outLinkedWebPage.pointedWebPage)>=0)
+				outWebPages.add(outLinkedWebPage.pointedWebPage.webPage);
 		
-		return null;
+		return outWebPages.toArray(new WebPage[outWebPages.size()]);
 		
 	}
 	
@@ -728,86 +1367,460 @@ public class WebPageGraph implements Serializable
 	 * @param weight The weight of the edge that connects the source vertex to the destination vertex
 	 * @return true if the directed edge was inserted succesfully or faslse otherwise
 	 */
-	public boolean addDirectedWeightedEdge(String fromURLname,String toURLname,double weight)
+	public synchronized boolean addDirectedWeightedEdge(String fromURLname,String toURLname,double weight)
 	{
 		
 		
 		if(fromURLname==null || toURLname==null || weight<0 || fromURLname.equals(toURLname))
 			return false;
 		
-		WebPageVertex fromVertex=null;
-		WebPageVertex toVertex=null;
+		WebPageVertex fromVertex=findWebPageVertex(fromURLname);
+		WebPageVertex toVertex=findWebPageVertex(toURLname);
 		
-		for(WebPageVertex vertex : this.webPageVertices)
+		//System.out.println(fromVertex.webPage.getNameOfURL()+" | "+toVertex.webPage.getNameOfURL()+" | "+fromVertex.containsAtOutLinkedWebPages(toURLname));
+		
+		if(fromVertex==null || toVertex==null || fromVertex.containsAtOutLinkedWebPages(toVertex))
+			return false;
+		
+		
+		// Connect the the fromVertex with the toVertix , with a directed edge with weight as indicated by the parameter
+		fromVertex.outLinkingWebPages.add(new OutLinkedWebPage(toVertex,weight));
+		
+		this.edges++;
+		this.modificationCount++;
+		
+		return true;
+		
+	}
+	
+	
+	/**
+	 * This method creates an empty object of type BulkEdgeBuilder for the current positions of the vertices of the
+	 * graph ({@link WebPageGraph#getVertexIndex(String)}) ,which can hold as many edges as indicated by the argument
+	 * without growing.The builder should be created before the positions are read ,because its edges can be added to
+	 * the graph only if no compaction has run since it was created.
+	 * 
+	 * @param expectedEdges the expected number of edges
+	 * @return an object of type BulkEdgeBuilder for the current positions of the vertices
+	 */
+	public synchronized BulkEdgeBuilder createBulkEdgeBuilder(int expectedEdges)
+	{
+		BulkEdgeBuilder builder=new BulkEdgeBuilder(expectedEdges);
+		
+		builder.graph=this;
+		builder.compactions=this.compactions;
+		
+		return builder;
+	}
+	
+	
+	/**
+	 * This method adds to the graph at once all the edges of an object of type BulkEdgeBuilder ,whose vertex ids are
+	 * the positions of the vertices in the graph ({@link WebPageGraph#getVertexIndex(String)}).The edges of the graph
+	 * and the new edges are sorted by source and destination ,the repeated edges and the edges from a vertex to itself
+	 * are dropped (from the repeated edges the edge which already exists in the graph or else the edge that has been
+	 * added first to the builder is kept) ,and then the out-pointing links of every vertex are created in one pass.
+	 * After the call the out-pointing links of every vertex are in the order of the vertices in the graph.The edges
+	 * whose vertex ids don't correspond to vertices of the graph or correspond to deleted vertices are ignored.
+	 * A compaction changes the positions of the vertices ,so a builder created by the method
+	 * {@link WebPageGraph#createBulkEdgeBuilder(int)} is rejected if a compaction has run since it was created ,and
+	 * while the compactions run at a background thread (at any moment) only such builders are accepted.
+	 * 
+	 * @param builder an object of type BulkEdgeBuilder with the edges to add
+	 * @return the number of the edges that have been added to the graph
+	 * @throws IllegalStateException if the positions of the vertices may have changed since the builder was created
+	 */
+	public synchronized int addDirectedWeightedEdges(BulkEdgeBuilder builder)
+	{
+		if(builder==null)
+			throw new NullPointerException("Null builder was given at method addDirectedWeightedEdges");
+		
+		if(builder.graph==this)
+		{
+			if(builder.compactions!=this.compactions)
+				throw new IllegalStateException("The positions of the vertices have been changed by a compaction since the builder was created");
+		}
+		else if(this.backgroundCompaction)
+			throw new IllegalStateException("A builder of the graph (createBulkEdgeBuilder) is needed while the compactions run at a background thread");
+		
+		int vertices=this.webPageVertices.size();
+		
+		BulkEdgeBuilder allEdges=builder;
+		
+		if(this.edges>0)
 		{
-			if(vertex.webPage.getNameOfURL().equals(fromURLname))
+			// The edges of the graph are placed before the new edges ,so they are kept when they are repeated.
+			// The links to deleted vertices are dropped ,and the links of the deleted vertices are left unchanged.
+			allEdges=new BulkEdgeBuilder(this.edges+builder.numberOfEdges());
+			
+			int index=0;
+			
+			for(WebPageVertex vertex : this.webPageVertices)
 			{
-				fromVertex=vertex;
-				
-				if(toVertex!=null)			// if the destination of the directed edge has been already found skip 
-					break;					// the rest elements by breaking the loop
+				if(!isDeleted(index))
+					for(OutLinkedWebPage outLinkedWebPage : vertex.outLinkingWebPages)
+						allEdges.addEdge(index, positionOf(outLinkedWebPage.pointedWebPage), outLinkedWebPage.weightOfPossibility);
 				
+				index++;
 			}
 			
-			if(vertex.webPage.getNameOfURL().equals(toURLname))
+			allEdges.addEdges(builder);
+		}
+		
+		BulkEdgeBuilder.Adjacency adjacency=allEdges.build(vertices);
+		
+		int edgesBefore=this.edges;
+		
+		this.modificationCount++;
+		
+		this.edges=0;
+		
+		for(int vertex=0;vertex<vertices;vertex++)
+		{
+			if(isDeleted(vertex))
 			{
-				
-				toVertex=vertex;
-				
-				if(fromVertex!=null)			// if the source of the directed edge has been already found skip 
-					break;					// the rest elements by breaking the loop
-				
+				this.edges+=this.webPageVertices.get(vertex).outLinkingWebPages.size();
+				continue;
 			}
 			
+			int from=adjacency.offsets[vertex];
+			int to=adjacency.offsets[vertex+1];
+			
+			ArrayList<OutLinkedWebPage> outLinkingWebPages=new ArrayList<OutLinkedWebPage>(to-from);
+			
+			for(int position=from;position<to;position++)
+				if(!isDeleted(adjacency.targets[position]))
+					outLinkingWebPages.add(new OutLinkedWebPage(this.webPageVertices.get(adjacency.targets[position]),adjacency.weights[position]));
+			
+			this.webPageVertices.get(vertex).outLinkingWebPages=outLinkingWebPages;
+			this.edges+=outLinkingWebPages.size();
 		}
 		
-		//System.out.println(fromVertex.webPage.getNameOfURL()+" | "+toVertex.webPage.getNameOfURL()+" | "+fromVertex.containsAtOutLinkedWebPages(toURLname));
+		return this.edges-edgesBefore;
+	}
+	
+	
+	/**
+	 * This method deletes the WebPage with the URL name given as argument from the graph.The vertex of the WebPage
+	 * is only marked as deleted ,so it is skipped by the calculations of the page ranks and by the searches ,and it
+	 * is removed (with the edges from and to it) by a compaction ,when enough vertices have been deleted
+	 * ({@link WebPageGraph#compactDeletedVertices()}).
+	 * 
+	 * @param urlName the name of a URL
+	 * @return an object of type WebPage which correpsonds to the name of URL given as parameter
+	 *  that is deleted from the graph, or null if a WebPage with the URL name specified doesn't exist.
+	 */
+	public synchronized WebPage deleteWebPageVertex(String urlName)
+	{
+		WebPage deletedWebPage=markDeleted(urlName);
 		
-		if(fromVertex==null || toVertex==null || fromVertex.containsAtOutLinkedWebPages(toURLname))
-			return false;
+		if(deletedWebPage!=null)
+			compactIfNeeded();
 		
+		return deletedWebPage;
 		
-		// Connect the the fromVertex with the toVertix , with a directed edge with weight as indicated by the parameter
-		fromVertex.outLinkingWebPages.add(new OutLinkedWebPage(toVertex,weight));
+	}
+	
+	
+	/**
+	 * This method deletes from the graph all the WebPages with the URL names given as argument.The vertices of the
+	 * WebPages are marked as deleted and they are removed at once by a compaction ,if the deleted vertices reach the
+	 * threshold of the graph ({@link WebPageGraph#setCompactionThreshold(double)}).
+	 * 
+	 * @param urlNames the names of the URLs of the WebPages to delete
+	 * @return the number of the WebPages that have been deleted
+	 */
+	public synchronized int deleteWebPageVertices(Collection<String> urlNames)
+	{
+		if(urlNames==null)
+			throw new NullPointerException("Null collection was given at method deleteWebPageVertices");
 		
-		this.edges++;
+		int deleted=0;
+		
+		for(String urlName : urlNames)
+			if(markDeleted(urlName)!=null)
+				deleted++;
+		
+		if(deleted>0)
+			compactIfNeeded();
+		
+		return deleted;
+	}
+	
+	
+	/**
+	 * This method marks as deleted the vertex of the WebPage with the URL name given as argument.
+	 * 
+	 * @param urlName the name of a URL
+	 * @return the WebPage which has been marked as deleted ,or null if it doesn't exist in the graph
+	 */
+	private WebPage markDeleted(String urlName)
+	{
+		int index=getVertexIndex(urlName);
+		
+		if(index<0)
+			return null;
+		
+		if(this.deletedVertices==null)
+			this.deletedVertices=new BitSet(this.webPageVertices.size());
+		
+		this.deletedVertices.set(index);
+		this.vertexIndexes.remove(urlName);
+		this.modificationCount++;
+		
+		return this.webPageVertices.get(index).webPage;
+	}
+	
+	
+	/**
+	 * This method returns the part of the vertices that must be deleted before the deleted vertices are removed from
+	 * the graph by a compaction.
+	 * 
+	 * @return the compaction threshold of the graph
+	 */
+	public synchronized double getCompactionThreshold()
+	{
+		return (this.compactionThreshold==0)? DEFAULT_COMPACTION_THRESHOLD : this.compactionThreshold;
+	}
+	
+	
+	/**
+	 * This method sets the part of the vertices (a number greater than 0 and up to 1) that must be deleted before the
+	 * deleted vertices are removed from the graph by a compaction.The threshold isn't written when the graph is
+	 * serialized.
+	 * 
+	 * @param compactionThreshold the new compaction threshold
+	 * @return true if the threshold has been set or false if it isn't greater than 0 and up to 1
+	 */
+	public synchronized boolean setCompactionThreshold(double compactionThreshold)
+	{
+		if(compactionThreshold<=0 || compactionThreshold>1)
+			return false;
+		
+		this.compactionThreshold=compactionThreshold;
 		
 		return true;
+	}
+	
+	
+	/**
+	 * This method returns whether the compactions that are caused by deletions run at a background thread
+	 * 
+	 * @return true if the compactions run at a background thread or false if they run at the deleting thread
+	 */
+	public synchronized boolean isBackgroundCompaction()
+	{
+		return this.backgroundCompaction;
+	}
+	
+	
+	/**
+	 * This method sets whether the compactions that are caused by deletions run at a background thread ,so the
+	 * deletions return immediately.The methods of the graph wait while a compaction runs.A background compaction
+	 * changes the positions of the vertices at any moment ,so then the method
+	 * {@link WebPageGraph#addDirectedWeightedEdges(BulkEdgeBuilder)} accepts only builders created by the method
+	 * {@link WebPageGraph#createBulkEdgeBuilder(int)}.The choice isn't written when the graph is serialized.
+	 * 
+	 * @param backgroundCompaction true for compactions at a background thread or false otherwise
+	 */
+	public synchronized void setBackgroundCompaction(boolean backgroundCompaction)
+	{
+		this.backgroundCompaction=backgroundCompaction;
+	}
+	
+	
+	/**
+	 * This method starts a compaction if the deleted vertices have reached the compaction threshold.
+	 * 
+	 * @param void
+	 * @return void
+	 */
+	private void compactIfNeeded()
+	{
+		if(numberOfDeletedVertices()<getCompactionThreshold()*this.webPageVertices.size())
+			return ;
 		
+		if(!this.backgroundCompaction)
+		{
+			compactDeletedVertices();
+			return ;
+		}
+		
+		if(this.compactionScheduled)
+			return ;
+		
+		this.compactionScheduled=true;
+		
+		Thread compaction=new Thread(() ->
+		{
+			synchronized(WebPageGraph.this)
+			{
+				this.compactionScheduled=false;
+				this.compactDeletedVertices();
+			}
+		},"web-page-graph-compaction");
+		
+		compaction.setDaemon(true);
+		compaction.start();
 	}
 	
 	
 	/**
+	 * This method removes from the graph the vertices which have been marked as deleted and all the edges from and to
+	 * them ,with one pass over the vertices and their out-pointing links.After the compaction the remaining vertices
+	 * are placed at consecutive positions ,in the same order as before.
 	 * 
-	 * @param urlName
-	 * @return an object of type WebPage which correpsonds to the name of URL given as parameter
-	 *  that is deleted from the graph, or null if a WebPage with the URL name specified doesn't exist.
+	 * @param void
+	 * @return the number of the vertices that have been removed
 	 */
-	public WebPage deleteWebPageVertex(String urlName)
+	public synchronized int compactDeletedVertices()
 	{
-				
+		int deleted=numberOfDeletedVertices();
+		
+		if(deleted==0)
+			return 0;
+		
+		ArrayList<WebPageVertex> remainingVertices=new ArrayList<WebPageVertex>(this.webPageVertices.size()-deleted);
+		
 		int index=0;
 		
 		for(WebPageVertex vertex : this.webPageVertices)
+			if(!isDeleted(index++))
+				remainingVertices.add(vertex);
+		
+		// The positions of the remaining vertices are still the old positions ,so the links to deleted vertices are found
+		int remainingEdges=0;
+		
+		for(WebPageVertex vertex : remainingVertices)
 		{
-						
-			if(vertex.webPage.getNameOfURL().equals(urlName))
-			{
-				// Deletes the record of the WebPage with URL name as specified by parameter 
-				this.webPageVertices.remove(index);
-			}
-			else
+			vertex.outLinkingWebPages.removeIf(outLinkedWebPage -> positionOf(outLinkedWebPage.pointedWebPage)<0);
+			vertex.outLinkingWebPages.trimToSize();
+			
+			remainingEdges+=vertex.outLinkingWebPages.size();
+		}
+		
+		this.webPageVertices=remainingVertices;
+		this.edges=remainingEdges;
+		this.deletedVertices=null;
+		this.vertexIndexes=null;
+		this.modificationCount++;
+		this.compactions++;
+		
+		return deleted;
+	}
+	
+	
+	/**
+	 * This method writes the graph to a stream of objects ,while no other thread changes the graph.
+	 * 
+	 * @param outputStream the stream to write the graph to
+	 * @throws IOException This Exception is thrown if the graph couldn't be written
+	 */
+	private synchronized void writeObject(ObjectOutputStream outputStream) throws IOException
+	{
+		outputStream.defaultWriteObject();
+	}
+	
+	
+	/**
+	 * This class represents the page ranks of a focused WebPage and of the WebPages that affect it (its factors) at
+	 * every iteration of a calculation ,so their progress can be given after the calculation.The page ranks are kept
+	 * in arrays of doubles ,one row for every iteration ,with one position for every factor.
+	 */
+	private class FocusedWebPageTrace
+	{
+		
+		private final String focusedURLname;			// The URL name of the focused WebPage
+		
+		private final WebPageVertex focusedVertex;		// The vertex of the focused WebPage
+		
+		private final int focusedVertexId;				// The vertex id of the focused vertex in the compact form of the graph
+		
+		private final ArrayList<WebPageVertex> factors;	// The vertices which point to the focused vertex
+		
+		private final int[] factorVertexIds;			// The vertex ids of the factors in the compact form of the graph
+		
+		private final int[] factorOutDegrees;			// The out-pointing links of the factors ,without the links to deleted vertices
+		
+		private final int iterations;					// The number of the iterations of the calculation
+		
+		private final double[] factorPageRanks;			// The page rank of factor k before iteration i at [i*factors+k]
+		
+		private final double[] focusedPageRanks;		// The page rank of the focused WebPage after iteration i at [i] (i=0 for the initial)
+		
+		
+		/**
+		 * This constructor creates an object of type FocusedWebPageTrace for the focused vertex given as argument and
+		 * finds its factors from the in-pointing links of the compact form of the graph ,without a search of the
+		 * whole graph.
+		 * 
+		 * @param focusedURLname the URL name of the focused WebPage
+		 * @param focusedVertex the vertex of the focused WebPage
+		 * @param iterations the number of the iterations of the calculation
+		 * @param compactGraph the compact form of the current state of the graph
+		 */
+		private FocusedWebPageTrace(String focusedURLname,WebPageVertex focusedVertex,int iterations,CompactWebPageGraph compactGraph)
+		{
+			this.focusedURLname=focusedURLname;
+			this.focusedVertex=focusedVertex;
+			this.focusedVertexId=vertexIdOf(positionOf(focusedVertex));
+			this.iterations=iterations;
+			
+			// The sources of the in-pointing links are in increasing vertex id ,as the positions of the factors in the graph
+			int firstLink=compactGraph.inLinkOffsets[this.focusedVertexId];
+			
+			this.factorVertexIds=Arrays.copyOfRange(compactGraph.inLinkSources, firstLink, compactGraph.inLinkOffsets[this.focusedVertexId+1]);
+			this.factorOutDegrees=new int[this.factorVertexIds.length];
+			this.factors=new ArrayList<WebPageVertex>(this.factorVertexIds.length);
+			
+			for(int index=0;index<this.factorVertexIds.length;index++)
 			{
-				// For all the webPages that point to the focused WebPage delete
-				// the record that points to the focused WebPage
-				vertex.deleteWebPageAtLinkedOutWebPages(urlName);
+				int factor=this.factorVertexIds[index];
+				
+				this.factorOutDegrees[index]=compactGraph.outLinkOffsets[factor+1]-compactGraph.outLinkOffsets[factor];
+				this.factors.add(findWebPageVertex(compactGraph.getNameOfURL(factor)));
 			}
 			
-			index++;
+			// The page ranks after the last iteration are needed only for the focused WebPage
+			this.factorPageRanks=new double[Math.max(iterations, 1)*this.factorVertexIds.length];
+			this.focusedPageRanks=new double[iterations+1];
 		}
+		
+		
+		/**
+		 * This method records the initial page ranks of the focused WebPage and its factors
+		 * 
+		 * @param void
+		 * @return void
+		 */
+		private void recordInitialPageRanks()
+		{
+			Arrays.fill(this.factorPageRanks, 0, this.factorVertexIds.length, INITIAL_PAGE_RANK);
 			
+			this.focusedPageRanks[0]=INITIAL_PAGE_RANK;
+		}
+		
 		
-		return null;
+		/**
+		 * This method records the page ranks of the focused WebPage and its factors after an iteration (0 for the
+		 * initial page ranks) ,from an array with the page ranks of all the vertices by vertex id.
+		 * 
+		 * @param iteration the number of the iteration
+		 * @param pageRanks an array with the page ranks of all the vertices
+		 * @param offset the position of the page rank of the first vertex in the array
+		 */
+		private void record(int iteration,double[] pageRanks,int offset)
+		{
+			this.focusedPageRanks[iteration]=pageRanks[offset+this.focusedVertexId];
+			
+			if(iteration>=Math.max(this.iterations, 1))
+				return ;
+			
+			int row=iteration*this.factorVertexIds.length;
+			
+			for(int index=0;index<this.factorVertexIds.length;index++)
+				this.factorPageRanks[row+index]=pageRanks[offset+this.factorVertexIds[index]];
+		}
 		
 	}
 	
@@ -909,6 +1922,27 @@ public class WebPageGraph implements Serializable
 		}
 		
 		
+		/**
+		 * This method examines whether the vertex given as argument (the same object) exists in the list with the
+		 * out-pointed vertices.A deleted vertex and a new vertex with the same URL name are different vertices.
+		 * 
+		 * @param vertex a vertex of the graph
+		 * @return true if the vertex exists in the list with the out-pointed vertices ,or false if not
+		 */
+		public boolean containsAtOutLinkedWebPages(WebPageVertex vertex)
+		{
+			for(OutLinkedWebPage element : outLinkingWebPages)
+			{
+				if(element.pointedWebPage==vertex)
+					return true;
+				
+			}
+			
+			return false;
+			
+		}
+		
+		
 		/**
 		 * This method deletes a record of a WebPage of type OutLinkedWebPage which correpsonds 
 		 * to the name of the URL which is passed as an argument in the list with the OutLinkedWebPage
@@ -0,0 +1,85 @@
+package pageRankImplementation;
+
+
+/**
+ * This class represents one published version of an object of type VersionedWebPageGraph.It holds the immutable
+ * compact form of the graph after a number of changes ,so calculations of page ranks and queries which use the same
+ * snapshot see exactly the same graph ,while new changes are applied and published as newer snapshots.
+ * The objects of this class are immutable ,so they can be shared between many threads.
+ *
+ * @author Valentinos Pariza
+ *
+ */
+public final class WebPageGraphSnapshot
+{
+
+	private final long version;						// The version of the snapshot ,starting from 1
+
+	private final long appliedChanges;				// The number of the changes of the log that the snapshot contains
+
+	private final CompactWebPageGraph graph;		// The graph of the snapshot
+
+
+	/**
+	 * This constructor creates an object of type WebPageGraphSnapshot with the values given as arguments.
+	 *
+	 * @param version the version of the snapshot
+	 * @param appliedChanges the number of the changes of the log that the snapshot contains
+	 * @param graph the graph of the snapshot
+	 */
+	WebPageGraphSnapshot(long version,long appliedChanges,CompactWebPageGraph graph)
+	{
+		if(graph==null)
+			throw new NullPointerException("Null graph was given at constructor of class WebPageGraphSnapshot");
+
+		this.version=version;
+		this.appliedChanges=appliedChanges;
+		this.graph=graph;
+	}
+
+
+	/**
+	 * This method returns the version of the snapshot.Every newer snapshot has a greater version.
+	 *
+	 * @return the version of the snapshot
+	 */
+	public long getVersion()
+	{
+		return this.version;
+	}
+
+
+	/**
+	 * This method returns the number of the changes of the log that the snapshot contains.A change with sequence
+	 * number n is contained in the snapshot if n is less or equal than this number.
+	 *
+	 * @return the number of the changes that the snapshot contains
+	 */
+	public long getAppliedChanges()
+	{
+		return this.appliedChanges;
+	}
+
+
+	/**
+	 * This method returns the immutable graph of the snapshot
+	 *
+	 * @return the graph of the snapshot
+	 */
+	public CompactWebPageGraph getGraph()
+	{
+		return this.graph;
+	}
+
+
+	/**
+	 * Returns a String representation of the object of type WebPageGraphSnapshot which invokes the method
+	 *
+	 * @return a String representation of the object invoking the method
+	 */
+	public String toString()
+	{
+		return "Version : "+this.version+"  |  Changes : "+this.appliedChanges+"  |  "+this.graph;
+	}
+
+}